@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.cluster;
+
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.copyOf;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SharedDirectoryClusterServiceTestCase extends AbstractMuleTestCase {
+
+  private static final long LEASE_DURATION = 500;
+  private static final long HEARTBEAT = 100;
+
+  @Rule
+  public TemporaryFolder sharedDirectory = new TemporaryFolder();
+
+  private SharedDirectoryClusterService nodeA;
+  private SharedDirectoryClusterService nodeB;
+
+  @Before
+  public void before() throws Exception {
+    nodeA = new SharedDirectoryClusterService(sharedDirectory.getRoot(), "nodeA", LEASE_DURATION, HEARTBEAT);
+    nodeB = new SharedDirectoryClusterService(sharedDirectory.getRoot(), "nodeB", LEASE_DURATION, HEARTBEAT);
+    nodeA.initialise();
+    nodeB.initialise();
+  }
+
+  @Test
+  public void onlyOnePrimary() {
+    nodeA.heartbeat();
+    nodeB.heartbeat();
+
+    assertThat(nodeA.isPrimaryPollingInstance(), is(true));
+    assertThat(nodeA.isPrimarySchedulingInstance(), is(true));
+    assertThat(nodeB.isPrimaryPollingInstance(), is(false));
+    assertThat(nodeB.getFencingToken(), is(-1L));
+  }
+
+  @Test
+  public void renewKeepsPrimaryAndFencingToken() {
+    nodeA.heartbeat();
+    long fencingToken = nodeA.getFencingToken();
+
+    nodeA.heartbeat();
+    nodeB.heartbeat();
+
+    assertThat(nodeA.isPrimaryPollingInstance(), is(true));
+    assertThat(nodeA.getFencingToken(), is(fencingToken));
+    assertThat(nodeB.isPrimaryPollingInstance(), is(false));
+  }
+
+  @Test
+  public void failoverOnStop() throws Exception {
+    nodeA.heartbeat();
+    long fencingToken = nodeA.getFencingToken();
+
+    nodeA.stop();
+    nodeB.heartbeat();
+
+    assertThat(nodeA.isPrimaryPollingInstance(), is(false));
+    assertThat(nodeB.isPrimaryPollingInstance(), is(true));
+    assertThat(nodeB.getFencingToken(), greaterThan(fencingToken));
+  }
+
+  @Test
+  public void failoverOnLeaseExpiration() {
+    nodeA.heartbeat();
+    long fencingToken = nodeA.getFencingToken();
+
+    new PollingProber(LEASE_DURATION * 4, HEARTBEAT).check(new JUnitLambdaProbe(() -> {
+      nodeB.heartbeat();
+      return nodeB.isPrimaryPollingInstance();
+    }));
+
+    assertThat(nodeA.isPrimaryPollingInstance(), is(false));
+    assertThat(nodeB.getFencingToken(), greaterThan(fencingToken));
+
+    nodeA.heartbeat();
+    assertThat(nodeA.isPrimaryPollingInstance(), is(false));
+  }
+
+  @Test
+  public void corruptLeaseIsNotTakenOver() throws Exception {
+    nodeA.heartbeat();
+    File leaseFile = new File(sharedDirectory.getRoot(), "primary.lease");
+    // as if a node crashed in the middle of writing the lease file in place
+    byte[] record = readAllBytes(leaseFile.toPath());
+    write(leaseFile.toPath(), copyOf(record, record.length - 2));
+
+    Thread.sleep(LEASE_DURATION);
+    nodeB.heartbeat();
+
+    assertThat(nodeB.isPrimaryPollingInstance(), is(false));
+  }
+
+  @Test
+  public void shorterRecordReplacesLongerOne() throws Exception {
+    SharedDirectoryClusterService nodeWithLongId =
+        new SharedDirectoryClusterService(sharedDirectory.getRoot(), "nodeWithALongerId", LEASE_DURATION, HEARTBEAT);
+    nodeWithLongId.initialise();
+    nodeWithLongId.heartbeat();
+    long fencingToken = nodeWithLongId.getFencingToken();
+    nodeWithLongId.stop();
+
+    nodeA.heartbeat();
+    assertThat(nodeA.isPrimaryPollingInstance(), is(true));
+    assertThat(nodeA.getFencingToken(), is(fencingToken + 1));
+
+    nodeA.heartbeat();
+    assertThat(nodeA.getFencingToken(), is(fencingToken + 1));
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.api.connection.ConnectionValidationResult.failure;
+import static org.mule.runtime.api.connection.ConnectionValidationResult.success;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.junit.rules.ExpectedException.none;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.retry.RetryCallback;
+import org.mule.runtime.core.api.retry.RetryContext;
+import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
+import org.mule.runtime.core.internal.retry.ReconnectionConfig;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+@SmallTest
+public class DefaultConnectivityTesterFactoryTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public MockitoRule rule = MockitoJUnit.rule();
+
+  @Rule
+  public ExpectedException expectedException = none();
+
+  @Mock
+  private ConnectionManagerAdapter connectionManager;
+
+  @Mock
+  private LockFactory lockFactory;
+
+  @Mock
+  private MuleContext muleContext;
+
+  @Mock
+  private RetryPolicyTemplate retryPolicyTemplate;
+
+  @Spy
+  private SchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+
+  @InjectMocks
+  private DefaultConnectivityTesterFactory connectivityTesterFactory = new DefaultConnectivityTesterFactory(2);
+
+  @InjectMocks
+  private DefaultConnectivityTesterFactory defaultConnectivityTesterFactory = new DefaultConnectivityTesterFactory();
+
+  @InjectMocks
+  private DefaultConnectivityTesterFactory sequentialConnectivityTesterFactory = new DefaultConnectivityTesterFactory(1);
+
+  private final ConnectionProvider connectionProvider = mock(ConnectionProvider.class);
+
+  @Before
+  public void setUp() throws Exception {
+    when(lockFactory.createLock(anyString())).thenAnswer(inv -> new ReentrantLock());
+    when(connectionManager.getRetryTemplateFor(connectionProvider)).thenReturn(retryPolicyTemplate);
+    when(connectionManager.getReconnectionConfigFor(connectionProvider))
+        .thenReturn(new ReconnectionConfig(true, retryPolicyTemplate));
+    when(retryPolicyTemplate.execute(any(), any())).thenAnswer(inv -> {
+      RetryContext context = mock(RetryContext.class);
+      inv.getArgument(0, RetryCallback.class).doWork(context);
+      return context;
+    });
+    when(muleContext.isStarting()).thenReturn(true);
+  }
+
+  @After
+  public void tearDown() throws MuleException {
+    connectivityTesterFactory.stop();
+    defaultConnectivityTesterFactory.stop();
+    sequentialConnectivityTesterFactory.stop();
+    ((SimpleUnitTestSupportSchedulerService) schedulerService).stop();
+  }
+
+  @Test
+  public void connectivityTestsRunConcurrentlyWhileStartingByDefault() throws MuleException {
+    CountDownLatch testsRunning = new CountDownLatch(2);
+    ConfigurationInstance config1 = mockConfig(testsRunning);
+    ConfigurationInstance config2 = mockConfig(testsRunning);
+
+    defaultConnectivityTesterFactory.create("config1").testConnectivity(connectionProvider, config1);
+    defaultConnectivityTesterFactory.create("config2").testConnectivity(connectionProvider, config2);
+
+    defaultConnectivityTesterFactory.start();
+  }
+
+  @Test
+  public void connectivityIsTestedInCallingThreadWhenConcurrencyIsOne() throws MuleException {
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config))
+        .thenReturn(failure("Backend down", new ConnectionException("Backend down")));
+
+    expectedException.expect(MuleException.class);
+    expectedException.expectMessage(containsString("'failingConfig'"));
+    sequentialConnectivityTesterFactory.create("failingConfig").testConnectivity(connectionProvider, config);
+  }
+
+  @Test
+  public void configStartIsCompletedOnceItsTestIsJoined() throws MuleException {
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config)).thenReturn(success());
+    AtomicInteger completedStarts = new AtomicInteger();
+
+    connectivityTesterFactory.create("config").testConnectivity(connectionProvider, config, completedStarts::incrementAndGet);
+    assertThat(completedStarts.get(), is(0));
+
+    connectivityTesterFactory.start();
+    assertThat(completedStarts.get(), is(1));
+  }
+
+  @Test
+  public void failureIsThrownOnBehalfOfItsConfig() throws MuleException {
+    ConfigurationInstance config1 = mock(ConfigurationInstance.class);
+    ConfigurationInstance failingConfig = mock(ConfigurationInstance.class);
+    ConfigurationInstance config3 = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config1)).thenReturn(success());
+    when(connectionManager.testConnectivity(failingConfig))
+        .thenReturn(failure("Backend down", new ConnectionException("Backend down")));
+    when(connectionManager.testConnectivity(config3)).thenReturn(success());
+    AtomicInteger config1Starts = new AtomicInteger();
+    AtomicInteger config3Starts = new AtomicInteger();
+
+    connectivityTesterFactory.create("config1").testConnectivity(connectionProvider, config1, config1Starts::incrementAndGet);
+    connectivityTesterFactory.create("failingConfig").testConnectivity(connectionProvider, failingConfig, () -> {
+      throw new AssertionError("Start of a config whose connectivity test failed was completed");
+    });
+    connectivityTesterFactory.create("config3").testConnectivity(connectionProvider, config3, config3Starts::incrementAndGet);
+
+    try {
+      connectivityTesterFactory.start();
+      fail("Connectivity test failure was not thrown");
+    } catch (LifecycleException e) {
+      assertThat(e.getComponent(), is(sameInstance(failingConfig)));
+      assertThat(e.getMessage(), containsString("'failingConfig'"));
+      assertThat(e.getCause(), is(instanceOf(MuleException.class)));
+    }
+
+    // Same as when testing each config while starting it, the configs after the failing one are not started
+    assertThat(config1Starts.get(), is(1));
+    assertThat(config3Starts.get(), is(0));
+  }
+
+  @Test
+  public void connectivityTestsRunConcurrentlyWhileStarting() throws MuleException {
+    CountDownLatch testsRunning = new CountDownLatch(2);
+    ConfigurationInstance config1 = mockConfig(testsRunning);
+    ConfigurationInstance config2 = mockConfig(testsRunning);
+
+    connectivityTesterFactory.create("config1").testConnectivity(connectionProvider, config1);
+    connectivityTesterFactory.create("config2").testConnectivity(connectionProvider, config2);
+
+    // Each test waits for the other one to be running, so this fails if they are run one after the other
+    connectivityTesterFactory.start();
+  }
+
+  @Test
+  public void failureIsReportedWhenStarted() throws MuleException {
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config))
+        .thenReturn(failure("Backend down", new ConnectionException("Backend down")));
+
+    connectivityTesterFactory.create("failingConfig").testConnectivity(connectionProvider, config);
+
+    expectedException.expect(MuleException.class);
+    expectedException.expectMessage(containsString("'failingConfig'"));
+    connectivityTesterFactory.start();
+  }
+
+  @Test
+  public void connectivityIsTestedInCallingThreadOnceStarted() throws MuleException {
+    connectivityTesterFactory.start();
+
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config))
+        .thenReturn(failure("Backend down", new ConnectionException("Backend down")));
+
+    expectedException.expect(MuleException.class);
+    expectedException.expectMessage(containsString("'failingConfig'"));
+    connectivityTesterFactory.create("failingConfig").testConnectivity(connectionProvider, config);
+  }
+
+  @Test
+  public void connectivityIsTestedInCallingThreadWhenNotStarting() throws MuleException {
+    when(muleContext.isStarting()).thenReturn(false);
+
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config))
+        .thenReturn(failure("Backend down", new ConnectionException("Backend down")));
+
+    expectedException.expect(MuleException.class);
+    expectedException.expectMessage(containsString("'failingConfig'"));
+    connectivityTesterFactory.create("failingConfig").testConnectivity(connectionProvider, config);
+  }
+
+  private ConfigurationInstance mockConfig(CountDownLatch testsRunning) {
+    ConfigurationInstance config = mock(ConfigurationInstance.class);
+    when(connectionManager.testConnectivity(config)).thenAnswer(inv -> {
+      testsRunning.countDown();
+      return testsRunning.await(5, SECONDS)
+          ? success()
+          : failure("Connectivity tests were not run concurrently", new ConnectionException("Timeout"));
+    });
+    return config;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Test;
+
+@SmallTest
+public class AsyncNotificationDeliveryTestCase extends AbstractMuleTestCase {
+
+  private final Queue<Runnable> scheduledTasks = new LinkedList<>();
+  private final List<Notification> delivered = new ArrayList<>();
+  private final NotificationListener<Notification> listener = delivered::add;
+
+  @Test
+  public void singleTaskDeliversQueuedNotificationsInOrder() {
+    AsyncNotificationDelivery delivery = new AsyncNotificationDelivery(listener, scheduledTasks::add, 10, 10);
+    Notification first = mock(Notification.class);
+    Notification second = mock(Notification.class);
+    Notification third = mock(Notification.class);
+
+    delivery.enqueue(first);
+    delivery.enqueue(second);
+    delivery.enqueue(third);
+
+    assertThat(scheduledTasks, hasSize(1));
+    assertThat(delivery.getLag(), is(3));
+    runScheduledTasks();
+    assertThat(delivered, contains(first, second, third));
+    assertThat(delivery.getLag(), is(0));
+  }
+
+  @Test
+  public void batchesYieldTheThread() {
+    AsyncNotificationDelivery delivery = new AsyncNotificationDelivery(listener, scheduledTasks::add, 10, 2);
+    for (int i = 0; i < 5; ++i) {
+      delivery.enqueue(mock(Notification.class));
+    }
+
+    scheduledTasks.poll().run();
+    assertThat(delivered, hasSize(2));
+    assertThat(scheduledTasks, hasSize(1));
+
+    runScheduledTasks();
+    assertThat(delivered, hasSize(5));
+  }
+
+  @Test
+  public void notificationsAreDroppedWhenListenerLags() {
+    AsyncNotificationDelivery delivery = new AsyncNotificationDelivery(listener, scheduledTasks::add, 2, 10);
+    for (int i = 0; i < 5; ++i) {
+      delivery.enqueue(mock(Notification.class));
+    }
+
+    assertThat(delivery.getDroppedCount(), is(3L));
+    runScheduledTasks();
+    assertThat(delivered, hasSize(2));
+
+    delivery.enqueue(mock(Notification.class));
+    runScheduledTasks();
+    assertThat(delivered, hasSize(3));
+  }
+
+  @Test
+  public void listenerFailureDoesNotStopDelivery() {
+    List<Notification> received = new ArrayList<>();
+    NotificationListener<Notification> failingListener = notification -> {
+      received.add(notification);
+      throw new IllegalStateException("Expected");
+    };
+    AsyncNotificationDelivery delivery = new AsyncNotificationDelivery(failingListener, scheduledTasks::add, 10, 10);
+
+    delivery.enqueue(mock(Notification.class));
+    delivery.enqueue(mock(Notification.class));
+    runScheduledTasks();
+
+    assertThat(received, hasSize(2));
+  }
+
+  private void runScheduledTasks() {
+    Runnable task;
+    while ((task = scheduledTasks.poll()) != null) {
+      task.run();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.event;
+
+import static org.mule.runtime.core.internal.event.OffHeapValues.spillIfLarge;
+
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.bytes.MaxStreamingMemoryExceededException;
+import org.mule.runtime.core.internal.streaming.bytes.OffHeapCursorStreamProvider;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class OffHeapValuesTestCase extends AbstractMuleTestCase {
+
+  private static final int THRESHOLD = 16;
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private final List<BiConsumer<CoreEvent, Throwable>> terminationCallbacks = new ArrayList<>();
+  private final List<ByteBuffer> releasedBuffers = new ArrayList<>();
+  private BaseEventContext context;
+  private ByteBufferManager bufferManager;
+
+  @Before
+  public void before() {
+    context = mock(BaseEventContext.class);
+    when(context.getRootContext()).thenReturn(context);
+    doAnswer(invocation -> terminationCallbacks.add(invocation.getArgument(0))).when(context).onTerminated(any());
+
+    bufferManager = mock(ByteBufferManager.class);
+    when(bufferManager.allocateManaged(anyInt()))
+        .thenAnswer(invocation -> new ManagedByteBufferWrapper(ByteBuffer.allocateDirect(invocation.getArgument(0)),
+                                                               buffer -> releasedBuffers.add(buffer.getDelegate())));
+  }
+
+  @Test
+  public void smallValuesAreKeptInTheHeap() {
+    TypedValue<byte[]> value = new TypedValue<>(new byte[THRESHOLD - 1], DataType.BYTE_ARRAY);
+
+    assertThat(spillIfLarge(value, context, THRESHOLD, bufferManager), is(sameInstance(value)));
+    assertThat(terminationCallbacks.isEmpty(), is(true));
+  }
+
+  @Test
+  public void valuesOtherThanByteArraysAreKeptInTheHeap() {
+    TypedValue<String> value = new TypedValue<>(new String(new char[THRESHOLD * 2]), DataType.STRING);
+
+    assertThat(spillIfLarge(value, context, THRESHOLD, bufferManager), is(sameInstance(value)));
+  }
+
+  @Test
+  public void disabledByDefault() {
+    TypedValue<byte[]> value = new TypedValue<>(new byte[THRESHOLD * 1024], DataType.BYTE_ARRAY);
+
+    assertThat(spillIfLarge(value, context), is(sameInstance(value)));
+  }
+
+  @Test
+  public void largeValuesAreReadLazilyAndReleasedOnTermination() throws Exception {
+    byte[] content = new byte[THRESHOLD * 4];
+    for (int i = 0; i < content.length; ++i) {
+      content[i] = (byte) i;
+    }
+
+    TypedValue<?> spilled = spillIfLarge(new TypedValue<>(content, DataType.BYTE_ARRAY), context, THRESHOLD, bufferManager);
+    assertThat(spilled.getValue(), is(instanceOf(OffHeapCursorStreamProvider.class)));
+    assertThat(spilled.getDataType().getType(), is((Object) OffHeapCursorStreamProvider.class));
+
+    OffHeapCursorStreamProvider provider = (OffHeapCursorStreamProvider) spilled.getValue();
+    try (CursorStream cursor = provider.openCursor()) {
+      assertThat(toByteArray(cursor), is(content));
+    }
+
+    assertThat(terminationCallbacks.size(), is(1));
+    assertThat(releasedBuffers.isEmpty(), is(true));
+    terminationCallbacks.get(0).accept(null, null);
+    assertThat(provider.isReleased(), is(true));
+    assertThat(releasedBuffers.size(), is(1));
+  }
+
+  @Test
+  public void largeValuesAreKeptInTheHeapWhenStreamingMemoryIsExceeded() {
+    when(bufferManager.allocateManaged(anyInt())).thenThrow(MaxStreamingMemoryExceededException.class);
+    TypedValue<byte[]> value = new TypedValue<>(new byte[THRESHOLD * 4], DataType.BYTE_ARRAY);
+
+    assertThat(spillIfLarge(value, context, THRESHOLD, bufferManager), is(sameInstance(value)));
+    assertThat(terminationCallbacks.isEmpty(), is(true));
+  }
+
+  @Test
+  public void readingReleasedValueFailsWithExplanation() {
+    OffHeapCursorStreamProvider provider = new OffHeapCursorStreamProvider(new byte[THRESHOLD], bufferManager);
+    provider.release();
+
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage(containsString("mule.event.offHeapValues.threshold"));
+    provider.openCursor();
+  }
+
+  @Test
+  public void retainedValuesOutliveTheirFirstContext() {
+    OffHeapCursorStreamProvider provider = new OffHeapCursorStreamProvider(new byte[THRESHOLD], bufferManager);
+
+    assertThat(provider.retain(), is(true));
+    provider.release();
+    assertThat(provider.isReleased(), is(false));
+
+    provider.release();
+    assertThat(provider.isReleased(), is(true));
+    assertThat(provider.retain(), is(false));
+    assertThat(releasedBuffers.size(), is(1));
+  }
+}
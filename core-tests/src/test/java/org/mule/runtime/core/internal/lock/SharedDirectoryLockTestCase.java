@@ -0,0 +1,110 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SharedDirectoryLockTestCase extends AbstractMuleTestCase {
+
+  private static final String LOCK_ID = "flow/watermark:lock";
+
+  @Rule
+  public TemporaryFolder sharedDirectory = new TemporaryFolder();
+
+  private final ExecutorService executor = newSingleThreadExecutor();
+  private SharedDirectoryLockProvider providerA;
+  private SharedDirectoryLockProvider providerB;
+
+  @Before
+  public void before() throws Exception {
+    providerA = new SharedDirectoryLockProvider(sharedDirectory.getRoot());
+    providerB = new SharedDirectoryLockProvider(sharedDirectory.getRoot());
+    providerA.initialise();
+    providerB.initialise();
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void lockIsExclusiveAmongProviders() throws Exception {
+    Lock lockA = providerA.createLock(LOCK_ID);
+    Lock lockB = providerB.createLock(LOCK_ID);
+
+    lockA.lock();
+    try {
+      assertThat(executor.submit(() -> lockB.tryLock()).get(), is(false));
+      assertThat(executor.submit(() -> lockB.tryLock(100, MILLISECONDS)).get(), is(false));
+    } finally {
+      lockA.unlock();
+    }
+
+    assertThat(executor.submit(() -> {
+      boolean acquired = lockB.tryLock();
+      if (acquired) {
+        lockB.unlock();
+      }
+      return acquired;
+    }).get(), is(true));
+  }
+
+  @Test
+  public void reentrant() throws Exception {
+    Lock lockA = providerA.createLock(LOCK_ID);
+    Lock lockB = providerB.createLock(LOCK_ID);
+
+    lockA.lock();
+    lockA.lock();
+    lockA.unlock();
+    assertThat(executor.submit(() -> lockB.tryLock()).get(), is(false));
+
+    lockA.unlock();
+    assertThat(lockB.tryLock(), is(true));
+    lockB.unlock();
+  }
+
+  @Test
+  public void fencingTokenIncreasesOnEachAcquisition() {
+    SharedDirectoryLock lockA = (SharedDirectoryLock) providerA.createLock(LOCK_ID);
+    SharedDirectoryLock lockB = (SharedDirectoryLock) providerB.createLock(LOCK_ID);
+
+    lockA.lock();
+    long firstToken = lockA.getFencingToken();
+    lockA.unlock();
+
+    lockB.lock();
+    long secondToken = lockB.getFencingToken();
+    lockB.unlock();
+
+    assertThat(secondToken, greaterThan(firstToken));
+  }
+
+  @Test
+  public void lockIdsWithInvalidCharactersDoNotCollide() {
+    assertThat(SharedDirectoryLockProvider.toFileName("a/b"), not(SharedDirectoryLockProvider.toFileName("a:b")));
+  }
+
+  @Test(expected = IllegalMonitorStateException.class)
+  public void unlockNotHeld() {
+    providerA.createLock(LOCK_ID).unlock();
+  }
+}
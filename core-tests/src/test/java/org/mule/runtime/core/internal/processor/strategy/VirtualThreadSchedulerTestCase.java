@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.qameta.allure.Feature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(PROCESSING_STRATEGIES)
+public class VirtualThreadSchedulerTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_IN_FLIGHT_TASKS = 2;
+
+  private Scheduler delegate;
+  private ExecutorService executor;
+  private VirtualThreadScheduler scheduler;
+
+  @Before
+  public void before() {
+    delegate = mock(Scheduler.class);
+    executor = newCachedThreadPool();
+    scheduler = new VirtualThreadScheduler(delegate, executor, MAX_IN_FLIGHT_TASKS, () -> 1000L);
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void rejectsWhenMaxInFlightTasksReached() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> first = scheduler.submit(() -> awaitUninterruptibly(release));
+    Future<?> second = scheduler.submit(() -> awaitUninterruptibly(release));
+
+    try {
+      scheduler.execute(() -> {
+      });
+      throw new AssertionError("Task should have been rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    } finally {
+      release.countDown();
+    }
+
+    first.get(5, SECONDS);
+    second.get(5, SECONDS);
+    assertThat(scheduler.submit(() -> true).get(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void failedTaskReleasesPermit() throws Exception {
+    for (int i = 0; i < MAX_IN_FLIGHT_TASKS * 2; ++i) {
+      Future<?> failing = scheduler.submit(() -> {
+        throw new IllegalStateException();
+      });
+      try {
+        failing.get(5, SECONDS);
+      } catch (Exception e) {
+        // expected
+      }
+    }
+
+    assertThat(scheduler.submit(() -> true).get(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void invokeAllTakesPermits() throws Exception {
+    List<Callable<Boolean>> tasks = asList(() -> true, () -> true);
+    for (Future<Boolean> result : scheduler.invokeAll(tasks)) {
+      assertThat(result.get(), is(true));
+    }
+
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> blocked = scheduler.submit(() -> awaitUninterruptibly(release));
+    try {
+      scheduler.invokeAll(tasks);
+      throw new AssertionError("Tasks should have been rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    } finally {
+      release.countDown();
+    }
+
+    blocked.get(5, SECONDS);
+    assertThat(scheduler.invokeAll(tasks).size(), is(2));
+    assertThat(scheduler.invokeAny(tasks), is(true));
+  }
+
+  @Test
+  public void stopStopsDelegate() {
+    scheduler.stop();
+
+    assertThat(executor.isShutdown(), is(true));
+    assertThat(scheduler.isShutdown(), is(true));
+    verify(delegate).stop();
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
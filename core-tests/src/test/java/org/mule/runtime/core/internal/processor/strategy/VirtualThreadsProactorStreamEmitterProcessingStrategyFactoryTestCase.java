@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.internal.processor.strategy.util.VirtualThreadUtils.isVirtualThreadsSupported;
+import static org.mule.runtime.core.internal.processor.strategy.util.VirtualThreadUtils.newVirtualThreadPerTaskExecutor;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import static java.lang.Integer.parseInt;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class VirtualThreadsProactorStreamEmitterProcessingStrategyFactoryTestCase extends AbstractMuleTestCase {
+
+  private MuleContext muleContext;
+  private Scheduler ioScheduler;
+  private ExecutorService executor;
+
+  @Before
+  public void before() {
+    muleContext = mock(MuleContext.class, RETURNS_DEEP_STUBS);
+    ioScheduler = mock(Scheduler.class);
+    when(muleContext.getSchedulerService().ioScheduler(any())).thenReturn(ioScheduler);
+    executor = newCachedThreadPool();
+  }
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void fallsBackToIoSchedulerWithoutVirtualThreads() {
+    VirtualThreadsProactorStreamEmitterProcessingStrategyFactory factory =
+        new VirtualThreadsProactorStreamEmitterProcessingStrategyFactory(() -> false, prefix -> {
+          throw new UnsupportedOperationException();
+        });
+
+    assertThat(factory.getBlockingSchedulerSupplier(muleContext, "flow").get(), is(sameInstance(ioScheduler)));
+  }
+
+  @Test
+  public void usesVirtualThreadsWhenSupported() {
+    VirtualThreadsProactorStreamEmitterProcessingStrategyFactory factory =
+        new VirtualThreadsProactorStreamEmitterProcessingStrategyFactory(() -> true, prefix -> executor);
+
+    assertThat(factory.getBlockingSchedulerSupplier(muleContext, "flow").get(), is(instanceOf(VirtualThreadScheduler.class)));
+  }
+
+  @Test
+  public void virtualThreadsSupportDetectedFromRunningJvm() throws Exception {
+    String specificationVersion = System.getProperty("java.specification.version");
+    int javaVersion = specificationVersion.startsWith("1.") ? parseInt(specificationVersion.substring(2))
+        : parseInt(specificationVersion);
+
+    assertThat(isVirtualThreadsSupported(), is(javaVersion >= 21));
+    if (isVirtualThreadsSupported()) {
+      ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor("test");
+      try {
+        assertThat(virtualThreadExecutor.submit(() -> true).get(), is(true));
+      } finally {
+        virtualThreadExecutor.shutdownNow();
+      }
+    } else {
+      assertThat(new VirtualThreadsProactorStreamEmitterProcessingStrategyFactory()
+          .getBlockingSchedulerSupplier(muleContext, "flow").get(), is(sameInstance(ioScheduler)));
+    }
+  }
+}
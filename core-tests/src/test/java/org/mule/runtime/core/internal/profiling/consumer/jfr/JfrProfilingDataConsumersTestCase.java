@@ -0,0 +1,42 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.core.internal.profiling.consumer.jfr.JfrProfilingDataConsumers.createJfrProfilingDataConsumers;
+import static org.mule.runtime.core.internal.profiling.consumer.jfr.JfrProfilingDataConsumers.isJfrSupported;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_PROFILING_SERVICE;
+
+import static org.apache.commons.lang3.JavaVersion.JAVA_11;
+import static org.apache.commons.lang3.SystemUtils.isJavaVersionAtLeast;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assume.assumeFalse;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(PROFILING)
+@Story(DEFAULT_PROFILING_SERVICE)
+public class JfrProfilingDataConsumersTestCase extends AbstractMuleTestCase {
+
+  @BeforeClass
+  public static void checkJdkVersion() {
+    assumeFalse("The consumers recording JFR events are only available on Java 11+", isJavaVersionAtLeast(JAVA_11));
+  }
+
+  @Test
+  public void noConsumersWithoutJfrEvents() {
+    assertThat(isJfrSupported(), is(false));
+    assertThat(createJfrProfilingDataConsumers(), is(empty()));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+
+import io.qameta.allure.Feature;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencyStatistics.LatencySummary;
+
+import org.junit.Test;
+
+@Feature(PROFILING)
+public class ComponentLatencySamplerTestCase {
+
+  private long now = 1;
+  private final ComponentLatencySampler sampler = new ComponentLatencySampler(() -> now);
+
+  private final ComponentLocation fastComponent = mockLocation("flow/processors/0");
+  private final ComponentLocation slowComponent = mockLocation("flow/processors/1");
+
+  @Test
+  public void notSamplingWithoutSession() {
+    CoreEvent event = mockEvent();
+    sampler.onDispatch(event, fastComponent);
+    sampler.onComplete(event, fastComponent);
+
+    assertThat(sampler.isSampling(), is(false));
+    assertThat(sampler.stopSession(), is(nullValue()));
+  }
+
+  @Test
+  public void wallClockAndQueueingDelayAreMeasured() {
+    sampler.startSession(1000, 1);
+    CoreEvent event = mockEvent();
+
+    sampler.onDispatch(event, fastComponent);
+    advance(1);
+    sampler.onExecutionStart(event, fastComponent);
+    advance(3);
+    sampler.onComplete(event, fastComponent);
+
+    ComponentLatencyStatistics statistics = sampler.stopSession().getHotspots().get(0);
+    assertThat(statistics.getLocation(), is("flow/processors/0"));
+    assertThat(statistics.getCompletedEvents(), is(1L));
+    assertThat(statistics.getWallClock().getSamples(), is(1L));
+    assertThat(statistics.getWallClock().getMaxNanos(), is(MILLISECONDS.toNanos(4)));
+    assertThat(statistics.getQueueingDelay().getMaxNanos(), is(MILLISECONDS.toNanos(1)));
+  }
+
+  @Test
+  public void hotspotsAreRankedByTimeSpent() {
+    sampler.startSession(1000, 1);
+
+    process(fastComponent, 1);
+    process(fastComponent, 1);
+    process(slowComponent, 10);
+
+    ComponentLatencyReport report = sampler.stopSession();
+    assertThat(report.getHotspots().stream().map(ComponentLatencyStatistics::getLocation).collect(toList()),
+               contains("flow/processors/1", "flow/processors/0"));
+    assertThat(report.getHotspots().get(1).getCompletedEvents(), is(2L));
+  }
+
+  @Test
+  public void eventsAreNotSampledOnceSessionExpires() {
+    sampler.startSession(10, 1);
+    process(fastComponent, 1);
+    advance(20);
+    process(slowComponent, 1);
+
+    assertThat(sampler.isSampling(), is(false));
+    ComponentLatencyReport report = sampler.stopSession();
+    assertThat(report.getDurationMillis(), is(10L));
+    assertThat(report.getHotspots().stream().map(ComponentLatencyStatistics::getLocation).collect(toList()),
+               contains("flow/processors/0"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void onlyOneSessionAtATime() {
+    sampler.startSession(1000, 1);
+    sampler.startSession(1000, 1);
+  }
+
+  @Test
+  public void histogramPercentilesAreBucketUpperBounds() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 99; ++i) {
+      histogram.record(100);
+    }
+    histogram.record(5000);
+
+    LatencySummary summary = histogram.summarize();
+    assertThat(summary.getSamples(), is(100L));
+    assertThat(summary.getP50Nanos(), is(127L));
+    assertThat(summary.getP99Nanos(), is(127L));
+    assertThat(summary.getMaxNanos(), is(5000L));
+  }
+
+  private void process(ComponentLocation location, long millis) {
+    CoreEvent event = mockEvent();
+    sampler.onDispatch(event, location);
+    sampler.onExecutionStart(event, location);
+    advance(millis);
+    sampler.onComplete(event, location);
+  }
+
+  private void advance(long millis) {
+    now += MILLISECONDS.toNanos(millis);
+  }
+
+  private static CoreEvent mockEvent() {
+    CoreEvent event = mock(CoreEvent.class);
+    EventContext eventContext = mock(EventContext.class);
+    when(event.getContext()).thenReturn(eventContext);
+    return event;
+  }
+
+  private static ComponentLocation mockLocation(String location) {
+    ComponentLocation componentLocation = mock(ComponentLocation.class);
+    when(componentLocation.getLocation()).thenReturn(location);
+    return componentLocation;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.security;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.core.api.util.Base64;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Base64EncodingInputStreamTestCase extends AbstractMuleTestCase {
+
+  private static final int BYTES_PER_LINE = 57;
+  private static final int BYTES_PER_CHUNK = BYTES_PER_LINE * 64;
+
+  @Test
+  public void empty() throws Exception {
+    assertSameAsBytes(0);
+  }
+
+  @Test
+  public void partialLine() throws Exception {
+    assertSameAsBytes(1);
+    assertSameAsBytes(BYTES_PER_LINE - 1);
+  }
+
+  @Test
+  public void completeLines() throws Exception {
+    assertSameAsBytes(BYTES_PER_LINE);
+    assertSameAsBytes(BYTES_PER_LINE * 3);
+  }
+
+  @Test
+  public void completeChunks() throws Exception {
+    assertSameAsBytes(BYTES_PER_CHUNK);
+    assertSameAsBytes(BYTES_PER_CHUNK * 2);
+    assertSameAsBytes(BYTES_PER_CHUNK * 2 + BYTES_PER_LINE);
+  }
+
+  @Test
+  public void partialChunks() throws Exception {
+    assertSameAsBytes(BYTES_PER_CHUNK - 1);
+    assertSameAsBytes(BYTES_PER_CHUNK + 1);
+    assertSameAsBytes(BYTES_PER_CHUNK * 2 + BYTES_PER_LINE + 1);
+  }
+
+  private void assertSameAsBytes(int length) throws Exception {
+    byte[] data = new byte[length];
+    new Random(length).nextBytes(data);
+
+    byte[] encoded = toByteArray(new Base64EncodingInputStream(new ByteArrayInputStream(data)));
+    assertThat("Encoded " + length + " bytes", new String(encoded, US_ASCII), is(Base64.encodeBytes(data)));
+    assertThat("Decoded " + length + " bytes", Base64.decode(new String(encoded, US_ASCII)), is(data));
+  }
+}
@@ -3,12 +3,26 @@
  */
 package org.mule.runtime.core.internal.security;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 
 import org.mule.runtime.core.internal.security.PasswordBasedEncryptionStrategy;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 
 public class PbeEncryptionStrategyTestCase extends AbstractMuleTestCase {
@@ -25,4 +39,62 @@ public class PbeEncryptionStrategyTestCase extends AbstractMuleTestCase {
     String s = new String(pbe.decrypt(b, null), "UTF-8");
     assertEquals("hello", s);
   }
+
+  @Test
+  public void streamsAreCompatibleWithBytes() throws Exception {
+    PasswordBasedEncryptionStrategy pbe = createStrategy(true);
+    byte[] data = randomData(100000);
+
+    byte[] encryptedStream = toByteArray(pbe.encrypt(new ByteArrayInputStream(data), null));
+    assertThat(pbe.decrypt(encryptedStream, null), is(data));
+
+    byte[] encryptedBytes = pbe.encrypt(data, null);
+    assertThat(toByteArray(pbe.decrypt(new ByteArrayInputStream(encryptedBytes), null)), is(data));
+  }
+
+  @Test
+  public void streamRoundTripWithoutBase64() throws Exception {
+    PasswordBasedEncryptionStrategy pbe = createStrategy(false);
+    byte[] data = randomData(100000);
+
+    byte[] encrypted = toByteArray(pbe.encrypt(new ByteArrayInputStream(data), null));
+    assertThat(toByteArray(pbe.decrypt(new ByteArrayInputStream(encrypted), null)), is(data));
+  }
+
+  @Test
+  public void concurrentRoundTrips() throws Exception {
+    PasswordBasedEncryptionStrategy pbe = createStrategy(true);
+    ExecutorService executor = newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 64; ++i) {
+        byte[] data = randomData(1000 + i * 100);
+        Callable<Boolean> roundTrip = () -> {
+          byte[] encrypted = toByteArray(pbe.encrypt(new ByteArrayInputStream(data), null));
+          return Arrays.equals(pbe.decrypt(encrypted, null), data);
+        };
+        results.add(executor.submit(roundTrip));
+      }
+
+      for (Future<Boolean> result : results) {
+        assertThat(result.get(10, SECONDS), is(true));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static PasswordBasedEncryptionStrategy createStrategy(boolean base64Encoding) throws Exception {
+    PasswordBasedEncryptionStrategy pbe = new PasswordBasedEncryptionStrategy();
+    pbe.setPassword("test");
+    pbe.setBase64Encoding(base64Encoding);
+    pbe.initialise();
+    return pbe;
+  }
+
+  private static byte[] randomData(int length) {
+    byte[] data = new byte[length];
+    new Random(length).nextBytes(data);
+    return data;
+  }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.runtime.core.internal.event.DefaultEventContext.child;
+import static org.mule.tck.util.MuleContextUtils.eventBuilder;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SERIALIZATION;
+import static org.mule.test.allure.AllureConstants.SerializationFeature.SerializationStory.MESSAGE_SERIALIZATION;
+
+import static java.util.Arrays.asList;
+import static java.util.Optional.empty;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.StoreValue;
+import org.mule.tck.core.internal.serialization.AbstractSerializerProtocolContractTestCase;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SERIALIZATION)
+@Story(MESSAGE_SERIALIZATION)
+public class FastSerializerProtocolTestCase extends AbstractSerializerProtocolContractTestCase {
+
+  @Before
+  public void setUp() {
+    currentMuleContext.set(muleContext);
+  }
+
+  @After
+  public void teardown() {
+    currentMuleContext.set(null);
+  }
+
+  @Override
+  protected void doSetUp() throws Exception {
+    FastObjectSerializer serializer = new FastObjectSerializer();
+    serializer.setMuleContext(muleContext);
+    serializationProtocol = serializer.getInternalProtocol();
+  }
+
+  @Test
+  public void simpleValues() throws Exception {
+    for (Object value : asList("Hello World", "", "\u00e1rbol \u6728", 0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 7L,
+                               Long.MIN_VALUE, Long.MAX_VALUE, 0.5d, true, false)) {
+      assertThat(roundTrip(value), equalTo(value));
+    }
+
+    byte[] bytes = new byte[] {1, 2, 3};
+    assertThat(roundTrip(bytes), equalTo(bytes));
+  }
+
+  @Test
+  public void collections() throws Exception {
+    List<Object> list = new ArrayList<>(asList("a", 1, null, new ArrayList<>(asList(2L, "b"))));
+    Map<Object, Object> map = new LinkedHashMap<>();
+    map.put("list", list);
+    map.put("set", new LinkedHashSet<>(asList("x", "y")));
+    map.put(3, new HashMap<>());
+
+    Map<Object, Object> deserialized = roundTrip(map);
+    assertThat(deserialized, instanceOf(LinkedHashMap.class));
+    assertThat(deserialized, equalTo(map));
+    assertThat(new ArrayList<>(deserialized.keySet()), equalTo(new ArrayList<>(map.keySet())));
+  }
+
+  @Test
+  public void typedValue() throws Exception {
+    TypedValue<String> typedValue = new TypedValue<>("{}", DataType.builder(STRING).mediaType(APPLICATION_JSON).build());
+
+    TypedValue<String> deserialized = roundTrip(typedValue);
+    assertThat(deserialized.getValue(), equalTo("{}"));
+    assertThat(deserialized.getDataType(), equalTo(typedValue.getDataType()));
+  }
+
+  @Test
+  public void unknownSerializableType() throws Exception {
+    Date date = new Date();
+    assertThat(roundTrip(date), equalTo(date));
+  }
+
+  @Test(expected = SerializationException.class)
+  public void notSerializable() throws Exception {
+    serializationProtocol.serialize(new Object());
+  }
+
+  @Test
+  public void event() throws Exception {
+    CoreEvent event = eventBuilder(muleContext).message(of("Hello World"))
+        .addVariable("count", 3)
+        .addVariable("name", "mule", STRING)
+        .build();
+
+    CoreEvent deserialized = roundTrip(event);
+
+    assertThat(deserialized.getContext().getId(), equalTo(event.getContext().getId()));
+    assertThat(deserialized.getContext().getServerId(), equalTo(event.getContext().getServerId()));
+    assertThat(deserialized.getContext().getOriginatingLocation(), equalTo(event.getContext().getOriginatingLocation()));
+    assertThat(deserialized.getCorrelationId(), equalTo(event.getCorrelationId()));
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo("Hello World"));
+    assertThat(deserialized.getMessage().getPayload().getDataType(), equalTo(event.getMessage().getPayload().getDataType()));
+    assertThat(deserialized.getVariables().get("count").getValue(), equalTo(3));
+    assertThat(deserialized.getVariables().get("NAME").getValue(), equalTo("mule"));
+  }
+
+  @Test
+  public void childEvent() throws Exception {
+    CoreEvent parent = eventBuilder(muleContext).message(of("Hello World")).build();
+    CoreEvent event = CoreEvent.builder(child((BaseEventContext) parent.getContext(), empty()), parent).build();
+
+    CoreEvent deserialized = roundTrip(event);
+
+    BaseEventContext context = (BaseEventContext) deserialized.getContext();
+    assertThat(context.getId(), equalTo(event.getContext().getId()));
+    assertThat(context.getParentContext().get().getId(), equalTo(parent.getContext().getId()));
+    assertThat(deserialized.getMessage().getPayload().getValue(), equalTo("Hello World"));
+  }
+
+  @Test
+  public void storeValueWithEvent() throws Exception {
+    CoreEvent event = eventBuilder(muleContext).message(of("Hello World")).build();
+
+    StoreValue<CoreEvent> deserialized = roundTrip(new StoreValue<>("key", event));
+
+    assertThat(deserialized.getKey(), equalTo("key"));
+    assertThat(deserialized.getValue().getMessage().getPayload().getValue(), equalTo("Hello World"));
+  }
+
+  @Test
+  public void smallerThanJavaSerialization() throws Exception {
+    CoreEvent event = eventBuilder(muleContext).message(of("Hello World")).addVariable("count", 3).build();
+    byte[] javaSerialized = new JavaObjectSerializer().getInternalProtocol().serialize(event);
+
+    assertThat(serializationProtocol.serialize(event).length, is(lessThan(javaSerialized.length)));
+  }
+
+  @Test
+  public void readsJavaSerialization() throws Exception {
+    JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    List<String> list = new ArrayList<>(asList("a", "b"));
+
+    List<String> deserialized = serializationProtocol.deserialize(javaSerializer.getInternalProtocol().serialize(list));
+    assertThat(deserialized, equalTo(list));
+  }
+
+  private <T> T roundTrip(Object value) {
+    return serializationProtocol.deserialize(serializationProtocol.serialize(value));
+  }
+}
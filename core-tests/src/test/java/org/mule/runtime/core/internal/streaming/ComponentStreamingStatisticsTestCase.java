@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics.UNKNOWN_LOCATION;
+import static org.mule.runtime.core.internal.streaming.IdentifiableCursorProviderDecorator.of;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.STREAM_MANAGEMENT;
+
+import static java.util.Optional.empty;
+import static java.util.stream.Collectors.toList;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.ManagedCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.SimpleByteBufferManager;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(STREAMING)
+@Story(STREAM_MANAGEMENT)
+public class ComponentStreamingStatisticsTestCase extends AbstractMuleTestCase {
+
+  private static final String LOCATION = "flow/processors/0";
+  private static final int DATA_LENGTH = 100;
+
+  private final ComponentStreamingStatistics componentStatistics = new ComponentStreamingStatistics();
+
+  @Test
+  public void replaysBufferingAndCloseAreRecordedForOriginatingLocation() throws IOException {
+    ManagedCursorStreamProvider provider = managedInMemoryProvider(mockLocation(LOCATION));
+
+    CursorStream first = provider.openCursor();
+    CursorStream second = provider.openCursor();
+    consume(first);
+    consume(second);
+    provider.close();
+    first.close();
+    second.close();
+
+    LocationStreamingStatistics statistics = componentStatistics.getLocationStatistics().get(0);
+    assertThat(statistics.getLocation(), is(LOCATION));
+    assertThat(statistics.getProvidersOpened(), is(1L));
+    assertThat(statistics.getProvidersClosed(), is(1L));
+    assertThat(statistics.getCursorsOpened(), is(2L));
+    assertThat(statistics.getPeakOpenCursors(), is(2L));
+    assertThat(statistics.getLeakedProviders(), is(0L));
+    assertThat(statistics.getBufferedProviders(), is(1L));
+    assertThat(statistics.getBytesBuffered(), is((long) DATA_LENGTH));
+    assertThat(statistics.getMaxBytesBuffered(), is((long) DATA_LENGTH));
+    assertThat(statistics.getBufferExpansions(), greaterThan(0L));
+  }
+
+  @Test
+  public void providerCollectedBeforeReleaseIsALeak() {
+    ManagedCursorStreamProvider provider = managedInMemoryProvider(mockLocation(LOCATION));
+    provider.openCursor();
+
+    provider.getJanitor().releaseLeakedResources();
+
+    LocationStreamingStatistics statistics = componentStatistics.getLocationStatistics().get(0);
+    assertThat(statistics.getLeakedProviders(), is(1L));
+    assertThat(statistics.getLeakedCursors(), is(1L));
+  }
+
+  @Test
+  public void releasedProviderIsNotALeak() {
+    ManagedCursorStreamProvider provider = managedInMemoryProvider(mockLocation(LOCATION));
+    provider.releaseResources();
+
+    provider.getJanitor().releaseLeakedResources();
+
+    assertThat(componentStatistics.getLocationStatistics().get(0).getLeakedProviders(), is(0L));
+  }
+
+  @Test
+  public void providersWithoutLocationAreAttributedToUnknown() {
+    CursorStreamProvider provider = mock(CursorStreamProvider.class);
+    when(provider.getOriginatingLocation()).thenReturn(empty());
+    new ManagedCursorStreamProvider(of(provider), null, componentStatistics);
+    managedInMemoryProvider(mockLocation(LOCATION));
+
+    assertThat(componentStatistics.getLocationStatistics().stream().map(LocationStreamingStatistics::getLocation)
+        .collect(toList()), contains(LOCATION, UNKNOWN_LOCATION));
+  }
+
+  private ManagedCursorStreamProvider managedInMemoryProvider(ComponentLocation location) {
+    InMemoryCursorStreamConfig config = new InMemoryCursorStreamConfig(new DataSize(10, BYTE),
+                                                                       new DataSize(10, BYTE),
+                                                                       new DataSize(DATA_LENGTH * 2, BYTE));
+    CursorStreamProvider provider = new InMemoryCursorStreamProvider(new ByteArrayInputStream(new byte[DATA_LENGTH]), config,
+                                                                     new SimpleByteBufferManager(), location, false);
+    return new ManagedCursorStreamProvider(of(provider), null, componentStatistics);
+  }
+
+  private static void consume(CursorStream cursor) throws IOException {
+    while (cursor.read() != -1) {
+      // consume the whole stream
+    }
+  }
+
+  private static ComponentLocation mockLocation(String location) {
+    ComponentLocation componentLocation = mock(ComponentLocation.class);
+    when(componentLocation.getLocation()).thenReturn(location);
+    return componentLocation;
+  }
+}
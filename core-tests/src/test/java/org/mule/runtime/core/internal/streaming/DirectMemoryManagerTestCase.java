@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.mule.runtime.core.internal.streaming.DirectMemoryManager.getMaxDirectMemory;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class DirectMemoryManagerTestCase extends AbstractMuleTestCase {
+
+  private static final long MAX_HEAP = 1000;
+
+  @Test
+  public void defaultsToMaxHeap() {
+    assertThat(getMaxDirectMemory(emptyList(), MAX_HEAP), is(MAX_HEAP));
+    assertThat(getMaxDirectMemory(asList("-Xmx1g", "-XX:+UseG1GC"), MAX_HEAP), is(MAX_HEAP));
+  }
+
+  @Test
+  public void sizeWithUnits() {
+    assertThat(getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=4096"), MAX_HEAP), is(4096L));
+    assertThat(getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=64k"), MAX_HEAP), is(64L * 1024));
+    assertThat(getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=512M"), MAX_HEAP), is(512L * 1024 * 1024));
+    assertThat(getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=2g"), MAX_HEAP), is(2L * 1024 * 1024 * 1024));
+  }
+
+  @Test
+  public void lastOptionWins() {
+    assertThat(getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=1m", "-XX:MaxDirectMemorySize=2m"), MAX_HEAP),
+               is(2L * 1024 * 1024));
+  }
+
+  @Test
+  public void invalidSizeDefaultsToMaxHeap() {
+    assertThat(getMaxDirectMemory(asList("-XX:MaxDirectMemorySize=lots"), MAX_HEAP), is(MAX_HEAP));
+  }
+}
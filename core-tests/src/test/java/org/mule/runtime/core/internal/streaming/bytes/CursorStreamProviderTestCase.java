@@ -4,6 +4,7 @@
 package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.toIntExact;
+import static java.nio.channels.Channels.newChannel;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
@@ -26,6 +27,7 @@ import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.tck.size.SmallTest;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -317,6 +319,31 @@ public class CursorStreamProviderTestCase extends AbstractByteStreamingTestCase
     });
   }
 
+  @Test
+  public void transferRemainderToChannel() throws Exception {
+    withCursor(cursor -> {
+      cursor.read(new byte[halfDataLength], 0, halfDataLength);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertThat(((BufferedCursorStream) cursor).transferTo(newChannel(out)), is((long) (data.length() - halfDataLength)));
+      assertEquals(toString(out.toByteArray()), data.substring(halfDataLength));
+      assertThat(cursor.getPosition(), is((long) data.length()));
+      assertThat(cursor.read(), is(-1));
+    });
+  }
+
+  @Test
+  public void transferToOutputStreamAfterSeek() throws Exception {
+    withCursor(cursor -> {
+      IOUtils.toString(cursor);
+      cursor.seek(10);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertThat(((BufferedCursorStream) cursor).transferTo(out), is((long) (data.length() - 10)));
+      assertEquals(toString(out.toByteArray()), data.substring(10));
+    });
+  }
+
   @Test(expected = IOException.class)
   public void ioExceptionIfClosed() throws Exception {
     CursorStream cursor = streamProvider.openCursor();
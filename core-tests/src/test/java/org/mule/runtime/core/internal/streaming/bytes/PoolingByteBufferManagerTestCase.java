@@ -3,12 +3,31 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_POOL_SIZE;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.MAX_STREAMING_MEMORY_PERCENTAGE;
 import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
 
+import static java.lang.Math.round;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.DirectMemoryManager;
 import org.mule.runtime.core.internal.streaming.MemoryManager;
 import org.mule.tck.size.SmallTest;
 
+import java.io.ByteArrayInputStream;
+
 import io.qameta.allure.Feature;
+import org.junit.Test;
 
 @SmallTest
 @Feature(STREAMING)
@@ -23,4 +42,144 @@ public class PoolingByteBufferManagerTestCase extends MemoryBoundByteBufferManag
   protected MemoryBoundByteBufferManager createBuffer(MemoryManager memoryManager, int capacity) {
     return new PoolingByteBufferManager(memoryManager, 2, capacity);
   }
+
+  @Test
+  public void capacitiesInTheSameSizeClassReuseBuffers() {
+    PoolingByteBufferManager bufferManager = new PoolingByteBufferManager();
+    try {
+      bufferManager.allocateManaged(100).release();
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(120);
+
+      assertThat(buffer.getDelegate().capacity(), is(120));
+      assertThat(bufferManager.getMisses(), is(1L));
+      assertThat(bufferManager.getHits(), is(1L));
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void utilizationAndFragmentation() {
+    PoolingByteBufferManager bufferManager = new PoolingByteBufferManager();
+    try {
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(96);
+
+      assertThat(bufferManager.getInUseBytes(), is(128L));
+      assertThat(bufferManager.getRequestedBytes(), is(96L));
+      assertThat(bufferManager.getFragmentation(), closeTo(0.25, 0.001));
+
+      buffer.release();
+      assertThat(bufferManager.getInUseBytes(), is(0L));
+      assertThat(bufferManager.getPooledBytes(), is(128L));
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void idleBuffersAreFreedWhenMemoryCapIsReached() {
+    MemoryManager memoryManager = mock(MemoryManager.class);
+    when(memoryManager.getMaxMemory()).thenReturn(round((DEFAULT_BUFFER_BUCKET_SIZE * 2) / MAX_STREAMING_MEMORY_PERCENTAGE));
+    PoolingByteBufferManager bufferManager =
+        new PoolingByteBufferManager(memoryManager, DEFAULT_BUFFER_POOL_SIZE, DEFAULT_BUFFER_BUCKET_SIZE);
+    try {
+      bufferManager.allocateManaged(DEFAULT_BUFFER_BUCKET_SIZE).release();
+      assertThat(bufferManager.getPooledBytes(), is((long) DEFAULT_BUFFER_BUCKET_SIZE));
+
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(DEFAULT_BUFFER_BUCKET_SIZE * 2);
+      assertThat(buffer.getDelegate().capacity(), is(DEFAULT_BUFFER_BUCKET_SIZE * 2));
+      assertThat(bufferManager.getPooledBytes(), is(0L));
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void buffersCachedByOtherThreadsAreFreedOnDispose() throws Exception {
+    PoolingByteBufferManager bufferManager = new PoolingByteBufferManager();
+    try {
+      runInOtherThread(() -> bufferManager.allocateManaged(100).release());
+      assertThat(bufferManager.getPooledBytes(), is(128L));
+    } finally {
+      bufferManager.dispose();
+    }
+    assertThat(bufferManager.getPooledBytes(), is(0L));
+  }
+
+  @Test
+  public void buffersCachedByDeadThreadsAreFreed() throws Exception {
+    PoolingByteBufferManager bufferManager = new PoolingByteBufferManager();
+    try {
+      runInOtherThread(() -> bufferManager.allocateManaged(100).release());
+      assertThat(bufferManager.getPooledBytes(), is(128L));
+
+      // the first allocation of this thread frees the cache of the dead one, so the buffer is not reused
+      bufferManager.allocateManaged(100).release();
+      assertThat(bufferManager.getHits(), is(0L));
+      assertThat(bufferManager.getPooledBytes(), is(128L));
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  private void runInOtherThread(Runnable task) throws InterruptedException {
+    Thread thread = new Thread(task);
+    thread.start();
+    thread.join();
+  }
+
+  @Test
+  public void directBuffers() throws Exception {
+    PoolingByteBufferManager bufferManager =
+        new PoolingByteBufferManager(new DirectMemoryManager(), DEFAULT_BUFFER_POOL_SIZE, DEFAULT_BUFFER_BUCKET_SIZE, true);
+    try {
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(100);
+      assertThat(buffer.getDelegate().isDirect(), is(true));
+      assertThat(buffer.getDelegate().capacity(), is(100));
+      buffer.release();
+
+      byte[] data = new byte[1000];
+      for (int i = 0; i < data.length; ++i) {
+        data[i] = (byte) i;
+      }
+      InMemoryCursorStreamConfig config = new InMemoryCursorStreamConfig(new DataSize(10, BYTE),
+                                                                         new DataSize(10, BYTE),
+                                                                         new DataSize(data.length, BYTE));
+      InMemoryStreamBuffer streamBuffer = new InMemoryStreamBuffer(new ByteArrayInputStream(data), config, bufferManager);
+      try {
+        for (int i = 0; i < data.length; ++i) {
+          assertThat(streamBuffer.get(i, 1).get(), is(data[i]));
+        }
+      } finally {
+        streamBuffer.close();
+      }
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void directBuffersBiggerThanReadChunk() throws Exception {
+    PoolingByteBufferManager bufferManager =
+        new PoolingByteBufferManager(new DirectMemoryManager(), DEFAULT_BUFFER_POOL_SIZE, DEFAULT_BUFFER_BUCKET_SIZE, true);
+    try {
+      byte[] data = new byte[50000];
+      for (int i = 0; i < data.length; ++i) {
+        data[i] = (byte) (i * 31);
+      }
+      InMemoryCursorStreamConfig config = new InMemoryCursorStreamConfig(new DataSize(20000, BYTE),
+                                                                         new DataSize(20000, BYTE),
+                                                                         new DataSize(data.length, BYTE));
+      InMemoryStreamBuffer streamBuffer = new InMemoryStreamBuffer(new ByteArrayInputStream(data), config, bufferManager);
+      try {
+        for (int i = 0; i < data.length; ++i) {
+          assertThat(streamBuffer.get(i, 1).get(), is(data[i]));
+        }
+      } finally {
+        streamBuffer.close();
+      }
+    } finally {
+      bufferManager.dispose();
+    }
+  }
 }
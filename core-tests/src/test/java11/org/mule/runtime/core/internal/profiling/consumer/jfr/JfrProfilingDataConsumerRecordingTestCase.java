@@ -0,0 +1,266 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_THREAD_RELEASE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_SCHEDULING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TX_START;
+import static org.mule.runtime.api.tx.TransactionType.LOCAL;
+import static org.mule.runtime.core.internal.profiling.consumer.jfr.JfrProfilingDataConsumers.createJfrProfilingDataConsumers;
+import static org.mule.runtime.core.internal.profiling.consumer.jfr.JfrProfilingDataConsumers.isJfrSupported;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_PROFILING_SERVICE;
+
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.TypedComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.threading.ThreadSnapshot;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.api.profiling.type.context.ComponentProcessingStrategyProfilingEventContext;
+import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
+import org.mule.runtime.api.profiling.type.context.TransactionProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultComponentMetadata;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultExecutionContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(PROFILING)
+@Story(DEFAULT_PROFILING_SERVICE)
+public class JfrProfilingDataConsumerRecordingTestCase extends AbstractMuleTestCase {
+
+  private static final String THREAD_NAME = "threadName";
+  private static final String ARTIFACT_ID = "artifactId";
+  private static final String ARTIFACT_TYPE = "artifactType";
+  private static final String CORRELATION_ID = "correlationId";
+  private static final String LOCATION = "flow/processors/0";
+  private static final long TRIGGER_TIMESTAMP = 5678L;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ComponentLocation location = mock(ComponentLocation.class);
+  private Recording recording;
+
+  @BeforeClass
+  public static void checkJfrSupported() {
+    assumeTrue("JFR is not available in this JVM", isJfrSupported());
+  }
+
+  @Before
+  public void setUp() {
+    TypedComponentIdentifier typedIdentifier = mock(TypedComponentIdentifier.class);
+    ComponentIdentifier identifier = mock(ComponentIdentifier.class);
+    when(location.getLocation()).thenReturn(LOCATION);
+    when(location.getComponentIdentifier()).thenReturn(typedIdentifier);
+    when(typedIdentifier.getIdentifier()).thenReturn(identifier);
+    when(identifier.getNamespace()).thenReturn("mule");
+    when(identifier.getName()).thenReturn("logger");
+  }
+
+  @After
+  public void tearDown() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Test
+  public void consumersCreatedWhenJfrIsSupported() {
+    assertThat(createJfrProfilingDataConsumers(), containsInAnyOrder(instanceOf(JfrComponentProcessingStrategyDataConsumer.class),
+                                                                     instanceOf(JfrComponentThreadingDataConsumer.class),
+                                                                     instanceOf(JfrTaskSchedulingDataConsumer.class),
+                                                                     instanceOf(JfrByteBufferAllocationDataConsumer.class),
+                                                                     instanceOf(JfrTransactionDataConsumer.class)));
+  }
+
+  @Test
+  public void profilingEventsDiscardedWhenNotRecording() {
+    JfrTransactionDataConsumer consumer = new JfrTransactionDataConsumer();
+    assertThat(consumer.getEventContextFilter().test(mock(TransactionProfilingEventContext.class)), is(false));
+  }
+
+  @Test
+  public void processingStrategyEvent() throws IOException {
+    ComponentProcessingStrategyProfilingEventContext context = mock(ComponentProcessingStrategyProfilingEventContext.class);
+    when(context.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(context.getThreadName()).thenReturn(THREAD_NAME);
+    when(context.getArtifactId()).thenReturn(ARTIFACT_ID);
+    when(context.getArtifactType()).thenReturn(ARTIFACT_TYPE);
+    when(context.getCorrelationId()).thenReturn(CORRELATION_ID);
+    when(context.getLocation()).thenReturn(of(location));
+
+    startRecording("org.mule.runtime.ProcessingStrategy");
+    JfrComponentProcessingStrategyDataConsumer consumer = new JfrComponentProcessingStrategyDataConsumer();
+    assertThat(consumer.getEventContextFilter().test(context), is(true));
+    consumer.onProfilingEvent(PS_SCHEDULING_OPERATION_EXECUTION, context);
+
+    RecordedEvent event = recordedEvent("org.mule.runtime.ProcessingStrategy");
+    assertThat(event.getString("profilingEventType"), is(name(PS_SCHEDULING_OPERATION_EXECUTION)));
+    assertThat(event.getLong("triggerTimestamp"), is(TRIGGER_TIMESTAMP));
+    assertThat(event.getString("processingThread"), is(THREAD_NAME));
+    assertThat(event.getString("artifactId"), is(ARTIFACT_ID));
+    assertThat(event.getString("artifactType"), is(ARTIFACT_TYPE));
+    assertThat(event.getString("correlationId"), is(CORRELATION_ID));
+    assertThat(event.getString("location"), is(LOCATION));
+    assertThat(event.getString("componentIdentifier"), is("mule:logger"));
+  }
+
+  @Test
+  public void componentThreadingEvent() throws IOException {
+    ThreadSnapshot threadSnapshot = mock(ThreadSnapshot.class);
+    when(threadSnapshot.getBlockedTime()).thenReturn(10L);
+    when(threadSnapshot.getWaitedTime()).thenReturn(20L);
+    when(threadSnapshot.getCpuTime()).thenReturn(30L);
+    ComponentThreadingProfilingEventContext context = mock(ComponentThreadingProfilingEventContext.class);
+    when(context.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(context.getThreadName()).thenReturn(THREAD_NAME);
+    when(context.getArtifactId()).thenReturn(ARTIFACT_ID);
+    when(context.getCorrelationId()).thenReturn(CORRELATION_ID);
+    when(context.getLocation()).thenReturn(of(location));
+    when(context.getThreadSnapshot()).thenReturn(of(threadSnapshot));
+
+    startRecording("org.mule.runtime.ComponentThreading");
+    JfrComponentThreadingDataConsumer consumer = new JfrComponentThreadingDataConsumer();
+    assertThat(consumer.getEventContextFilter().test(context), is(true));
+    consumer.onProfilingEvent(OPERATION_THREAD_RELEASE, context);
+
+    RecordedEvent event = recordedEvent("org.mule.runtime.ComponentThreading");
+    assertThat(event.getString("profilingEventType"), is(name(OPERATION_THREAD_RELEASE)));
+    assertThat(event.getLong("triggerTimestamp"), is(TRIGGER_TIMESTAMP));
+    assertThat(event.getString("processingThread"), is(THREAD_NAME));
+    assertThat(event.getString("artifactId"), is(ARTIFACT_ID));
+    assertThat(event.getString("correlationId"), is(CORRELATION_ID));
+    assertThat(event.getString("location"), is(LOCATION));
+    assertThat(event.getString("componentIdentifier"), is("mule:logger"));
+    assertThat(event.getLong("blockedTime"), is(10L));
+    assertThat(event.getLong("waitedTime"), is(20L));
+    assertThat(event.getLong("cpuTime"), is(30L));
+  }
+
+  @Test
+  public void taskSchedulingEvent() throws IOException {
+    TaskSchedulingProfilingEventContext context = mock(TaskSchedulingProfilingEventContext.class);
+    when(context.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(context.getThreadName()).thenReturn(THREAD_NAME);
+    when(context.getTaskId()).thenReturn("taskId");
+    when(context.getTaskTracingContext())
+        .thenReturn(of(new DefaultExecutionContext(new DefaultComponentMetadata(CORRELATION_ID, ARTIFACT_ID, ARTIFACT_TYPE,
+                                                                                location))));
+
+    startRecording("org.mule.runtime.TaskScheduling");
+    JfrTaskSchedulingDataConsumer consumer = new JfrTaskSchedulingDataConsumer();
+    assertThat(consumer.getEventContextFilter().test(context), is(true));
+    consumer.onProfilingEvent(STARTING_TASK_EXECUTION, context);
+
+    RecordedEvent event = recordedEvent("org.mule.runtime.TaskScheduling");
+    assertThat(event.getString("profilingEventType"), is(name(STARTING_TASK_EXECUTION)));
+    assertThat(event.getLong("triggerTimestamp"), is(TRIGGER_TIMESTAMP));
+    assertThat(event.getString("processingThread"), is(THREAD_NAME));
+    assertThat(event.getString("taskId"), is("taskId"));
+    assertThat(event.getString("artifactId"), is(ARTIFACT_ID));
+    assertThat(event.getString("correlationId"), is(CORRELATION_ID));
+    assertThat(event.getString("location"), is(LOCATION));
+    assertThat(event.getString("componentIdentifier"), is("mule:logger"));
+  }
+
+  @Test
+  public void byteBufferAllocationEvent() throws IOException {
+    ByteBufferProviderEventContext context = mock(ByteBufferProviderEventContext.class);
+    when(context.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(context.getByteBufferProviderName()).thenReturn("bufferProvider");
+    when(context.size()).thenReturn(1024);
+
+    startRecording("org.mule.runtime.ByteBufferAllocation");
+    JfrByteBufferAllocationDataConsumer consumer = new JfrByteBufferAllocationDataConsumer();
+    assertThat(consumer.getEventContextFilter().test(context), is(true));
+    consumer.onProfilingEvent(MEMORY_BYTE_BUFFER_ALLOCATION, context);
+
+    RecordedEvent event = recordedEvent("org.mule.runtime.ByteBufferAllocation");
+    assertThat(event.getString("profilingEventType"), is(name(MEMORY_BYTE_BUFFER_ALLOCATION)));
+    assertThat(event.getLong("triggerTimestamp"), is(TRIGGER_TIMESTAMP));
+    assertThat(event.getString("byteBufferProviderName"), is("bufferProvider"));
+    assertThat(event.getLong("size"), is(1024L));
+  }
+
+  @Test
+  public void transactionEvent() throws IOException {
+    TransactionProfilingEventContext context = mock(TransactionProfilingEventContext.class);
+    when(context.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(context.getType()).thenReturn(LOCAL);
+    when(context.getTransactionOriginatingLocation()).thenReturn("flow/processors/1");
+    when(context.getEventOrginatingLocation()).thenReturn(location);
+
+    startRecording("org.mule.runtime.Transaction");
+    JfrTransactionDataConsumer consumer = new JfrTransactionDataConsumer();
+    assertThat(consumer.getEventContextFilter().test(context), is(true));
+    consumer.onProfilingEvent(TX_START, context);
+
+    RecordedEvent event = recordedEvent("org.mule.runtime.Transaction");
+    assertThat(event.getString("profilingEventType"), is(name(TX_START)));
+    assertThat(event.getLong("triggerTimestamp"), is(TRIGGER_TIMESTAMP));
+    assertThat(event.getString("transactionType"), is(LOCAL.toString()));
+    assertThat(event.getString("createdIn"), is("flow/processors/1"));
+    assertThat(event.getString("actionIn"), is(LOCATION));
+  }
+
+  private void startRecording(String jfrEventName) {
+    recording = new Recording();
+    recording.enable(jfrEventName);
+    recording.start();
+  }
+
+  /**
+   * Stops the recording and reads back the only JFR event of the given name it has.
+   */
+  private RecordedEvent recordedEvent(String jfrEventName) throws IOException {
+    recording.stop();
+    Path dump = temporaryFolder.getRoot().toPath().resolve("recording.jfr");
+    recording.dump(dump);
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+        .filter(event -> event.getEventType().getName().equals(jfrEventName))
+        .collect(toList());
+    assertThat(events, hasSize(1));
+    return events.get(0);
+  }
+
+  private static String name(ProfilingEventType<?> profilingEventType) {
+    return profilingEventType.getProfilingEventTypeNamespace() + ":" + profilingEventType.getProfilingEventTypeIdentifier();
+  }
+}
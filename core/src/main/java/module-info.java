@@ -55,6 +55,8 @@ module org.mule.runtime.core {
   requires java.annotation;
   requires java.inject;
   requires java.management;
+  // used by the JFR profiling data consumers of the Java 11 overlay, which are not created when JFR is not available
+  requires static jdk.jfr;
   // InvalidTransactionException extends java.rmi.RemoteException
   requires java.rmi;
   requires java.transaction;
@@ -323,6 +325,10 @@ module org.mule.runtime.core {
       org.mule.service.scheduler,
       com.mulesoft.mule.runtime.batch,
       spring.beans;
+  exports org.mule.runtime.core.internal.profiling.sampling to
+      org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting,
+      spring.beans;
   exports org.mule.runtime.core.internal.profiling.tracing.event.span.condition to
       org.mule.runtime.tracer.internal.impl;
   exports org.mule.runtime.core.internal.registry to
@@ -369,6 +375,7 @@ module org.mule.runtime.core {
       spring.beans;
   exports org.mule.runtime.core.internal.streaming to
       org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting,
       com.mulesoft.mule.runtime.core.ee,
       spring.beans;
   exports org.mule.runtime.core.internal.streaming.bytes to
@@ -501,6 +508,8 @@ module org.mule.runtime.core {
       spring.core;
   opens org.mule.runtime.core.internal.profiling to
       spring.core;
+  opens org.mule.runtime.core.internal.profiling.sampling to
+      spring.core;
   opens org.mule.runtime.core.internal.streaming to
       spring.core;
   opens org.mule.runtime.core.internal.streaming.object to
@@ -3,6 +3,9 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Integer.getInteger;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
@@ -54,6 +57,7 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.AsyncNotificationDelivery;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotificationListener;
@@ -63,6 +67,7 @@ import org.mule.runtime.core.privileged.context.notification.OptimisedNotificati
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
@@ -94,12 +99,37 @@ import org.slf4j.Logger;
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
  * <li>Enquiring whether an event is enabled returns true if any subclass is enabled.</li>
  * </ul>
+ *
+ * <p>
+ * Asynchronous notifications are queued per listener and delivered in batches by a single task at a time (see
+ * {@link AsyncNotificationDelivery}). A listener that lags behind more than {@link #ASYNC_NOTIFICATIONS_QUEUE_SIZE_PROPERTY}
+ * notifications has the new ones dropped, rather than flooding the notification schedulers.
+ * </p>
  */
 @NoExtend
 public class ServerNotificationManager implements ServerNotificationHandler, MuleContextAware {
 
   private static final Logger logger = getLogger(ServerNotificationManager.class);
 
+  /**
+   * How many asynchronous notifications may be waiting to be delivered to a listener before new ones are dropped.
+   *
+   * @since 4.6
+   */
+  public static final String ASYNC_NOTIFICATIONS_QUEUE_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.async.queueSize";
+
+  /**
+   * How many asynchronous notifications are delivered to a listener by a single scheduler task at most.
+   *
+   * @since 4.6
+   */
+  public static final String ASYNC_NOTIFICATIONS_BATCH_SIZE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "notifications.async.batchSize";
+
+  private static final int ASYNC_NOTIFICATIONS_QUEUE_SIZE = getInteger(ASYNC_NOTIFICATIONS_QUEUE_SIZE_PROPERTY, 10000);
+  private static final int ASYNC_NOTIFICATIONS_BATCH_SIZE = getInteger(ASYNC_NOTIFICATIONS_BATCH_SIZE_PROPERTY, 256);
+
   private boolean dynamic = false;
   private Configuration configuration = new Configuration();
   private final AtomicInteger activeFires = new AtomicInteger();
@@ -107,6 +137,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private final Latch disposeLatch = new Latch();
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private final Map<NotificationListener, AsyncNotificationDelivery> asyncDeliveries = new ConcurrentHashMap<>();
   private MuleContext muleContext;
   private LazyValue<String> serverId = new LazyValue<>(() -> muleContext.getId());
   private LazyValue<SchedulerService> schedulerService = new LazyValue<>(() -> muleContext.getSchedulerService());
@@ -164,6 +195,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
    */
   public void removeListener(NotificationListener<?> listener) {
     configuration.removeListener(listener);
+    asyncDeliveries.remove(listener);
   }
 
   public void disableInterface(Class<? extends NotificationListener> iface) {
@@ -204,13 +236,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
       } else {
-        notifyListeners(notification, (listener, nfn) -> {
-          if (listener.isBlocking()) {
-            notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
-          } else {
-            notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
-          }
-        });
+        notifyListeners(notification, (listener, nfn) -> getAsyncDelivery(listener).enqueue(nfn));
       }
     } finally {
       if (0 == activeFires.decrementAndGet() && disposed.get()) {
@@ -219,6 +245,17 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     }
   }
 
+  private AsyncNotificationDelivery getAsyncDelivery(NotificationListener listener) {
+    AsyncNotificationDelivery delivery = asyncDeliveries.get(listener);
+    if (delivery != null) {
+      return delivery;
+    }
+
+    return asyncDeliveries.computeIfAbsent(listener, l -> new AsyncNotificationDelivery(l, l.isBlocking()
+        ? notificationsIoScheduler
+        : notificationsLiteScheduler, ASYNC_NOTIFICATIONS_QUEUE_SIZE, ASYNC_NOTIFICATIONS_BATCH_SIZE));
+  }
+
   protected void notifyListeners(Notification notification, NotifierCallback notifier) {
     configuration.getPolicy().dispatch(notification, notifier);
   }
@@ -259,6 +296,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       notificationsIoScheduler.stop();
       notificationsIoScheduler = null;
     }
+    asyncDeliveries.clear();
 
     configuration = null;
   }
@@ -35,6 +35,7 @@ public class AllStatistics {
   private final ApplicationStatistics appStats;
   private final FlowsSummaryStatistics flowSummaryStatistics;
   private final Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<>();
+  private final Map<String, SchedulerStatistics> schedulerStats = new HashMap<>();
   private final Map<String, PayloadStatistics> payloadStatistics = emptyMap();
   private ArtifactMeterProvider meterProvider;
 
@@ -53,6 +54,9 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : getServiceStatistics()) {
       statistics.clear();
     }
+    for (SchedulerStatistics statistics : schedulerStats.values()) {
+      statistics.clear();
+    }
     startTime = currentTimeMillis();
   }
 
@@ -72,6 +76,9 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : flowConstructStats.values()) {
       statistics.setEnabled(enable);
     }
+    for (SchedulerStatistics statistics : schedulerStats.values()) {
+      statistics.setEnabled(enable);
+    }
   }
 
   /**
@@ -112,6 +119,34 @@ public class AllStatistics {
     return flowConstructStats.values();
   }
 
+  /**
+   * @param stat the statistics of a scheduler message source to keep along with the ones of the flows.
+   * @since 4.6
+   */
+  public synchronized void addSchedulerStatistics(SchedulerStatistics stat) {
+    if (stat != null) {
+      stat.setEnabled(isStatisticsEnabled);
+      schedulerStats.put(stat.getName(), stat);
+    }
+  }
+
+  /**
+   * @since 4.6
+   */
+  public synchronized void removeSchedulerStatistics(SchedulerStatistics stat) {
+    if (stat != null) {
+      schedulerStats.remove(stat.getName(), stat);
+    }
+  }
+
+  /**
+   * @return the statistics of the scheduler message sources.
+   * @since 4.6
+   */
+  public synchronized Collection<SchedulerStatistics> getSchedulerStatistics() {
+    return schedulerStats.values();
+  }
+
   public FlowConstructStatistics getApplicationStatistics() {
     return appStats;
   }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import org.mule.api.annotation.NoExtend;
+
+/**
+ * Maintains the statistics of a scheduler message source: how late its runs start relative to when they were due, how long they
+ * take, and how many fires didn't get a run because the previous one was still executing.
+ * <p>
+ * As with the other statistics, it is up to the source to only collect them when {@link #isEnabled() enabled}.
+ *
+ * @since 4.6
+ */
+@NoExtend
+public class SchedulerStatistics implements Statistics {
+
+  private static final long serialVersionUID = -3425467196345812640L;
+
+  private final String name;
+  private boolean enabled;
+
+  private long skippedFires;
+  private long catchUpRuns;
+
+  private long startedRuns;
+  private long totalLateness;
+  private long maxLateness;
+
+  private long completedRuns;
+  private long totalRunDuration;
+  private long minRunDuration;
+  private long maxRunDuration;
+
+  /**
+   * @param name the name of the flow the scheduler triggers
+   */
+  public SchedulerStatistics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the name given to the statistic
+   */
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public synchronized void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public synchronized void clear() {
+    skippedFires = 0;
+    catchUpRuns = 0;
+    startedRuns = 0;
+    totalLateness = 0;
+    maxLateness = 0;
+    completedRuns = 0;
+    totalRunDuration = 0;
+    minRunDuration = 0;
+    maxRunDuration = 0;
+  }
+
+  /**
+   * Indicates that a fire was dropped without a run of its own.
+   */
+  public synchronized void incSkippedFires() {
+    skippedFires++;
+  }
+
+  /**
+   * Indicates that a run was started for a fire that found the previous run still executing.
+   */
+  public synchronized void incCatchUpRuns() {
+    catchUpRuns++;
+  }
+
+  /**
+   * Adds how late a run started relative to when its fire was due.
+   *
+   * @param lateness the lateness, in milliseconds
+   */
+  public synchronized void addLateness(long lateness) {
+    startedRuns++;
+    totalLateness += lateness;
+    if (lateness > maxLateness) {
+      maxLateness = lateness;
+    }
+  }
+
+  /**
+   * Adds the time a run took from its start until the flow completed processing it.
+   *
+   * @param duration the duration, in milliseconds
+   */
+  public synchronized void addRunDuration(long duration) {
+    completedRuns++;
+    totalRunDuration += duration;
+    if (completedRuns == 1 || duration < minRunDuration) {
+      minRunDuration = duration;
+    }
+    if (duration > maxRunDuration) {
+      maxRunDuration = duration;
+    }
+  }
+
+  /**
+   * @return the number of fires dropped without a run of their own, either because the misfire policy skips them or because they
+   *         were folded into an already pending catch-up run.
+   */
+  public synchronized long getSkippedFires() {
+    return skippedFires;
+  }
+
+  /**
+   * @return the number of runs started once the previous run finished, for fires that found it still executing.
+   */
+  public synchronized long getCatchUpRuns() {
+    return catchUpRuns;
+  }
+
+  /**
+   * @return the number of runs started
+   */
+  public synchronized long getStartedRuns() {
+    return startedRuns;
+  }
+
+  /**
+   * @return the average time runs started after they were due, in milliseconds
+   */
+  public synchronized long getAverageLateness() {
+    return startedRuns == 0 ? 0 : totalLateness / startedRuns;
+  }
+
+  /**
+   * @return the maximum time a run started after it was due, in milliseconds
+   */
+  public synchronized long getMaxLateness() {
+    return maxLateness;
+  }
+
+  /**
+   * @return the number of runs completed
+   */
+  public synchronized long getCompletedRuns() {
+    return completedRuns;
+  }
+
+  /**
+   * @return the time consumed by all the completed runs, in milliseconds
+   */
+  public synchronized long getTotalRunDuration() {
+    return totalRunDuration;
+  }
+
+  /**
+   * @return the average duration of the completed runs, in milliseconds
+   */
+  public synchronized long getAverageRunDuration() {
+    return completedRuns == 0 ? 0 : totalRunDuration / completedRuns;
+  }
+
+  /**
+   * @return the minimum duration of a completed run, in milliseconds
+   */
+  public synchronized long getMinRunDuration() {
+    return minRunDuration;
+  }
+
+  /**
+   * @return the maximum duration of a completed run, in milliseconds
+   */
+  public synchronized long getMaxRunDuration() {
+    return maxRunDuration;
+  }
+}
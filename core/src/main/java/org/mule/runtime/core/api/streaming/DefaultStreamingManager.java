@@ -36,10 +36,12 @@ import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
 import org.mule.runtime.core.internal.event.DefaultEventContext;
 import org.mule.runtime.core.internal.streaming.AtomicStreamingStatistics;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.CursorManager;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.NullStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
+import org.mule.runtime.core.internal.streaming.bytes.ByteBufferPoolStatistics;
 import org.mule.runtime.core.internal.streaming.bytes.DefaultByteStreamingManager;
 import org.mule.runtime.core.internal.streaming.bytes.factory.PoolingByteBufferManagerFactory;
 import org.mule.runtime.core.internal.streaming.object.DefaultObjectStreamingManager;
@@ -75,6 +77,9 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   @Inject
   private StreamingGhostBuster ghostBuster;
 
+  @Inject
+  private ComponentStreamingStatistics componentStreamingStatistics;
+
   /**
    * {@inheritDoc}
    */
@@ -83,8 +88,11 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     if (!initialised) {
       statistics = createStatistics();
 
-      cursorManager = new CursorManager(statistics, ghostBuster);
+      cursorManager = new CursorManager(statistics, ghostBuster, componentStreamingStatistics);
       bufferManager = createByteBufferManager();
+      if (componentStreamingStatistics != null && bufferManager instanceof ByteBufferPoolStatistics) {
+        componentStreamingStatistics.setBufferPoolStatistics((ByteBufferPoolStatistics) bufferManager);
+      }
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
 
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.cluster;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.notification.ClusterNodeNotification.PRIMARY_CLUSTER_NODE_SELECTED;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Long.getLong;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
+import static java.lang.management.ManagementFactory.getRuntimeMXBean;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.cluster.ClusterService;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.notification.ClusterNodeNotification;
+import org.mule.runtime.api.notification.NotificationDispatcher;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.connector.SchedulerController;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+
+/**
+ * Implementation of {@link ClusterService} that coordinates several runtime instances through a directory they all have access
+ * to (i.e.: an NFS mount), without the need of an external coordination service.
+ * <p>
+ * Each instance periodically tries to take or renew a {@link SharedDirectoryLease lease} stored in that directory. The instance
+ * holding a valid lease is the primary polling instance. If the primary stops renewing its lease (because it was shut down,
+ * crashed or got disconnected from the shared directory), another instance takes over once the lease expires and
+ * {@link ClusterNodeNotification#PRIMARY_CLUSTER_NODE_SELECTED} is fired on it so that primary-node-only sources get started.
+ * <p>
+ * This service is enabled by setting the {@link #SHARED_DIRECTORY_PROPERTY} system property.
+ *
+ * @since 4.6
+ */
+public class SharedDirectoryClusterService implements ClusterService, SchedulerController, Lifecycle {
+
+  /**
+   * System property with the path of the directory shared among the runtime instances of the cluster.
+   */
+  public static final String SHARED_DIRECTORY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "cluster.sharedDirectory";
+
+  /**
+   * System property with the time in milliseconds a primary node lease is valid for after being taken or renewed.
+   */
+  public static final String LEASE_DURATION_PROPERTY = SYSTEM_PROPERTY_PREFIX + "cluster.leaseDurationMillis";
+
+  /**
+   * System property with the time in milliseconds between attempts to take or renew the primary node lease.
+   */
+  public static final String HEARTBEAT_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "cluster.heartbeatMillis";
+
+  /**
+   * System property with the id that identifies this runtime instance among the ones sharing the directory.
+   */
+  public static final String NODE_ID_PROPERTY = SYSTEM_PROPERTY_PREFIX + "cluster.nodeId";
+
+  private static final long DEFAULT_LEASE_DURATION = 15000;
+  private static final String PRIMARY_LEASE_FILE_NAME = "primary.lease";
+  private static final Logger LOGGER = getLogger(SharedDirectoryClusterService.class);
+
+  @Inject
+  private MuleContext muleContext;
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  @Inject
+  private NotificationDispatcher notificationDispatcher;
+
+  private File leaseDirectory;
+  private String nodeId;
+  private long leaseDurationMillis;
+  private long heartbeatMillis;
+
+  private SharedDirectoryLease lease;
+  private Scheduler scheduler;
+  private ScheduledFuture<?> heartbeatTask;
+
+  private volatile boolean primary = false;
+  private volatile long primaryValidUntilNanos;
+  private volatile long fencingToken = -1;
+
+  public SharedDirectoryClusterService() {
+    this.leaseDurationMillis = getLong(LEASE_DURATION_PROPERTY, DEFAULT_LEASE_DURATION);
+    this.heartbeatMillis = getLong(HEARTBEAT_INTERVAL_PROPERTY, leaseDurationMillis / 3);
+    this.nodeId = getProperty(NODE_ID_PROPERTY, getRuntimeMXBean().getName() + "-" + randomUUID());
+  }
+
+  SharedDirectoryClusterService(File leaseDirectory, String nodeId, long leaseDurationMillis, long heartbeatMillis) {
+    this.leaseDirectory = leaseDirectory;
+    this.nodeId = nodeId;
+    this.leaseDurationMillis = leaseDurationMillis;
+    this.heartbeatMillis = heartbeatMillis;
+  }
+
+  /**
+   * Resolves the directory where the files used for coordinating the instances running the given artifact are kept.
+   *
+   * @param artifactId the id of the artifact the coordination files are for
+   * @return the directory for the coordination files of the artifact
+   * @throws IOException if the {@link #SHARED_DIRECTORY_PROPERTY} is not set or the directory could not be created
+   */
+  public static File resolveArtifactSharedDirectory(String artifactId) throws IOException {
+    String sharedDirectory = getProperty(SHARED_DIRECTORY_PROPERTY);
+    if (sharedDirectory == null) {
+      throw new IOException("System property '" + SHARED_DIRECTORY_PROPERTY + "' is not set");
+    }
+
+    File artifactDirectory = new File(sharedDirectory, artifactId);
+    if (!artifactDirectory.isDirectory() && !artifactDirectory.mkdirs()) {
+      throw new IOException("Could not create shared directory " + artifactDirectory.getAbsolutePath());
+    }
+    return artifactDirectory;
+  }
+
+  /**
+   * @return whether the runtime was configured to coordinate its instances through a shared directory.
+   */
+  public static boolean isSharedDirectoryClusterEnabled() {
+    return getProperty(SHARED_DIRECTORY_PROPERTY) != null;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (heartbeatMillis >= leaseDurationMillis) {
+      throw new InitialisationException(createStaticMessage("Heartbeat interval (" + heartbeatMillis
+          + " ms) must be lower than the lease duration (" + leaseDurationMillis + " ms)"), this);
+    }
+
+    try {
+      if (leaseDirectory == null) {
+        leaseDirectory = resolveArtifactSharedDirectory(muleContext.getId());
+      }
+      lease = new SharedDirectoryLease(new File(leaseDirectory, PRIMARY_LEASE_FILE_NAME));
+    } catch (IOException e) {
+      throw new InitialisationException(e, this);
+    }
+
+    if (schedulerService != null) {
+      scheduler = schedulerService.customScheduler(SchedulerConfig.config()
+          .withMaxConcurrentTasks(1)
+          .withName("SharedDirectoryClusterService-heartbeat"));
+    }
+  }
+
+  @Override
+  public void start() throws MuleException {
+    heartbeat();
+    if (scheduler != null) {
+      heartbeatTask = scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, MILLISECONDS);
+    }
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    if (heartbeatTask != null) {
+      heartbeatTask.cancel(false);
+      heartbeatTask = null;
+    }
+
+    if (primary) {
+      primary = false;
+      fencingToken = -1;
+      try {
+        lease.release(nodeId);
+      } catch (IOException e) {
+        LOGGER.warn("Could not release primary node lease of node '{}'. Other nodes will take over once it expires.", nodeId,
+                    e);
+      }
+    }
+  }
+
+  @Override
+  public void dispose() {
+    if (scheduler != null) {
+      scheduler.stop();
+    }
+  }
+
+  @Override
+  public boolean isPrimaryPollingInstance() {
+    return primary && nanoTime() - primaryValidUntilNanos < 0;
+  }
+
+  @Override
+  public boolean isPrimarySchedulingInstance() {
+    return isPrimaryPollingInstance();
+  }
+
+  /**
+   * The fencing token of the lease held by this node. It is increased each time the primary node changes, so it may be attached
+   * to writes done to external resources in order to reject the ones coming from a node that is no longer the primary.
+   *
+   * @return the fencing token of the currently held lease, or {@code -1} if this node is not the primary.
+   */
+  public long getFencingToken() {
+    return isPrimaryPollingInstance() ? fencingToken : -1;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  void heartbeat() {
+    // The validity is measured from before accessing the shared directory, so it never exceeds the actual lease expiration.
+    long startNanos = nanoTime();
+    boolean wasPrimary = isPrimaryPollingInstance();
+
+    try {
+      SharedDirectoryLease.LeaseRecord record = lease.acquireOrRenew(nodeId, leaseDurationMillis);
+      if (record.isHeldBy(nodeId)) {
+        fencingToken = record.getFencingToken();
+        primaryValidUntilNanos = startNanos + MILLISECONDS.toNanos(leaseDurationMillis);
+        primary = true;
+      } else {
+        primary = false;
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Could not renew primary node lease for node '{}' in {}", nodeId, leaseDirectory, e);
+    } catch (RuntimeException e) {
+      LOGGER.error("Unexpected error renewing primary node lease for node '{}'", nodeId, e);
+    }
+
+    boolean isPrimary = isPrimaryPollingInstance();
+    if (isPrimary && !wasPrimary) {
+      LOGGER.info("Node '{}' is now the primary polling instance (fencing token {})", nodeId, fencingToken);
+      if (notificationDispatcher != null) {
+        notificationDispatcher.dispatch(new ClusterNodeNotification("Node '" + nodeId + "' selected as primary",
+                                                                    PRIMARY_CLUSTER_NODE_SELECTED));
+      }
+    } else if (!isPrimary && wasPrimary) {
+      LOGGER.warn("Node '{}' is no longer the primary polling instance", nodeId);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.cluster;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A lease over a file located in a directory shared by several runtime instances.
+ * <p>
+ * The lease file holds the id of the node that owns the lease, the instant in which the lease expires and a fencing token. Every
+ * read-modify-write of the file is done while holding an exclusive {@link FileChannel#lock() file lock} on a sibling lock file,
+ * so that only one instance at a time may take over or renew the lease. The fencing token is increased each time the lease
+ * changes hands, so that stale owners can be told apart from the current one.
+ * <p>
+ * Each new record is written to a temporary file, flushed to the storage device and then atomically renamed over the lease file,
+ * so an instance that crashes while writing leaves the previous record in place. A lease file that cannot be read is reported
+ * as an error instead of being taken over, because starting the fencing token again would reuse tokens already handed out.
+ * <p>
+ * Expiration is evaluated against the wall clock of each instance, so clocks of the instances sharing the directory are
+ * expected to be reasonably in sync compared to the lease duration.
+ *
+ * @since 4.6
+ */
+public final class SharedDirectoryLease {
+
+  // File locks are held on behalf of the whole JVM, so instances within the same JVM are serialized through a monitor.
+  private static final Map<String, Object> LEASE_MONITORS = new ConcurrentHashMap<>();
+
+  private final File leaseFile;
+  private final File lockFile;
+  private final File tempFile;
+  private final Object monitor;
+
+  public SharedDirectoryLease(File leaseFile) throws IOException {
+    this.leaseFile = leaseFile;
+    this.lockFile = new File(leaseFile.getParentFile(), leaseFile.getName() + ".lock");
+    this.tempFile = new File(leaseFile.getParentFile(), leaseFile.getName() + ".tmp");
+    this.monitor = LEASE_MONITORS.computeIfAbsent(leaseFile.getCanonicalPath(), k -> new Object());
+  }
+
+  /**
+   * Takes the lease for the given node if it is free or expired, or renews it if it is already held by that node.
+   *
+   * @param nodeId              the id of the node trying to take or renew the lease
+   * @param leaseDurationMillis how long the lease is valid for since this call, in milliseconds
+   * @return the state of the lease after this call. It will be held by {@code nodeId} only if it could be taken or renewed.
+   * @throws IOException if the lease file could not be read or written, or is corrupt
+   */
+  public LeaseRecord acquireOrRenew(String nodeId, long leaseDurationMillis) throws IOException {
+    synchronized (monitor) {
+      try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), CREATE, WRITE);
+          FileLock lock = lockChannel.lock()) {
+        LeaseRecord current = read();
+        long now = currentTimeMillis();
+
+        if (current != null && !current.isExpired(now) && !current.isHeldBy(nodeId)) {
+          return current;
+        }
+
+        long fencingToken;
+        if (current == null) {
+          fencingToken = 1;
+        } else if (current.isHeldBy(nodeId) && !current.isExpired(now)) {
+          fencingToken = current.getFencingToken();
+        } else {
+          fencingToken = current.getFencingToken() + 1;
+        }
+
+        LeaseRecord renewed = new LeaseRecord(nodeId, fencingToken, now + leaseDurationMillis);
+        write(renewed);
+        return renewed;
+      }
+    }
+  }
+
+  /**
+   * Gives up the lease if it is held by the given node, allowing other nodes to take it without waiting for it to expire.
+   *
+   * @param nodeId the id of the node releasing the lease
+   * @throws IOException if the lease file could not be read or written, or is corrupt
+   */
+  public void release(String nodeId) throws IOException {
+    synchronized (monitor) {
+      try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), CREATE, WRITE);
+          FileLock lock = lockChannel.lock()) {
+        LeaseRecord current = read();
+        if (current != null && current.isHeldBy(nodeId)) {
+          write(new LeaseRecord(nodeId, current.getFencingToken(), 0));
+        }
+      }
+    }
+  }
+
+  private LeaseRecord read() throws IOException {
+    if (!leaseFile.exists()) {
+      return null;
+    }
+
+    byte[] bytes = readAllBytes(leaseFile.toPath());
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      long fencingToken = in.readLong();
+      long expiresAt = in.readLong();
+      String nodeId = in.readUTF();
+      if (in.available() > 0) {
+        throw new IOException("Unexpected trailing bytes");
+      }
+      return new LeaseRecord(nodeId, fencingToken, expiresAt);
+    } catch (IOException e) {
+      throw new IOException("Lease file " + leaseFile.getAbsolutePath() + " is corrupt. No node will take the lease until it is"
+          + " fixed, so that fencing tokens already handed out are not reused", e);
+    }
+  }
+
+  private void write(LeaseRecord record) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeLong(record.getFencingToken());
+      out.writeLong(record.getExpiresAt());
+      out.writeUTF(record.getNodeId());
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+    try (FileChannel channel = FileChannel.open(tempFile.toPath(), CREATE, TRUNCATE_EXISTING, WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    move(tempFile.toPath(), leaseFile.toPath(), ATOMIC_MOVE);
+  }
+
+  /**
+   * Immutable snapshot of the contents of a lease file.
+   */
+  public static final class LeaseRecord {
+
+    private final String nodeId;
+    private final long fencingToken;
+    private final long expiresAt;
+
+    LeaseRecord(String nodeId, long fencingToken, long expiresAt) {
+      this.nodeId = nodeId;
+      this.fencingToken = fencingToken;
+      this.expiresAt = expiresAt;
+    }
+
+    public String getNodeId() {
+      return nodeId;
+    }
+
+    public long getFencingToken() {
+      return fencingToken;
+    }
+
+    public long getExpiresAt() {
+      return expiresAt;
+    }
+
+    public boolean isHeldBy(String nodeId) {
+      return this.nodeId.equals(nodeId);
+    }
+
+    public boolean isExpired(long now) {
+      return expiresAt <= now;
+    }
+  }
+}
@@ -45,6 +45,7 @@ import static org.mule.runtime.core.internal.exception.ErrorTypeLocatorFactory.c
 import static org.mule.runtime.core.internal.interception.InterceptorManager.INTERCEPTOR_MANAGER_REGISTRY_KEY;
 import static org.mule.runtime.core.internal.profiling.DummyComponentTracerFactory.getDummyComponentTracerFactory;
 import static org.mule.runtime.core.internal.profiling.NoopCoreEventTracer.getNoopCoreEventTracer;
+import static org.mule.runtime.core.internal.serialization.FastObjectSerializer.createDefaultObjectSerializer;
 import static org.mule.runtime.core.internal.util.store.DefaultObjectStoreFactoryBean.createDefaultInMemoryObjectStore;
 import static org.mule.runtime.core.internal.util.store.DefaultObjectStoreFactoryBean.createDefaultPersistentObjectStore;
 
@@ -87,10 +88,11 @@ import org.mule.runtime.core.internal.processor.interceptor.DefaultProcessorInte
 import org.mule.runtime.core.internal.profiling.EmptySpanExporterConfiguration;
 import org.mule.runtime.core.internal.profiling.NoOpProfilingService;
 import org.mule.runtime.core.internal.profiling.NoopSpanExporterFactory;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencySampler;
 import org.mule.runtime.core.internal.registry.MuleRegistry;
 import org.mule.runtime.core.internal.registry.TypeBasedTransformerResolver;
 import org.mule.runtime.core.internal.security.DefaultMuleSecurityManager;
-import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
 import org.mule.runtime.core.internal.time.LocalTimeSupplier;
 import org.mule.runtime.core.internal.transaction.TransactionFactoryLocator;
@@ -145,7 +147,7 @@ public class MinimalConfigurationBuilder extends AbstractConfigurationBuilder {
 
     registerObject(OBJECT_SECURITY_MANAGER, new DefaultMuleSecurityManager(), muleContext);
     registerObject(OBJECT_MULE_STREAM_CLOSER_SERVICE, new DefaultStreamCloserService(), muleContext);
-    registerObject(DEFAULT_OBJECT_SERIALIZER_NAME, new JavaObjectSerializer(), muleContext);
+    registerObject(DEFAULT_OBJECT_SERIALIZER_NAME, createDefaultObjectSerializer(), muleContext);
 
     final ContributedErrorTypeRepository contributedErrorTypeRepository = new ContributedErrorTypeRepository();
     registerObject(ErrorTypeRepository.class.getName(), contributedErrorTypeRepository, muleContext);
@@ -156,6 +158,7 @@ public class MinimalConfigurationBuilder extends AbstractConfigurationBuilder {
     tryRegisterMvel(muleContext);
 
     registerObject(OBJECT_STREAMING_GHOST_BUSTER, new StreamingGhostBuster(), muleContext);
+    registerObject(ComponentStreamingStatistics.REGISTRY_KEY, new ComponentStreamingStatistics(), muleContext);
     registerStreamingManager(muleContext);
     registerObject(OBJECT_TIME_SUPPLIER, new LocalTimeSupplier(), muleContext);
     registerObject(OBJECT_CLUSTER_SERVICE, new DefaultClusterService(), muleContext);
@@ -195,6 +198,7 @@ public class MinimalConfigurationBuilder extends AbstractConfigurationBuilder {
 
   protected void registerInterceptionApiObjects(MuleContext muleContext) throws RegistrationException {
     registerObject(INTERCEPTOR_MANAGER_REGISTRY_KEY, new DefaultProcessorInterceptorManager(), muleContext);
+    registerObject(ComponentLatencySampler.REGISTRY_KEY, new ComponentLatencySampler(), muleContext);
   }
 
   protected void registerConnectivityTester(MuleContext muleContext) throws RegistrationException {
@@ -4,7 +4,9 @@
 package org.mule.runtime.core.internal.connection;
 
 import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
@@ -28,6 +30,31 @@ public interface ConnectivityTester {
    */
   void testConnectivity(ConnectionProvider provider, ConfigurationInstance configurationInstance) throws MuleException;
 
+  /**
+   * Tests connectivity for the given {@code configurationInstance} like
+   * {@link #testConnectivity(ConnectionProvider, ConfigurationInstance)} does, and then runs {@code onSuccess} if the test did
+   * not fail.
+   * <p>
+   * While the {@link MuleContext} is starting, implementations may run the test concurrently with the start of other
+   * configurations and return before it completes. In that case, the result of the test is joined before any flow is started,
+   * and then either {@code onSuccess} is run or the failure of the test is thrown on behalf of {@code configurationInstance}.
+   *
+   * @param onSuccess the rest of the start of {@code configurationInstance}, which depends on its connectivity
+   * @since 4.6
+   */
+  default void testConnectivity(ConnectionProvider provider, ConfigurationInstance configurationInstance,
+                                CheckedRunnable onSuccess)
+      throws MuleException {
+    testConnectivity(provider, configurationInstance);
+    try {
+      onSuccess.runChecked();
+    } catch (MuleException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DefaultMuleException(e);
+    }
+  }
+
   /**
    * Runs the provided task as soon as any pending connectivity testing is finished, or immediately if there is not any.
    *
@@ -7,9 +7,11 @@ import static java.lang.Boolean.valueOf;
 import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.MuleSystemProperties.ASYNC_TEST_CONNECTIVITY_TIMEOUT_PROPERTY;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.connection.ConnectionException;
@@ -17,11 +19,15 @@ import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.lifecycle.Startable;
+import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.retry.RetryCallback;
 import org.mule.runtime.core.api.retry.RetryContext;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
@@ -30,6 +36,12 @@ import org.mule.runtime.core.internal.retry.ReconnectionConfig;
 import org.mule.runtime.extension.api.connectivity.NoConnectivityTest;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.Lock;
 
 import javax.inject.Inject;
@@ -38,13 +50,30 @@ import org.slf4j.Logger;
 
 /**
  * Implementation of {@link ConnectivityTesterFactory} that takes into account the reconnection strategy.
+ * <p>
+ * The connectivity tests of the configurations started along with the {@link MuleContext} are run concurrently, up to
+ * {@link #STARTUP_CONNECTIVITY_TESTS_CONCURRENCY_PROPERTY} at a time, so the startup is bounded by the slowest one rather than by
+ * the sum of all of them. Their results are joined when this factory is started, which happens after every configuration and
+ * before any flow is started. Each result is joined in the order the configurations were started, and then the rest of the start
+ * of that configuration is run, or its failure is thrown on its behalf, same as if it had been tested while starting.
  *
  * @since 4.4
  */
-public class DefaultConnectivityTesterFactory implements ConnectivityTesterFactory {
+public class DefaultConnectivityTesterFactory implements ConnectivityTesterFactory, Startable, Stoppable {
 
   public static final String DO_TEST_CONNECTIVITY_PROPERTY_NAME = "doTestConnectivity";
 
+  /**
+   * Maximum amount of connectivity tests to run concurrently while the {@link MuleContext} is starting. Defaults to {@code 8}.
+   * {@code 1} tests the connectivity of each configuration in the thread that starts it, one after the other.
+   *
+   * @since 4.6
+   */
+  public static final String STARTUP_CONNECTIVITY_TESTS_CONCURRENCY_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "startup.testConnectivity.concurrency";
+
+  private static final int DEFAULT_STARTUP_CONNECTIVITY_TESTS_CONCURRENCY = 8;
+
   private static final Integer DEFAULT_ASYNC_TEST_CONNECTIVITY_TIMEOUT = 30000;
 
   private static final int ASYNC_TEST_CONNECTIVITY_TIMEOUT =
@@ -61,8 +90,63 @@ public class DefaultConnectivityTesterFactory implements ConnectivityTesterFacto
   @Inject
   private SchedulerService schedulerService;
 
+  @Inject
+  private MuleContext muleContext;
+
   private final LazyValue<Boolean> doTestConnectivity = new LazyValue<>(this::getDoTestConnectivityProperty);
 
+  private final int startupConnectivityTestsConcurrency;
+  private final Semaphore startupConnectivityTestsPermits;
+  private final List<DeferredConnectivityTest> deferredConnectivityTests = new ArrayList<>();
+  private Scheduler startupConnectivityTestsScheduler;
+  private volatile boolean started = false;
+
+  public DefaultConnectivityTesterFactory() {
+    this(getInteger(STARTUP_CONNECTIVITY_TESTS_CONCURRENCY_PROPERTY, DEFAULT_STARTUP_CONNECTIVITY_TESTS_CONCURRENCY));
+  }
+
+  DefaultConnectivityTesterFactory(int startupConnectivityTestsConcurrency) {
+    this.startupConnectivityTestsConcurrency = startupConnectivityTestsConcurrency;
+    this.startupConnectivityTestsPermits = new Semaphore(Math.max(1, startupConnectivityTestsConcurrency));
+  }
+
+  /**
+   * Waits for the connectivity tests initiated while the {@link MuleContext} was starting, one configuration at a time in the
+   * order they were started, and completes the start of each configuration whose test succeeded.
+   * <p>
+   * As when configurations are tested while starting, the first failure stops the start, so the configurations started after the
+   * failing one are not completed.
+   *
+   * @throws LifecycleException on behalf of the first configuration, in start order, whose connectivity test or start failed.
+   */
+  @Override
+  public void start() throws MuleException {
+    List<DeferredConnectivityTest> tests;
+    synchronized (deferredConnectivityTests) {
+      started = true;
+      tests = new ArrayList<>(deferredConnectivityTests);
+      deferredConnectivityTests.clear();
+    }
+
+    try {
+      for (DeferredConnectivityTest test : tests) {
+        test.complete();
+      }
+    } finally {
+      stopStartupConnectivityTestsScheduler();
+    }
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    synchronized (deferredConnectivityTests) {
+      started = false;
+      // Tests not awaited are from a start that failed before this factory was started, their results are no longer relevant
+      deferredConnectivityTests.clear();
+    }
+    stopStartupConnectivityTestsScheduler();
+  }
+
   @Override
   public ConnectivityTester create(String name) {
     final Lock testConnectivityLock = lockFactory.createLock(this.getClass().getName() + "-testConnectivity-" + name);
@@ -71,70 +155,22 @@ public class DefaultConnectivityTesterFactory implements ConnectivityTesterFacto
       @Override
       public void testConnectivity(ConnectionProvider provider, ConfigurationInstance configurationInstance)
           throws MuleException {
-        if (provider instanceof NoConnectivityTest || !doTestConnectivity.get()) {
-          return;
-        }
-
-        Scheduler retryScheduler = schedulerService.ioScheduler();
-        RetryPolicyTemplate retryTemplate = connectionManager.getRetryTemplateFor(provider);
-        ReconnectionConfig reconnectionConfig = connectionManager.getReconnectionConfigFor(provider);
-        final Latch latch = new Latch();
-        RetryCallback retryCallback = new RetryCallback() {
-
-          @Override
-          public void doWork(RetryContext context) throws Exception {
-            try {
-              if (testConnectivityLock != null) {
-                final boolean lockAcquired = testConnectivityLock.tryLock();
-                if (lockAcquired) {
-                  LOGGER.debug("Doing testConnectivity() for config '{}'", name);
-                  try {
-                    ConnectionValidationResult result = connectionManager.testConnectivity(configurationInstance);
-                    if (result.isValid()) {
-                      context.setOk();
-                    } else {
-                      handleTestConnectivityFailure(name, reconnectionConfig, context, result);
-                    }
-                  } finally {
-                    testConnectivityLock.unlock();
-                  }
-                } else {
-                  LOGGER.warn("There is a testConnectivity() already running for config '{}'", name);
-                }
-              }
-            } finally {
-              latch.countDown();
-            }
-          }
-
-          @Override
-          public String getWorkDescription() {
-            return format("Testing connectivity for config '%s'", name);
-          }
-
-          @Override
-          public Object getWorkOwner() {
-            return configurationInstance.getValue();
-          }
-        };
+        testConnectivity(provider, configurationInstance, () -> {
+        });
+      }
 
-        try {
-          retryTemplate.execute(retryCallback, retryScheduler);
-        } catch (Exception e) {
-          throw new DefaultMuleException(createStaticMessage(format("Could not perform connectivity testing for config '%s'",
-                                                                    name)),
-                                         e);
-        } finally {
-          if (retryTemplate.isAsync()) {
-            try {
-              latch.await(ASYNC_TEST_CONNECTIVITY_TIMEOUT, MILLISECONDS);
-            } catch (InterruptedException e) {
-              LOGGER.warn("InterruptedException while waiting for the test connectivity to finish", e);
-            }
-          }
-          if (retryScheduler != null) {
-            retryScheduler.stop();
-          }
+      @Override
+      public void testConnectivity(ConnectionProvider provider, ConfigurationInstance configurationInstance,
+                                   CheckedRunnable onSuccess)
+          throws MuleException {
+        if (provider instanceof NoConnectivityTest || !doTestConnectivity.get()) {
+          completeStart(onSuccess);
+        } else if (isDeferringConnectivityTests()) {
+          deferConnectivityTest(name, configurationInstance, onSuccess,
+                                () -> doTestConnectivity(name, testConnectivityLock, provider, configurationInstance));
+        } else {
+          doTestConnectivity(name, testConnectivityLock, provider, configurationInstance);
+          completeStart(onSuccess);
         }
       }
 
@@ -155,6 +191,136 @@ public class DefaultConnectivityTesterFactory implements ConnectivityTesterFacto
     };
   }
 
+  private static void completeStart(CheckedRunnable onSuccess) throws MuleException {
+    try {
+      onSuccess.runChecked();
+    } catch (MuleException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new DefaultMuleException(e);
+    }
+  }
+
+  private boolean isDeferringConnectivityTests() {
+    return !started && startupConnectivityTestsConcurrency > 1 && muleContext != null && muleContext.isStarting();
+  }
+
+  private void deferConnectivityTest(String name, ConfigurationInstance configurationInstance, CheckedRunnable onSuccess,
+                                     CheckedRunnable connectivityTest)
+      throws MuleException {
+    try {
+      startupConnectivityTestsPermits.acquire();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new DefaultMuleException(createStaticMessage(format("Could not perform connectivity testing for config '%s'",
+                                                                name)),
+                                     e);
+    }
+
+    // Connection providers may depend on the context class loader of the thread starting the artifact
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    try {
+      synchronized (deferredConnectivityTests) {
+        if (startupConnectivityTestsScheduler == null) {
+          startupConnectivityTestsScheduler = schedulerService.ioScheduler();
+        }
+        Future<?> result = startupConnectivityTestsScheduler.submit(() -> {
+          final Thread currentThread = currentThread();
+          final ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+          currentThread.setContextClassLoader(contextClassLoader);
+          try {
+            connectivityTest.runChecked();
+            return null;
+          } finally {
+            currentThread.setContextClassLoader(originalClassLoader);
+            startupConnectivityTestsPermits.release();
+          }
+        });
+        deferredConnectivityTests.add(new DeferredConnectivityTest(name, configurationInstance, onSuccess, result));
+      }
+    } catch (RejectedExecutionException e) {
+      startupConnectivityTestsPermits.release();
+      throw e;
+    }
+  }
+
+  private void stopStartupConnectivityTestsScheduler() {
+    final Scheduler scheduler;
+    synchronized (deferredConnectivityTests) {
+      scheduler = startupConnectivityTestsScheduler;
+      startupConnectivityTestsScheduler = null;
+    }
+    if (scheduler != null) {
+      scheduler.stop();
+    }
+  }
+
+  private void doTestConnectivity(String name, Lock testConnectivityLock, ConnectionProvider provider,
+                                  ConfigurationInstance configurationInstance)
+      throws MuleException {
+    Scheduler retryScheduler = schedulerService.ioScheduler();
+    RetryPolicyTemplate retryTemplate = connectionManager.getRetryTemplateFor(provider);
+    ReconnectionConfig reconnectionConfig = connectionManager.getReconnectionConfigFor(provider);
+    final Latch latch = new Latch();
+    RetryCallback retryCallback = new RetryCallback() {
+
+      @Override
+      public void doWork(RetryContext context) throws Exception {
+        try {
+          if (testConnectivityLock != null) {
+            final boolean lockAcquired = testConnectivityLock.tryLock();
+            if (lockAcquired) {
+              LOGGER.debug("Doing testConnectivity() for config '{}'", name);
+              try {
+                ConnectionValidationResult result = connectionManager.testConnectivity(configurationInstance);
+                if (result.isValid()) {
+                  context.setOk();
+                } else {
+                  handleTestConnectivityFailure(name, reconnectionConfig, context, result);
+                }
+              } finally {
+                testConnectivityLock.unlock();
+              }
+            } else {
+              LOGGER.warn("There is a testConnectivity() already running for config '{}'", name);
+            }
+          }
+        } finally {
+          latch.countDown();
+        }
+      }
+
+      @Override
+      public String getWorkDescription() {
+        return format("Testing connectivity for config '%s'", name);
+      }
+
+      @Override
+      public Object getWorkOwner() {
+        return configurationInstance.getValue();
+      }
+    };
+
+    try {
+      retryTemplate.execute(retryCallback, retryScheduler);
+    } catch (Exception e) {
+      throw new DefaultMuleException(createStaticMessage(format("Could not perform connectivity testing for config '%s'",
+                                                                name)),
+                                     e);
+    } finally {
+      if (retryTemplate.isAsync()) {
+        try {
+          latch.await(ASYNC_TEST_CONNECTIVITY_TIMEOUT, MILLISECONDS);
+        } catch (InterruptedException e) {
+          LOGGER.warn("InterruptedException while waiting for the test connectivity to finish", e);
+        }
+      }
+      if (retryScheduler != null) {
+        retryScheduler.stop();
+      }
+    }
+  }
+
   private void handleTestConnectivityFailure(String name, ReconnectionConfig reconnectionConfig, RetryContext context,
                                              ConnectionValidationResult result)
       throws ConnectionException {
@@ -175,4 +341,68 @@ public class DefaultConnectivityTesterFactory implements ConnectivityTesterFacto
         ? valueOf(getProperty(DO_TEST_CONNECTIVITY_PROPERTY_NAME))
         : true;
   }
+
+  /**
+   * A connectivity test initiated while the {@link MuleContext} was starting, along with the rest of the start of the
+   * configuration it tests.
+   */
+  private static final class DeferredConnectivityTest {
+
+    private final String configName;
+    private final ConfigurationInstance configurationInstance;
+    private final CheckedRunnable onSuccess;
+    private final Future<?> result;
+
+    private DeferredConnectivityTest(String configName, ConfigurationInstance configurationInstance, CheckedRunnable onSuccess,
+                                     Future<?> result) {
+      this.configName = configName;
+      this.configurationInstance = configurationInstance;
+      this.onSuccess = onSuccess;
+      this.result = result;
+    }
+
+    /**
+     * Waits for the connectivity test and completes the start of the configuration if it succeeded.
+     *
+     * @throws LifecycleException on behalf of the configuration, if either its connectivity test or the rest of its start failed.
+     */
+    private void complete() throws LifecycleException {
+      MuleException failure = await();
+      if (failure == null) {
+        try {
+          completeStart(onSuccess);
+        } catch (MuleException e) {
+          failure = e;
+        }
+      }
+
+      if (failure != null) {
+        throw new LifecycleException(failure.getI18nMessage(), failure, configurationInstance);
+      }
+    }
+
+    /**
+     * @return the failure of the connectivity test, or {@code null} if it succeeded.
+     */
+    private MuleException await() {
+      try {
+        result.get();
+        return null;
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof MuleException) {
+          return (MuleException) e.getCause();
+        }
+        return couldNotTest(e.getCause());
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        return couldNotTest(e);
+      }
+    }
+
+    private MuleException couldNotTest(Throwable cause) {
+      return new DefaultMuleException(createStaticMessage(format("Could not perform connectivity testing for config '%s'",
+                                                                 configName)),
+                                      cause);
+    }
+  }
 }
@@ -37,6 +37,7 @@ import static org.mule.runtime.api.serialization.ObjectSerializer.DEFAULT_OBJECT
 import static org.mule.runtime.core.api.config.MuleProperties.LOCAL_OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.config.MuleProperties.MULE_METER_PROVIDER_KEY;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CLUSTER_CONFIGURATION;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CLUSTER_SERVICE;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_COMPONENT_INITIAL_STATE_MANAGER;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_CONVERTER_RESOLVER;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_EXPRESSION_MANAGER;
@@ -131,6 +132,7 @@ import org.mule.runtime.core.api.execution.ExceptionContextProvider;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.lifecycle.LifecycleManager;
 import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
 import org.mule.runtime.core.api.management.stats.ProcessingTimeWatcher;
 import org.mule.runtime.core.api.security.SecurityManager;
 import org.mule.runtime.core.api.source.MessageSource;
@@ -154,6 +156,7 @@ import org.mule.runtime.core.internal.lifecycle.MuleLifecycleInterceptor;
 import org.mule.runtime.core.internal.registry.MuleRegistry;
 import org.mule.runtime.core.internal.registry.MuleRegistryHelper;
 import org.mule.runtime.core.internal.registry.Registry;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
 import org.mule.runtime.core.internal.util.JdkVersionUtils;
 import org.mule.runtime.core.internal.util.splash.ArtifactShutdownSplashScreen;
 import org.mule.runtime.core.internal.util.splash.ArtifactStartupSplashScreen;
@@ -391,6 +394,13 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
         MeterProvider meterProvider = muleRegistryHelper.lookupObject(MULE_METER_PROVIDER_KEY);
         if (meterProvider != null) {
           stats.trackUsingMeterProvider(meterProvider, this.getConfiguration().getId());
+
+          ComponentStreamingStatistics componentStreamingStatistics =
+              muleRegistryHelper.lookupObject(ComponentStreamingStatistics.REGISTRY_KEY);
+          if (componentStreamingStatistics != null) {
+            componentStreamingStatistics
+                .trackUsingMeterProvider(new ArtifactMeterProvider(meterProvider, this.getConfiguration().getId()));
+          }
         }
       } catch (InitialisationException e) {
         dispose();
@@ -1043,6 +1053,13 @@ public class DefaultMuleContext implements MuleContextWithRegistry, PrivilegedMu
     SchedulerController overriddenSchedulerController = getRegistry().get(OBJECT_POLLING_CONTROLLER);
     if (overriddenSchedulerController != null) {
       this.schedulerController = overriddenSchedulerController;
+    } else {
+      // A cluster service that also knows about the primary scheduling instance (i.e.: SharedDirectoryClusterService) is used
+      // so that polling sources and schedulers agree on which instance is the primary one.
+      Object clusterService = getRegistry().get(OBJECT_CLUSTER_SERVICE);
+      if (clusterService instanceof SchedulerController) {
+        this.schedulerController = (SchedulerController) clusterService;
+      }
     }
   }
 
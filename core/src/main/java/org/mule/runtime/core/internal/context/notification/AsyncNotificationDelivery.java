@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers the asynchronous notifications of a single listener.
+ * <p>
+ * Notifications are kept in a bounded queue and delivered in order by a single task at a time, which delivers up to
+ * {@code batchSize} notifications before yielding the thread. When the listener lags behind so that the queue is full, new
+ * notifications for it are dropped instead of piling up tasks in the notification schedulers.
+ *
+ * @since 4.6
+ */
+public final class AsyncNotificationDelivery implements Runnable {
+
+  private static final Logger LOGGER = getLogger(AsyncNotificationDelivery.class);
+
+  private static final long DROPPED_NOTIFICATIONS_LOG_INTERVAL = 1000;
+
+  private final NotificationListener listener;
+  private final Executor executor;
+  private final int capacity;
+  private final int batchSize;
+
+  private final Queue<Notification> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * @param listener  the listener to deliver the notifications to.
+   * @param executor  where the notifications are delivered.
+   * @param capacity  how many notifications may be waiting to be delivered before new ones are dropped.
+   * @param batchSize how many notifications a single task delivers at most.
+   */
+  public AsyncNotificationDelivery(NotificationListener listener, Executor executor, int capacity, int batchSize) {
+    this.listener = listener;
+    this.executor = executor;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Queues a notification to be delivered to the listener, or drops it if the listener is lagging too much behind.
+   *
+   * @param notification the notification to deliver.
+   * @throws RejectedExecutionException if the delivery task could not be scheduled.
+   */
+  public void enqueue(Notification notification) {
+    if (queued.incrementAndGet() > capacity) {
+      queued.decrementAndGet();
+      long droppedCount = dropped.incrementAndGet();
+      if (droppedCount % DROPPED_NOTIFICATIONS_LOG_INTERVAL == 1) {
+        LOGGER.warn("NotificationListener {} is lagging more than {} notifications behind, {} notifications dropped so far.",
+                    listener, capacity, droppedCount);
+      }
+      return;
+    }
+
+    queue.offer(notification);
+    scheduleIfNeeded();
+  }
+
+  @Override
+  public void run() {
+    try {
+      Notification notification;
+      for (int delivered = 0; delivered < batchSize && (notification = queue.poll()) != null; ++delivered) {
+        queued.decrementAndGet();
+        try {
+          listener.onNotification(notification);
+        } catch (Throwable e) {
+          LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", listener,
+                      notification, e);
+        }
+      }
+    } finally {
+      scheduled.set(false);
+    }
+
+    if (!queue.isEmpty()) {
+      try {
+        scheduleIfNeeded();
+      } catch (RejectedExecutionException e) {
+        LOGGER.debug("Could not schedule the delivery of the pending notifications for NotificationListener {}", listener, e);
+      }
+    }
+  }
+
+  private void scheduleIfNeeded() {
+    if (scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this);
+      } catch (RuntimeException e) {
+        scheduled.set(false);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * @return how many notifications are waiting to be delivered.
+   */
+  public int getLag() {
+    return queued.get();
+  }
+
+  /**
+   * @return how many notifications were dropped because the listener was lagging too much behind.
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+}
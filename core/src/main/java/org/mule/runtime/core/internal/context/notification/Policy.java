@@ -30,10 +30,12 @@ public class Policy {
 
   private static final Logger LOGGER = getLogger(Policy.class);
 
+  private static final Sender[] NO_SENDERS = new Sender[0];
+
   // map from event to set of senders
   private Map<Class<? extends Notification>, Collection<Sender>> eventToSenders =
       new HashMap<>();
-  private Map<Class<? extends Notification>, Collection<Sender>> concreteEventToSenders =
+  private Map<Class<? extends Notification>, Sender[]> concreteEventToSenders =
       new ConcurrentHashMap<>();
 
   // these are cumulative - set values should never change, they are just a cache of known info
@@ -93,47 +95,45 @@ public class Policy {
 
   public void dispatch(Notification notification, NotifierCallback notifier) {
     if (null != notification) {
-      Class notfnClass = notification.getClass();
-      Boolean eventKnown = knownEventsExact.get(notfnClass);
-      // search if we don't know about this event, or if we do know it is used
-      if (eventKnown == null) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-      } else if (eventKnown.booleanValue()) {
-        boolean found = doDispatch(notification, notfnClass, notifier);
-        // reduce contention on the map by not writing the same value over and over again.
-        if (!found) {
-          knownEventsExact.put(notfnClass, Boolean.valueOf(found));
-        }
-      }
+      doDispatch(notification, notification.getClass(), notifier);
     }
   }
 
   protected boolean doDispatch(Notification notification, Class<? extends Notification> notfnClass,
                                NotifierCallback notifier) {
-    // Optimization to avoid iterating the eventToSenders map each time a notification is fired
-    Collection<Sender> senders = concreteEventToSenders.get(notfnClass);
+    Sender[] senders = getDispatchTable(notfnClass);
+    if (senders.length == 0) {
+      return false;
+    }
+
+    dispatchToSenders(notification, senders, notifier);
+    return true;
+  }
+
+  /**
+   * The senders for each concrete notification class are resolved the first time a notification of that class is fired and kept
+   * for the lifetime of this policy, which is rebuilt whenever the listeners change. Classes with no senders are also kept, so
+   * firing a notification nobody listens to costs a single lookup.
+   */
+  private Sender[] getDispatchTable(Class<? extends Notification> notfnClass) {
+    Sender[] senders = concreteEventToSenders.get(notfnClass);
     if (senders != null) {
-      dispatchToSenders(notification, senders, notifier);
-      return true;
+      return senders;
     }
 
-    senders = new ArrayList<>();
+    Collection<Sender> matchingSenders = new ArrayList<>();
     for (Entry<Class<? extends Notification>, Collection<Sender>> event : eventToSenders.entrySet()) {
       if (event.getKey().isAssignableFrom(notfnClass)) {
-        senders.addAll(event.getValue());
+        matchingSenders.addAll(event.getValue());
       }
     }
 
-    if (!senders.isEmpty()) {
-      dispatchToSenders(notification, senders, notifier);
-      concreteEventToSenders.putIfAbsent(notfnClass, senders);
-    }
-
-    return !senders.isEmpty();
+    senders = matchingSenders.isEmpty() ? NO_SENDERS : matchingSenders.toArray(NO_SENDERS);
+    Sender[] previous = concreteEventToSenders.putIfAbsent(notfnClass, senders);
+    return previous != null ? previous : senders;
   }
 
-  private void dispatchToSenders(Notification notification, Collection<Sender> senders, NotifierCallback notifier) {
+  private void dispatchToSenders(Notification notification, Sender[] senders, NotifierCallback notifier) {
     for (Sender sender : senders) {
       try {
         if (LOGGER.isDebugEnabled()) {
@@ -17,6 +17,10 @@ import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
 import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.basedOn;
 import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.emptyCaseInsensitiveMap;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
+import static org.mule.runtime.core.internal.event.OffHeapValues.isEnabled;
+import static org.mule.runtime.core.internal.event.OffHeapValues.retain;
+import static org.mule.runtime.core.internal.event.OffHeapValues.spillIfLarge;
+import static org.mule.runtime.core.internal.event.OffHeapValues.spillPayloadIfLarge;
 import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.fromGroupCorrelation;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.toGroupCorrelation;
@@ -134,12 +138,17 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     this(event);
     this.context = messageContext;
     this.modified = true;
+
+    if (isEnabled() && messageContext.getRootContext() != event.getContext().getRootContext()) {
+      retain(event, messageContext);
+    }
   }
 
   @Override
   public DefaultEventBuilder message(Message message) {
     requireNonNull(message);
-    this.messageFactory = e -> message;
+    final Message actualMessage = spillPayloadIfLarge(message, context);
+    this.messageFactory = e -> actualMessage;
     this.modified = true;
     return this;
   }
@@ -187,7 +196,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables.put(key, spillIfLarge(new TypedValue<>(value, DataType.fromObject(value)), context));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -198,7 +207,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables.put(key, spillIfLarge(new TypedValue<>(value, dataType), context));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -208,7 +217,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public CoreEvent.Builder addVariable(String key, TypedValue<?> value) {
     initVariables();
 
-    flowVariables.put(key, value);
+    flowVariables.put(key, spillIfLarge(value, context));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.event;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Integer.getInteger;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.streaming.DirectMemoryManager;
+import org.mule.runtime.core.internal.streaming.bytes.MaxStreamingMemoryExceededException;
+import org.mule.runtime.core.internal.streaming.bytes.OffHeapCursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.bytes.SimpleByteBufferManager;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+
+/**
+ * Moves big {@code byte[]} values of event variables and payloads outside the heap, so that events only hold a handle to them.
+ * This reduces the heap footprint and GC pauses of flows which keep big values while fanning out to many routes.
+ * <p>
+ * This is disabled by default, and enabled by setting {@link #MULE_OFF_HEAP_VALUES_THRESHOLD} to the size from which values are
+ * moved. Moved values are replaced by an {@link OffHeapCursorStreamProvider}, so their content is read lazily with a cursor like
+ * any streamed value. Components which expect the original {@code byte[]} type won't find it.
+ * <p>
+ * Moved values are allocated through a {@link ByteBufferManager} shared by every artifact of the runtime. Events are built
+ * without access to the artifact they belong to, so moved values are not counted against the streaming memory cap of the
+ * artifact. That manager has its own cap, sized from the JVM limit for direct buffers as described in
+ * {@link DirectMemoryManager}. Values are kept in the heap once either that cap or the direct memory of the JVM is exhausted.
+ * <p>
+ * Moved values are released when the root context of the event that holds them is terminated. If an event is copied into another
+ * root context, its moved values are retained until that one is terminated as well. Moved values can't be read once released, so
+ * they must not be kept beyond the event that holds them.
+ *
+ * @since 4.6
+ */
+final class OffHeapValues {
+
+  /**
+   * The minimum size in bytes of the values to move outside the heap, or {@code 0} to keep all values in the heap.
+   */
+  public static final String MULE_OFF_HEAP_VALUES_THRESHOLD = SYSTEM_PROPERTY_PREFIX + "event.offHeapValues.threshold";
+
+  private static final int OFF_HEAP_VALUES_THRESHOLD = getInteger(MULE_OFF_HEAP_VALUES_THRESHOLD, 0);
+
+  private static final ByteBufferManager OFF_HEAP_BUFFER_MANAGER = new SimpleByteBufferManager(new DirectMemoryManager(), true);
+
+  private OffHeapValues() {
+    // Nothing to do
+  }
+
+  /**
+   * @return whether values may be moved outside the heap.
+   */
+  static boolean isEnabled() {
+    return OFF_HEAP_VALUES_THRESHOLD > 0;
+  }
+
+  /**
+   * @param value   a value being added to an event
+   * @param context the context of the event
+   * @return the value to actually add to the event, which is moved outside the heap if it is big enough.
+   */
+  static TypedValue<?> spillIfLarge(TypedValue<?> value, BaseEventContext context) {
+    return spillIfLarge(value, context, OFF_HEAP_VALUES_THRESHOLD, OFF_HEAP_BUFFER_MANAGER);
+  }
+
+  static TypedValue<?> spillIfLarge(TypedValue<?> value, BaseEventContext context, int threshold,
+                                    ByteBufferManager bufferManager) {
+    if (threshold <= 0 || !(value.getValue() instanceof byte[])) {
+      return value;
+    }
+
+    byte[] content = (byte[]) value.getValue();
+    if (content.length < threshold) {
+      return value;
+    }
+
+    OffHeapCursorStreamProvider provider;
+    try {
+      provider = new OffHeapCursorStreamProvider(content, bufferManager);
+    } catch (MaxStreamingMemoryExceededException e) {
+      return value;
+    }
+    context.getRootContext().onTerminated((event, throwable) -> provider.release());
+
+    DataType dataType = DataType.builder(value.getDataType()).type(provider.getClass()).build();
+    return new TypedValue<>(provider, dataType, value.getByteLength());
+  }
+
+  /**
+   * @param message a message being set to an event
+   * @param context the context of the event
+   * @return the message to actually set to the event, with its payload moved outside the heap if it is big enough.
+   */
+  static Message spillPayloadIfLarge(Message message, BaseEventContext context) {
+    TypedValue<?> payload = message.getPayload();
+    TypedValue<?> spilled = spillIfLarge(payload, context);
+
+    return spilled == payload ? message : Message.builder(message).payload(spilled).build();
+  }
+
+  /**
+   * Retains the values moved outside the heap among the variables and payload of the given {@code event} until {@code context}
+   * is terminated.
+   *
+   * @param event   an event which is being copied into {@code context}
+   * @param context the context of the copy
+   */
+  static void retain(InternalEvent event, BaseEventContext context) {
+    retain(event.getMessage().getPayload(), context);
+    for (TypedValue<?> value : event.getVariables().values()) {
+      retain(value, context);
+    }
+  }
+
+  private static void retain(TypedValue<?> value, BaseEventContext context) {
+    if (value.getValue() instanceof OffHeapCursorStreamProvider) {
+      OffHeapCursorStreamProvider provider = (OffHeapCursorStreamProvider) value.getValue();
+      if (provider.retain()) {
+        context.getRootContext().onTerminated((event, throwable) -> provider.release());
+      }
+    }
+  }
+}
@@ -16,6 +16,7 @@ import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.lifecycle.LifecycleUtils;
 import org.mule.runtime.core.api.processor.InterceptingMessageProcessor;
 import org.mule.runtime.core.api.util.queue.QueueManager;
+import org.mule.runtime.core.internal.connection.ConnectivityTesterFactory;
 import org.mule.runtime.core.internal.registry.Registry;
 import org.mule.runtime.core.privileged.routing.OutboundRouter;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
@@ -30,6 +31,10 @@ import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
  * This phase is responsible for starting objects. Any object that implements {@link Startable} will have its
  * {@link Startable#start()} method called. Objects are initialised in the order based on type:
  * {@link org.mule.runtime.core.api.construct.FlowConstruct}, followed by any other object that implements {@link Startable}.
+ * <p/>
+ * The {@link ConnectivityTesterFactory} is started after every configuration and before any flow, so that the connectivity
+ * tests run concurrently by the configurations started in this phase are joined, and those configurations completely started,
+ * before flows start.
  *
  * @see org.mule.runtime.core.api.MuleContext
  * @see org.mule.runtime.core.api.lifecycle.LifecycleManager
@@ -60,6 +65,7 @@ public class MuleContextStartPhase extends DefaultLifecyclePhase {
         ObjectStore.class,
         ConfigurationProvider.class,
         Config.class,
+        ConnectivityTesterFactory.class,
         FlowConstruct.class,
         Startable.class
     });
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link Lock} implementation that provides mutual exclusion among all the runtime instances sharing the directory where its
+ * lock file is located.
+ * <p>
+ * Threads within this JVM are serialized through a fair {@link ReentrantLock}. The thread that gets it then takes an exclusive
+ * {@link FileLock} over the lock file, which is held until the lock is fully released. Since file locks are released by the
+ * operating system when the owning process dies, a crashed instance never leaves the lock taken.
+ * <p>
+ * Each time the file lock is taken, a fencing token stored in the lock file is increased. It can be obtained through
+ * {@link #getFencingToken()} while holding the lock.
+ * <p>
+ * Lock files are never deleted, since removing a file that other instances may be waiting on would break mutual exclusion.
+ *
+ * @since 4.6
+ */
+public class SharedDirectoryLock implements Lock {
+
+  private static final long RETRY_INTERVAL_MILLIS = 50;
+
+  private final File lockFile;
+  private final ReentrantLock localLock = new ReentrantLock(true);
+
+  private FileChannel channel;
+  private FileLock fileLock;
+  private long fencingToken;
+
+  public SharedDirectoryLock(File lockFile) {
+    this.lockFile = lockFile;
+  }
+
+  @Override
+  public void lock() {
+    localLock.lock();
+    boolean interrupted = false;
+    try {
+      while (!acquireFileLockIfFirstHold()) {
+        try {
+          MILLISECONDS.sleep(RETRY_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } catch (RuntimeException e) {
+      localLock.unlock();
+      throw e;
+    } finally {
+      if (interrupted) {
+        currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public void lockInterruptibly() throws InterruptedException {
+    localLock.lockInterruptibly();
+    try {
+      while (!acquireFileLockIfFirstHold()) {
+        MILLISECONDS.sleep(RETRY_INTERVAL_MILLIS);
+      }
+    } catch (InterruptedException | RuntimeException e) {
+      localLock.unlock();
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean tryLock() {
+    if (!localLock.tryLock()) {
+      return false;
+    }
+
+    try {
+      if (acquireFileLockIfFirstHold()) {
+        return true;
+      }
+    } catch (RuntimeException e) {
+      localLock.unlock();
+      throw e;
+    }
+
+    localLock.unlock();
+    return false;
+  }
+
+  @Override
+  public boolean tryLock(long timeout, TimeUnit timeUnit) throws InterruptedException {
+    final long deadline = nanoTime() + timeUnit.toNanos(timeout);
+    if (!localLock.tryLock(timeout, timeUnit)) {
+      return false;
+    }
+
+    try {
+      while (!acquireFileLockIfFirstHold()) {
+        long remainingMillis = MILLISECONDS.convert(deadline - nanoTime(), TimeUnit.NANOSECONDS);
+        if (remainingMillis <= 0) {
+          localLock.unlock();
+          return false;
+        }
+        MILLISECONDS.sleep(Math.min(remainingMillis, RETRY_INTERVAL_MILLIS));
+      }
+      return true;
+    } catch (InterruptedException | RuntimeException e) {
+      localLock.unlock();
+      throw e;
+    }
+  }
+
+  @Override
+  public void unlock() {
+    if (!localLock.isHeldByCurrentThread()) {
+      throw new IllegalMonitorStateException("Lock over " + lockFile.getName() + " is not held by the current thread");
+    }
+
+    try {
+      if (localLock.getHoldCount() == 1) {
+        releaseFileLock();
+      }
+    } finally {
+      localLock.unlock();
+    }
+  }
+
+  @Override
+  public Condition newCondition() {
+    throw new UnsupportedOperationException("Operation not supported by mule locks");
+  }
+
+  /**
+   * @return the fencing token obtained when this lock was taken. Only meaningful while the current thread holds the lock.
+   */
+  public long getFencingToken() {
+    if (!localLock.isHeldByCurrentThread()) {
+      throw new IllegalMonitorStateException("Lock over " + lockFile.getName() + " is not held by the current thread");
+    }
+    return fencingToken;
+  }
+
+  private boolean acquireFileLockIfFirstHold() {
+    if (localLock.getHoldCount() > 1) {
+      return true;
+    }
+
+    FileChannel candidateChannel = null;
+    try {
+      candidateChannel = FileChannel.open(lockFile.toPath(), CREATE, READ, WRITE);
+      FileLock candidateLock;
+      try {
+        candidateLock = candidateChannel.tryLock();
+      } catch (OverlappingFileLockException e) {
+        // Another lock instance within this same JVM holds the file
+        candidateLock = null;
+      }
+
+      if (candidateLock == null) {
+        candidateChannel.close();
+        return false;
+      }
+
+      channel = candidateChannel;
+      fileLock = candidateLock;
+      fencingToken = increaseFencingToken(channel);
+      return true;
+    } catch (IOException e) {
+      closeQuietly(candidateChannel);
+      channel = null;
+      fileLock = null;
+      throw new MuleRuntimeException(createStaticMessage("Could not lock file " + lockFile.getAbsolutePath()), e);
+    }
+  }
+
+  private long increaseFencingToken(FileChannel channel) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+    long token = 0;
+    if (channel.size() >= Long.BYTES) {
+      while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+        // keep reading until the whole token is in the buffer
+      }
+      buffer.flip();
+      token = buffer.getLong();
+      buffer.clear();
+    }
+
+    buffer.putLong(++token).flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, buffer.position());
+    }
+    channel.force(false);
+    return token;
+  }
+
+  private void releaseFileLock() {
+    try {
+      if (fileLock != null) {
+        fileLock.release();
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not release lock over file " + lockFile.getAbsolutePath()), e);
+    } finally {
+      closeQuietly(channel);
+      fileLock = null;
+      channel = null;
+    }
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Nothing to do, closing the channel also releases the file lock.
+      }
+    }
+  }
+}
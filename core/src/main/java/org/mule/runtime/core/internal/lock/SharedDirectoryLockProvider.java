@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static org.mule.runtime.core.internal.cluster.SharedDirectoryClusterService.resolveArtifactSharedDirectory;
+
+import static java.lang.Integer.toHexString;
+
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.cluster.SharedDirectoryClusterService;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.Lock;
+
+import javax.inject.Inject;
+
+/**
+ * {@link LockProvider} implementation for applications running in several mule servers that share a directory.
+ * <p>
+ * Each lock id is mapped to a lock file within that directory, see {@link SharedDirectoryLock}.
+ *
+ * @see SharedDirectoryClusterService#SHARED_DIRECTORY_PROPERTY
+ * @since 4.6
+ */
+public class SharedDirectoryLockProvider implements LockProvider, Initialisable {
+
+  private static final String LOCKS_DIRECTORY_NAME = "locks";
+  private static final int MAX_LOCK_FILE_NAME_PREFIX_LENGTH = 100;
+
+  @Inject
+  private MuleContext muleContext;
+
+  private File locksDirectory;
+
+  public SharedDirectoryLockProvider() {}
+
+  public SharedDirectoryLockProvider(File locksDirectory) {
+    this.locksDirectory = locksDirectory;
+  }
+
+  @Override
+  public void initialise() throws InitialisationException {
+    try {
+      if (locksDirectory == null) {
+        locksDirectory = new File(resolveArtifactSharedDirectory(muleContext.getId()), LOCKS_DIRECTORY_NAME);
+      }
+      if (!locksDirectory.isDirectory() && !locksDirectory.mkdirs()) {
+        throw new IOException("Could not create locks directory " + locksDirectory.getAbsolutePath());
+      }
+    } catch (IOException e) {
+      throw new InitialisationException(e, this);
+    }
+  }
+
+  @Override
+  public Lock createLock(String lockId) {
+    return new SharedDirectoryLock(new File(locksDirectory, toFileName(lockId)));
+  }
+
+  /**
+   * Lock ids may contain characters that are not valid in file names, so those are replaced. The hash of the original id is
+   * appended to avoid collisions between ids that only differ in those characters.
+   */
+  static String toFileName(String lockId) {
+    String sanitized = lockId.replaceAll("[^A-Za-z0-9._-]", "_");
+    if (sanitized.length() > MAX_LOCK_FILE_NAME_PREFIX_LENGTH) {
+      sanitized = sanitized.substring(0, MAX_LOCK_FILE_NAME_PREFIX_LENGTH);
+    }
+    return sanitized + "-" + toHexString(lockId.hashCode()) + ".lock";
+  }
+}
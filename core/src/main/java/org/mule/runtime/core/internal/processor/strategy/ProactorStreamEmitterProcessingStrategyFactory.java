@@ -47,10 +47,7 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                        getSubscriberCount(),
                                                        cpuLightSchedulerSupplier,
                                                        cpuLightSchedulerSupplier,
-                                                       () -> muleContext.getSchedulerService()
-                                                           .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(
-                                                                         schedulersNamePrefix + "." + BLOCKING.name())),
+                                                       getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix),
                                                        () -> muleContext.getSchedulerService()
                                                            .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
                                                                .withName(schedulersNamePrefix + "."
@@ -61,6 +58,18 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                        () -> muleContext.getConfiguration().getShutdownTimeout());
   }
 
+  /**
+   * @param muleContext          the context of the artifact owning the processing strategy
+   * @param schedulersNamePrefix the prefix for the names of the schedulers of the processing strategy
+   * @return the supplier of the {@link Scheduler} for {@link ReactiveProcessor.ProcessingType#BLOCKING} and
+   *         {@link ReactiveProcessor.ProcessingType#IO_RW} processors.
+   */
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    return () -> muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig()
+            .withName(schedulersNamePrefix + "." + BLOCKING.name()));
+  }
+
   @Override
   public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
     return ProactorStreamEmitterProcessingStrategy.class;
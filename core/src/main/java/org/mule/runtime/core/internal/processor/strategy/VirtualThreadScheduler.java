@@ -0,0 +1,303 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link Scheduler} that runs each task submitted for immediate execution in its own virtual thread, while delayed and periodic
+ * tasks are handled by a platform {@code delegate} scheduler.
+ * <p>
+ * A blocked virtual thread does not hold a platform thread, so the amount of concurrent blocking tasks is not limited by the size
+ * of a pool. Instead, at most {@code maxInFlightTasks} tasks run at the same time, and a {@link RejectedExecutionException} is
+ * thrown when that limit is reached, just like a busy platform scheduler does, so that back-pressure is still applied.
+ *
+ * @since 4.6
+ */
+class VirtualThreadScheduler implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadScheduler.class);
+
+  private final Scheduler delegate;
+  private final ExecutorService virtualThreadExecutor;
+  private final Semaphore inFlightTasks;
+  private final int maxInFlightTasks;
+  private final Supplier<Long> shutdownTimeoutSupplier;
+
+  VirtualThreadScheduler(Scheduler delegate, ExecutorService virtualThreadExecutor, int maxInFlightTasks,
+                         Supplier<Long> shutdownTimeoutSupplier) {
+    this.delegate = delegate;
+    this.virtualThreadExecutor = virtualThreadExecutor;
+    this.inFlightTasks = new Semaphore(maxInFlightTasks);
+    this.maxInFlightTasks = maxInFlightTasks;
+    this.shutdownTimeoutSupplier = shutdownTimeoutSupplier;
+  }
+
+  private void acquire() {
+    if (!inFlightTasks.tryAcquire()) {
+      throw new RejectedExecutionException("Max concurrency (" + maxInFlightTasks + ") reached for " + getName());
+    }
+  }
+
+  private Runnable releasing(Runnable command) {
+    return () -> {
+      try {
+        command.run();
+      } finally {
+        inFlightTasks.release();
+      }
+    };
+  }
+
+  private <T> Callable<T> releasing(Callable<T> task) {
+    return () -> {
+      try {
+        return task.call();
+      } finally {
+        inFlightTasks.release();
+      }
+    };
+  }
+
+  private <T> T submitReleasing(Supplier<T> submission) {
+    acquire();
+    try {
+      return submission.get();
+    } catch (RuntimeException e) {
+      inFlightTasks.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    submitReleasing(() -> {
+      virtualThreadExecutor.execute(releasing(command));
+      return null;
+    });
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    return submitReleasing(() -> virtualThreadExecutor.submit(releasing(task)));
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    return submitReleasing(() -> virtualThreadExecutor.submit(releasing(task), result));
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    return submitReleasing(() -> virtualThreadExecutor.submit(releasing(task)));
+  }
+
+  /**
+   * Takes a permit for each of the {@code tasks}, failing if there are not enough for all of them, and wraps them so that each
+   * one releases its permit once done.
+   */
+  private <T> List<Callable<T>> acquireAll(Collection<? extends Callable<T>> tasks) {
+    if (!inFlightTasks.tryAcquire(tasks.size())) {
+      throw new RejectedExecutionException("Max concurrency (" + maxInFlightTasks + ") reached for " + getName());
+    }
+
+    List<Callable<T>> releasingTasks = new ArrayList<>(tasks.size());
+    for (Callable<T> task : tasks) {
+      releasingTasks.add(releasing(task));
+    }
+    return releasingTasks;
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    ReleaseTracking<T> tracking = new ReleaseTracking<>(acquireAll(tasks));
+    try {
+      return virtualThreadExecutor.invokeAll(tracking.tasks());
+    } finally {
+      tracking.releaseNotStarted();
+    }
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    ReleaseTracking<T> tracking = new ReleaseTracking<>(acquireAll(tasks));
+    try {
+      return virtualThreadExecutor.invokeAll(tracking.tasks(), timeout, unit);
+    } finally {
+      tracking.releaseNotStarted();
+    }
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    ReleaseTracking<T> tracking = new ReleaseTracking<>(acquireAll(tasks));
+    try {
+      return virtualThreadExecutor.invokeAny(tracking.tasks());
+    } finally {
+      tracking.releaseNotStarted();
+    }
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    ReleaseTracking<T> tracking = new ReleaseTracking<>(acquireAll(tasks));
+    try {
+      return virtualThreadExecutor.invokeAny(tracking.tasks(), timeout, unit);
+    } finally {
+      tracking.releaseNotStarted();
+    }
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return delegate.scheduleWithCronExpression(command, cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return delegate.scheduleWithCronExpression(command, cronExpression, timeZone);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return delegate.schedule(command, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return delegate.schedule(callable, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+  }
+
+  @Override
+  public void stop() {
+    virtualThreadExecutor.shutdown();
+    try {
+      if (!virtualThreadExecutor.awaitTermination(shutdownTimeoutSupplier.get(), MILLISECONDS)) {
+        LOGGER.warn("Blocking tasks of '{}' did not finish in time, interrupting them...", getName());
+        virtualThreadExecutor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      virtualThreadExecutor.shutdownNow();
+    } finally {
+      delegate.stop();
+    }
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public void shutdown() {
+    virtualThreadExecutor.shutdown();
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Runnable> notRun = new ArrayList<>(virtualThreadExecutor.shutdownNow());
+    notRun.addAll(delegate.shutdownNow());
+    return notRun;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return virtualThreadExecutor.isShutdown() || delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return virtualThreadExecutor.isTerminated() && delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = nanoTime() + unit.toNanos(timeout);
+    return virtualThreadExecutor.awaitTermination(timeout, unit)
+        && delegate.awaitTermination(deadline - nanoTime(), NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadScheduler{" + delegate.toString() + "}";
+  }
+
+  /**
+   * Keeps track of which of a group of tasks that already hold a permit were started. Permits of tasks that are never started,
+   * because the invocation finishes or fails before, are not released by the tasks themselves, so those are released once the
+   * invocation returns.
+   */
+  private final class ReleaseTracking<T> {
+
+    private final List<Callable<T>> tasks;
+    private final AtomicBoolean[] started;
+
+    private ReleaseTracking(List<Callable<T>> releasingTasks) {
+      this.tasks = new ArrayList<>(releasingTasks.size());
+      this.started = new AtomicBoolean[releasingTasks.size()];
+      for (int i = 0; i < releasingTasks.size(); ++i) {
+        AtomicBoolean taskStarted = new AtomicBoolean();
+        Callable<T> task = releasingTasks.get(i);
+        started[i] = taskStarted;
+        tasks.add(() -> {
+          if (taskStarted.compareAndSet(false, true)) {
+            return task.call();
+          }
+          throw new CancellationException();
+        });
+      }
+    }
+
+    private List<Callable<T>> tasks() {
+      return tasks;
+    }
+
+    private void releaseNotStarted() {
+      for (AtomicBoolean taskStarted : started) {
+        if (taskStarted.compareAndSet(false, true)) {
+          inFlightTasks.release();
+        }
+      }
+    }
+  }
+}
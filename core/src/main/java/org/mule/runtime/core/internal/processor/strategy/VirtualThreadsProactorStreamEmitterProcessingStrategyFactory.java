@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.util.VirtualThreadUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates a processing strategy with same behavior as {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory},
+ * apart from the fact that {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#IO_RW}
+ * processors run on virtual threads instead of the threads of the IO scheduler, so that blocking calls do not hold platform
+ * threads.
+ * <p>
+ * The amount of concurrent blocking tasks is still bounded by the max concurrency of the flow. When the JVM does not support
+ * virtual threads, the IO scheduler is used just like in {@link ProactorStreamEmitterProcessingStrategyFactory}.
+ * <p>
+ * It may be set as the default for all flows through the
+ * {@code org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory} system property.
+ *
+ * @see ProcessingStrategyFactory
+ * @since 4.6
+ */
+public class VirtualThreadsProactorStreamEmitterProcessingStrategyFactory
+    extends TransactionAwareProactorStreamEmitterProcessingStrategyFactory {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadsProactorStreamEmitterProcessingStrategyFactory.class);
+
+  private final BooleanSupplier virtualThreadsSupported;
+  private final Function<String, ExecutorService> virtualThreadExecutorFactory;
+
+  public VirtualThreadsProactorStreamEmitterProcessingStrategyFactory() {
+    this(VirtualThreadUtils::isVirtualThreadsSupported, VirtualThreadUtils::newVirtualThreadPerTaskExecutor);
+  }
+
+  VirtualThreadsProactorStreamEmitterProcessingStrategyFactory(BooleanSupplier virtualThreadsSupported,
+                                                               Function<String, ExecutorService> virtualThreadExecutorFactory) {
+    this.virtualThreadsSupported = virtualThreadsSupported;
+    this.virtualThreadExecutorFactory = virtualThreadExecutorFactory;
+  }
+
+  @Override
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    Supplier<Scheduler> ioSchedulerSupplier = super.getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix);
+    if (!virtualThreadsSupported.getAsBoolean()) {
+      LOGGER.info("Virtual threads are not supported by the running JVM, "
+          + "the IO scheduler will be used for blocking processors of '{}'", schedulersNamePrefix);
+      return ioSchedulerSupplier;
+    }
+
+    return () -> new VirtualThreadScheduler(ioSchedulerSupplier.get(),
+                                            virtualThreadExecutorFactory.apply(schedulersNamePrefix + "." + BLOCKING.name()),
+                                            getMaxConcurrency(),
+                                            () -> muleContext.getConfiguration().getShutdownTimeout());
+  }
+}
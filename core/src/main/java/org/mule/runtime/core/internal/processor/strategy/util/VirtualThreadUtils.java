@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.processor.strategy.util;
+
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+
+/**
+ * This utility class is responsible for creating executors that run each task in its own virtual thread.
+ * <p>
+ * Virtual threads are only available from Java 21, while the runtime is compiled for and runs on previous versions, so the
+ * methods to create them are looked up when this class is loaded instead of being linked at compile time. This way the same
+ * class works on any JVM, and {@link #isVirtualThreadsSupported()} tells whether they were found.
+ *
+ * @since 4.6
+ */
+public final class VirtualThreadUtils {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadUtils.class);
+
+  // Thread.ofVirtual()
+  private static final MethodHandle OF_VIRTUAL;
+  // Thread.Builder#name(String, long)
+  private static final MethodHandle NAME;
+  // Thread.Builder#factory()
+  private static final MethodHandle FACTORY;
+  // Executors.newThreadPerTaskExecutor(ThreadFactory)
+  private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    MethodHandle ofVirtual = null;
+    MethodHandle name = null;
+    MethodHandle factory = null;
+    MethodHandle newThreadPerTaskExecutor = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+      ofVirtual = publicLookup().findStatic(Thread.class, "ofVirtual", methodType(ofVirtualClass));
+      name = publicLookup().findVirtual(builderClass, "name", methodType(builderClass, String.class, long.class));
+      factory = publicLookup().findVirtual(builderClass, "factory", methodType(ThreadFactory.class));
+      newThreadPerTaskExecutor = publicLookup().findStatic(Executors.class, "newThreadPerTaskExecutor",
+                                                           methodType(ExecutorService.class, ThreadFactory.class));
+
+      // Early access versions have them as a preview feature, in which case this fails unless previews are enabled
+      ofVirtual.invoke();
+    } catch (Throwable t) {
+      LOGGER.debug("Virtual threads not available in Java {}: {}", System.getProperty("java.version"), t.toString());
+      ofVirtual = null;
+    }
+
+    OF_VIRTUAL = ofVirtual;
+    NAME = name;
+    FACTORY = factory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  private VirtualThreadUtils() {
+    // utility class only
+  }
+
+  /**
+   * @return whether the running JVM supports virtual threads.
+   */
+  public static boolean isVirtualThreadsSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Creates an {@link ExecutorService} that starts a new virtual thread for each task.
+   *
+   * @param namePrefix the prefix for the names of the created threads
+   * @return the new executor
+   * @throws UnsupportedOperationException if the running JVM does not support virtual threads
+   */
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+    if (!isVirtualThreadsSupported()) {
+      throw new UnsupportedOperationException("Virtual threads are not supported in Java "
+          + System.getProperty("java.version"));
+    }
+
+    try {
+      Object builder = NAME.invoke(OF_VIRTUAL.invoke(), namePrefix + ".", 0L);
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke((ThreadFactory) FACTORY.invoke(builder));
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException("Could not create virtual thread executor for '" + namePrefix + "'", t);
+    }
+  }
+}
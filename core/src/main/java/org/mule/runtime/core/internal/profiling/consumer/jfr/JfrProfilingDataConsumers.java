@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static java.util.Collections.emptySet;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+
+import java.util.Set;
+
+/**
+ * This utility class is responsible for creating the {@link ProfilingDataConsumer}s that record profiling events as Java Flight
+ * Recorder events. JFR events are only available from Java 11, hence this class will have 2 implementations and the core jar
+ * will be a MRJAR. This one is used on JVMs without JFR events.
+ *
+ * @since 4.6
+ */
+public final class JfrProfilingDataConsumers {
+
+  private JfrProfilingDataConsumers() {
+    // utility class only
+  }
+
+  /**
+   * @return whether the running JVM supports recording JFR events.
+   */
+  public static boolean isJfrSupported() {
+    return false;
+  }
+
+  /**
+   * @return the {@link ProfilingDataConsumer}s that record profiling events as JFR events, empty if JFR is not supported.
+   */
+  public static Set<ProfilingDataConsumer<?>> createJfrProfilingDataConsumers() {
+    return emptySet();
+  }
+}
@@ -3,7 +3,7 @@
  */
 package org.mule.runtime.core.internal.profiling.discovery;
 
-import static com.google.common.collect.ImmutableSet.of;
+import static org.mule.runtime.core.internal.profiling.consumer.jfr.JfrProfilingDataConsumers.createJfrProfilingDataConsumers;
 
 import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingDataConsumer;
@@ -17,6 +17,8 @@ import org.mule.runtime.core.internal.profiling.consumer.TransactionLoggerDataCo
 
 import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
+
 /**
  * Simple {@link ProfilingDataConsumerDiscoveryStrategy} that programmatically generates the data consumers.
  *
@@ -32,11 +34,15 @@ public class DefaultProfilingDataConsumerDiscoveryStrategy implements ProfilingD
 
   @Override
   public Set<ProfilingDataConsumer<?>> discover() {
-    return of(new LoggerByteBufferAllocationProfilingDataConsumer(),
-              new ComponentProcessingStrategyDataConsumer(profilingService),
-              new LoggerComponentThreadingDataConsumer(),
-              new TransactionLoggerDataConsumer(),
-              new TaskSchedulingLoggerDataConsumer());
+    return ImmutableSet.<ProfilingDataConsumer<?>>builder()
+        .add(new LoggerByteBufferAllocationProfilingDataConsumer(),
+             new ComponentProcessingStrategyDataConsumer(profilingService),
+             new LoggerComponentThreadingDataConsumer(),
+             new TransactionLoggerDataConsumer(),
+             new TaskSchedulingLoggerDataConsumer())
+        // Only available when running on Java 11+
+        .addAll(createJfrProfilingDataConsumers())
+        .build();
   }
 
 }
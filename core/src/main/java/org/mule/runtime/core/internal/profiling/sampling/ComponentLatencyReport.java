@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The result of a {@link ComponentLatencySampler} session.
+ *
+ * @since 4.6
+ */
+public final class ComponentLatencyReport implements Serializable {
+
+  private static final long serialVersionUID = 7290913546417284006L;
+
+  private final long durationMillis;
+  private final int samplingRate;
+  private final List<ComponentLatencyStatistics> hotspots;
+
+  ComponentLatencyReport(long durationMillis, int samplingRate, List<ComponentLatencyStatistics> hotspots) {
+    this.durationMillis = durationMillis;
+    this.samplingRate = samplingRate;
+    this.hotspots = unmodifiableList(hotspots);
+  }
+
+  /**
+   * @return how long the session actually sampled events.
+   */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  /**
+   * @return one of how many events was sampled.
+   */
+  public int getSamplingRate() {
+    return samplingRate;
+  }
+
+  /**
+   * @return the statistics of each component that completed events during the session, from the one where the most time was
+   *         spent to the one where the least time was spent.
+   */
+  public List<ComponentLatencyStatistics> getHotspots() {
+    return hotspots;
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.identityHashCode;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples the latency of the components executed by the message processor chains of an artifact during a time-boxed session,
+ * so the hotspots of a running application can be found without enabling tracing or redeploying it.
+ * <p>
+ * When there is no active session, each hook only performs a volatile read. During a session, the throughput of every component
+ * is counted, but the wall-clock time and queueing delay are only measured for one of every {@code samplingRate} events.
+ *
+ * @since 4.6
+ */
+public class ComponentLatencySampler {
+
+  public static final String REGISTRY_KEY = "_muleComponentLatencySampler";
+
+  /**
+   * Maximum amount of events being timed at the same time, so that the samples of events that never complete a component (for
+   * instance, because of an error) do not grow unbounded.
+   */
+  static final int MAX_IN_FLIGHT_SAMPLES = 10000;
+
+  private final LongSupplier nanoClock;
+
+  private volatile SamplingSession session;
+
+  public ComponentLatencySampler() {
+    this(System::nanoTime);
+  }
+
+  ComponentLatencySampler(LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Starts a sampling session. Events are sampled until the session is stopped or its duration elapses, whatever happens first.
+   *
+   * @param durationMillis how long to sample events for.
+   * @param samplingRate   one of how many events to measure the latency of.
+   * @throws IllegalStateException if there is already an active session.
+   */
+  public synchronized void startSession(long durationMillis, int samplingRate) {
+    if (durationMillis <= 0) {
+      throw new IllegalArgumentException("Sampling duration must be positive");
+    }
+    if (samplingRate <= 0) {
+      throw new IllegalArgumentException("Sampling rate must be positive");
+    }
+
+    long now = nanoClock.getAsLong();
+    if (session != null && !session.isExpired(now)) {
+      throw new IllegalStateException("There is already an active component latency sampling session");
+    }
+    session = new SamplingSession(now, now + MILLISECONDS.toNanos(durationMillis), samplingRate);
+  }
+
+  /**
+   * Stops the active sampling session.
+   *
+   * @return the statistics gathered during the session, or {@code null} if there was no session.
+   */
+  public synchronized ComponentLatencyReport stopSession() {
+    SamplingSession stoppedSession = session;
+    if (stoppedSession == null) {
+      return null;
+    }
+    session = null;
+    return stoppedSession.report(nanoClock.getAsLong());
+  }
+
+  /**
+   * @return whether there is a session sampling events.
+   */
+  public boolean isSampling() {
+    SamplingSession currentSession = session;
+    return currentSession != null && !currentSession.isExpired(nanoClock.getAsLong());
+  }
+
+  /**
+   * To be called when the component is about to be dispatched through the processing strategy, in the flow thread.
+   */
+  public void onDispatch(CoreEvent event, ComponentLocation location) {
+    SamplingSession currentSession = session;
+    if (currentSession == null || location == null) {
+      return;
+    }
+
+    long now = nanoClock.getAsLong();
+    if (!currentSession.isExpired(now) && currentSession.shouldSample()) {
+      currentSession.inFlight.putIfAbsent(new InFlightKey(event.getContext(), location), new InFlightSample(now));
+    }
+  }
+
+  /**
+   * To be called when the component starts its execution, in the thread that executes it.
+   */
+  public void onExecutionStart(CoreEvent event, ComponentLocation location) {
+    SamplingSession currentSession = session;
+    if (currentSession == null || location == null || currentSession.inFlight.isEmpty()) {
+      return;
+    }
+
+    InFlightSample sample = currentSession.inFlight.get(new InFlightKey(event.getContext(), location));
+    if (sample != null) {
+      sample.executionStartedAt = nanoClock.getAsLong();
+    }
+  }
+
+  /**
+   * To be called when the component has completed, after the processing strategy has handed back the result to the flow.
+   */
+  public void onComplete(CoreEvent event, ComponentLocation location) {
+    SamplingSession currentSession = session;
+    if (currentSession == null || location == null) {
+      return;
+    }
+
+    if (!currentSession.isExpired(nanoClock.getAsLong())) {
+      currentSession.statisticsFor(location).completedEvents.increment();
+    }
+
+    if (!currentSession.inFlight.isEmpty()) {
+      InFlightSample sample = currentSession.inFlight.remove(new InFlightKey(event.getContext(), location));
+      if (sample != null) {
+        long now = nanoClock.getAsLong();
+        LocationStatistics statistics = currentSession.statisticsFor(location);
+        statistics.wallClock.record(now - sample.dispatchedAt);
+        if (sample.executionStartedAt != 0) {
+          statistics.queueingDelay.record(sample.executionStartedAt - sample.dispatchedAt);
+        }
+      }
+    }
+  }
+
+  private static final class SamplingSession {
+
+    private final long startedAt;
+    private final long deadline;
+    private final int samplingRate;
+    private final Map<InFlightKey, InFlightSample> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, LocationStatistics> statistics = new ConcurrentHashMap<>();
+
+    private SamplingSession(long startedAt, long deadline, int samplingRate) {
+      this.startedAt = startedAt;
+      this.deadline = deadline;
+      this.samplingRate = samplingRate;
+    }
+
+    private boolean isExpired(long now) {
+      return now - deadline >= 0;
+    }
+
+    private boolean shouldSample() {
+      return inFlight.size() < MAX_IN_FLIGHT_SAMPLES
+          && (samplingRate == 1 || ThreadLocalRandom.current().nextInt(samplingRate) == 0);
+    }
+
+    private LocationStatistics statisticsFor(ComponentLocation location) {
+      return statistics.computeIfAbsent(location.getLocation(), l -> new LocationStatistics());
+    }
+
+    private ComponentLatencyReport report(long now) {
+      long durationNanos = max(min(now, deadline) - startedAt, 1);
+      double durationSeconds = (double) durationNanos / SECONDS.toNanos(1);
+
+      List<ComponentLatencyStatistics> hotspots = statistics.entrySet().stream()
+          .map(entry -> {
+            long completedEvents = entry.getValue().completedEvents.sum();
+            return new ComponentLatencyStatistics(entry.getKey(), completedEvents, completedEvents / durationSeconds,
+                                                  entry.getValue().wallClock.summarize(),
+                                                  entry.getValue().queueingDelay.summarize());
+          })
+          .sorted(comparingLong(ComponentLatencyStatistics::getEstimatedTotalNanos).reversed())
+          .collect(toList());
+
+      return new ComponentLatencyReport(NANOSECONDS.toMillis(durationNanos), samplingRate, hotspots);
+    }
+  }
+
+  private static final class LocationStatistics {
+
+    private final LongAdder completedEvents = new LongAdder();
+    private final LatencyHistogram wallClock = new LatencyHistogram();
+    private final LatencyHistogram queueingDelay = new LatencyHistogram();
+  }
+
+  private static final class InFlightSample {
+
+    private final long dispatchedAt;
+    private volatile long executionStartedAt;
+
+    private InFlightSample(long dispatchedAt) {
+      this.dispatchedAt = dispatchedAt;
+    }
+  }
+
+  /**
+   * Identifies the execution of a component for an event. Both the event context and the location are compared by identity, since
+   * they are the same instances for the whole execution of the component.
+   */
+  private static final class InFlightKey {
+
+    private final EventContext eventContext;
+    private final ComponentLocation location;
+
+    private InFlightKey(EventContext eventContext, ComponentLocation location) {
+      this.eventContext = eventContext;
+      this.location = location;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof InFlightKey)) {
+        return false;
+      }
+      InFlightKey other = (InFlightKey) obj;
+      return eventContext == other.eventContext && location == other.location;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * identityHashCode(eventContext) + identityHashCode(location);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import java.io.Serializable;
+
+/**
+ * The latencies sampled for a component location during a {@link ComponentLatencySampler} session.
+ * <p>
+ * The wall-clock time of a component includes the time spent in the components nested in it, and its queueing delay is the time
+ * the event waited for the processing strategy to dispatch it to the thread that executed the component.
+ *
+ * @since 4.6
+ */
+public final class ComponentLatencyStatistics implements Serializable {
+
+  private static final long serialVersionUID = -2640582395712573961L;
+
+  private final String location;
+  private final long completedEvents;
+  private final double throughputPerSecond;
+  private final LatencySummary wallClock;
+  private final LatencySummary queueingDelay;
+
+  ComponentLatencyStatistics(String location, long completedEvents, double throughputPerSecond, LatencySummary wallClock,
+                             LatencySummary queueingDelay) {
+    this.location = location;
+    this.completedEvents = completedEvents;
+    this.throughputPerSecond = throughputPerSecond;
+    this.wallClock = wallClock;
+    this.queueingDelay = queueingDelay;
+  }
+
+  /**
+   * @return the location of the component.
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * @return the amount of events the component completed during the session, sampled or not.
+   */
+  public long getCompletedEvents() {
+    return completedEvents;
+  }
+
+  /**
+   * @return the amount of events per second the component completed during the session.
+   */
+  public double getThroughputPerSecond() {
+    return throughputPerSecond;
+  }
+
+  /**
+   * @return the wall-clock time of the sampled events, from the component being dispatched until it completed.
+   */
+  public LatencySummary getWallClock() {
+    return wallClock;
+  }
+
+  /**
+   * @return the time the sampled events waited before being executed by the component.
+   */
+  public LatencySummary getQueueingDelay() {
+    return queueingDelay;
+  }
+
+  /**
+   * @return an estimation of the total wall-clock time spent in the component during the session, used to rank the hotspots.
+   */
+  public long getEstimatedTotalNanos() {
+    return wallClock.getMeanNanos() * completedEvents;
+  }
+
+  /**
+   * Summary of the latencies recorded in a {@link LatencyHistogram}.
+   */
+  public static final class LatencySummary implements Serializable {
+
+    private static final long serialVersionUID = 4979245262380553162L;
+
+    private final long samples;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long maxNanos;
+
+    LatencySummary(long samples, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+      this.samples = samples;
+      this.meanNanos = meanNanos;
+      this.p50Nanos = p50Nanos;
+      this.p90Nanos = p90Nanos;
+      this.p99Nanos = p99Nanos;
+      this.maxNanos = maxNanos;
+    }
+
+    public long getSamples() {
+      return samples;
+    }
+
+    public long getMeanNanos() {
+      return meanNanos;
+    }
+
+    public long getP50Nanos() {
+      return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+      return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+      return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+      return maxNanos;
+    }
+  }
+}
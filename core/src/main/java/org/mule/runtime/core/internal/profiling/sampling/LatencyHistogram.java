@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.sampling;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencyStatistics.LatencySummary;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, with one bucket per power of 2.
+ * <p>
+ * Percentiles are reported as the upper bound of the bucket they fall in, so they may be up to twice the actual value.
+ *
+ * @since 4.6
+ */
+final class LatencyHistogram {
+
+  private static final int BUCKETS = 64;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder totalNanos = new LongAdder();
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  void record(long nanos) {
+    long latency = max(nanos, 0);
+    counts.incrementAndGet(bucketFor(latency));
+    totalNanos.add(latency);
+    maxNanos.accumulate(latency);
+  }
+
+  LatencySummary summarize() {
+    long[] snapshot = new long[BUCKETS];
+    long snapshotCount = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      snapshot[i] = counts.get(i);
+      snapshotCount += snapshot[i];
+    }
+
+    long max = maxNanos.get();
+    return new LatencySummary(snapshotCount,
+                              snapshotCount == 0 ? 0 : totalNanos.sum() / snapshotCount,
+                              percentile(snapshot, snapshotCount, 0.50, max),
+                              percentile(snapshot, snapshotCount, 0.90, max),
+                              percentile(snapshot, snapshotCount, 0.99, max),
+                              max);
+  }
+
+  private static long percentile(long[] snapshot, long snapshotCount, double percentile, long max) {
+    if (snapshotCount == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(percentile * snapshotCount);
+    long accumulated = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      accumulated += snapshot[i];
+      if (accumulated >= rank) {
+        return min(bucketUpperBound(i), max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Bucket {@code 0} holds latencies of {@code 0}, and bucket {@code n} latencies in {@code [2^(n-1), 2^n)}.
+   */
+  static int bucketFor(long nanos) {
+    return BUCKETS - numberOfLeadingZeros(nanos);
+  }
+
+  static long bucketUpperBound(int bucket) {
+    return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+}
@@ -6,30 +6,44 @@ package org.mule.runtime.core.internal.security;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
 
+import static java.lang.Runtime.getRuntime;
+import static java.util.Base64.getMimeDecoder;
+import static javax.crypto.Cipher.DECRYPT_MODE;
+import static javax.crypto.Cipher.ENCRYPT_MODE;
+
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.security.CryptoFailureException;
 import org.mule.runtime.core.api.util.Base64;
 
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.security.spec.AlgorithmParameterSpec;
 import java.security.spec.KeySpec;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
 import javax.crypto.SecretKey;
 
 /**
  * A JCE based encryption strategy. It also provides base64 encoding of encrypted/decrypted data by setting the base64encoding
  * attribute.
+ * <p>
+ * Since a {@link Cipher} can't be used by several threads at the same time, each operation takes one from a pool of initialized
+ * ciphers for its mode and gives it back when done, so that concurrent operations don't have to wait for each other. Streams are
+ * encrypted and decrypted incrementally as they are read, holding their cipher until they are closed.
  */
 public abstract class AbstractJCEEncryptionStrategy extends AbstractNamedEncryptionStrategy {
 
+  private static final int MAX_IDLE_CIPHERS = getRuntime().availableProcessors() * 2;
+
   /**
    * logger used by this class
    */
@@ -37,9 +51,22 @@ public abstract class AbstractJCEEncryptionStrategy extends AbstractNamedEncrypt
 
   protected KeySpec keySpec;
   protected SecretKey secretKey;
+
+  /**
+   * @deprecated ciphers are taken from a pool for each operation. This is just the first one created for encrypting.
+   */
+  @Deprecated
   protected Cipher encryptCipher;
+
+  /**
+   * @deprecated ciphers are taken from a pool for each operation. This is just the first one created for decrypting.
+   */
+  @Deprecated
   protected Cipher decryptCipher;
 
+  private final CipherPool encryptCiphers = new CipherPool(ENCRYPT_MODE);
+  private final CipherPool decryptCiphers = new CipherPool(DECRYPT_MODE);
+
   protected String algorithm = null;
 
   protected boolean base64Encoding = true;
@@ -63,43 +90,62 @@ public abstract class AbstractJCEEncryptionStrategy extends AbstractNamedEncrypt
   }
 
   protected void createAndInitCiphers() throws GeneralSecurityException {
-    encryptCipher = Cipher.getInstance(getAlgorithm());
-    decryptCipher = Cipher.getInstance(getAlgorithm());
+    encryptCipher = createCipher(ENCRYPT_MODE);
+    decryptCipher = createCipher(DECRYPT_MODE);
+
+    encryptCiphers.reset(encryptCipher);
+    decryptCiphers.reset(decryptCipher);
+  }
+
+  /**
+   * Creates a new cipher for this strategy's algorithm and key.
+   *
+   * @param mode either {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+   * @return the initialized cipher
+   * @throws GeneralSecurityException if the cipher can't be created
+   */
+  protected Cipher createCipher(int mode) throws GeneralSecurityException {
+    Cipher cipher = Cipher.getInstance(getAlgorithm());
 
     AlgorithmParameterSpec paramSpec = createAlgorithmParameterSpec();
     if (paramSpec != null) {
-      encryptCipher.init(Cipher.ENCRYPT_MODE, secretKey, paramSpec);
-      decryptCipher.init(Cipher.DECRYPT_MODE, secretKey, paramSpec);
+      cipher.init(mode, secretKey, paramSpec);
     } else {
-      encryptCipher.init(Cipher.ENCRYPT_MODE, secretKey);
-      decryptCipher.init(Cipher.DECRYPT_MODE, secretKey);
+      cipher.init(mode, secretKey);
     }
+
+    return cipher;
   }
 
   protected abstract SecretKey getSecretKey() throws GeneralSecurityException;
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned stream encrypts the {@code data} as it is read, so the cipher is held until the stream is closed.
+   */
   @Override
   public InputStream encrypt(InputStream data, Object info) throws CryptoFailureException {
-    try {
-      return new ByteArrayInputStream(this.encrypt(IOUtils.toByteArray(data), info));
-    } catch (IOException e) {
-      throw new CryptoFailureException(this, e);
-    }
+    InputStream encrypted = new PooledCipherInputStream(data, encryptCiphers, takeCipher(encryptCiphers));
+    return base64Encoding ? new Base64EncodingInputStream(encrypted) : encrypted;
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned stream decrypts the {@code data} as it is read, so the cipher is held until the stream is closed. Failures to
+   * decrypt are thrown by the stream as {@link IOException}s.
+   */
   @Override
   public InputStream decrypt(InputStream data, Object info) throws CryptoFailureException {
-    try {
-      return new ByteArrayInputStream(this.decrypt(IOUtils.toByteArray(data), info));
-    } catch (IOException e) {
-      throw new CryptoFailureException(this, e);
-    }
+    InputStream decoded = base64Encoding ? getMimeDecoder().wrap(data) : data;
+    return new PooledCipherInputStream(decoded, decryptCiphers, takeCipher(decryptCiphers));
   }
 
   @Override
   public byte[] encrypt(byte[] data, Object info) throws CryptoFailureException {
     try {
-      byte[] buf = encryptCipher.doFinal(data);
+      byte[] buf = doFinal(encryptCiphers, data);
       if (base64Encoding) {
         return Base64.encodeBytes(buf).getBytes();
       } else {
@@ -117,12 +163,28 @@ public abstract class AbstractJCEEncryptionStrategy extends AbstractNamedEncrypt
       if (base64Encoding) {
         dec = Base64.decode(new String(data));
       }
-      return decryptCipher.doFinal(dec);
+      return doFinal(decryptCiphers, dec);
     } catch (Exception e) {
       throw new CryptoFailureException(this, e);
     }
   }
 
+  private Cipher takeCipher(CipherPool pool) throws CryptoFailureException {
+    try {
+      return pool.take();
+    } catch (GeneralSecurityException e) {
+      throw new CryptoFailureException(this, e);
+    }
+  }
+
+  private byte[] doFinal(CipherPool pool, byte[] data) throws GeneralSecurityException {
+    Cipher cipher = pool.take();
+    // doFinal leaves the cipher ready to be used again, unless it fails
+    byte[] result = cipher.doFinal(data);
+    pool.offer(cipher);
+    return result;
+  }
+
   public String getAlgorithm() {
     return algorithm;
   }
@@ -150,4 +212,69 @@ public abstract class AbstractJCEEncryptionStrategy extends AbstractNamedEncrypt
 
   protected abstract AlgorithmParameterSpec createAlgorithmParameterSpec();
 
+  /**
+   * Initialized ciphers of a mode which are not being used.
+   */
+  private final class CipherPool {
+
+    private final int mode;
+    private final Queue<Cipher> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private CipherPool(int mode) {
+      this.mode = mode;
+    }
+
+    private Cipher take() throws GeneralSecurityException {
+      Cipher cipher = idle.poll();
+      if (cipher != null) {
+        idleCount.decrementAndGet();
+        return cipher;
+      }
+
+      return createCipher(mode);
+    }
+
+    /**
+     * Drops the idle ciphers, which may have been created for a previous key, leaving just the given one.
+     */
+    private void reset(Cipher cipher) {
+      idle.clear();
+      idleCount.set(0);
+      offer(cipher);
+    }
+
+    private void offer(Cipher cipher) {
+      if (idleCount.incrementAndGet() > MAX_IDLE_CIPHERS) {
+        idleCount.decrementAndGet();
+      } else {
+        idle.offer(cipher);
+      }
+    }
+  }
+
+  /**
+   * A {@link CipherInputStream} which takes its cipher from a {@link CipherPool} and gives it back when closed.
+   */
+  private static final class PooledCipherInputStream extends CipherInputStream {
+
+    private final CipherPool pool;
+    private final Cipher cipher;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private PooledCipherInputStream(InputStream in, CipherPool pool, Cipher cipher) {
+      super(in, cipher);
+      this.pool = pool;
+      this.cipher = cipher;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed.compareAndSet(false, true)) {
+        // Closing finishes the cipher operation, which leaves it ready to be used again
+        super.close();
+        pool.offer(cipher);
+      }
+    }
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.security;
+
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+import static java.util.Base64.getMimeEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64.Encoder;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * An {@link InputStream} which encodes the content of another one in base64 as it is read, with the same output as
+ * {@link org.mule.runtime.core.api.util.Base64#encodeBytes(byte[])}: lines are broken at 76 characters, and every complete line
+ * is followed by a new line, including the last one.
+ * <p>
+ * The content is encoded in chunks of whole lines, so only one chunk is held in memory at any time.
+ *
+ * @since 4.6
+ */
+final class Base64EncodingInputStream extends InputStream {
+
+  private static final int LINE_LENGTH = 76;
+  private static final int BYTES_PER_LINE = LINE_LENGTH / 4 * 3;
+  private static final int LINES_PER_CHUNK = 64;
+  private static final byte NEW_LINE = '\n';
+
+  private final InputStream in;
+  private final Encoder encoder = getMimeEncoder(LINE_LENGTH, new byte[] {NEW_LINE});
+  private final byte[] chunk = new byte[BYTES_PER_LINE * LINES_PER_CHUNK];
+
+  private byte[] encoded = new byte[0];
+  private int position = 0;
+  private boolean finished = false;
+
+  Base64EncodingInputStream(InputStream in) {
+    this.in = in;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureEncodedData()) {
+      return -1;
+    }
+
+    return encoded[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+
+    int read = 0;
+    while (read < len && ensureEncodedData()) {
+      int count = min(len - read, encoded.length - position);
+      arraycopy(encoded, position, b, off + read, count);
+      position += count;
+      read += count;
+    }
+
+    return read == 0 ? -1 : read;
+  }
+
+  @Override
+  public int available() {
+    return encoded.length - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  private boolean ensureEncodedData() throws IOException {
+    if (position < encoded.length) {
+      return true;
+    } else if (finished) {
+      return false;
+    }
+
+    int length = IOUtils.read(in, chunk);
+    if (length < chunk.length) {
+      finished = true;
+    }
+    if (length == 0) {
+      return false;
+    }
+
+    byte[] lines = encoder.encode(length < chunk.length ? copyOf(chunk, length) : chunk);
+    if (length % BYTES_PER_LINE == 0) {
+      // The encoder only separates the lines, so the new line after the last one, which is complete, is added here
+      encoded = copyOf(lines, lines.length + 1);
+      encoded[lines.length] = NEW_LINE;
+    } else {
+      encoded = lines;
+    }
+    position = 0;
+
+    return true;
+  }
+}
@@ -54,18 +54,17 @@ public class SecretKeyEncryptionStrategy extends AbstractJCEEncryptionStrategy {
   }
 
   @Override
-  protected void createAndInitCiphers() throws GeneralSecurityException {
-    encryptCipher = Cipher.getInstance(getAlgorithm());
-    decryptCipher = Cipher.getInstance(getAlgorithm());
+  protected Cipher createCipher(int mode) throws GeneralSecurityException {
+    Cipher cipher = Cipher.getInstance(getAlgorithm());
 
     AlgorithmParameterSpec paramSpec = createAlgorithmParameterSpec();
     if (paramSpec != null) {
-      encryptCipher.init(Cipher.ENCRYPT_MODE, (SecretKeySpec) keySpec, paramSpec);
-      decryptCipher.init(Cipher.DECRYPT_MODE, (SecretKeySpec) keySpec, paramSpec);
+      cipher.init(mode, (SecretKeySpec) keySpec, paramSpec);
     } else {
-      encryptCipher.init(Cipher.ENCRYPT_MODE, (SecretKeySpec) keySpec);
-      decryptCipher.init(Cipher.DECRYPT_MODE, (SecretKeySpec) keySpec);
+      cipher.init(mode, (SecretKeySpec) keySpec);
     }
+
+    return cipher;
   }
 
   protected KeySpec createKeySpec() {
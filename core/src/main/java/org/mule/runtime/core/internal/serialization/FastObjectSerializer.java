@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.context.MuleContextAware;
+
+/**
+ * Serializes objects for the object stores and queues of the runtime with the compact format of {@link FastSerializerProtocol},
+ * and the ones exchanged with the outside with the default Java serialization mechanism, same as {@link JavaObjectSerializer}.
+ * <p>
+ * It is used as the default object serializer of the runtime instead of {@link JavaObjectSerializer} when the
+ * {@link #FAST_OBJECT_SERIALIZER_PROPERTY} system property is set.
+ *
+ * @since 4.6
+ */
+public class FastObjectSerializer implements ObjectSerializer, MuleContextAware {
+
+  /**
+   * System property that makes this the default object serializer of the runtime. Defaults to {@code false}.
+   */
+  public static final String FAST_OBJECT_SERIALIZER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "serialization.fast";
+
+  /**
+   * @return a new {@link FastObjectSerializer} if {@link #FAST_OBJECT_SERIALIZER_PROPERTY} is set, or a new
+   *         {@link JavaObjectSerializer} otherwise.
+   */
+  public static ObjectSerializer createDefaultObjectSerializer() {
+    return getBoolean(FAST_OBJECT_SERIALIZER_PROPERTY) ? new FastObjectSerializer() : new JavaObjectSerializer();
+  }
+
+  private final FastSerializerProtocol fastSerializerProtocol = new FastSerializerProtocol();
+  private final JavaExternalSerializerProtocol javaSerializerProtocol = new JavaExternalSerializerProtocol();
+
+  @Override
+  public SerializationProtocol getInternalProtocol() {
+    return fastSerializerProtocol;
+  }
+
+  @Override
+  public SerializationProtocol getExternalProtocol() {
+    return javaSerializerProtocol;
+  }
+
+  @Override
+  public void setMuleContext(MuleContext context) {
+    fastSerializerProtocol.setMuleContext(context);
+    javaSerializerProtocol.setMuleContext(context);
+  }
+}
@@ -0,0 +1,571 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.ItemSequenceInfo;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.FunctionDataType;
+import org.mule.runtime.api.metadata.MapDataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.security.SecurityContext;
+import org.mule.runtime.api.serialization.SerializationException;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.runtime.core.internal.event.DefaultEventBuilder.InternalEventImplementation;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.SerializationUtils;
+import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.StoreValue;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.event.DefaultMuleSession;
+import org.mule.runtime.core.privileged.event.MuleSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Implementation of {@link SerializationProtocol} that writes a compact, length-prefixed binary format.
+ * <p>
+ * Events, messages, typed values, simple data types, object store values, strings, byte arrays, boxed primitives and the common
+ * collections are written field by field, without class descriptors or reflection. Any other value is written with Java's default
+ * serialization, so it still has to be {@link Serializable}.
+ * <p>
+ * The context of an event is written field by field only when it is a root {@link DefaultEventContext}, keeping its id, server
+ * id, correlation id and location. Its processing time, received date and flow call stack describe the execution it belonged to,
+ * so they are not kept. The contexts of child events are written with Java's default serialization along with their parents.
+ * <p>
+ * Streams written with Java's default serialization, such as the ones persisted before switching to this protocol, can still be
+ * read.
+ *
+ * @since 4.6
+ */
+public class FastSerializerProtocol extends AbstractSerializationProtocol {
+
+  private static final byte FORMAT_VERSION = 1;
+  // First byte of the stream magic number of Java's default serialization
+  private static final byte JAVA_STREAM_MAGIC = (byte) 0xAC;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte BYTES = 2;
+  private static final byte TRUE = 3;
+  private static final byte FALSE = 4;
+  private static final byte INTEGER = 5;
+  private static final byte LONG = 6;
+  private static final byte DOUBLE = 7;
+  private static final byte ARRAY_LIST = 8;
+  private static final byte HASH_SET = 9;
+  private static final byte LINKED_HASH_SET = 10;
+  private static final byte HASH_MAP = 11;
+  private static final byte LINKED_HASH_MAP = 12;
+  private static final byte TYPED_VALUE = 13;
+  private static final byte DATA_TYPE = 14;
+  private static final byte MESSAGE = 15;
+  private static final byte EVENT = 16;
+  private static final byte STORE_VALUE = 17;
+  private static final byte EVENT_CONTEXT = 18;
+  private static final byte JAVA = 127;
+
+  private static final Map<Class<?>, Byte> TAGS = new IdentityHashMap<>();
+  private static final Map<String, Class<?>> WELL_KNOWN_TYPES = new HashMap<>();
+
+  static {
+    TAGS.put(String.class, STRING);
+    TAGS.put(byte[].class, BYTES);
+    TAGS.put(Integer.class, INTEGER);
+    TAGS.put(Long.class, LONG);
+    TAGS.put(Double.class, DOUBLE);
+    TAGS.put(ArrayList.class, ARRAY_LIST);
+    TAGS.put(HashSet.class, HASH_SET);
+    TAGS.put(LinkedHashSet.class, LINKED_HASH_SET);
+    TAGS.put(HashMap.class, HASH_MAP);
+    TAGS.put(LinkedHashMap.class, LINKED_HASH_MAP);
+    TAGS.put(TypedValue.class, TYPED_VALUE);
+    TAGS.put(InternalEventImplementation.class, EVENT);
+    TAGS.put(StoreValue.class, STORE_VALUE);
+
+    for (Class<?> type : new Class<?>[] {Object.class, String.class, byte[].class, Boolean.class, Integer.class, Long.class,
+        Double.class, boolean.class, int.class, long.class, double.class, InputStream.class, CursorStreamProvider.class,
+        Map.class, Collection.class}) {
+      WELL_KNOWN_TYPES.put(type.getName(), type);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected byte[] doSerialize(Object object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(FORMAT_VERSION);
+    writeValue(out, object);
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected <T> T doDeserialize(InputStream inputStream, ClassLoader classLoader) throws Exception {
+    int version = inputStream.read();
+    if (version == (JAVA_STREAM_MAGIC & 0xFF)) {
+      InputStream javaStream = new SequenceInputStream(new ByteArrayInputStream(new byte[] {JAVA_STREAM_MAGIC}), inputStream);
+      return (T) SerializationUtils.deserialize(javaStream, classLoader, muleContext);
+    } else if (version != FORMAT_VERSION) {
+      throw new SerializationException(format("Unsupported serialization format version: %d", version));
+    }
+
+    return (T) readValue(new DataInputStream(inputStream), classLoader);
+  }
+
+  private void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+      return;
+    }
+
+    Byte tag = TAGS.get(value.getClass());
+    if (tag == null) {
+      if (value instanceof Boolean) {
+        out.writeByte((Boolean) value ? TRUE : FALSE);
+      } else if (value instanceof CursorStreamProvider) {
+        out.writeByte(BYTES);
+        writeBytes(out, cursorBytes((CursorStreamProvider) value));
+      } else if (isSimple(value)) {
+        out.writeByte(DATA_TYPE);
+        writeDataType(out, (DataType) value);
+      } else if (hasPayloadAndAttributesOnly(value)) {
+        out.writeByte(MESSAGE);
+        writeMessage(out, (Message) value);
+      } else {
+        writeJava(out, value);
+      }
+      return;
+    }
+
+    out.writeByte(tag);
+    switch (tag) {
+      case STRING:
+        writeString(out, (String) value);
+        break;
+      case BYTES:
+        writeBytes(out, (byte[]) value);
+        break;
+      case INTEGER:
+        writeVarLong(out, zigZag((Integer) value));
+        break;
+      case LONG:
+        writeVarLong(out, zigZag((Long) value));
+        break;
+      case DOUBLE:
+        out.writeDouble((Double) value);
+        break;
+      case ARRAY_LIST:
+      case HASH_SET:
+      case LINKED_HASH_SET:
+        Collection<?> collection = (Collection<?>) value;
+        writeVarLong(out, collection.size());
+        for (Object item : collection) {
+          writeValue(out, item);
+        }
+        break;
+      case HASH_MAP:
+      case LINKED_HASH_MAP:
+        Map<?, ?> map = (Map<?, ?>) value;
+        writeVarLong(out, map.size());
+        for (Entry<?, ?> entry : map.entrySet()) {
+          writeValue(out, entry.getKey());
+          writeValue(out, entry.getValue());
+        }
+        break;
+      case TYPED_VALUE:
+        writeTypedValue(out, (TypedValue<?>) value);
+        break;
+      case EVENT:
+        writeEvent(out, (InternalEvent) value);
+        break;
+      case STORE_VALUE:
+        StoreValue<?> storeValue = (StoreValue<?>) value;
+        writeValue(out, storeValue.getKey());
+        writeValue(out, storeValue.getValue());
+        break;
+      default:
+        throw new IllegalStateException("Unexpected tag " + tag);
+    }
+  }
+
+  private Object readValue(DataInputStream in, ClassLoader classLoader) throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case BYTES:
+        return readBytes(in);
+      case TRUE:
+        return true;
+      case FALSE:
+        return false;
+      case INTEGER:
+        return (int) unZigZag(readVarLong(in));
+      case LONG:
+        return unZigZag(readVarLong(in));
+      case DOUBLE:
+        return in.readDouble();
+      case ARRAY_LIST:
+        int listSize = readLength(in);
+        return readItems(in, classLoader, listSize, new ArrayList<>(listSize));
+      case HASH_SET:
+        int setSize = readLength(in);
+        return readItems(in, classLoader, setSize, new HashSet<>(mapCapacity(setSize)));
+      case LINKED_HASH_SET:
+        int linkedSetSize = readLength(in);
+        return readItems(in, classLoader, linkedSetSize, new LinkedHashSet<>(mapCapacity(linkedSetSize)));
+      case HASH_MAP:
+        int mapSize = readLength(in);
+        return readEntries(in, classLoader, mapSize, new HashMap<>(mapCapacity(mapSize)));
+      case LINKED_HASH_MAP:
+        int linkedMapSize = readLength(in);
+        return readEntries(in, classLoader, linkedMapSize, new LinkedHashMap<>(mapCapacity(linkedMapSize)));
+      case TYPED_VALUE:
+        return readTypedValue(in, classLoader);
+      case DATA_TYPE:
+        return readDataType(in, classLoader);
+      case MESSAGE:
+        return readMessage(in, classLoader);
+      case EVENT:
+        return readEvent(in, classLoader);
+      case STORE_VALUE:
+        return new StoreValue<>((Serializable) readValue(in, classLoader), readValue(in, classLoader));
+      case JAVA:
+        return readJava(in, classLoader);
+      default:
+        throw new SerializationException(format("Unexpected value tag: %d", tag));
+    }
+  }
+
+  private Collection<Object> readItems(DataInputStream in, ClassLoader classLoader, int size, Collection<Object> items)
+      throws IOException {
+    for (int i = 0; i < size; ++i) {
+      items.add(readValue(in, classLoader));
+    }
+    return items;
+  }
+
+  private Map<Object, Object> readEntries(DataInputStream in, ClassLoader classLoader, int size, Map<Object, Object> entries)
+      throws IOException {
+    for (int i = 0; i < size; ++i) {
+      entries.put(readValue(in, classLoader), readValue(in, classLoader));
+    }
+    return entries;
+  }
+
+  private static int mapCapacity(int size) {
+    return (int) (size / 0.75f) + 1;
+  }
+
+  private void writeTypedValue(DataOutputStream out, TypedValue<?> typedValue) throws IOException {
+    Object value = typedValue.getValue();
+    DataType dataType = typedValue.getDataType();
+    OptionalLong length = typedValue.getByteLength();
+
+    if (value instanceof CursorStreamProvider) {
+      // Same as the default serialization does for messages, the content is kept instead of the stream
+      value = cursorBytes((CursorStreamProvider) value);
+      dataType = DataType.builder(BYTE_ARRAY).mediaType(dataType.getMediaType()).build();
+      length = OptionalLong.of(((byte[]) value).length);
+    }
+
+    writeValue(out, value);
+    writeValue(out, dataType);
+    out.writeBoolean(length.isPresent());
+    if (length.isPresent()) {
+      writeVarLong(out, length.getAsLong());
+    }
+  }
+
+  private TypedValue<?> readTypedValue(DataInputStream in, ClassLoader classLoader) throws IOException {
+    Object value = readValue(in, classLoader);
+    DataType dataType = (DataType) readValue(in, classLoader);
+    OptionalLong length = in.readBoolean() ? OptionalLong.of(readVarLong(in)) : OptionalLong.empty();
+    return new TypedValue<>(value, dataType, length);
+  }
+
+  /**
+   * Collection, map and function data types carry more than a type and a media type, so those are left to Java serialization.
+   */
+  private static boolean isSimple(Object value) {
+    return value instanceof DataType
+        && !(value instanceof CollectionDataType || value instanceof MapDataType || value instanceof FunctionDataType);
+  }
+
+  private void writeDataType(DataOutputStream out, DataType dataType) throws IOException {
+    writeString(out, dataType.getType().getName());
+    writeString(out, dataType.getMediaType().toRfcString());
+  }
+
+  private DataType readDataType(DataInputStream in, ClassLoader classLoader) throws IOException {
+    String typeName = readString(in);
+    Class<?> type = WELL_KNOWN_TYPES.get(typeName);
+    if (type == null) {
+      try {
+        type = Class.forName(typeName, false, classLoader);
+      } catch (ClassNotFoundException e) {
+        throw new SerializationException(format("Could not load class %s of a data type", typeName), e);
+      }
+    }
+    return DataType.builder().type(type).mediaType(MediaType.parse(readString(in))).build();
+  }
+
+  /**
+   * Messages with legacy properties or attachments are left to Java serialization.
+   */
+  private static boolean hasPayloadAndAttributesOnly(Object value) {
+    if (!(value instanceof InternalMessage)) {
+      return false;
+    }
+
+    InternalMessage message = (InternalMessage) value;
+    return message.getInboundPropertyNames().isEmpty() && message.getOutboundPropertyNames().isEmpty()
+        && message.getInboundAttachmentNames().isEmpty() && message.getOutboundAttachmentNames().isEmpty()
+        && isSerializable(message.getPayload()) && isSerializable(message.getAttributes());
+  }
+
+  private static boolean isSerializable(TypedValue<?> typedValue) {
+    Object value = typedValue.getValue();
+    return value == null || value instanceof Serializable || value instanceof CursorStreamProvider;
+  }
+
+  private void writeMessage(DataOutputStream out, Message message) throws IOException {
+    writeTypedValue(out, message.getPayload());
+    writeTypedValue(out, message.getAttributes());
+  }
+
+  private Message readMessage(DataInputStream in, ClassLoader classLoader) throws IOException {
+    return InternalMessage.builder()
+        .payload(readTypedValue(in, classLoader))
+        .attributes(readTypedValue(in, classLoader))
+        .build();
+  }
+
+  private void writeEvent(DataOutputStream out, InternalEvent event) throws IOException {
+    BaseEventContext context = event.getContext();
+    if (context instanceof DefaultEventContext) {
+      out.writeByte(EVENT_CONTEXT);
+      writeString(out, context.getId());
+      writeValue(out, context.getServerId());
+      writeValue(out, context.getCorrelationId());
+      writeValue(out, context.getOriginatingLocation());
+    } else {
+      writeJava(out, context);
+    }
+
+    writeValue(out, event.getMessage());
+    writeTypedValues(out, event.getVariables());
+    writeTypedValues(out, event.getParameters());
+
+    Optional<Map<String, String>> loggingVariables = event.getLoggingVariables();
+    out.writeBoolean(loggingVariables.isPresent());
+    if (loggingVariables.isPresent()) {
+      writeVarLong(out, loggingVariables.get().size());
+      for (Entry<String, String> entry : loggingVariables.get().entrySet()) {
+        writeString(out, entry.getKey());
+        writeValue(out, entry.getValue());
+      }
+    }
+
+    // Most events have a session without properties, which is not worth writing
+    MuleSession session = event.getSession();
+    boolean emptySession = session instanceof DefaultMuleSession && session.getPropertyNamesAsSet().isEmpty();
+    out.writeBoolean(emptySession);
+    if (!emptySession) {
+      writeValue(out, session);
+    }
+
+    writeValue(out, event.getSecurityContext());
+    writeValue(out, event.getError().orElse(null));
+    writeValue(out, event.getItemSequenceInfo().orElse(null));
+    writeValue(out, event.getLegacyCorrelationId());
+    out.writeBoolean(event.isNotificationsEnabled());
+  }
+
+  private CoreEvent readEvent(DataInputStream in, ClassLoader classLoader) throws IOException {
+    BaseEventContext context;
+    byte contextTag = in.readByte();
+    if (contextTag == EVENT_CONTEXT) {
+      String id = readString(in);
+      String serverId = (String) readValue(in, classLoader);
+      String correlationId = (String) readValue(in, classLoader);
+      ComponentLocation location = (ComponentLocation) readValue(in, classLoader);
+      context = new DefaultEventContext(id, serverId, location, correlationId, empty());
+    } else if (contextTag == JAVA) {
+      context = (BaseEventContext) readJava(in, classLoader);
+    } else {
+      throw new SerializationException(format("Unexpected event context tag: %d", contextTag));
+    }
+
+    InternalEvent.Builder builder = InternalEvent.builder(context);
+    builder.message((Message) readValue(in, classLoader));
+    builder.variablesTyped(readTypedValues(in, classLoader));
+    builder.parameters(readTypedValues(in, classLoader));
+
+    if (in.readBoolean()) {
+      int size = readLength(in);
+      for (int i = 0; i < size; ++i) {
+        builder.addLoggingVariable(readString(in), (String) readValue(in, classLoader));
+      }
+    }
+
+    if (!in.readBoolean()) {
+      builder.session((MuleSession) readValue(in, classLoader));
+    }
+
+    builder.securityContext((SecurityContext) readValue(in, classLoader));
+    builder.error((Error) readValue(in, classLoader));
+    builder.itemSequenceInfo(ofNullable((ItemSequenceInfo) readValue(in, classLoader)));
+    builder.correlationId((String) readValue(in, classLoader));
+    if (!in.readBoolean()) {
+      builder.disableNotifications();
+    }
+
+    return builder.build();
+  }
+
+  private void writeTypedValues(DataOutputStream out, Map<String, TypedValue<?>> typedValues) throws IOException {
+    writeVarLong(out, typedValues.size());
+    for (Entry<String, TypedValue<?>> entry : typedValues.entrySet()) {
+      writeString(out, entry.getKey());
+      writeTypedValue(out, entry.getValue());
+    }
+  }
+
+  private CaseInsensitiveHashMap<String, TypedValue<?>> readTypedValues(DataInputStream in, ClassLoader classLoader)
+      throws IOException {
+    int size = readLength(in);
+    CaseInsensitiveHashMap<String, TypedValue<?>> typedValues = new CaseInsensitiveHashMap<>();
+    for (int i = 0; i < size; ++i) {
+      typedValues.put(readString(in), readTypedValue(in, classLoader));
+    }
+    return typedValues;
+  }
+
+  private void writeJava(DataOutputStream out, Object value) throws IOException {
+    if (!(value instanceof Serializable)) {
+      throw new SerializationException(format("Was expecting a Serializable type. %s was found instead",
+                                              value.getClass().getName()));
+    }
+
+    out.writeByte(JAVA);
+    writeBytes(out, org.apache.commons.lang3.SerializationUtils.serialize((Serializable) value));
+  }
+
+  private Object readJava(DataInputStream in, ClassLoader classLoader) throws IOException {
+    return SerializationUtils.deserialize(new ByteArrayInputStream(readBytes(in)), classLoader, muleContext);
+  }
+
+  private static byte[] cursorBytes(CursorStreamProvider cursorStreamProvider) throws IOException {
+    try (CursorStream cursor = cursorStreamProvider.openCursor()) {
+      return toByteArray(cursor);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value.getBytes(UTF_8));
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return new String(readBytes(in), UTF_8);
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    writeVarLong(out, value.length);
+    out.write(value);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] value = new byte[readLength(in)];
+    in.readFully(value);
+    return value;
+  }
+
+  private static int readLength(DataInputStream in) throws IOException {
+    long length = readVarLong(in);
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new SerializationException(format("Invalid length: %d", length));
+    }
+    return (int) length;
+  }
+
+  /**
+   * Writes 7 bits per byte, least significant first, with the high bit set on all bytes but the last.
+   */
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new SerializationException("Malformed variable length number");
+  }
+
+  /**
+   * Maps signed numbers to unsigned ones so that the ones close to zero, either positive or negative, take few bytes.
+   */
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+}
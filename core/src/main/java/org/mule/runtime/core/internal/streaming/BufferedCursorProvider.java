@@ -0,0 +1,25 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import org.mule.runtime.api.streaming.CursorProvider;
+
+/**
+ * A {@link CursorProvider} which buffers the consumed data so that its cursors can replay it, and reports how much of it was
+ * buffered.
+ *
+ * @since 4.6
+ */
+public interface BufferedCursorProvider {
+
+  /**
+   * @return how many bytes have been buffered so far.
+   */
+  long getBufferedBytes();
+
+  /**
+   * @return how many times the buffer had to be expanded so far.
+   */
+  int getBufferExpansions();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
+
+import static java.util.Comparator.comparing;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
+import org.mule.runtime.core.internal.streaming.bytes.ByteBufferPoolStatistics;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps {@link LocationStreamingStatistics} for each of the components that create cursor providers in an artifact, so that
+ * streaming configurations can be sized from the actual usage.
+ * <p>
+ * Providers are attributed to their {@link CursorProviderJanitor originating location}. Providers which don't have one are
+ * attributed to {@link #UNKNOWN_LOCATION}.
+ *
+ * @since 4.6
+ */
+public class ComponentStreamingStatistics {
+
+  public static final String REGISTRY_KEY = "_muleComponentStreamingStatistics";
+
+  public static final String UNKNOWN_LOCATION = "unknown";
+
+  public static final String STREAMING_STATISTICS_NAME = "streaming-statistics";
+  public static final String STREAMING_STATISTICS_DESCRIPTION = "Streaming statistics of the components of the artifact";
+
+  private final Map<String, LocationStreamingStatistics> statisticsByLocation = new ConcurrentHashMap<>();
+  private volatile ByteBufferPoolStatistics bufferPoolStatistics;
+
+  /**
+   * @param originatingLocation the location of the component that created a cursor provider.
+   * @return the statistics where the usage of that provider is to be recorded.
+   */
+  public LocationStreamingStatistics forLocation(Optional<ComponentLocation> originatingLocation) {
+    String location = originatingLocation.map(ComponentLocation::getLocation).orElse(UNKNOWN_LOCATION);
+    LocationStreamingStatistics statistics = statisticsByLocation.get(location);
+    if (statistics == null) {
+      statistics = statisticsByLocation.computeIfAbsent(location, LocationStreamingStatistics::new);
+    }
+    return statistics;
+  }
+
+  /**
+   * @return the statistics of every component that created cursor providers, sorted by location.
+   */
+  public List<LocationStreamingStatistics> getLocationStatistics() {
+    return statisticsByLocation.values().stream()
+        .sorted(comparing(LocationStreamingStatistics::getLocation))
+        .collect(toList());
+  }
+
+  /**
+   * @param bufferPoolStatistics the statistics of the pool the buffers of the artifact are taken from, to expose along with the
+   *                             ones of the components.
+   */
+  public void setBufferPoolStatistics(ByteBufferPoolStatistics bufferPoolStatistics) {
+    this.bufferPoolStatistics = bufferPoolStatistics;
+  }
+
+  /**
+   * @return the statistics of the pool the buffers of the artifact are taken from, if any.
+   */
+  public Optional<ByteBufferPoolStatistics> getBufferPoolStatistics() {
+    return ofNullable(bufferPoolStatistics);
+  }
+
+  /**
+   * Exposes the totals of all the components as meters of the artifact.
+   *
+   * @param meterProvider the {@link ArtifactMeterProvider} to track the statistics with.
+   */
+  public void trackUsingMeterProvider(ArtifactMeterProvider meterProvider) {
+    Meter meter = meterProvider.getMeterBuilder(STREAMING_STATISTICS_NAME)
+        .withDescription(STREAMING_STATISTICS_DESCRIPTION)
+        .withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, meterProvider.getArtifactId())
+        .build();
+
+    registerCounter(meter, "cursor-providers-opened", "Cursor providers created",
+                    LocationStreamingStatistics::getProvidersOpened);
+    registerCounter(meter, "cursor-providers-closed", "Cursor providers closed",
+                    LocationStreamingStatistics::getProvidersClosed);
+    registerCounter(meter, "cursors-opened", "Cursors opened, including the replays of a provider",
+                    LocationStreamingStatistics::getCursorsOpened);
+    registerCounter(meter, "cursor-providers-leaked", "Cursor providers released by the garbage collector instead of closed",
+                    LocationStreamingStatistics::getLeakedProviders);
+    registerCounter(meter, "cursors-leaked", "Cursors still open when their provider was released by the garbage collector",
+                    LocationStreamingStatistics::getLeakedCursors);
+    registerCounter(meter, "bytes-buffered", "Bytes buffered by in memory cursor stream providers",
+                    LocationStreamingStatistics::getBytesBuffered);
+    registerCounter(meter, "buffer-expansions", "Times a cursor stream provider buffer had to be expanded",
+                    LocationStreamingStatistics::getBufferExpansions);
+
+    ByteBufferPoolStatistics poolStatistics = bufferPoolStatistics;
+    if (poolStatistics != null) {
+      registerGauge(meter, "buffer-pool-in-use-bytes", "Bytes held by the pooled buffers in use, including their unused tail",
+                    poolStatistics::getInUseBytes);
+      registerGauge(meter, "buffer-pool-requested-bytes", "Bytes requested for the pooled buffers in use",
+                    poolStatistics::getRequestedBytes);
+      registerGauge(meter, "buffer-pool-idle-bytes", "Bytes held by the idle buffers kept for reuse",
+                    poolStatistics::getPooledBytes);
+      registerSuppliedCounter(meter, "buffer-pool-hits", "Buffer requests served with a pooled buffer", poolStatistics::getHits);
+      registerSuppliedCounter(meter, "buffer-pool-misses", "Buffer requests which required allocating a new buffer",
+                              poolStatistics::getMisses);
+    }
+  }
+
+  private void registerGauge(Meter meter, String name, String description, Supplier<Long> valueSupplier) {
+    // These values are only updated by the buffer pool, so add operations from the meter are ignored.
+    meter.upDownCounterBuilder(name)
+        .withValueSupplier(valueSupplier)
+        .withConsumerForAddOperation(value -> {
+        })
+        .withSupplierForIncrementAndGetOperation(valueSupplier)
+        .withSupplierForDecrementAndGetOperation(valueSupplier)
+        .withDescription(description).build();
+  }
+
+  private void registerCounter(Meter meter, String name, String description,
+                               ToLongFunction<LocationStreamingStatistics> valueFunction) {
+    registerSuppliedCounter(meter, name, description, () -> total(valueFunction));
+  }
+
+  private void registerSuppliedCounter(Meter meter, String name, String description, Supplier<Long> valueSupplier) {
+    // These counters are only updated by the streaming infrastructure, so add operations from the meter are ignored.
+    meter.counterBuilder(name)
+        .withValueSupplier(valueSupplier)
+        .withConsumerForAddOperation(value -> {
+        })
+        .withSupplierForIncrementAndGetOperation(valueSupplier)
+        .withDescription(description).build();
+  }
+
+  private long total(ToLongFunction<LocationStreamingStatistics> valueFunction) {
+    return statisticsByLocation.values().stream().mapToLong(valueFunction).sum();
+  }
+}
@@ -30,6 +30,7 @@ public class CursorManager {
 
   private final MutableStreamingStatistics statistics;
   private final StreamingGhostBuster ghostBuster;
+  private final ComponentStreamingStatistics componentStatistics;
 
   /**
    * Creates a new instance
@@ -37,8 +38,22 @@ public class CursorManager {
    * @param statistics statistics which values should be kept updated
    */
   public CursorManager(MutableStreamingStatistics statistics, StreamingGhostBuster ghostBuster) {
+    this(statistics, ghostBuster, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param statistics          statistics which values should be kept updated
+   * @param componentStatistics where the usage of the managed providers is recorded per originating location. May be
+   *                            {@code null}
+   * @since 4.6
+   */
+  public CursorManager(MutableStreamingStatistics statistics, StreamingGhostBuster ghostBuster,
+                       ComponentStreamingStatistics componentStatistics) {
     this.statistics = statistics instanceof NullStreamingStatistics ? null : statistics;
     this.ghostBuster = ghostBuster;
+    this.componentStatistics = componentStatistics;
   }
 
   /**
@@ -55,9 +70,11 @@ public class CursorManager {
 
     ManagedCursorProvider managedProvider;
     if (innerDelegate instanceof CursorStreamProvider) {
-      managedProvider = new ManagedCursorStreamProvider((IdentifiableCursorProvider<CursorStream>) identifiable, statistics);
+      managedProvider = new ManagedCursorStreamProvider((IdentifiableCursorProvider<CursorStream>) identifiable, statistics,
+                                                        componentStatistics);
     } else if (innerDelegate instanceof CursorIteratorProvider) {
-      managedProvider = new ManagedCursorIteratorProvider((IdentifiableCursorProvider<CursorIterator>) identifiable, statistics);
+      managedProvider = new ManagedCursorIteratorProvider((IdentifiableCursorProvider<CursorIterator>) identifiable, statistics,
+                                                          componentStatistics);
     } else {
       throw new MuleRuntimeException(createStaticMessage("Unknown cursor provider type: " + innerDelegate.getClass().getName()));
     }
@@ -3,6 +3,10 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
+import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
+
+import static java.lang.System.nanoTime;
+
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.streaming.Cursor;
@@ -29,6 +33,8 @@ public class CursorProviderJanitor {
   private final MutableStreamingStatistics statistics;
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final AtomicBoolean released = new AtomicBoolean(false);
+  private final LocationStreamingStatistics locationStatistics;
+  private final long createdNanos;
 
   /**
    * Creates a new instance
@@ -38,9 +44,43 @@ public class CursorProviderJanitor {
    * @param statistics       a {@link MutableStreamingStatistics}
    */
   public CursorProviderJanitor(CursorProvider provider, AtomicInteger openCursorsCount, MutableStreamingStatistics statistics) {
+    this(provider, openCursorsCount, statistics, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param provider           the {@link CursorProvider} which resources are freed
+   * @param openCursorsCount   an {@link AtomicInteger} to decrement each time a cursor is released
+   * @param statistics         a {@link MutableStreamingStatistics}
+   * @param locationStatistics the {@link LocationStreamingStatistics} of the component that created the {@code provider}. May
+   *                           be {@code null}
+   * @since 4.6
+   */
+  public CursorProviderJanitor(CursorProvider provider, AtomicInteger openCursorsCount, MutableStreamingStatistics statistics,
+                               LocationStreamingStatistics locationStatistics) {
     this.provider = provider;
     this.openCursorsCount = openCursorsCount;
     this.statistics = statistics;
+    this.locationStatistics = locationStatistics;
+    if (locationStatistics != null) {
+      locationStatistics.onProviderOpened();
+      createdNanos = nanoTime();
+    } else {
+      createdNanos = 0;
+    }
+  }
+
+  /**
+   * Records that a cursor was opened for the underlying {@link CursorProvider}
+   *
+   * @param openCursors how many cursors of the provider are open, including the new one
+   * @since 4.6
+   */
+  public void onCursorOpened(int openCursors) {
+    if (locationStatistics != null) {
+      locationStatistics.onCursorOpened(openCursors);
+    }
   }
 
   /**
@@ -54,6 +94,9 @@ public class CursorProviderJanitor {
         if (statistics != null) {
           statistics.decrementOpenProviders();
         }
+        if (locationStatistics != null) {
+          locationStatistics.onProviderClosed(nanoTime() - createdNanos);
+        }
       }
     }
   }
@@ -73,6 +116,7 @@ public class CursorProviderJanitor {
     }
 
     try {
+      recordBufferUsage();
       provider.releaseResources();
     } finally {
       if (statistics != null) {
@@ -82,6 +126,29 @@ public class CursorProviderJanitor {
     }
   }
 
+  /**
+   * Releases the resources of the underlying {@link CursorProvider} because it is no longer referenced, recording it as a leak if
+   * it had not been released already.
+   *
+   * @since 4.6
+   */
+  public final void releaseLeakedResources() {
+    if (locationStatistics != null && !released.get()) {
+      locationStatistics.onProviderLeaked(openCursorsCount.get());
+    }
+    releaseResources();
+  }
+
+  private void recordBufferUsage() {
+    if (locationStatistics != null) {
+      CursorProvider innerDelegate = unwrap(provider);
+      if (innerDelegate instanceof BufferedCursorProvider) {
+        BufferedCursorProvider bufferedProvider = (BufferedCursorProvider) innerDelegate;
+        locationStatistics.onBufferReleased(bufferedProvider.getBufferedBytes(), bufferedProvider.getBufferExpansions());
+      }
+    }
+  }
+
   /**
    * Releases the resources associated to the given {@code cursor}.
    *
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Long.parseLong;
+import static java.lang.management.ManagementFactory.getRuntimeMXBean;
+
+import java.util.List;
+
+/**
+ * {@link MemoryManager} for buffers allocated outside the heap, whose maximum memory is the limit the JVM enforces for direct
+ * buffers.
+ * <p>
+ * That limit is set with the {@code -XX:MaxDirectMemorySize} JVM option, and defaults to the maximum heap size when not set.
+ *
+ * @since 4.6
+ */
+public class DirectMemoryManager implements MemoryManager {
+
+  private static final String MAX_DIRECT_MEMORY_SIZE_OPTION = "-XX:MaxDirectMemorySize=";
+  private static final String SIZE_UNITS = "kmgt";
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getMaxMemory() {
+    return getMaxDirectMemory(getRuntimeMXBean().getInputArguments(), Runtime.getRuntime().maxMemory());
+  }
+
+  /**
+   * @param jvmArguments the arguments the JVM was started with
+   * @param maxHeap      the maximum heap size, which is the default limit
+   * @return the limit for direct buffers given by the last {@code -XX:MaxDirectMemorySize} option, or {@code maxHeap} if there is
+   *         none.
+   */
+  static long getMaxDirectMemory(List<String> jvmArguments, long maxHeap) {
+    long maxDirectMemory = maxHeap;
+    for (String argument : jvmArguments) {
+      if (argument.startsWith(MAX_DIRECT_MEMORY_SIZE_OPTION)) {
+        maxDirectMemory = parseSize(argument.substring(MAX_DIRECT_MEMORY_SIZE_OPTION.length()), maxHeap);
+      }
+    }
+    return maxDirectMemory;
+  }
+
+  private static long parseSize(String size, long defaultSize) {
+    if (size.isEmpty()) {
+      return defaultSize;
+    }
+
+    // Each unit is 1024 times the previous one
+    int unit = SIZE_UNITS.indexOf(toLowerCase(size.charAt(size.length() - 1)));
+    int shift = 0;
+    if (unit >= 0) {
+      shift = (unit + 1) * 10;
+      size = size.substring(0, size.length() - 1);
+    }
+
+    try {
+      return parseLong(size) << shift;
+    } catch (NumberFormatException e) {
+      return defaultSize;
+    }
+  }
+}
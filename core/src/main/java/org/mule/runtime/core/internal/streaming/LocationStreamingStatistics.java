@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streaming statistics of the cursor providers created by a single component.
+ *
+ * @since 4.6
+ */
+public final class LocationStreamingStatistics {
+
+  private final String location;
+
+  private final LongAdder providersOpened = new LongAdder();
+  private final LongAdder providersClosed = new LongAdder();
+  private final LongAdder cursorsOpened = new LongAdder();
+  private final LongAccumulator peakOpenCursors = new LongAccumulator(Math::max, 0);
+
+  private final LongAdder timeToCloseNanos = new LongAdder();
+  private final LongAccumulator maxTimeToCloseNanos = new LongAccumulator(Math::max, 0);
+
+  private final LongAdder leakedProviders = new LongAdder();
+  private final LongAdder leakedCursors = new LongAdder();
+
+  private final LongAdder bufferedProviders = new LongAdder();
+  private final LongAdder bytesBuffered = new LongAdder();
+  private final LongAccumulator maxBytesBuffered = new LongAccumulator(Math::max, 0);
+  private final LongAdder bufferExpansions = new LongAdder();
+  private final LongAccumulator maxBufferExpansions = new LongAccumulator(Math::max, 0);
+
+  LocationStreamingStatistics(String location) {
+    this.location = location;
+  }
+
+  void onProviderOpened() {
+    providersOpened.increment();
+  }
+
+  void onCursorOpened(int openCursors) {
+    cursorsOpened.increment();
+    peakOpenCursors.accumulate(openCursors);
+  }
+
+  void onProviderClosed(long elapsedNanos) {
+    providersClosed.increment();
+    timeToCloseNanos.add(elapsedNanos);
+    maxTimeToCloseNanos.accumulate(elapsedNanos);
+  }
+
+  void onProviderLeaked(int openCursors) {
+    leakedProviders.increment();
+    leakedCursors.add(openCursors);
+  }
+
+  void onBufferReleased(long bufferedBytes, int expansions) {
+    bufferedProviders.increment();
+    bytesBuffered.add(bufferedBytes);
+    maxBytesBuffered.accumulate(bufferedBytes);
+    bufferExpansions.add(expansions);
+    maxBufferExpansions.accumulate(expansions);
+  }
+
+  /**
+   * @return the location of the component that created the providers, or {@link ComponentStreamingStatistics#UNKNOWN_LOCATION}.
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * @return how many cursor providers were created.
+   */
+  public long getProvidersOpened() {
+    return providersOpened.sum();
+  }
+
+  /**
+   * @return how many cursor providers were closed.
+   */
+  public long getProvidersClosed() {
+    return providersClosed.sum();
+  }
+
+  /**
+   * @return how many cursors were opened, that is, how many times the streams were consumed or replayed.
+   */
+  public long getCursorsOpened() {
+    return cursorsOpened.sum();
+  }
+
+  /**
+   * @return the maximum amount of cursors that were open at the same time for a single provider.
+   */
+  public long getPeakOpenCursors() {
+    return peakOpenCursors.get();
+  }
+
+  /**
+   * @return the average time between a provider being created and it being closed.
+   */
+  public long getMeanTimeToCloseNanos() {
+    long closed = providersClosed.sum();
+    return closed == 0 ? 0 : timeToCloseNanos.sum() / closed;
+  }
+
+  /**
+   * @return the maximum time between a provider being created and it being closed.
+   */
+  public long getMaxTimeToCloseNanos() {
+    return maxTimeToCloseNanos.get();
+  }
+
+  /**
+   * @return how many providers were released by the garbage collector instead of being closed and having all their cursors
+   *         released.
+   */
+  public long getLeakedProviders() {
+    return leakedProviders.sum();
+  }
+
+  /**
+   * @return how many cursors were still open when their provider was released by the garbage collector.
+   */
+  public long getLeakedCursors() {
+    return leakedCursors.sum();
+  }
+
+  /**
+   * @return how many providers that buffer their stream released their buffer.
+   */
+  public long getBufferedProviders() {
+    return bufferedProviders.sum();
+  }
+
+  /**
+   * @return the total amount of bytes buffered by the providers.
+   */
+  public long getBytesBuffered() {
+    return bytesBuffered.sum();
+  }
+
+  /**
+   * @return the maximum amount of bytes buffered by a single provider.
+   */
+  public long getMaxBytesBuffered() {
+    return maxBytesBuffered.get();
+  }
+
+  /**
+   * @return the total amount of times the buffers of the providers had to be expanded.
+   */
+  public long getBufferExpansions() {
+    return bufferExpansions.sum();
+  }
+
+  /**
+   * @return the maximum amount of times the buffer of a single provider had to be expanded.
+   */
+  public long getMaxBufferExpansions() {
+    return maxBufferExpansions.get();
+  }
+}
@@ -25,9 +25,23 @@ public abstract class ManagedCursorProvider<T extends Cursor> extends CursorProv
   private final int id;
 
   protected ManagedCursorProvider(IdentifiableCursorProvider<T> delegate, MutableStreamingStatistics statistics) {
+    this(delegate, statistics, null);
+  }
+
+  /**
+   * @param delegate            the provider to manage
+   * @param statistics          the statistics to keep updated. May be {@code null}
+   * @param componentStatistics where the usage of the provider is recorded for its originating location. May be {@code null}
+   * @since 4.6
+   */
+  protected ManagedCursorProvider(IdentifiableCursorProvider<T> delegate, MutableStreamingStatistics statistics,
+                                  ComponentStreamingStatistics componentStatistics) {
     super(delegate);
     id = delegate.getId();
-    this.janitor = new CursorProviderJanitor(delegate, openCursorsCount, statistics);
+    this.janitor = new CursorProviderJanitor(delegate, openCursorsCount, statistics,
+                                             componentStatistics != null
+                                                 ? componentStatistics.forLocation(delegate.getOriginatingLocation())
+                                                 : null);
     this.statistics = statistics;
     if (statistics != null) {
       statistics.incrementOpenProviders();
@@ -44,7 +58,7 @@ public abstract class ManagedCursorProvider<T extends Cursor> extends CursorProv
   @Override
   public final T openCursor() {
     T cursor = delegate.openCursor();
-    openCursorsCount.incrementAndGet();
+    janitor.onCursorOpened(openCursorsCount.incrementAndGet());
 
     if (statistics != null) {
       statistics.incrementOpenCursors();
@@ -158,7 +158,7 @@ public class StreamingGhostBuster implements Lifecycle {
     public void dispose() {
       if (!clear) {
         clear = true;
-        janitor.releaseResources();
+        janitor.releaseLeakedResources();
       }
     }
 
@@ -3,6 +3,7 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Math.min;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.interrupted;
 import static org.mule.runtime.api.util.Preconditions.checkState;
@@ -28,6 +29,10 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
 
   private static final Logger LOGGER = getLogger(AbstractInputStreamBuffer.class);
 
+  private static final int SCRATCH_SIZE = 8 * 1024;
+  // Direct buffers have no backing array, so the stream is read into this one a chunk at a time
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
   protected final InputStream stream;
   protected final ByteBufferManager bufferManager;
 
@@ -93,11 +98,12 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
   protected abstract ByteBuffer doGet(long position, int length);
 
   protected int consumeStream(ByteBuffer buffer) throws IOException {
-    final byte[] dest = buffer.array();
+    final boolean hasArray = buffer.hasArray();
+    final byte[] dest = hasArray ? buffer.array() : SCRATCH.get();
 
     int totalRead = 0;
     int remaining = buffer.remaining();
-    int offset = buffer.position();
+    int offset = hasArray ? buffer.arrayOffset() + buffer.position() : 0;
 
     while (remaining > 0) {
       try {
@@ -105,7 +111,7 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
           break;
         }
 
-        int read = stream.read(dest, offset, remaining);
+        int read = stream.read(dest, offset, hasArray ? remaining : min(remaining, dest.length));
 
         if (read == -1) {
           streamFullyConsumed = true;
@@ -120,7 +126,11 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
 
         totalRead += read;
         remaining -= read;
-        offset += read;
+        if (hasArray) {
+          offset += read;
+        } else {
+          buffer.put(dest, 0, read);
+        }
       } catch (IOException e) {
         if (!interrupted()) {
           throw e;
@@ -140,8 +150,8 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
       }
     }
 
-    if (totalRead > 0) {
-      buffer.position(offset);
+    if (totalRead > 0 && hasArray) {
+      buffer.position(buffer.position() + totalRead);
     }
 
     return totalRead;
@@ -3,19 +3,29 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
+import static java.nio.channels.Channels.newChannel;
 import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A {@link CursorStream} which pulls its data from an {@link InputStreamBuffer}.
  * <p>
  * To reduce contention on the {@link InputStreamBuffer}, this class also uses a local intermediate memory buffer which size must
  * be configured
+ * <p>
+ * Reads bigger than that local buffer are requested to the {@link InputStreamBuffer} with their full length, so that buffers
+ * which provide views over their data are copied only once, straight into the caller's array. For the same reason,
+ * {@link #transferTo(WritableByteChannel)} hands those views to the channel without copying them at all.
  *
  * @see InputStreamBuffer
  * @since 4.0
@@ -114,13 +124,54 @@ public final class BufferedCursorStream extends AbstractCursorStream {
     }
   }
 
+  /**
+   * Writes all the remaining content of this cursor into the given {@code channel}, leaving the cursor at its end.
+   * <p>
+   * The data is handed to the channel straight from the {@link InputStreamBuffer}, without intermediate copies when the buffer
+   * provides views over its data. The channel is expected to be in blocking mode.
+   *
+   * @param channel the channel to write to. It will not be closed.
+   * @return how many bytes were written
+   * @throws IOException if the channel fails to write
+   * @since 4.6
+   */
+  public long transferTo(WritableByteChannel channel) throws IOException {
+    assertNotDisposed();
+
+    long transferred = 0;
+    while (assureDataInLocalBuffer(MAX_VALUE) != -1) {
+      while (localBuffer.hasRemaining()) {
+        int written = channel.write(localBuffer);
+        position += written;
+        transferred += written;
+      }
+    }
+
+    return transferred;
+  }
+
+  /**
+   * Writes all the remaining content of this cursor into the given {@code out} stream, leaving the cursor at its end.
+   * <p>
+   * Not annotated with {@link Override} so that it can be compiled against Java 8, where {@code InputStream#transferTo} doesn't
+   * exist yet.
+   *
+   * @param out the stream to write to. It will not be closed.
+   * @return how many bytes were written
+   * @throws IOException if the stream fails to write
+   * @since 4.6
+   */
+  public long transferTo(OutputStream out) throws IOException {
+    return transferTo(newChannel(out));
+  }
+
   private int assureDataInLocalBuffer(int len) {
-    if (len <= localBuffer.remaining()) {
-      return toIntExact(len);
+    if (localBuffer.hasRemaining()) {
+      return min(len, localBuffer.remaining());
     }
 
     localBuffer.clear();
-    ByteBuffer read = streamBuffer.get(position, LOCAL_BUFFER_SIZE);
+    ByteBuffer read = streamBuffer.get(position, max(len, LOCAL_BUFFER_SIZE));
     if (read != null) {
       localBuffer = read;
       rangeStart = position;
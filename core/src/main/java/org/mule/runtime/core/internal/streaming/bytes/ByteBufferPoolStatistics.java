@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+/**
+ * Utilization statistics of a {@link org.mule.runtime.core.api.streaming.bytes.ByteBufferManager} which pools its buffers.
+ *
+ * @since 4.6
+ */
+public interface ByteBufferPoolStatistics {
+
+  /**
+   * @return how many bytes are held by buffers which are currently in use, including the bytes they have beyond the capacity
+   *         that was requested for them.
+   */
+  long getInUseBytes();
+
+  /**
+   * @return how many bytes were requested for the buffers which are currently in use.
+   */
+  long getRequestedBytes();
+
+  /**
+   * @return how many bytes are held by idle buffers kept in the pool for later reuse.
+   */
+  long getPooledBytes();
+
+  /**
+   * @return how many buffer requests were served with a pooled buffer.
+   */
+  long getHits();
+
+  /**
+   * @return how many buffer requests required allocating a new buffer.
+   */
+  long getMisses();
+
+  /**
+   * @return the [0;1] fraction of the bytes in use which are wasted because buffers are bigger than the capacity requested for
+   *         them.
+   */
+  default double getFragmentation() {
+    long inUse = getInUseBytes();
+    return inUse == 0 ? 0 : 1 - (double) getRequestedBytes() / inUse;
+  }
+}
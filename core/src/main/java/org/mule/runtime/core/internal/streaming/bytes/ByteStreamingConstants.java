@@ -3,12 +3,14 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.getInteger;
 import static java.lang.System.getProperty;
 import static org.mule.runtime.api.util.DataUnit.KB;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_BUCKET_SIZE;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_BUFFER_POOL_SIZE;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_HEAP_PERCENTAGE;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 
 /**
  * Constants around byte streaming
@@ -36,6 +38,35 @@ public final class ByteStreamingConstants {
    */
   public static final int DEFAULT_BUFFER_POOL_SIZE = getInteger(MULE_STREAMING_MAX_BUFFER_POOL_SIZE, 2048);
 
+  /**
+   * System property to set how many idle buffers of each of the smallest size classes are cached by each thread
+   *
+   * @since 4.6
+   */
+  public static final String MULE_STREAMING_BUFFER_POOL_THREAD_CACHE_SIZE =
+      SYSTEM_PROPERTY_PREFIX + "streaming.bufferPool.threadCacheSize";
+
+  /**
+   * How many idle buffers of each of the smallest size classes are cached by each thread
+   *
+   * @since 4.6
+   */
+  public static final int BUFFER_POOL_THREAD_CACHE_SIZE = getInteger(MULE_STREAMING_BUFFER_POOL_THREAD_CACHE_SIZE, 4);
+
+  /**
+   * System property to allocate the pooled repeatable streaming buffers outside the heap
+   *
+   * @since 4.6
+   */
+  public static final String MULE_STREAMING_DIRECT_BUFFERS = SYSTEM_PROPERTY_PREFIX + "streaming.directBuffers";
+
+  /**
+   * Whether the pooled repeatable streaming buffers are allocated outside the heap
+   *
+   * @since 4.6
+   */
+  public static final boolean DIRECT_STREAMING_BUFFERS = getBoolean(MULE_STREAMING_DIRECT_BUFFERS);
+
   private static double getMaxStreamingMemoryPercentage() {
     String v = getProperty(MULE_STREAMING_MAX_HEAP_PERCENTAGE);
     return v != null ? Double.valueOf(v) : 0.7;
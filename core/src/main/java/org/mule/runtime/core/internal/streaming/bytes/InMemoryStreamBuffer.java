@@ -5,8 +5,6 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
-import static java.lang.System.arraycopy;
-import static java.nio.ByteBuffer.wrap;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -18,6 +16,8 @@ import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An implementation of {@link AbstractInputStreamBuffer} which holds the buffered information in memory.
@@ -25,6 +25,11 @@ import java.nio.ByteBuffer;
  * If the buffer does not have enough capacity to hold all the data, then it will expanded up to a certain threshold configured in
  * the constructor. Once that threshold is reached, a {@link StreamingBufferSizeExceededException} will be thrown. If no threshold
  * is provided, then the buffer will be allowed to grow indefinitely.
+ * <p>
+ * The data is held in a list of chunks: the first one has the initial buffer size and each expansion adds another one of the
+ * buffer size increment. Since buffered data never moves, the chunks are not released until the buffer is closed and reads are
+ * served with read-only views over them instead of copies. A read never spans more than one chunk, so it may return fewer bytes
+ * than requested.
  *
  * @since 4.0
  */
@@ -32,11 +37,14 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
 
   private static final int STREAM_FINISHED_PROBE = 10;
 
-  private ManagedByteBufferWrapper managedBuffer;
+  private final List<ManagedByteBufferWrapper> chunks = new ArrayList<>();
   private ByteBuffer actingBuffer;
+  private final int initialBufferSize;
   private final int bufferSizeIncrement;
   private final int maxBufferSize;
-  private long bufferTip = 0;
+  private long capacity;
+  private volatile long bufferTip = 0;
+  private volatile int expansions = 0;
 
   /**
    * Creates a new instance
@@ -46,13 +54,13 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
    */
   public InMemoryStreamBuffer(InputStream stream, InMemoryCursorStreamConfig config, ByteBufferManager bufferManager) {
     super(stream, bufferManager);
-    managedBuffer = bufferManager.allocateManaged(config.getInitialBufferSize().toBytes());
-    actingBuffer = managedBuffer.getDelegate();
+    this.initialBufferSize = config.getInitialBufferSize().toBytes();
     this.bufferSizeIncrement = config.getBufferSizeIncrement() != null
         ? config.getBufferSizeIncrement().toBytes()
         : 0;
 
     this.maxBufferSize = config.getMaxBufferSize().toBytes();
+    addChunk(bufferManager.allocateManaged(initialBufferSize));
   }
 
   @Override
@@ -86,8 +94,6 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
               if (refetch != null) {
                 return refetch;
               }
-            } else {
-              actingBuffer.limit(actingBuffer.position());
             }
           }
           return doGet(position, length, false);
@@ -112,7 +118,7 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
     }
 
     if (position < bufferTip) {
-      length = min(length, toIntExact(bufferTip - position));
+      length = (int) min(length, bufferTip - position);
       return copy(position, length);
     }
 
@@ -124,105 +130,105 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
    */
   @Override
   public void doClose() {
-    managedBuffer.release();
-    managedBuffer = null;
+    chunks.forEach(ManagedByteBufferWrapper::release);
+    chunks.clear();
+    actingBuffer = null;
   }
 
   /**
-   * {@inheritDoc} If {@code buffer} doesn't have any remaining capacity, then {@link #expandBuffer()} is invoked before
-   * attempting to consume new information.
+   * {@inheritDoc} If the last chunk doesn't have any remaining capacity, then a new one is added before attempting to consume new
+   * information.
    *
    * @throws StreamingBufferSizeExceededException if the buffer is not big enough and cannot be expanded
    */
   @Override
   public int consumeForwardData() throws IOException {
-    ManagedByteBufferWrapper b = managedBuffer;
-    ManagedByteBufferWrapper managedReadBuffer = b.getDelegate().hasRemaining()
-        ? b
-        : bufferManager.allocateManaged(bufferSizeIncrement > 0 ? bufferSizeIncrement : STREAM_FINISHED_PROBE);
+    if (actingBuffer.hasRemaining()) {
+      final int read = consumeStream(actingBuffer);
+      if (read > 0) {
+        bufferTip += read;
+      }
+      return read;
+    }
 
-    ByteBuffer readBuffer = managedReadBuffer.getDelegate();
-    final boolean auxBuffer = managedReadBuffer != b;
-    final int read;
+    final boolean canBeExpanded = canBeExpanded();
+    ManagedByteBufferWrapper managedReadBuffer =
+        bufferManager.allocateManaged(canBeExpanded ? bufferSizeIncrement : STREAM_FINISHED_PROBE);
+    boolean added = false;
 
     try {
-      read = consumeStream(readBuffer);
+      final int read = consumeStream(managedReadBuffer.getDelegate());
 
       if (read > 0) {
-        if (auxBuffer) {
-          expandBuffer();
-          readBuffer.flip();
-          actingBuffer.put(readBuffer);
+        if (!canBeExpanded) {
+          throw new StreamingBufferSizeExceededException(maxBufferSize);
         }
 
+        addChunk(managedReadBuffer);
+        added = true;
+        expansions++;
         bufferTip += read;
       }
+
+      return read;
     } finally {
-      if (auxBuffer) {
+      if (!added) {
         managedReadBuffer.release();
       }
     }
+  }
 
-    return read;
+  private void addChunk(ManagedByteBufferWrapper chunk) {
+    chunks.add(chunk);
+    actingBuffer = chunk.getDelegate();
+    capacity += actingBuffer.capacity();
   }
 
   /**
-   * Expands the size of the buffer by {@link #bufferSizeIncrement}
-   *
-   * @return a new, expanded {@link ByteBuffer}
+   * @return how many bytes have been consumed from the stream into this buffer.
    */
-  private ManagedByteBufferWrapper expandBuffer() {
-    ManagedByteBufferWrapper oldManagedBuffer = managedBuffer;
-    ByteBuffer oldBuffer = oldManagedBuffer.getDelegate();
-    int newSize = oldBuffer.capacity() + bufferSizeIncrement;
-    if (!canBeExpandedTo(newSize)) {
-      throw new StreamingBufferSizeExceededException(maxBufferSize);
-    }
-
-    ManagedByteBufferWrapper newManagedBuffer = bufferManager.allocateManaged(newSize);
-    ByteBuffer newBuffer = newManagedBuffer.getDelegate();
-    oldBuffer.position(0);
-    newBuffer.put(oldBuffer);
-
-    managedBuffer = newManagedBuffer;
-    actingBuffer = newBuffer;
-    oldManagedBuffer.release();
+  public long getBufferedBytes() {
+    return bufferTip;
+  }
 
-    return newManagedBuffer;
+  /**
+   * @return how many times this buffer was expanded.
+   */
+  public int getExpansions() {
+    return expansions;
   }
 
+  /**
+   * @return a read-only view of up to {@code length} bytes from {@code position}, without going past the chunk that holds it.
+   */
   @Override
   protected ByteBuffer copy(long position, int length) {
-    return canDoSoftCopy() ? softCopy(position, length) : hardCopy(position, length);
-  }
-
-  private ByteBuffer softCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    return wrap(actingBuffer.array(), offset, min(length, actingBuffer.limit() - offset)).slice();
+    final int index = chunkIndex(position);
+    final long chunkStart = chunkStart(index);
+    final ByteBuffer chunk = chunks.get(index).getDelegate();
+    final int offset = toIntExact(position - chunkStart);
+
+    ByteBuffer view = chunk.asReadOnlyBuffer();
+    view.limit((int) min(offset + (long) length, min(chunk.capacity(), bufferTip - chunkStart)));
+    view.position(offset);
+    return view.slice();
   }
 
-  protected ByteBuffer hardCopy(long position, int length) {
-    final int offset = toIntExact(position);
-    length = min(length, actingBuffer.limit() - offset);
-
-    byte[] b = new byte[length];
-    arraycopy(actingBuffer.array(), offset, b, 0, length);
-    return wrap(b);
+  private int chunkIndex(long position) {
+    return position < initialBufferSize ? 0 : 1 + toIntExact((position - initialBufferSize) / bufferSizeIncrement);
   }
 
-  private boolean canDoSoftCopy() {
-    return streamFullyConsumed
-        || actingBuffer.capacity() >= maxBufferSize
-        || bufferSizeIncrement == 0;
+  private long chunkStart(int index) {
+    return index == 0 ? 0 : initialBufferSize + (long) (index - 1) * bufferSizeIncrement;
   }
 
-  private boolean canBeExpandedTo(int newSize) {
+  private boolean canBeExpanded() {
     if (bufferSizeIncrement <= 0) {
       return false;
     } else if (maxBufferSize == 0) {
       return true;
     }
 
-    return newSize <= maxBufferSize;
+    return capacity + bufferSizeIncrement <= maxBufferSize;
   }
 }
@@ -3,6 +3,8 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static org.apache.commons.io.IOUtils.copyLarge;
+
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
@@ -10,6 +12,7 @@ import org.mule.runtime.core.internal.streaming.CursorProviderJanitor;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -98,6 +101,23 @@ class ManagedCursorStreamDecorator extends CursorStream {
     return delegate.read(b, off, len);
   }
 
+  /**
+   * Writes all the remaining content of this cursor into the given {@code out} stream, without intermediate copies if the
+   * delegate supports it.
+   *
+   * @param out the stream to write to. It will not be closed.
+   * @return how many bytes were written
+   * @throws IOException if the stream fails to write
+   * @since 4.6
+   */
+  public long transferTo(OutputStream out) throws IOException {
+    if (delegate instanceof BufferedCursorStream) {
+      return ((BufferedCursorStream) delegate).transferTo(out);
+    }
+
+    return copyLarge(delegate, out);
+  }
+
   @Override
   public long skip(long n) throws IOException {
     return delegate.skip(n);
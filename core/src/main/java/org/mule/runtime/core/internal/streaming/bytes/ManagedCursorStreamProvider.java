@@ -5,6 +5,7 @@ package org.mule.runtime.core.internal.streaming.bytes;
 
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.IdentifiableCursorProvider;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
@@ -27,6 +28,20 @@ public class ManagedCursorStreamProvider extends ManagedCursorProvider<CursorStr
     super(delegate, statistics);
   }
 
+  /**
+   * {@link ManagedCursorProvider} implementation for {@link CursorStreamProvider} instances
+   *
+   * @param delegate
+   * @param statistics
+   * @param componentStatistics
+   * @since 4.6
+   */
+  public ManagedCursorStreamProvider(IdentifiableCursorProvider<CursorStream> delegate,
+                                     MutableStreamingStatistics statistics,
+                                     ComponentStreamingStatistics componentStatistics) {
+    super(delegate, statistics, componentStatistics);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -65,8 +65,35 @@ public abstract class MemoryBoundByteBufferManager implements ByteBufferManager
    * @throws MaxStreamingMemoryExceededException if the memory cap is exceeded by this operation
    */
   protected final ByteBuffer allocateIfFits(int capacity) {
+    return allocateIfFits(capacity, false);
+  }
+
+  /**
+   * Tries to allocate a {@link ByteBuffer} of the given {@code capacity}, either in the heap or outside of it.
+   * <p>
+   * If said operation exceeds the memory cap, or the JVM limit for direct buffers when {@code direct} is set, then a
+   * {@link MaxStreamingMemoryExceededException} is thrown.
+   *
+   * @param capacity the required buffer's capacity
+   * @param direct   whether to allocate a direct buffer outside the heap
+   * @return a {@link ByteBuffer}
+   * @throws MaxStreamingMemoryExceededException if the memory cap or the direct memory limit is exceeded by this operation
+   * @since 4.6
+   */
+  protected final ByteBuffer allocateIfFits(int capacity, boolean direct) {
     if (streamingMemory.addAndGet(capacity) <= maxStreamingMemory) {
-      return ByteBuffer.allocate(capacity);
+      if (!direct) {
+        return ByteBuffer.allocate(capacity);
+      }
+
+      try {
+        return ByteBuffer.allocateDirect(capacity);
+      } catch (OutOfMemoryError e) {
+        // The direct memory of the JVM is shared with other users, so it may run out before the cap is reached
+        streamingMemory.addAndGet(-capacity);
+        throw new MaxStreamingMemoryExceededException(createStaticMessage(format("Direct memory limit was exceeded: %s",
+                                                                                 e.getMessage())));
+      }
     }
 
     streamingMemory.addAndGet(-capacity);
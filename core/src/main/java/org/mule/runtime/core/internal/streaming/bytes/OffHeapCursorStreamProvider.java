@@ -0,0 +1,167 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link CursorStreamProvider} which holds a fixed content in a buffer obtained from a {@link ByteBufferManager}, usually
+ * outside the heap, so that big values don't add to the heap footprint and GC pauses of the events that reference them. The
+ * content is only copied into the heap by the cursors that read it.
+ * <p>
+ * The content is reference counted: it is created with one reference, each {@link #retain()} adds one and each
+ * {@link #release()} removes one. Once no references are left the buffer is given back to its {@link ByteBufferManager}, and
+ * cursors can no longer be opened.
+ * <p>
+ * Instances are serialized as a {@link ByteArrayCursorStreamProvider} with a copy of the content.
+ *
+ * @since 4.6
+ */
+public final class OffHeapCursorStreamProvider implements CursorStreamProvider, Serializable {
+
+  private static final long serialVersionUID = 4390586251717419470L;
+
+  private static final String RELEASED_MESSAGE = "The content of this value was moved outside the heap and was already released "
+      + "because the event that held it has completed. Values larger than the 'mule.event.offHeapValues.threshold' system "
+      + "property can only be read while the event that set them is being processed: read or copy the value before keeping it "
+      + "beyond that event (for instance in an object store or a cache), or raise that threshold.";
+
+  private volatile ByteBuffer content;
+  private ManagedByteBufferWrapper buffer;
+  private final int length;
+  private final AtomicInteger references = new AtomicInteger(1);
+  private volatile boolean closed = false;
+
+  /**
+   * Creates a new instance with a copy of the given {@code content}.
+   *
+   * @param content       the content to hold
+   * @param bufferManager the {@link ByteBufferManager} to allocate the buffer that holds the content from. Cursors opened before
+   *                      the content is released may still be reading it, so it must not reuse released buffers.
+   * @throws MaxStreamingMemoryExceededException if there's not enough streaming memory to hold the content
+   */
+  public OffHeapCursorStreamProvider(byte[] content, ByteBufferManager bufferManager) {
+    this.buffer = bufferManager.allocateManaged(content.length);
+    ByteBuffer delegate = buffer.getDelegate().duplicate();
+    delegate.clear();
+    delegate.put(content);
+    delegate.flip();
+
+    this.content = delegate.asReadOnlyBuffer();
+    this.length = content.length;
+  }
+
+  /**
+   * Adds a reference to the content.
+   *
+   * @return whether the reference was added, that is, if the content was not already dropped.
+   */
+  public boolean retain() {
+    int current;
+    do {
+      current = references.get();
+      if (current <= 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(current, current + 1));
+
+    return true;
+  }
+
+  /**
+   * Removes a reference to the content, giving its buffer back to the {@link ByteBufferManager} if it was the last one.
+   */
+  public void release() {
+    if (references.decrementAndGet() == 0) {
+      content = null;
+      buffer.release();
+      buffer = null;
+    }
+  }
+
+  /**
+   * @return whether the content was already dropped.
+   */
+  public boolean isReleased() {
+    return content == null;
+  }
+
+  /**
+   * @return the length of the content.
+   */
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public CursorStream openCursor() {
+    ByteBuffer current = content;
+    checkState(current != null, RELEASED_MESSAGE);
+    return new BufferedCursorStream(new ByteBufferStreamBuffer(current.duplicate()), this);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  /**
+   * Does nothing, as the content is released when all its references are.
+   */
+  @Override
+  public void releaseResources() {}
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  private Object writeReplace() {
+    ByteBuffer current = content;
+    checkState(current != null, RELEASED_MESSAGE);
+
+    byte[] bytes = new byte[length];
+    current.duplicate().get(bytes);
+    return new ByteArrayCursorStreamProvider(bytes);
+  }
+
+  /**
+   * An {@link InputStreamBuffer} over a fully loaded {@link ByteBuffer}, which serves reads with views of it.
+   */
+  private static final class ByteBufferStreamBuffer implements InputStreamBuffer {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferStreamBuffer(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public ByteBuffer get(long position, int length) {
+      if (position >= buffer.limit()) {
+        return null;
+      }
+
+      ByteBuffer view = buffer.duplicate();
+      int offset = toIntExact(position);
+      view.position(offset);
+      view.limit(offset + min(length, buffer.limit() - offset));
+      return view.slice();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
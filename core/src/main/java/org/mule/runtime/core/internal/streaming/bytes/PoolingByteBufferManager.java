@@ -3,177 +3,340 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Thread.currentThread;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
-import static java.lang.Runtime.getRuntime;
-import static java.util.concurrent.TimeUnit.MINUTES;
-import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.BUFFER_POOL_THREAD_CACHE_SIZE;
 import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
 import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_POOL_SIZE;
-import static org.slf4j.LoggerFactory.getLogger;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DIRECT_STREAMING_BUFFERS;
 
-import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
 import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.DirectMemoryManager;
 import org.mule.runtime.core.internal.streaming.MemoryManager;
 
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
-
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.github.benmanes.caffeine.cache.RemovalListener;
-import org.apache.commons.pool2.KeyedObjectPool;
-import org.slf4j.Logger;
-import org.vibur.objectpool.ConcurrentPool;
-import org.vibur.objectpool.PoolObjectFactory;
-import org.vibur.objectpool.PoolService;
-import org.vibur.objectpool.util.MultithreadConcurrentQueueCollection;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * {@link MemoryBoundByteBufferManager} implementation which pools instances for better performance.
  * <p>
- * Buffers are kept in separate pools depending on their capacity.
+ * Requested capacities are rounded up to power of two size classes, so that buffers of any capacity in the same class can be
+ * reused for each other. The returned buffers still have exactly the requested capacity, as they are views over the pooled
+ * ones. Requests bigger than the biggest size class are not pooled.
+ * <p>
+ * Released buffers of the smallest classes, up to the configured bucket size, go first to a small cache of the releasing
+ * thread, which the same thread takes them back from without contention. The rest go to a shared arena with a lock-free free
+ * list per size class, which is bounded so that every class holds at most as many bytes as {@code size} buffers of the bucket
+ * size do.
  * <p>
- * Idle capacity pools are automatically expired, but items in each pool are never reclaimed.
+ * Idle buffers are not reclaimed unless the memory cap is reached, in which case the idle buffers in the arena and in the caches
+ * of every thread are freed before failing the allocation. The caches of threads that are no longer alive are freed as soon as
+ * a new thread creates its own, so that their buffers are not kept counted against the memory cap.
  * <p>
- * Unlike traditional pools, if a pool is exhausted then an ephemeral {@link ByteBuffer} will be produced. That instance must
- * still be returned through the {@link #deallocate(ByteBuffer)} method.
+ * Buffers are allocated outside the heap if {@link ByteStreamingConstants#DIRECT_STREAMING_BUFFERS} is set, in which case the
+ * memory cap of the default instance is sized from the JVM limit for direct buffers instead of from the heap.
  *
  * @since 4.0
  */
-public class PoolingByteBufferManager extends MemoryBoundByteBufferManager implements Disposable {
-
-  private static final Logger LOGGER = getLogger(PoolingByteBufferManager.class);
+public class PoolingByteBufferManager extends MemoryBoundByteBufferManager implements Disposable, ByteBufferPoolStatistics {
 
-  private final int size;
+  private static final int MIN_SIZE_CLASS_SHIFT = 6;
+  private static final int MAX_SIZE_CLASS_SHIFT = 22;
+  private static final int MAX_POOLED_CAPACITY = 1 << MAX_SIZE_CLASS_SHIFT;
 
-  private BufferPool defaultSizePool;
+  private final SizeClass[] sizeClasses;
+  private final int threadCachedClasses;
+  private final boolean direct;
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(() -> newThreadCache());
+  private final Set<ThreadCache> threadCaches = ConcurrentHashMap.newKeySet();
+  private volatile boolean disposed = false;
 
-  /**
-   * Using a cache of pools instead of a {@link KeyedObjectPool} because performance tests indicates that this option is slightly
-   * faster, plus it gives us the ability to expire unfrequent capacity buffers without the use of a reaper thread (those
-   * performance test did not include such a reaper, so it's very possible that this is more than just slightly faster)
-   */
-  private final LoadingCache<Integer, BufferPool> customSizePools = Caffeine.newBuilder()
-      .expireAfterAccess(5, MINUTES)
-      .removalListener((RemovalListener<Integer, BufferPool>) (key, value, cause) -> {
-        try {
-          value.close();
-        } catch (Exception e) {
-          if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Found exception trying to dispose buffer pool for capacity " + key, e);
-          }
-        }
-      }).build(this::newBufferPool);
+  private final LongAdder inUseBytes = new LongAdder();
+  private final LongAdder requestedBytes = new LongAdder();
+  private final LongAdder pooledBytes = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
 
   /**
-   * Creates a new instance which allows the pool to grow up to 70% of the runtime's max memory and has a wait timeout of 10
-   * seconds. The definition of max memory is that of {@link MemoryManager#getMaxMemory()}
+   * Creates a new instance which keeps up to {@link ByteStreamingConstants#DEFAULT_BUFFER_POOL_SIZE} idle buffers of
+   * {@link ByteStreamingConstants#DEFAULT_BUFFER_BUCKET_SIZE} or less for each size class. The memory cap is that of
+   * {@link MemoryBoundByteBufferManager}, 70% of {@link MemoryManager#getMaxMemory()} unless configured otherwise, of a
+   * {@link DirectMemoryManager} if {@link ByteStreamingConstants#DIRECT_STREAMING_BUFFERS} is set or of a
+   * {@link DefaultMemoryManager} otherwise.
    */
   public PoolingByteBufferManager() {
-    this(new DefaultMemoryManager(), DEFAULT_BUFFER_POOL_SIZE, DEFAULT_BUFFER_BUCKET_SIZE);
+    this(DIRECT_STREAMING_BUFFERS ? new DirectMemoryManager() : new DefaultMemoryManager(), DEFAULT_BUFFER_POOL_SIZE,
+         DEFAULT_BUFFER_BUCKET_SIZE);
   }
 
   /**
-   * Creates a new instance which allows the pool to grow up to 50% of calling {@link MemoryManager#getMaxMemory()} on the given
-   * {@code memoryManager}, and has {@code waitTimeoutMillis} as wait timeout.
+   * Creates a new instance whose buffers are allocated outside the heap if
+   * {@link ByteStreamingConstants#DIRECT_STREAMING_BUFFERS} is set.
    *
    * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory
+   * @param size          how many idle buffers of {@code bufferSize} or less are kept for each size class
+   * @param bufferSize    the capacity up to which buffers are cached by each thread
    */
   public PoolingByteBufferManager(MemoryManager memoryManager, int size, int bufferSize) {
+    this(memoryManager, size, bufferSize, DIRECT_STREAMING_BUFFERS);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param memoryManager a {@link MemoryManager} used to determine the runtime's max memory, which should be a
+   *                      {@link DirectMemoryManager} if {@code direct} is set
+   * @param size          how many idle buffers of {@code bufferSize} or less are kept for each size class
+   * @param bufferSize    the capacity up to which buffers are cached by each thread
+   * @param direct        whether to allocate the buffers outside the heap
+   * @since 4.6
+   */
+  public PoolingByteBufferManager(MemoryManager memoryManager, int size, int bufferSize, boolean direct) {
     super(memoryManager);
-    this.size = size;
-    defaultSizePool = newBufferPool(bufferSize);
+    this.direct = direct;
+
+    sizeClasses = new SizeClass[MAX_SIZE_CLASS_SHIFT - MIN_SIZE_CLASS_SHIFT + 1];
+    for (int i = 0; i < sizeClasses.length; ++i) {
+      int capacity = 1 << (MIN_SIZE_CLASS_SHIFT + i);
+      int maxPooled = capacity <= bufferSize ? size : (int) max(1, (long) size * bufferSize / capacity);
+      sizeClasses[i] = new SizeClass(capacity, maxPooled);
+    }
+
+    threadCachedClasses = BUFFER_POOL_THREAD_CACHE_SIZE > 0
+        ? sizeClassIndex(min(max(bufferSize, 1), MAX_POOLED_CAPACITY)) + 1
+        : 0;
   }
 
-  private BufferPool newBufferPool(Integer capacity) {
-    return new BufferPool(size, capacity);
+  private ThreadCache newThreadCache() {
+    // Take the chance to free the buffers cached by threads that are gone
+    for (ThreadCache cache : threadCaches) {
+      if (!cache.isOwnerAlive()) {
+        threadCaches.remove(cache);
+        cache.drain();
+      }
+    }
+
+    ThreadCache cache = new ThreadCache(currentThread());
+    threadCaches.add(cache);
+    return cache;
   }
 
-  private BufferPool getBufferPool(int capacity) {
-    return capacity == DEFAULT_BUFFER_BUCKET_SIZE ? defaultSizePool : customSizePools.get(capacity);
+  private static int sizeClassIndex(int capacity) {
+    return max(0, Integer.SIZE - numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT);
   }
 
   @Override
   public ManagedByteBufferWrapper allocateManaged(int capacity) {
-    try {
-      return getBufferPool(capacity).take();
-    } catch (RuntimeException e) {
-      throw e;
-    } catch (Exception e) {
-      throw new MuleRuntimeException(createStaticMessage("Could not allocate byte buffer. " + e.getMessage()), e);
+    if (capacity <= 0 || capacity > MAX_POOLED_CAPACITY) {
+      return new ManagedByteBufferWrapper(allocateWithinCap(capacity), b -> doDeallocate(b.getDelegate()));
     }
+
+    final int index = sizeClassIndex(capacity);
+    final ByteBuffer pooled = take(index);
+    inUseBytes.add(pooled.capacity());
+    requestedBytes.add(capacity);
+
+    return new ManagedByteBufferWrapper(view(pooled, capacity), b -> release(index, pooled, capacity));
   }
 
-  @Override
-  public void dispose() {
+  private ByteBuffer take(int index) {
+    ByteBuffer buffer = index < threadCachedClasses ? threadCache.get().pop(index) : null;
+    if (buffer == null) {
+      buffer = sizeClasses[index].poll();
+    }
+
+    if (buffer != null) {
+      hits.increment();
+      pooledBytes.add(-buffer.capacity());
+      return buffer;
+    }
+
+    misses.increment();
+    return allocateWithinCap(sizeClasses[index].capacity);
+  }
+
+  private ByteBuffer allocateWithinCap(int capacity) {
     try {
-      defaultSizePool.close();
-    } catch (Exception e) {
-      if (LOGGER.isWarnEnabled()) {
-        LOGGER.warn("Error disposing default capacity byte buffers pool", e);
+      return allocateIfFits(capacity, direct);
+    } catch (MaxStreamingMemoryExceededException e) {
+      if (trim() == 0) {
+        throw e;
       }
+      return allocateIfFits(capacity, direct);
     }
-    try {
-      customSizePools.invalidateAll();
-    } catch (Exception e) {
-      if (LOGGER.isWarnEnabled()) {
-        LOGGER.warn("Error disposing mixed capacity byte buffers pool", e);
+  }
+
+  private void release(int index, ByteBuffer buffer, int requestedCapacity) {
+    inUseBytes.add(-buffer.capacity());
+    requestedBytes.add(-requestedCapacity);
+
+    if (disposed) {
+      doDeallocate(buffer);
+    } else if ((index < threadCachedClasses && threadCache.get().push(index, buffer)) || sizeClasses[index].offer(buffer)) {
+      pooledBytes.add(buffer.capacity());
+    } else {
+      doDeallocate(buffer);
+    }
+  }
+
+  /**
+   * @return a buffer with exactly the requested {@code capacity} which shares the content of the pooled {@code buffer}
+   */
+  private static ByteBuffer view(ByteBuffer buffer, int capacity) {
+    ByteBuffer view = buffer.duplicate();
+    view.clear();
+    view.limit(capacity);
+    return view.slice();
+  }
+
+  /**
+   * Frees the idle buffers in the shared arena and in the caches of every thread.
+   *
+   * @return how many bytes were freed
+   */
+  private long trim() {
+    long freed = 0;
+    for (ThreadCache cache : threadCaches) {
+      if (!cache.isOwnerAlive()) {
+        threadCaches.remove(cache);
       }
+      freed += cache.drain();
     }
+    for (SizeClass sizeClass : sizeClasses) {
+      ByteBuffer buffer;
+      while ((buffer = sizeClass.poll()) != null) {
+        freed += free(buffer);
+      }
+    }
+    return freed;
   }
 
-  private class BufferPool {
+  private int free(ByteBuffer buffer) {
+    pooledBytes.add(-buffer.capacity());
+    doDeallocate(buffer);
+    return buffer.capacity();
+  }
 
-    private final PoolService<ManagedByteBufferWrapper> pool;
-    private final PoolObjectFactory<ManagedByteBufferWrapper> factory;
-    private final int bufferCapacity;
+  @Override
+  public void dispose() {
+    disposed = true;
+    trim();
+  }
 
-    private BufferPool(int size, int bufferCapacity) {
-      this.bufferCapacity = bufferCapacity;
-      factory = new PoolObjectFactory<ManagedByteBufferWrapper>() {
+  @Override
+  public long getInUseBytes() {
+    return inUseBytes.sum();
+  }
 
-        @Override
-        public ManagedByteBufferWrapper create() {
-          return new ManagedByteBufferWrapper(allocateIfFits(bufferCapacity), buffer -> returnBuffer(buffer));
-        }
+  @Override
+  public long getRequestedBytes() {
+    return requestedBytes.sum();
+  }
 
-        @Override
-        public boolean readyToTake(ManagedByteBufferWrapper buffer) {
-          return true;
-        }
+  @Override
+  public long getPooledBytes() {
+    return pooledBytes.sum();
+  }
 
-        @Override
-        public boolean readyToRestore(ManagedByteBufferWrapper buffer) {
-          buffer.getDelegate().clear();
-          return true;
-        }
+  @Override
+  public long getHits() {
+    return hits.sum();
+  }
 
-        @Override
-        public void destroy(ManagedByteBufferWrapper buffer) {
-          doDeallocate(buffer.getDelegate());
-        }
-      };
+  @Override
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  private static final class SizeClass {
+
+    private final int capacity;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> freeList = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
 
-      pool = new ConcurrentPool<>(new MultithreadConcurrentQueueCollection<>(size),
-                                  factory, min(getRuntime().availableProcessors(), size), size, false);
+    private SizeClass(int capacity, int maxPooled) {
+      this.capacity = capacity;
+      this.maxPooled = maxPooled;
     }
 
-    private ManagedByteBufferWrapper take() {
-      ManagedByteBufferWrapper buffer = pool.tryTake();
-      if (buffer == null) {
-        buffer = new ManagedByteBufferWrapper(allocateIfFits(bufferCapacity), b -> doDeallocate(b.getDelegate()));
+    private ByteBuffer poll() {
+      ByteBuffer buffer = freeList.poll();
+      if (buffer != null) {
+        pooled.decrementAndGet();
       }
+      return buffer;
+    }
+
+    private boolean offer(ByteBuffer buffer) {
+      if (pooled.incrementAndGet() > maxPooled) {
+        pooled.decrementAndGet();
+        return false;
+      }
+
+      freeList.offer(buffer);
+      return true;
+    }
+  }
+
+  /**
+   * Stacks of idle buffers of the smallest size classes. Only the thread that owns them takes and releases buffers, but any
+   * thread may drain them when trimming the pool, so access is synchronized, which is uncontended for the owner most of the time.
+   */
+  private final class ThreadCache {
+
+    private final WeakReference<Thread> owner;
+    private final ByteBuffer[][] buffers = new ByteBuffer[threadCachedClasses][BUFFER_POOL_THREAD_CACHE_SIZE];
+    private final int[] counts = new int[threadCachedClasses];
 
+    private ThreadCache(Thread owner) {
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private boolean isOwnerAlive() {
+      Thread thread = owner.get();
+      return thread != null && thread.isAlive();
+    }
+
+    private synchronized ByteBuffer pop(int index) {
+      if (counts[index] == 0) {
+        return null;
+      }
+
+      int top = --counts[index];
+      ByteBuffer buffer = buffers[index][top];
+      buffers[index][top] = null;
       return buffer;
     }
 
-    private void returnBuffer(ManagedByteBufferWrapper buffer) {
-      pool.restore(buffer);
+    private synchronized boolean push(int index, ByteBuffer buffer) {
+      if (counts[index] == BUFFER_POOL_THREAD_CACHE_SIZE) {
+        return false;
+      }
+
+      buffers[index][counts[index]++] = buffer;
+      return true;
     }
 
-    private void close() {
-      pool.close();
+    private synchronized long drain() {
+      long freed = 0;
+      for (int index = 0; index < threadCachedClasses; ++index) {
+        ByteBuffer buffer;
+        while ((buffer = pop(index)) != null) {
+          freed += free(buffer);
+        }
+      }
+      return freed;
     }
   }
 }
@@ -13,10 +13,26 @@ import org.mule.runtime.core.internal.streaming.MemoryManager;
  */
 public class SimpleByteBufferManager extends MemoryBoundByteBufferManager {
 
-  public SimpleByteBufferManager() {}
+  private final boolean direct;
+
+  public SimpleByteBufferManager() {
+    this.direct = false;
+  }
 
   public SimpleByteBufferManager(MemoryManager memoryManager) {
+    this(memoryManager, false);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param memoryManager the {@link MemoryManager} through which heap status is obtained
+   * @param direct        whether to allocate the buffers outside the heap
+   * @since 4.6
+   */
+  public SimpleByteBufferManager(MemoryManager memoryManager, boolean direct) {
     super(memoryManager);
+    this.direct = direct;
   }
 
   /**
@@ -24,6 +40,6 @@ public class SimpleByteBufferManager extends MemoryBoundByteBufferManager {
    */
   @Override
   public ManagedByteBufferWrapper allocateManaged(int capacity) {
-    return new ManagedByteBufferWrapper(allocateIfFits(capacity), buffer -> doDeallocate(buffer.getDelegate()));
+    return new ManagedByteBufferWrapper(allocateIfFits(capacity, direct), buffer -> doDeallocate(buffer.getDelegate()));
   }
 }
@@ -5,6 +5,7 @@ package org.mule.runtime.core.internal.streaming.object;
 
 import org.mule.runtime.api.streaming.object.CursorIterator;
 import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.IdentifiableCursorProvider;
 import org.mule.runtime.core.internal.streaming.ManagedCursorProvider;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
@@ -24,6 +25,17 @@ public class ManagedCursorIteratorProvider extends ManagedCursorProvider<CursorI
     super(delegate, statistics);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @since 4.6
+   */
+  public ManagedCursorIteratorProvider(IdentifiableCursorProvider<CursorIterator> delegate,
+                                       MutableStreamingStatistics statistics,
+                                       ComponentStreamingStatistics componentStatistics) {
+    super(delegate, statistics, componentStatistics);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -87,6 +87,7 @@ import org.mule.runtime.core.internal.processor.interceptor.ProcessorInterceptor
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
 import org.mule.runtime.core.internal.profiling.context.DefaultComponentThreadingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencySampler;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.internal.util.rx.RxUtils;
@@ -187,6 +188,9 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   @Inject
   private ComponentTracerFactory<CoreEvent> componentTracerFactory;
 
+  @Inject
+  private ComponentLatencySampler componentLatencySampler;
+
   private ProfilingDataProducer<org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext, CoreEvent> startingOperationExecutionDataProducer;
   private ProfilingDataProducer<org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext, CoreEvent> endOperationExecutionDataProducer;
 
@@ -503,6 +507,9 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private void beforeProcessorInSameThread(CoreEvent event, Processor processor) {
     currentMuleContext.set(muleContext);
     setCurrentEvent((PrivilegedEvent) event);
+    if (componentLatencySampler != null) {
+      componentLatencySampler.onExecutionStart(event, getLocationIfComponent(processor));
+    }
   }
 
   private void afterProcessorInSameThread(CoreEvent event, Processor processor) {
@@ -511,6 +518,9 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
   private CoreEvent afterComponentProcessingStrategy(Processor processor, String processorPath, CoreEvent result) {
     try {
+      if (componentLatencySampler != null) {
+        componentLatencySampler.onComplete(result, getLocationIfComponent(processor));
+      }
       postNotification(processor).accept(result);
       setCurrentEvent((PrivilegedEvent) result);
       muleEventTracer.endCurrentSpan(result);
@@ -551,6 +561,9 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     ComponentLocation componentLocation = getLocationIfComponent(processor);
 
     triggerStartingOperation(event, componentLocation);
+    if (componentLatencySampler != null) {
+      componentLatencySampler.onDispatch(event, componentLocation);
+    }
     preNotification(event, processor);
   }
 
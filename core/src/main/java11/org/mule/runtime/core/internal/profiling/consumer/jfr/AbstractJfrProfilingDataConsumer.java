@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static java.lang.String.format;
+
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.ProfilingEventContext;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+
+import java.util.function.Predicate;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Base {@link ProfilingDataConsumer} that records the profiling events it consumes as JFR events of the given type.
+ * <p>
+ * Profiling events are discarded by the event context filter when no recording has the JFR event enabled, so there is nothing
+ * else to pay for when no recording is in progress.
+ *
+ * @param <T> the profiling event context consumed.
+ * @since 4.6
+ */
+abstract class AbstractJfrProfilingDataConsumer<T extends ProfilingEventContext> implements ProfilingDataConsumer<T> {
+
+  private final EventType jfrEventType;
+
+  protected AbstractJfrProfilingDataConsumer(Class<? extends Event> jfrEventClass) {
+    this.jfrEventType = EventType.getEventType(jfrEventClass);
+  }
+
+  @Override
+  public Predicate<T> getEventContextFilter() {
+    return profilingEventContext -> jfrEventType.isEnabled();
+  }
+
+  protected static String getProfilingEventTypeName(ProfilingEventType<?> profilingEventType) {
+    return format("%s:%s", profilingEventType.getProfilingEventTypeNamespace(),
+                  profilingEventType.getProfilingEventTypeIdentifier());
+  }
+
+  protected static String getComponentIdentifier(ComponentLocation location) {
+    ComponentIdentifier identifier = location.getComponentIdentifier().getIdentifier();
+    return format("%s:%s", identifier.getNamespace(), identifier.getName());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_DEALLOCATION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * A {@link ProfilingDataConsumer} that records the allocation and deallocation of memory buffers as JFR events.
+ *
+ * @since 4.6
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrByteBufferAllocationDataConsumer extends AbstractJfrProfilingDataConsumer<ByteBufferProviderEventContext> {
+
+  public JfrByteBufferAllocationDataConsumer() {
+    super(ByteBufferAllocationEvent.class);
+  }
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<ByteBufferProviderEventContext> profilingEventType,
+                               ByteBufferProviderEventContext profilingEventContext) {
+    ByteBufferAllocationEvent event = new ByteBufferAllocationEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    event.profilingEventType = getProfilingEventTypeName(profilingEventType);
+    event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+    event.byteBufferProviderName = profilingEventContext.getByteBufferProviderName();
+    event.size = profilingEventContext.size();
+    event.commit();
+  }
+
+  @Override
+  public Set<ProfilingEventType<ByteBufferProviderEventContext>> getProfilingEventTypes() {
+    return of(MEMORY_BYTE_BUFFER_ALLOCATION, MEMORY_BYTE_BUFFER_DEALLOCATION);
+  }
+
+  @Name("org.mule.runtime.ByteBufferAllocation")
+  @Label("Byte Buffer Allocation")
+  @Description("A memory buffer was allocated or deallocated by a byte buffer provider")
+  @Category({"Mule Runtime", "Memory"})
+  @StackTrace(false)
+  static final class ByteBufferAllocationEvent extends Event {
+
+    @Label("Profiling Event Type")
+    String profilingEventType;
+
+    @Label("Trigger Timestamp")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long triggerTimestamp;
+
+    @Label("Byte Buffer Provider")
+    String byteBufferProviderName;
+
+    @Label("Size")
+    @DataAmount
+    long size;
+  }
+}
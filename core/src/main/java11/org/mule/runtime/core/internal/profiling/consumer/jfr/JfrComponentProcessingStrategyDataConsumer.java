@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.FLOW_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_FLOW_MESSAGE_PASSING;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_SCHEDULING_FLOW_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_SCHEDULING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_FLOW_EXECUTION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ComponentProcessingStrategyProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * A {@link ProfilingDataConsumer} that records the scheduling of flows and operations by their processing strategies as JFR
+ * events.
+ *
+ * @since 4.6
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrComponentProcessingStrategyDataConsumer
+    extends AbstractJfrProfilingDataConsumer<ComponentProcessingStrategyProfilingEventContext> {
+
+  public JfrComponentProcessingStrategyDataConsumer() {
+    super(ProcessingStrategyEvent.class);
+  }
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<ComponentProcessingStrategyProfilingEventContext> profilingEventType,
+                               ComponentProcessingStrategyProfilingEventContext profilingEventContext) {
+    ProcessingStrategyEvent event = new ProcessingStrategyEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    event.profilingEventType = getProfilingEventTypeName(profilingEventType);
+    event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+    event.processingThread = profilingEventContext.getThreadName();
+    event.artifactId = profilingEventContext.getArtifactId();
+    event.artifactType = profilingEventContext.getArtifactType();
+    event.correlationId = profilingEventContext.getCorrelationId();
+    profilingEventContext.getLocation().ifPresent(location -> {
+      event.location = location.getLocation();
+      event.componentIdentifier = getComponentIdentifier(location);
+    });
+    event.commit();
+  }
+
+  @Override
+  public Set<ProfilingEventType<ComponentProcessingStrategyProfilingEventContext>> getProfilingEventTypes() {
+    return of(PS_SCHEDULING_OPERATION_EXECUTION, PS_STARTING_OPERATION_EXECUTION, PS_OPERATION_EXECUTED,
+              PS_FLOW_MESSAGE_PASSING, PS_SCHEDULING_FLOW_EXECUTION, STARTING_FLOW_EXECUTION,
+              FLOW_EXECUTED);
+  }
+
+  @Name("org.mule.runtime.ProcessingStrategy")
+  @Label("Processing Strategy")
+  @Description("A flow or operation was scheduled, started or finished by its processing strategy")
+  @Category({"Mule Runtime", "Processing Strategy"})
+  @StackTrace(false)
+  static final class ProcessingStrategyEvent extends Event {
+
+    @Label("Profiling Event Type")
+    String profilingEventType;
+
+    @Label("Trigger Timestamp")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long triggerTimestamp;
+
+    @Label("Processing Thread")
+    String processingThread;
+
+    @Label("Artifact Id")
+    String artifactId;
+
+    @Label("Artifact Type")
+    String artifactType;
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Location")
+    String location;
+
+    @Label("Component Identifier")
+    String componentIdentifier;
+  }
+}
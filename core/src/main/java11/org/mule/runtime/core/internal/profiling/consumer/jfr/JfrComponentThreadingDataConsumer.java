@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_THREAD_RELEASE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jdk.jfr.Timestamp;
+
+/**
+ * A {@link ProfilingDataConsumer} that records the threads operations start, release and finish their execution in as JFR
+ * events, so thread switches along a flow can be followed.
+ *
+ * @since 4.6
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrComponentThreadingDataConsumer
+    extends AbstractJfrProfilingDataConsumer<ComponentThreadingProfilingEventContext> {
+
+  public JfrComponentThreadingDataConsumer() {
+    super(ComponentThreadingEvent.class);
+  }
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<ComponentThreadingProfilingEventContext> profilingEventType,
+                               ComponentThreadingProfilingEventContext profilingEventContext) {
+    ComponentThreadingEvent event = new ComponentThreadingEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    event.profilingEventType = getProfilingEventTypeName(profilingEventType);
+    event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+    event.processingThread = profilingEventContext.getThreadName();
+    event.artifactId = profilingEventContext.getArtifactId();
+    event.correlationId = profilingEventContext.getCorrelationId();
+    profilingEventContext.getLocation().ifPresent(location -> {
+      event.location = location.getLocation();
+      event.componentIdentifier = getComponentIdentifier(location);
+    });
+    profilingEventContext.getThreadSnapshot().ifPresent(threadSnapshot -> {
+      event.blockedTime = threadSnapshot.getBlockedTime();
+      event.waitedTime = threadSnapshot.getWaitedTime();
+      event.cpuTime = threadSnapshot.getCpuTime();
+    });
+    event.commit();
+  }
+
+  @Override
+  public Set<ProfilingEventType<ComponentThreadingProfilingEventContext>> getProfilingEventTypes() {
+    return of(STARTING_OPERATION_EXECUTION, OPERATION_THREAD_RELEASE, OPERATION_EXECUTED);
+  }
+
+  @Name("org.mule.runtime.ComponentThreading")
+  @Label("Component Threading")
+  @Description("An operation started, released its thread or finished its execution")
+  @Category({"Mule Runtime", "Threading"})
+  @StackTrace(false)
+  static final class ComponentThreadingEvent extends Event {
+
+    @Label("Profiling Event Type")
+    String profilingEventType;
+
+    @Label("Trigger Timestamp")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long triggerTimestamp;
+
+    @Label("Processing Thread")
+    String processingThread;
+
+    @Label("Artifact Id")
+    String artifactId;
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Location")
+    String location;
+
+    @Label("Component Identifier")
+    String componentIdentifier;
+
+    @Label("Blocked Time")
+    @Timespan(Timespan.MILLISECONDS)
+    long blockedTime;
+
+    @Label("Waited Time")
+    @Timespan(Timespan.MILLISECONDS)
+    long waitedTime;
+
+    @Label("CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cpuTime;
+  }
+}
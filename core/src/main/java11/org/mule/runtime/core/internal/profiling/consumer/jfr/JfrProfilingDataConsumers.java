@@ -0,0 +1,59 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static java.util.Collections.emptySet;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import jdk.jfr.FlightRecorder;
+import org.slf4j.Logger;
+
+/**
+ * This utility class is responsible for creating the {@link ProfilingDataConsumer}s that record profiling events as Java Flight
+ * Recorder events. JFR events are only available from Java 11, hence this class will have 2 implementations and the core jar
+ * will be a MRJAR. This one is used on JVMs with JFR events.
+ *
+ * @since 4.6
+ */
+public final class JfrProfilingDataConsumers {
+
+  private static final Logger LOGGER = getLogger(JfrProfilingDataConsumers.class);
+
+  private JfrProfilingDataConsumers() {
+    // utility class only
+  }
+
+  /**
+   * @return whether the running JVM supports recording JFR events.
+   */
+  public static boolean isJfrSupported() {
+    try {
+      return FlightRecorder.isAvailable();
+    } catch (LinkageError e) {
+      // The jdk.jfr module may not be present in custom runtime images
+      LOGGER.debug("JFR is not available", e);
+      return false;
+    }
+  }
+
+  /**
+   * @return the {@link ProfilingDataConsumer}s that record profiling events as JFR events, empty if JFR is not supported.
+   */
+  public static Set<ProfilingDataConsumer<?>> createJfrProfilingDataConsumers() {
+    if (!isJfrSupported()) {
+      return emptySet();
+    }
+
+    return ImmutableSet.of(new JfrComponentProcessingStrategyDataConsumer(),
+                           new JfrComponentThreadingDataConsumer(),
+                           new JfrTaskSchedulingDataConsumer(),
+                           new JfrByteBufferAllocationDataConsumer(),
+                           new JfrTransactionDataConsumer());
+  }
+}
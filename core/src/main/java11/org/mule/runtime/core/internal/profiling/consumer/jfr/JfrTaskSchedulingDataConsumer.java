@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.SCHEDULING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TASK_EXECUTED;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * A {@link ProfilingDataConsumer} that records the scheduling and execution of tasks in the runtime schedulers as JFR events.
+ *
+ * @since 4.6
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrTaskSchedulingDataConsumer extends AbstractJfrProfilingDataConsumer<TaskSchedulingProfilingEventContext> {
+
+  public JfrTaskSchedulingDataConsumer() {
+    super(TaskSchedulingEvent.class);
+  }
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<TaskSchedulingProfilingEventContext> profilingEventType,
+                               TaskSchedulingProfilingEventContext profilingEventContext) {
+    TaskSchedulingEvent event = new TaskSchedulingEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    event.profilingEventType = getProfilingEventTypeName(profilingEventType);
+    event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+    event.processingThread = profilingEventContext.getThreadName();
+    event.taskId = profilingEventContext.getTaskId();
+    profilingEventContext.getTaskTracingContext()
+        .flatMap(executionContext -> executionContext.getCurrentComponentMetadata())
+        .ifPresent(componentMetadata -> {
+          event.artifactId = componentMetadata.getArtifactId();
+          event.correlationId = componentMetadata.getCorrelationId();
+          componentMetadata.getComponentLocation().ifPresent(location -> {
+            event.location = location.getLocation();
+            event.componentIdentifier = getComponentIdentifier(location);
+          });
+        });
+    event.commit();
+  }
+
+  @Override
+  public Set<ProfilingEventType<TaskSchedulingProfilingEventContext>> getProfilingEventTypes() {
+    return of(SCHEDULING_TASK_EXECUTION, STARTING_TASK_EXECUTION, TASK_EXECUTED);
+  }
+
+  @Name("org.mule.runtime.TaskScheduling")
+  @Label("Task Scheduling")
+  @Description("A task was scheduled, started or finished in a runtime scheduler")
+  @Category({"Mule Runtime", "Threading"})
+  @StackTrace(false)
+  static final class TaskSchedulingEvent extends Event {
+
+    @Label("Profiling Event Type")
+    String profilingEventType;
+
+    @Label("Trigger Timestamp")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long triggerTimestamp;
+
+    @Label("Processing Thread")
+    String processingThread;
+
+    @Label("Task Id")
+    String taskId;
+
+    @Label("Artifact Id")
+    String artifactId;
+
+    @Label("Correlation Id")
+    String correlationId;
+
+    @Label("Location")
+    String location;
+
+    @Label("Component Identifier")
+    String componentIdentifier;
+  }
+}
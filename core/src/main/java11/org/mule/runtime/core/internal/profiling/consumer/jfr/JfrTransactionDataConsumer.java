@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TX_COMMIT;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TX_CONTINUE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TX_ROLLBACK;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TX_START;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.TransactionProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * A {@link ProfilingDataConsumer} that records transaction actions as JFR events.
+ *
+ * @since 4.6
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrTransactionDataConsumer extends AbstractJfrProfilingDataConsumer<TransactionProfilingEventContext> {
+
+  public JfrTransactionDataConsumer() {
+    super(TransactionEvent.class);
+  }
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<TransactionProfilingEventContext> profilingEventType,
+                               TransactionProfilingEventContext profilingEventContext) {
+    TransactionEvent event = new TransactionEvent();
+    if (!event.shouldCommit()) {
+      return;
+    }
+
+    event.profilingEventType = getProfilingEventTypeName(profilingEventType);
+    event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+    event.transactionType = profilingEventContext.getType().toString();
+    event.createdIn = profilingEventContext.getTransactionOriginatingLocation();
+    if (profilingEventContext.getEventOrginatingLocation() != null) {
+      event.actionIn = profilingEventContext.getEventOrginatingLocation().getLocation();
+    }
+    event.commit();
+  }
+
+  @Override
+  public Set<ProfilingEventType<TransactionProfilingEventContext>> getProfilingEventTypes() {
+    return of(TX_START, TX_COMMIT, TX_CONTINUE, TX_ROLLBACK);
+  }
+
+  @Name("org.mule.runtime.Transaction")
+  @Label("Transaction")
+  @Description("A transaction was started, continued, committed or rolled back")
+  @Category({"Mule Runtime", "Transactions"})
+  @StackTrace(false)
+  static final class TransactionEvent extends Event {
+
+    @Label("Profiling Event Type")
+    String profilingEventType;
+
+    @Label("Trigger Timestamp")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long triggerTimestamp;
+
+    @Label("Transaction Type")
+    String transactionType;
+
+    @Label("Created In")
+    String createdIn;
+
+    @Label("Action In")
+    String actionIn;
+  }
+}
@@ -5,14 +5,23 @@ package org.mule.runtime.module.artifact.api.classloader;
 
 import static org.mule.runtime.module.artifact.api.classloader.jar.CachingURLStreamHandlerFactory.getCachingURLStreamHandlerFactory;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Boolean.valueOf;
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static org.mule.runtime.api.exception.MuleException.MULE_VERBOSE_EXCEPTIONS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOG_VERBOSE_CLASSLOADING;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.module.artifact.internal.classloader.ClassLoaderPackageIndex.getPackageName;
+import static org.mule.runtime.module.artifact.internal.classloader.ClassLoaderPackageIndex.indexPackages;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+
 import org.mule.api.annotation.NoInstantiate;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.util.ClassUtils;
 import org.mule.runtime.core.api.util.CompoundEnumeration;
 import org.mule.runtime.module.artifact.api.classloader.exception.CompositeClassNotFoundException;
@@ -24,7 +33,10 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import org.slf4j.Logger;
 
 /**
@@ -32,6 +44,10 @@ import org.slf4j.Logger;
  * <p/>
  * By using a {@link ClassLoaderLookupPolicy} this classLoader can use parent-first, parent-only or child-first classloading
  * lookup mode per package.
+ * <p/>
+ * Classes that could not be found are remembered, up to {@link #NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY} of them, so repeated lookups
+ * of missing optional classes do not search every class loader of the {@link LookupStrategy} again. Local lookups of classes
+ * from packages that are not present in the class path of this class loader are discarded without searching its jars.
  */
 @NoInstantiate
 public class FineGrainedControlClassLoader extends URLClassLoader
@@ -41,16 +57,50 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     registerAsParallelCapable();
   }
 
+  /**
+   * Maximum amount of classes not found by each class loader to remember. {@code 0} disables the cache.
+   *
+   * @since 4.6
+   */
+  public static final String NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloader.negativeLookupCacheSize";
+
   private static final Logger LOGGER = getLogger(FineGrainedControlClassLoader.class);
 
+  private static final int NEGATIVE_LOOKUP_CACHE_SIZE = getInteger(NEGATIVE_LOOKUP_CACHE_SIZE_PROPERTY, 1000);
+
+  // Changes whenever a class loader changes what it may find, so every negative lookup cache is invalidated, since class loaders
+  // delegate to each other.
+  private static final AtomicLong classLoadersGeneration = new AtomicLong();
+
   private final ClassLoaderLookupPolicy lookupPolicy;
   private final boolean verboseLogging;
+  private final Cache<String, NotFoundClass> notFoundClasses;
+  private volatile LazyValue<Set<String>> localPackages;
 
   public FineGrainedControlClassLoader(URL[] urls, ClassLoader parent, ClassLoaderLookupPolicy lookupPolicy) {
     super(urls, parent, getCachingURLStreamHandlerFactory());
     checkArgument(lookupPolicy != null, "Lookup policy cannot be null");
     this.lookupPolicy = lookupPolicy;
     verboseLogging = valueOf(getProperty(MULE_LOG_VERBOSE_CLASSLOADING));
+    notFoundClasses = NEGATIVE_LOOKUP_CACHE_SIZE > 0
+        ? newBuilder().maximumSize(NEGATIVE_LOOKUP_CACHE_SIZE).executor(Runnable::run).build()
+        : null;
+    localPackages = new LazyValue<>(() -> indexPackages(getURLs()));
+  }
+
+  /**
+   * Invalidates the negative lookup cache of every {@link FineGrainedControlClassLoader}. Must be called when the classes a class
+   * loader may find change by other means than adding URLs to it.
+   */
+  static void invalidateNegativeLookupCaches() {
+    classLoadersGeneration.incrementAndGet();
+  }
+
+  @Override
+  protected void addURL(URL url) {
+    super.addURL(url);
+    localPackages = new LazyValue<>(() -> indexPackages(getURLs()));
+    invalidateNegativeLookupCaches();
   }
 
   private boolean isVerboseLogging() {
@@ -74,6 +124,14 @@ public class FineGrainedControlClassLoader extends URLClassLoader
       logLoadingClass(name, lookupStrategy, "Loading class '%s' with '%s' on '%s'", this);
     }
 
+    final long generation = classLoadersGeneration.get();
+    if (notFoundClasses != null) {
+      NotFoundClass notFoundClass = notFoundClasses.getIfPresent(name);
+      if (notFoundClass != null && notFoundClass.generation == generation) {
+        throw classNotFound(name, lookupStrategy, notFoundClass.exceptions);
+      }
+    }
+
     // Gather information about the exceptions in each of the searched class loaders to provide
     // troubleshooting information in case of throwing a ClassNotFoundException.
 
@@ -93,12 +151,10 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     }
 
     if (result == null) {
-      final CompositeClassNotFoundException compositeClassNotFoundException =
-          new CompositeClassNotFoundException(name, lookupStrategy, exceptions);
-      if (isVerboseLogging()) {
-        LOGGER.warn(compositeClassNotFoundException.getMessage());
+      if (notFoundClasses != null) {
+        notFoundClasses.put(name, new NotFoundClass(generation, exceptions));
       }
-      throw compositeClassNotFoundException;
+      throw classNotFound(name, lookupStrategy, exceptions);
     }
 
     if (isVerboseLogging()) {
@@ -112,6 +168,16 @@ public class FineGrainedControlClassLoader extends URLClassLoader
     return result;
   }
 
+  private CompositeClassNotFoundException classNotFound(String name, LookupStrategy lookupStrategy,
+                                                       List<ClassNotFoundException> exceptions) {
+    final CompositeClassNotFoundException compositeClassNotFoundException =
+        new CompositeClassNotFoundException(name, lookupStrategy, exceptions);
+    if (isVerboseLogging()) {
+      LOGGER.warn(compositeClassNotFoundException.getMessage());
+    }
+    return compositeClassNotFoundException;
+  }
+
   private void logLoadingClass(String name, LookupStrategy lookupStrategy, String format,
                                FineGrainedControlClassLoader fineGrainedControlClassLoader) {
     final String message = format(format, name, lookupStrategy, fineGrainedControlClassLoader);
@@ -169,6 +235,11 @@ public class FineGrainedControlClassLoader extends URLClassLoader
         return result;
       }
 
+      final Set<String> packages = localPackages.get();
+      if (packages != null && !packages.contains(getPackageName(name))) {
+        throw new NotInLocalPackagesException(name);
+      }
+
       return super.findClass(name);
     }
   }
@@ -184,6 +255,11 @@ public class FineGrainedControlClassLoader extends URLClassLoader
    */
   @Override
   public void dispose() {
+    if (notFoundClasses != null) {
+      notFoundClasses.invalidateAll();
+    }
+    invalidateNegativeLookupCaches();
+
     try {
       // Java 7 added support for closing a URLClassLoader, it will close any resources opened by this classloader
       close();
@@ -202,4 +278,36 @@ public class FineGrainedControlClassLoader extends URLClassLoader
       // ignore
     }
   }
+
+  private static final class NotFoundClass {
+
+    private final long generation;
+    private final List<ClassNotFoundException> exceptions;
+
+    private NotFoundClass(long generation, List<ClassNotFoundException> exceptions) {
+      this.generation = generation;
+      this.exceptions = exceptions;
+    }
+  }
+
+  /**
+   * Thrown when a class is not looked up in the class path because its package is not there.
+   */
+  private static final class NotInLocalPackagesException extends ClassNotFoundException {
+
+    private static final long serialVersionUID = 2526592400960398493L;
+
+    private NotInLocalPackagesException(String className) {
+      super(className);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+      if (getBoolean(MULE_VERBOSE_EXCEPTIONS)) {
+        return super.fillInStackTrace();
+      } else {
+        return this;
+      }
+    }
+  }
 }
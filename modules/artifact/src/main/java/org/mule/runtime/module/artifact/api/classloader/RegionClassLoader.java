@@ -183,6 +183,8 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
             resourceMapping.computeIfAbsent(packageAsDirectory + PATH_SEPARATOR, k -> new ArrayList<>());
         classLoaders.add(artifactClassLoader);
       }
+
+      invalidateNegativeLookupCaches();
     } finally {
       innerStateWriteLock.unlock();
     }
@@ -263,6 +265,7 @@ public class RegionClassLoader extends MuleDeployableArtifactClassLoader {
       }
 
       registeredClassLoaders.remove(index);
+      invalidateNegativeLookupCaches();
 
       return true;
     } finally {
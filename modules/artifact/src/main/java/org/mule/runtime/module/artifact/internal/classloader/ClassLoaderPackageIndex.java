@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static java.io.File.separatorChar;
+import static java.nio.file.Files.walk;
+import static java.util.jar.Attributes.Name.CLASS_PATH;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+/**
+ * Builds the set of Java packages that contain classes in the class path of a class loader, so lookups of classes from other
+ * packages can be discarded without searching every jar of the class path.
+ *
+ * @since 4.6
+ */
+public final class ClassLoaderPackageIndex {
+
+  private static final Logger LOGGER = getLogger(ClassLoaderPackageIndex.class);
+
+  private static final String CLASS_EXTENSION = ".class";
+  private static final String VERSIONED_ENTRIES_PREFIX = "META-INF/versions/";
+
+  private ClassLoaderPackageIndex() {}
+
+  /**
+   * @param urls the class path of a class loader
+   * @return the packages that contain classes in the given class path, or {@code null} if any of the URLs cannot be indexed, in
+   *         which case no assumption can be made about the classes the class loader may find.
+   */
+  public static Set<String> indexPackages(URL[] urls) {
+    Set<String> packages = new HashSet<>();
+    for (URL url : urls) {
+      if (!"file".equals(url.getProtocol())) {
+        return null;
+      }
+
+      try {
+        File file = new File(url.toURI());
+        final boolean indexed;
+        if (file.isDirectory()) {
+          indexed = indexFolder(file, packages);
+        } else {
+          // Class path entries that do not exist contribute no classes
+          indexed = !file.exists() || indexJar(file, packages);
+        }
+
+        if (!indexed) {
+          LOGGER.debug("'{}' references other class path entries, classes will be searched in every package", url);
+          return null;
+        }
+      } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+        LOGGER.debug("Cannot index packages of '{}', classes will be searched in every package", url, e);
+        return null;
+      }
+    }
+    return packages;
+  }
+
+  private static boolean indexFolder(File folder, Set<String> packages) throws IOException {
+    Path root = folder.toPath();
+    try (Stream<Path> files = walk(root)) {
+      files.forEach(file -> addPackage(root.relativize(file).toString().replace(separatorChar, '/'), packages));
+    }
+    return true;
+  }
+
+  private static boolean indexJar(File jar, Set<String> packages) throws IOException {
+    try (JarFile jarFile = new JarFile(jar, false)) {
+      if (hasClassPath(jarFile.getManifest())) {
+        return false;
+      }
+
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        addPackage(entries.nextElement().getName(), packages);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * {@link java.net.URLClassLoader} also looks up classes in the jars referenced by the {@code Class-Path} attribute of the
+   * manifest, which are not indexed.
+   */
+  private static boolean hasClassPath(Manifest manifest) {
+    return manifest != null && manifest.getMainAttributes().getValue(CLASS_PATH) != null;
+  }
+
+  private static void addPackage(String entryName, Set<String> packages) {
+    if (!entryName.endsWith(CLASS_EXTENSION)) {
+      return;
+    }
+
+    String name = entryName;
+    if (name.startsWith(VERSIONED_ENTRIES_PREFIX)) {
+      // Classes of multi-release jars are also looked up in the versioned folders
+      int versionEnd = name.indexOf('/', VERSIONED_ENTRIES_PREFIX.length());
+      if (versionEnd < 0) {
+        return;
+      }
+      name = name.substring(versionEnd + 1);
+    }
+
+    int packageEnd = name.lastIndexOf('/');
+    packages.add(packageEnd < 0 ? "" : name.substring(0, packageEnd).replace('/', '.'));
+  }
+
+  /**
+   * @param className the binary name of a class
+   * @return the package of the class, empty for the default package.
+   */
+  public static String getPackageName(String className) {
+    int packageEnd = className.lastIndexOf('.');
+    return packageEnd < 0 ? "" : className.substring(0, packageEnd);
+  }
+}
@@ -7,10 +7,14 @@ import static java.lang.System.lineSeparator;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertEquals;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.module.artifact.api.classloader.ChildFirstLookupStrategy.CHILD_FIRST;
 import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
@@ -169,6 +173,47 @@ public class FineGrainedControlClassLoaderTestCase extends AbstractMuleTestCase
     invokeTestClassMethod(ext);
   }
 
+  @Test
+  public void notFoundClassIsNotLookedUpAgain() throws Exception {
+    ClassLoader parent = mock(ClassLoader.class);
+    final ClassNotFoundException thrownException = new ClassNotFoundException("ERROR");
+    when(parent.loadClass(TEST_CLASS_NAME)).thenThrow(thrownException);
+
+    final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+    when(lookupPolicy.getClassLookupStrategy(TEST_CLASS_NAME)).thenReturn(PARENT_ONLY);
+
+    FineGrainedControlClassLoader ext =
+        new FineGrainedControlClassLoader(new URL[] {getChildFileResource()}, parent, lookupPolicy);
+
+    for (int i = 0; i < 2; ++i) {
+      try {
+        ext.loadClass(TEST_CLASS_NAME);
+      } catch (CompositeClassNotFoundException e) {
+        assertThat(e.getExceptions(), contains(sameInstance(thrownException)));
+      }
+    }
+    verify(parent, times(1)).loadClass(TEST_CLASS_NAME);
+  }
+
+  @Test
+  public void notFoundClassIsLookedUpAgainAfterAddingUrl() throws Exception {
+    ClassLoader parent = Thread.currentThread().getContextClassLoader();
+
+    final ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+    when(lookupPolicy.getClassLookupStrategy(anyString())).thenReturn(CHILD_FIRST);
+
+    FineGrainedControlClassLoader ext = new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy);
+    try {
+      ext.loadClass(TEST_CLASS_NAME);
+    } catch (CompositeClassNotFoundException e) {
+      // expected, the class is not available yet
+    }
+
+    ext.addURL(getChildFileResource());
+
+    assertEquals(EXPECTED_CHILD_MESSAGE, invokeTestClassMethod(ext));
+  }
+
   protected FineGrainedControlClassLoader buildFineGrainedControlClassLoader(ClassLoader parent,
                                                                              final ClassLoaderLookupPolicy lookupPolicy) {
     return new FineGrainedControlClassLoader(new URL[0], parent, lookupPolicy) {
@@ -6,12 +6,15 @@ package org.mule.runtime.core.internal.processor;
 import static org.mule.runtime.api.notification.AsyncMessageNotification.PROCESS_ASYNC_COMPLETE;
 import static org.mule.runtime.api.notification.AsyncMessageNotification.PROCESS_ASYNC_SCHEDULED;
 import static org.mule.runtime.api.notification.EnrichedNotificationInfo.createInfo;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
+import static org.mule.runtime.core.api.util.queue.QueueConfiguration.MAXIMUM_CAPACITY;
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObject;
 import static org.mule.runtime.core.internal.event.DefaultEventContext.child;
 import static org.mule.runtime.core.internal.routing.RoutingUtils.setSourcePolicyChildContext;
@@ -21,10 +24,13 @@ import static org.mule.runtime.core.internal.util.rx.RxUtils.REACTOR_RECREATE_RO
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 import static org.mule.runtime.tracer.customization.api.InternalSpanNames.ASYNC_INNER_CHAIN_SPAN_NAME;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.yield;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 
 import static reactor.core.publisher.Flux.from;
@@ -43,6 +49,7 @@ import org.mule.runtime.api.notification.AsyncMessageNotification;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.serialization.SerializationException;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
@@ -56,6 +63,9 @@ import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.runtime.core.api.util.queue.Queue;
+import org.mule.runtime.core.api.util.queue.QueueManager;
 import org.mule.runtime.core.internal.construct.FromFlowRejectedExecutionException;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.message.InternalEvent;
@@ -68,12 +78,17 @@ import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChainBuilder;
 import org.mule.runtime.tracer.api.component.ComponentTracerFactory;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import javax.inject.Inject;
@@ -89,10 +104,32 @@ import reactor.core.publisher.Flux;
  * MessageProcessor delegate configured the next {@link Processor}. The next {@link Processor} is therefore be executed in a
  * different thread regardless of the exchange-pattern configured on the inbound endpoint. If a transaction is present then an
  * exception is thrown.
+ * <p>
+ * Events rejected because of backpressure are queued until the scope can take them. When persistent overflow is enabled, only
+ * up to {@link #setMaxInMemoryEvents(int) maxInMemoryEvents} are kept in memory and the rest are spilled to a persistent queue
+ * of the {@link QueueManager}, which also keeps the events not yet dispatched when the scope is stopped so they are processed
+ * after it is started again.
  */
 public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
     implements Scope, Initialisable, Startable, Stoppable {
 
+  /**
+   * Whether async scopes spill the events rejected by backpressure to a persistent queue by default.
+   *
+   * @since 4.6
+   */
+  public static final String PERSISTENT_OVERFLOW_PROPERTY = SYSTEM_PROPERTY_PREFIX + "async.persistentOverflow";
+
+  /**
+   * How many events rejected by backpressure an async scope keeps in memory by default before spilling them to a persistent
+   * queue, when persistent overflow is enabled.
+   *
+   * @since 4.6
+   */
+  public static final String MAX_IN_MEMORY_EVENTS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "async.maxInMemoryEvents";
+
+  private static final int DEFAULT_MAX_IN_MEMORY_EVENTS = 256;
+
   @Inject
   private MuleContext muleContext;
   @Inject
@@ -118,6 +155,8 @@ public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
   private Scheduler reactorScheduler;
   protected String name;
   private Integer maxConcurrency;
+  private boolean persistentOverflow = getBoolean(PERSISTENT_OVERFLOW_PROPERTY);
+  private int maxInMemoryEvents = getInteger(MAX_IN_MEMORY_EVENTS_PROPERTY, DEFAULT_MAX_IN_MEMORY_EVENTS);
 
   public AsyncDelegateMessageProcessor(MessageProcessorChainBuilder delegate) {
     this.delegateBuilder = delegate;
@@ -159,8 +198,12 @@ public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
 
     initialiseIfNeeded(delegate, getMuleContext());
 
+    String location = name != null ? name : getLocation().getLocation();
+    PersistentOverflowQueue overflowQueue = persistentOverflow
+        ? new PersistentOverflowQueue(muleContext.getQueueManager(), overflowQueueName(location), this::recoveredEvent)
+        : null;
     backpressureHandler = new QueueBackpressureHandler(schedulerService, () -> muleContext.getSchedulerBaseConfig(),
-                                                       this::dispatchEvent, name != null ? name : getLocation().getLocation());
+                                                       this::dispatchEvent, location, overflowQueue, maxInMemoryEvents);
 
     initialiseIfNeeded(processingStrategy, muleContext);
     super.initialise();
@@ -263,6 +306,22 @@ public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
     return copy;
   }
 
+  /**
+   * The context of an event read back from the persistent queue is detached from the flow that sent it, which was completed
+   * when the event was spilled or doesn't exist anymore after a restart, so the event is processed in a new one.
+   */
+  private CoreEvent recoveredEvent(CoreEvent event) {
+    return CoreEvent.builder(create(muleContext.getUniqueIdString(), muleContext.getId(), getLocation(),
+                                    event.getCorrelationId(), empty()),
+                             event)
+        .build();
+  }
+
+  static String overflowQueueName(String location) {
+    // The queue name is used for the files of the persistent queue
+    return "async-overflow." + location.replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+
   private ReactiveProcessor processAsyncChainFunction() {
     return innerPublisher -> from(innerPublisher)
         .doOnNext(fireAsyncScheduledNotification())
@@ -308,58 +367,123 @@ public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
     this.maxConcurrency = maxConcurrency;
   }
 
+  /**
+   * @param persistentOverflow whether the events rejected by backpressure that don't fit in memory are spilled to a persistent
+   *                           queue instead.
+   * @since 4.6
+   */
+  public void setPersistentOverflow(boolean persistentOverflow) {
+    this.persistentOverflow = persistentOverflow;
+  }
+
+  /**
+   * @param maxInMemoryEvents how many events rejected by backpressure are kept in memory before spilling them to a persistent
+   *                          queue. Only applies when persistent overflow is enabled.
+   * @since 4.6
+   */
+  public void setMaxInMemoryEvents(int maxInMemoryEvents) {
+    this.maxInMemoryEvents = maxInMemoryEvents;
+  }
+
   @Override
   protected List<Processor> getOwnedObjects() {
     // Lifecycle of inner objects is already handled by this class' lifecycle methods
     return emptyList();
   }
 
-  private static class QueueBackpressureHandler implements Stoppable {
+  /**
+   * Queues the events rejected by backpressure and dispatches them from its own thread once the scope accepts them. Events to be
+   * spilled to the persistent queue are written by that same thread, since the rejection happens in a non-blocking thread.
+   */
+  private static class QueueBackpressureHandler implements Startable, Stoppable {
 
     private final BlockingQueue<CoreEvent> asyncQueue;
+    private final PersistentOverflowQueue overflowQueue;
+    private final ConcurrentLinkedQueue<CoreEvent> pendingSpill = new ConcurrentLinkedQueue<>();
+    private final int maxInMemoryEvents;
     private final Consumer<CoreEvent> eventDispatcher;
 
-    private final LazyValue<Scheduler> queueDispatcherScheduler;
+    private final Supplier<Scheduler> queueDispatcherSchedulerFactory;
+    private volatile LazyValue<Scheduler> queueDispatcherScheduler;
     private final AtomicReference<Future> executing = new AtomicReference<>();
+    // Held by the dispatch task while it runs, so stopping can wait for it before touching the queues
+    private final Lock dispatching = new ReentrantLock();
 
     public QueueBackpressureHandler(SchedulerService schedulerService, Supplier<SchedulerConfig> schedulerConfigSupplier,
-                                    Consumer<CoreEvent> eventDispatcher, String location) {
+                                    Consumer<CoreEvent> eventDispatcher, String location,
+                                    PersistentOverflowQueue overflowQueue, int maxInMemoryEvents) {
       this.asyncQueue = new LinkedBlockingQueue<>();
+      this.overflowQueue = overflowQueue;
+      this.maxInMemoryEvents = maxInMemoryEvents;
       this.eventDispatcher = eventDispatcher;
 
-      this.queueDispatcherScheduler = new LazyValue(() -> {
+      this.queueDispatcherSchedulerFactory = () -> {
         final SchedulerConfig schedulerConfig = schedulerConfigSupplier.get().withName(location + " - queue dispatcher")
             .withMaxConcurrentTasks(1);
         return schedulerService.customScheduler(schedulerConfig);
-      });
+      };
+      this.queueDispatcherScheduler = new LazyValue<>(queueDispatcherSchedulerFactory);
     }
 
     private Future dispatchTask() {
       return queueDispatcherScheduler.get().submit(() -> {
-        while (!currentThread().isInterrupted()) {
-          try {
-            final CoreEvent queuedEvent = asyncQueue.peek();
-            if (queuedEvent != null) {
-              eventDispatcher.accept(queuedEvent);
-              asyncQueue.remove(queuedEvent);
-            } else {
-              synchronized (executing) {
-                if (asyncQueue.size() == 0) {
-                  executing.set(null);
-                  return;
-                }
+        dispatching.lock();
+        try {
+          dispatchQueuedEvents();
+        } finally {
+          dispatching.unlock();
+        }
+      });
+    }
+
+    private void dispatchQueuedEvents() {
+      while (!currentThread().isInterrupted()) {
+        try {
+          spillPending();
+
+          CoreEvent queuedEvent = asyncQueue.peek();
+          if (queuedEvent != null) {
+            eventDispatcher.accept(queuedEvent);
+            asyncQueue.remove(queuedEvent);
+          } else if (overflowQueue != null && (queuedEvent = overflowQueue.peek()) != null) {
+            eventDispatcher.accept(queuedEvent);
+            overflowQueue.remove();
+          } else {
+            synchronized (executing) {
+              if (asyncQueue.size() == 0 && pendingSpill.isEmpty() && (overflowQueue == null || overflowQueue.isEmpty())) {
+                executing.set(null);
+                return;
               }
             }
-          } catch (FromFlowRejectedExecutionException free) {
-            // Nothing to do, let next iteration catch it.
-            yield();
           }
+        } catch (FromFlowRejectedExecutionException free) {
+          // Nothing to do, let next iteration catch it.
+          yield();
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
         }
-      });
+      }
+    }
+
+    /**
+     * Writes the events that didn't fit in memory to the persistent queue, keeping in memory the ones that can't be serialized.
+     */
+    private void spillPending() {
+      CoreEvent event;
+      while ((event = pendingSpill.poll()) != null) {
+        if (!overflowQueue.offer(event)) {
+          asyncQueue.offer(event);
+        }
+      }
     }
 
     public void handleBackpressure(CoreEvent event) {
-      asyncQueue.offer(event);
+      if (overflowQueue == null || asyncQueue.size() < maxInMemoryEvents) {
+        asyncQueue.offer(event);
+      } else {
+        // Serializing and writing the event would block this thread, so it is left to the queue dispatcher
+        pendingSpill.offer(event);
+      }
 
       synchronized (executing) {
         if (executing.get() == null) {
@@ -368,11 +492,128 @@ public class AsyncDelegateMessageProcessor extends AbstractMessageProcessorOwner
       }
     }
 
+    @Override
+    public void start() {
+      synchronized (executing) {
+        queueDispatcherScheduler = new LazyValue<>(queueDispatcherSchedulerFactory);
+        executing.set(null);
+
+        // Dispatch the events left in the persistent queue when the scope was stopped
+        if (overflowQueue != null && !overflowQueue.isEmpty()) {
+          executing.set(dispatchTask());
+        }
+      }
+    }
+
     @Override
     public void stop() {
+      Future task = executing.get();
       queueDispatcherScheduler.ifComputed(Scheduler::stop);
+      if (task != null) {
+        task.cancel(true);
+      }
+
+      // Wait for a running dispatch task to see the interruption, so the queues are not used by two threads at once
+      dispatching.lock();
+      try {
+        if (overflowQueue != null) {
+          CoreEvent queuedEvent;
+          while ((queuedEvent = asyncQueue.poll()) != null) {
+            overflowQueue.offer(queuedEvent);
+          }
+          while ((queuedEvent = pendingSpill.poll()) != null) {
+            overflowQueue.offer(queuedEvent);
+          }
+          overflowQueue.reset();
+        }
+        asyncQueue.clear();
+      } finally {
+        dispatching.unlock();
+      }
+    }
+  }
+
+  /**
+   * Keeps the events that don't fit in memory in a persistent queue of the {@link QueueManager}. An event stays in the queue
+   * until it is dispatched to the scope.
+   */
+  private static class PersistentOverflowQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentOverflowQueue.class);
+
+    private final QueueManager queueManager;
+    private final String queueName;
+    private final Function<CoreEvent, CoreEvent> recoveredEventFactory;
+
+    // Only accessed by the queue dispatcher, so the head of the queue is deserialized once regardless of how many times
+    // its dispatch is rejected
+    private CoreEvent head;
+
+    public PersistentOverflowQueue(QueueManager queueManager, String queueName,
+                                   Function<CoreEvent, CoreEvent> recoveredEventFactory) {
+      this.queueManager = queueManager;
+      this.queueName = queueName;
+      this.recoveredEventFactory = recoveredEventFactory;
+
+      queueManager.setQueueConfiguration(queueName, new DefaultQueueConfiguration(MAXIMUM_CAPACITY, true));
+    }
+
+    private Queue queue() {
+      return queueManager.getQueueSession().getQueue(queueName);
+    }
+
+    /**
+     * Spills the given event to the persistent queue, completing its context since it is not tied to the flow that sent it
+     * anymore.
+     *
+     * @return {@code false} if the event could not be serialized and has to be kept in memory.
+     */
+    public boolean offer(CoreEvent event) {
+      try {
+        queue().put(event);
+      } catch (SerializationException e) {
+        LOGGER.debug("Event {} can't be serialized, keeping it in memory", event.getContext().getId(), e);
+        return false;
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        return false;
+      }
+
+      ((BaseEventContext) event.getContext()).success(event);
+      return true;
+    }
+
+    public CoreEvent peek() throws InterruptedException {
+      while (head == null) {
+        Serializable queued;
+        try {
+          queued = queue().peek();
+        } catch (SerializationException e) {
+          LOGGER.error("Discarding event from queue '{}' that can't be deserialized", queueName, e);
+          queue().poll(0);
+          continue;
+        }
+
+        if (queued == null) {
+          return null;
+        }
+        head = recoveredEventFactory.apply((CoreEvent) queued);
+      }
+      return head;
+    }
+
+    public void remove() throws InterruptedException {
+      queue().poll(0);
+      head = null;
+    }
+
+    public boolean isEmpty() {
+      return head == null && queue().size() == 0;
+    }
 
-      asyncQueue.clear();
+    public void reset() {
+      // The head is still in the persistent queue
+      head = null;
     }
   }
 
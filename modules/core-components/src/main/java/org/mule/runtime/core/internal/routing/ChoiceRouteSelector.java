@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.metadata.MediaType.ANY;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JAVA;
+import static org.mule.runtime.api.metadata.MediaType.TEXT;
+
+import static java.util.regex.Pattern.compile;
+
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Selects the route of a choice to take for an event, which is the first one whose expression is true.
+ * <p>
+ * Consecutive routes whose expressions compare the same expression to a string literal, such as {@code payload.type == 'X'},
+ * are looked up by the value of that expression, so it is evaluated once for all of them instead of once per route. Any other
+ * route, or a value that is not a plain string, is evaluated route by route.
+ *
+ * @since 4.6
+ */
+final class ChoiceRouteSelector {
+
+  private static final String SELECTOR = "[A-Za-z_][A-Za-z0-9_]*(?:\\.[A-Za-z_][A-Za-z0-9_]*)*";
+  // Literals with escapes or interpolations are left to the expression language
+  private static final String LITERAL = "'([^'\\\\$]*)'|\"([^\"\\\\$]*)\"";
+
+  private static final Pattern SELECTOR_EQUALS_LITERAL = compile("(" + SELECTOR + ")\\s*==\\s*(?:" + LITERAL + ")");
+  private static final Pattern LITERAL_EQUALS_SELECTOR = compile("(?:" + LITERAL + ")\\s*==\\s*(" + SELECTOR + ")");
+
+  private static final int MIN_DISPATCHED_ROUTES = 2;
+
+  private final List<Step> steps = new ArrayList<>();
+
+  ChoiceRouteSelector(List<ProcessorRoute> routes) {
+    DispatchStep dispatch = null;
+    for (int i = 0; i < routes.size(); ++i) {
+      ProcessorRoute route = routes.get(i);
+      Equality equality = route instanceof ProcessorExpressionRoute
+          ? Equality.parse(((ProcessorExpressionRoute) route).getExpression())
+          : null;
+
+      if (dispatch != null && (equality == null || !dispatch.discriminator.equals(equality.discriminator))) {
+        addDispatch(dispatch);
+        dispatch = null;
+      }
+
+      if (equality == null) {
+        steps.add(new RouteStep(i, route));
+      } else {
+        if (dispatch == null) {
+          dispatch = new DispatchStep(equality.discriminator);
+        }
+        dispatch.add(new RouteStep(i, route), equality.literal);
+      }
+    }
+
+    if (dispatch != null) {
+      addDispatch(dispatch);
+    }
+  }
+
+  private void addDispatch(DispatchStep dispatch) {
+    if (dispatch.routes.size() >= MIN_DISPATCHED_ROUTES) {
+      steps.add(dispatch);
+    } else {
+      steps.addAll(dispatch.routes);
+    }
+  }
+
+  /**
+   * @param session the session to evaluate the expressions of the routes for the event being routed
+   * @return the index of the first route whose expression is true, or {@code -1} if there's none.
+   */
+  int select(ExpressionManagerSession session) {
+    for (Step step : steps) {
+      int selected = step.select(session);
+      if (selected >= 0) {
+        return selected;
+      }
+    }
+    return -1;
+  }
+
+  private interface Step {
+
+    int select(ExpressionManagerSession session);
+  }
+
+  private static final class RouteStep implements Step {
+
+    private final int index;
+    private final ProcessorRoute route;
+
+    private RouteStep(int index, ProcessorRoute route) {
+      this.index = index;
+      this.route = route;
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session) {
+      return route.accepts(session) ? index : -1;
+    }
+  }
+
+  private static final class DispatchStep implements Step {
+
+    private final String discriminator;
+    private final List<RouteStep> routes = new ArrayList<>();
+    private final Map<String, Integer> firstRouteByLiteral = new HashMap<>();
+
+    private DispatchStep(String discriminator) {
+      this.discriminator = discriminator;
+    }
+
+    private void add(RouteStep route, String literal) {
+      routes.add(route);
+      firstRouteByLiteral.putIfAbsent(literal, route.index);
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session) {
+      TypedValue<?> value;
+      try {
+        value = session.evaluate(discriminator);
+      } catch (RuntimeException e) {
+        // Let the routes fail the same way they do when evaluated one by one
+        value = null;
+      }
+
+      if (value != null && isPlainString(value)) {
+        return firstRouteByLiteral.getOrDefault(value.getValue(), -1);
+      }
+
+      for (RouteStep route : routes) {
+        int selected = route.select(session);
+        if (selected >= 0) {
+          return selected;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * A string in a format such as JSON may be compared by the expression language to its parsed value rather than to its text,
+     * so only plain strings are looked up.
+     */
+    private static boolean isPlainString(TypedValue<?> value) {
+      if (!(value.getValue() instanceof String)) {
+        return false;
+      }
+
+      MediaType mediaType = value.getDataType().getMediaType();
+      return mediaType.matches(ANY) || mediaType.matches(TEXT) || mediaType.matches(APPLICATION_JAVA);
+    }
+  }
+
+  private static final class Equality {
+
+    private final String discriminator;
+    private final String literal;
+
+    private Equality(String discriminator, String literal) {
+      this.discriminator = "#[" + discriminator + "]";
+      this.literal = literal;
+    }
+
+    private static Equality parse(String expression) {
+      String body = expression.trim();
+      if (body.startsWith("#[") && body.endsWith("]")) {
+        body = body.substring(2, body.length() - 1).trim();
+      }
+
+      Matcher matcher = SELECTOR_EQUALS_LITERAL.matcher(body);
+      if (matcher.matches()) {
+        return new Equality(matcher.group(1), matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+      }
+      matcher = LITERAL_EQUALS_SELECTOR.matcher(body);
+      if (matcher.matches()) {
+        return new Equality(matcher.group(3), matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+      }
+      return null;
+    }
+  }
+}
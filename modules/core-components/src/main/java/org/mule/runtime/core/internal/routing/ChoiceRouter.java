@@ -53,6 +53,7 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
   private MuleContext muleContext;
   private ExpressionManager expressionManager;
   private ComponentTracerFactory componentTracerFactory;
+  private ChoiceRouteSelector routeSelector;
 
   public ChoiceRouter(ComponentTracerFactory componentTracerFactory) {
     routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
@@ -80,6 +81,8 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
       route.setComponentTracer(componentTracerFactory.fromComponent(this, ROUTE_SPAN_NAME_SUFFIX));
       initialiseIfNeeded(route, muleContext);
     }
+
+    routeSelector = new ChoiceRouteSelector(routes);
   }
 
   @Override
@@ -153,7 +156,8 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
 
     /**
      * Decides which route should execute for an incoming event and executes it, purposely separating those actions so that a
-     * single {@link ExpressionManagerSession} can be used for all routes decision process.
+     * single {@link ExpressionManagerSession} can be used for all routes decision process. The routes are checked by a
+     * {@link ChoiceRouteSelector}, built along with the routes.
      *
      * @param event the incoming event
      */
@@ -161,7 +165,7 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     protected void route(CoreEvent event) {
       ExecutableRoute selectedRoute;
       try (ExpressionManagerSession session = expressionManager.openSession(getLocation(), event, NULL_BINDING_CONTEXT)) {
-        selectedRoute = getRoutes().stream().filter(route -> route.shouldExecute(session)).findFirst().get();
+        selectedRoute = getRoutes().get(routeSelector.select(session));
       }
       selectedRoute.execute(event);
       updateStatistics(selectedRoute.getProcessor());
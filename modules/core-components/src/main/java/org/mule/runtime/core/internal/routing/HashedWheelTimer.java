@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import static java.lang.Integer.bitCount;
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Runs tasks after a delay, rounded up to a tick, keeping them in a wheel of buckets indexed by the tick they are due on.
+ * <p>
+ * Scheduling a task only enqueues it, regardless of how many are pending, and a single periodic task on the given executor
+ * advances the wheel while there are pending tasks. The tasks that are due are submitted to the same executor rather than run
+ * by the tick, so that a slow task doesn't hold back the others nor the next tick.
+ *
+ * @since 4.6
+ */
+final class HashedWheelTimer {
+
+  private static final Logger LOGGER = getLogger(HashedWheelTimer.class);
+
+  private final ScheduledExecutorService ticker;
+  private final long tickMillis;
+  private final long tickNanos;
+  private final long startNanos;
+
+  // Only accessed by the tick task
+  private final List<Timeout>[] wheel;
+  private final int mask;
+  private long lastTick;
+
+  private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private ScheduledFuture<?> tickTask;
+  private volatile boolean stopped;
+
+  /**
+   * @param ticker     the executor to advance the wheel and run the due tasks on, each one as a separate task
+   * @param tickMillis the resolution of the delays
+   * @param wheelSize  the number of buckets, a power of 2
+   */
+  HashedWheelTimer(ScheduledExecutorService ticker, long tickMillis, int wheelSize) {
+    checkArgument(tickMillis > 0, "tickMillis must be positive");
+    checkArgument(wheelSize > 0 && bitCount(wheelSize) == 1, "wheelSize must be a power of 2");
+
+    this.ticker = ticker;
+    this.tickMillis = tickMillis;
+    this.tickNanos = MILLISECONDS.toNanos(tickMillis);
+    this.startNanos = System.nanoTime();
+
+    this.wheel = new List[wheelSize];
+    for (int i = 0; i < wheelSize; ++i) {
+      wheel[i] = new ArrayList<>();
+    }
+    this.mask = wheelSize - 1;
+  }
+
+  long getTickMillis() {
+    return tickMillis;
+  }
+
+  /**
+   * Runs the given task once the delay elapses, or up to one tick later.
+   *
+   * @throws RejectedExecutionException if this timer was stopped.
+   */
+  void schedule(Runnable task, long delayMillis) {
+    if (stopped) {
+      throw new RejectedExecutionException("Timer has been stopped");
+    }
+
+    long deadlineNanos = System.nanoTime() - startNanos + MILLISECONDS.toNanos(delayMillis);
+    boolean idle = pending.getAndIncrement() == 0;
+    scheduled.add(new Timeout(task, (deadlineNanos + tickNanos - 1) / tickNanos));
+
+    if (idle) {
+      startTicking();
+    }
+  }
+
+  private synchronized void startTicking() {
+    if (!stopped && tickTask == null) {
+      tickTask = ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, MILLISECONDS);
+    }
+  }
+
+  private void tick() {
+    long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+    List<Runnable> due = new ArrayList<>();
+
+    Timeout timeout;
+    while ((timeout = scheduled.poll()) != null) {
+      if (timeout.deadlineTick <= currentTick) {
+        due.add(timeout.task);
+      } else {
+        wheel[(int) (timeout.deadlineTick & mask)].add(timeout);
+      }
+    }
+
+    // After a pause longer than a whole turn, every bucket has to be checked just once
+    for (long tick = max(lastTick + 1, currentTick - mask); tick <= currentTick; ++tick) {
+      wheel[(int) (tick & mask)].removeIf(bucketed -> {
+        if (bucketed.deadlineTick <= currentTick) {
+          due.add(bucketed.task);
+          return true;
+        }
+        return false;
+      });
+    }
+    lastTick = currentTick;
+
+    for (Runnable task : due) {
+      try {
+        ticker.execute(() -> {
+          try {
+            task.run();
+          } catch (Throwable t) {
+            LOGGER.error("Scheduled task failed", t);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        LOGGER.warn("Scheduled task discarded, its executor is stopped", e);
+      } finally {
+        pending.decrementAndGet();
+      }
+    }
+
+    if (pending.get() == 0) {
+      stopTickingIfIdle();
+    }
+  }
+
+  private synchronized void stopTickingIfIdle() {
+    // A task may have been scheduled since this tick checked, in which case it has to keep ticking
+    if (pending.get() == 0 && tickTask != null) {
+      tickTask.cancel(false);
+      tickTask = null;
+    }
+  }
+
+  synchronized boolean isTicking() {
+    return tickTask != null;
+  }
+
+  /**
+   * Stops advancing the wheel. The tasks not run yet are discarded.
+   */
+  synchronized void stop() {
+    stopped = true;
+    if (tickTask != null) {
+      tickTask.cancel(false);
+      tickTask = null;
+    }
+  }
+
+  private static final class Timeout {
+
+    private final Runnable task;
+    private final long deadlineTick;
+
+    private Timeout(Runnable task, long deadlineTick) {
+      this.task = task;
+      this.deadlineTick = deadlineTick;
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.routing.RetryBackoff.Jitter.NONE;
+
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * Computes the delay before each retry of an {@link UntilSuccessful} scope. The configured delay grows by a multiplier on each
+ * attempt up to a maximum, and may be randomized so that events that failed at the same time don't all retry at the same time.
+ *
+ * @since 4.6
+ */
+final class RetryBackoff {
+
+  enum Jitter {
+    /**
+     * The delay is the exponential one.
+     */
+    NONE,
+
+    /**
+     * The delay is random between 0 and the exponential one.
+     */
+    FULL,
+
+    /**
+     * The delay is random between the configured one and 3 times the previous one, up to the maximum. The multiplier is not used.
+     */
+    DECORRELATED
+  }
+
+  /**
+   * Always waits the configured delay.
+   */
+  static final RetryBackoff FIXED = new RetryBackoff(1, Long.MAX_VALUE, NONE);
+
+  private final double multiplier;
+  private final long maxDelay;
+  private final Jitter jitter;
+
+  RetryBackoff(double multiplier, long maxDelay, Jitter jitter) {
+    checkArgument(multiplier >= 1, "multiplier must be at least 1");
+    checkArgument(maxDelay >= 0, "maxDelay can't be negative");
+    this.multiplier = multiplier;
+    this.maxDelay = maxDelay;
+    this.jitter = jitter;
+  }
+
+  /**
+   * @param baseDelay     the configured delay between retries
+   * @param attempt       the number of the retry about to be scheduled, starting at 1
+   * @param previousDelay the delay before the previous retry, or {@code baseDelay} for the first one
+   * @return the delay before the retry, in the same unit as {@code baseDelay}
+   */
+  long delay(long baseDelay, int attempt, long previousDelay) {
+    switch (jitter) {
+      case FULL:
+        return current().nextLong(exponential(baseDelay, attempt) + 1);
+      case DECORRELATED:
+        long upper = previousDelay > maxDelay / 3 ? maxDelay : min(maxDelay, previousDelay * 3);
+        return upper <= baseDelay ? min(baseDelay, maxDelay) : current().nextLong(baseDelay, upper + 1);
+      default:
+        return exponential(baseDelay, attempt);
+    }
+  }
+
+  private long exponential(long baseDelay, int attempt) {
+    double delay = attempt <= 1 ? baseDelay : baseDelay * pow(multiplier, attempt - 1);
+    return delay >= maxDelay ? maxDelay : (long) delay;
+  }
+}
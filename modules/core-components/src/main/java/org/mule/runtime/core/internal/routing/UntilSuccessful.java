@@ -5,12 +5,15 @@ package org.mule.runtime.core.internal.routing;
 
 import static org.mule.runtime.api.config.MuleRuntimeFeature.SUPPRESS_ERRORS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.routing.RetryBackoff.Jitter.FULL;
+import static org.mule.runtime.core.internal.routing.RetryBackoff.Jitter.NONE;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.createDefaultProcessingStrategyFactory;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processToApply;
 
 import static java.util.Collections.singletonList;
+import static java.util.Locale.ROOT;
 
 import org.mule.runtime.api.component.location.ConfigurationComponentLocator;
 import org.mule.runtime.api.config.FeatureFlaggingService;
@@ -27,6 +30,7 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
+import org.mule.runtime.core.internal.routing.RetryBackoff.Jitter;
 import org.mule.runtime.core.internal.routing.UntilSuccessfulRouter.RetryContextInitializationException;
 import org.mule.runtime.tracer.api.component.ComponentTracerFactory;
 
@@ -47,6 +51,8 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   private static final String DEFAULT_MILLIS_BETWEEN_RETRIES = "60000";
   private static final String DEFAULT_RETRIES = "5";
   public static final String UNTIL_SUCCESSFUL_ATTEMPT_SPAN_NAME_SUFIX = ":attempt";
+  private static final long RETRY_TIMER_TICK_MILLIS = 10;
+  private static final int RETRY_TIMER_WHEEL_SIZE = 512;
 
   @Inject
   private SchedulerService schedulerService;
@@ -66,9 +72,14 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   private String maxRetries = DEFAULT_RETRIES;
   private String millisBetweenRetries = DEFAULT_MILLIS_BETWEEN_RETRIES;
   private MessageProcessorChain nestedChain;
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = Long.MAX_VALUE;
+  private Jitter jitter;
+  private RetryBackoff backoff;
   private boolean suppressErrors;
   private Predicate<CoreEvent> shouldRetry;
   private Scheduler timer;
+  private HashedWheelTimer retryTimer;
   private List<Processor> processors;
   private ProcessingStrategy processingStrategy;
 
@@ -86,6 +97,10 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     super.initialise();
 
     timer = schedulerService.cpuLightScheduler();
+    retryTimer = new HashedWheelTimer(timer, RETRY_TIMER_TICK_MILLIS, RETRY_TIMER_WHEEL_SIZE);
+    // Without jitter, the events that failed together would still retry together, only less often
+    backoff = new RetryBackoff(backoffMultiplier, maxMillisBetweenRetries,
+                               jitter != null ? jitter : (backoffMultiplier > 1 ? FULL : NONE));
     suppressErrors = featureFlaggingService.isEnabled(SUPPRESS_ERRORS);
     shouldRetry = event -> event.getError().isPresent();
 
@@ -98,6 +113,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public void dispose() {
     super.dispose();
+    retryTimer.stop();
     timer.stop();
   }
 
@@ -121,7 +137,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, timer,
-                                     maxRetries, millisBetweenRetries, suppressErrors)
+                                     retryTimer, maxRetries, millisBetweenRetries, backoff, suppressErrors)
                                          .getDownstreamPublisher();
   }
 
@@ -155,6 +171,36 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  /**
+   * @param backoffMultiplier how much the delay grows on each retry, starting from {@link #getMillisBetweenRetries()}. Default
+   *                          value is 1, so that the delay is the same for every retry. A greater value also makes
+   *                          {@code FULL} the default {@link #setJitter(String) jitter}.
+   * @since 4.6
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param maxMillisBetweenRetries the maximum number of milliseconds between retries when the delay grows or is randomized.
+   *                                Unbounded by default.
+   * @since 4.6
+   */
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  /**
+   * @param jitter how the delay between retries is randomized: {@code NONE}, so that events that failed at the same time retry
+   *               at the same time, {@code FULL}, to wait a random time up to the delay, or {@code DECORRELATED}, to wait a
+   *               random time between {@link #getMillisBetweenRetries()} and 3 times the previous delay. Defaults to
+   *               {@code FULL} if a {@link #setBackoffMultiplier(double) backoff multiplier} is set, or {@code NONE} otherwise.
+   * @since 4.6
+   */
+  public void setJitter(String jitter) {
+    this.jitter = Jitter.valueOf(jitter.toUpperCase(ROOT));
+  }
+
   /**
    * Configure the nested {@link Processor}'s that error handling and transactional behaviour should be applied to.
    *
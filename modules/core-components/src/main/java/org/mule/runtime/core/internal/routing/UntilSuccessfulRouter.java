@@ -75,6 +75,8 @@ class UntilSuccessfulRouter {
   private final boolean suppressErrors;
   private final Predicate<CoreEvent> shouldRetry;
   private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final HashedWheelTimer retryTimer;
+  private final RetryBackoff backoff;
 
   private final Flux<CoreEvent> upstreamFlux;
   private final Flux<CoreEvent> innerFlux;
@@ -98,12 +100,14 @@ class UntilSuccessfulRouter {
 
   UntilSuccessfulRouter(Component owner, Publisher<CoreEvent> publisher, Processor nestedChain,
                         ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
-                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler,
-                        String maxRetries, String millisBetweenRetries, boolean suppressErrors) {
+                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler, HashedWheelTimer retryTimer,
+                        String maxRetries, String millisBetweenRetries, RetryBackoff backoff, boolean suppressErrors) {
     this.owner = owner;
     this.suppressErrors = suppressErrors;
     this.shouldRetry = shouldRetry;
     this.delayScheduler = new ConditionalExecutorServiceDecorator(delayScheduler, s -> isTransactionActive());
+    this.retryTimer = retryTimer;
+    this.backoff = backoff;
     this.retryContextResolver = new EventInternalContextResolver<>(RETRY_CTX_INTERNAL_PARAM_KEY,
                                                                    HashMap::new);
     // Upstream side of until successful chain. Injects events into retrial chain.
@@ -188,8 +192,9 @@ class UntilSuccessfulRouter {
                      ctx.maxRetries != RETRY_COUNT_FOREVER ? ctx.maxRetries : "unlimited");
 
         // Schedule retry with delay
-        UntilSuccessfulRouter.this.delayScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
-                                                           ctx.delayInMillis, MILLISECONDS);
+        long delay = backoff.delay(ctx.delayInMillis, ctx.getAttemptNumber(), ctx.previousDelayInMillis);
+        ctx.previousDelayInMillis = delay;
+        scheduleRetry(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)), delay);
       } else { // Retries exhausted
         // Current context already pooped. No need to re-insert it
         LOGGER.error("Retry attempts exhausted. Failing...");
@@ -202,6 +207,19 @@ class UntilSuccessfulRouter {
     };
   }
 
+  /**
+   * Retries are parked in the timer wheel, so that scheduling each one takes constant time regardless of how many are pending.
+   * Delays shorter than its resolution, and retries within a transaction, which wait in the current thread, are left to the
+   * scheduler.
+   */
+  private void scheduleRetry(Runnable retry, long delay) {
+    if (retryTimer == null || delay < retryTimer.getTickMillis() || isTransactionActive()) {
+      delayScheduler.schedule(retry, delay, MILLISECONDS);
+    } else {
+      retryTimer.schedule(retry, delay);
+    }
+  }
+
   /**
    * If there are no events in-flight and the upstream publisher has received a completion signal, complete downstream publishers.
    */
@@ -329,6 +347,7 @@ class UntilSuccessfulRouter {
 
     Integer delayInMillis;
     Integer maxRetries;
+    long previousDelayInMillis;
 
     RetryContext(CoreEvent event,
                  Function<CoreEvent, ExpressionManagerSession> sessionSupplier,
@@ -339,6 +358,7 @@ class UntilSuccessfulRouter {
       ExpressionManagerSession session = sessionSupplier.apply(event);
       maxRetries = maxRetriesSupplier.apply(session);
       delayInMillis = delayTimeSupplier.apply(session);
+      previousDelayInMillis = delayInMillis;
       retryCount.set(maxRetries);
     }
 
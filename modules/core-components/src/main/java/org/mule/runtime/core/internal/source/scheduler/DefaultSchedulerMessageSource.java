@@ -3,12 +3,21 @@
  */
 package org.mule.runtime.core.internal.source.scheduler;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static java.util.Collections.emptyList;
+import static java.util.Locale.ROOT;
 import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToScheduleWork;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.FAIL;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObject;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.MisfirePolicy.SKIP;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -20,22 +29,26 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.source.FixedFrequencySchedulerConfiguration;
 import org.mule.runtime.api.source.SchedulerConfiguration;
 import org.mule.runtime.api.source.SchedulerMessageSource;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.context.MuleContextAware;
+import org.mule.runtime.core.api.management.stats.SchedulerStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.source.MessageSource;
 import org.mule.runtime.core.api.source.scheduler.PeriodicScheduler;
 import org.mule.runtime.core.api.transaction.TransactionConfig;
-import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
 import org.mule.runtime.core.internal.execution.MessageProcessContext;
 import org.mule.runtime.core.internal.execution.MessageProcessingManager;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 
 import javax.inject.Inject;
@@ -52,14 +65,60 @@ import org.slf4j.Logger;
  * {@link org.mule.runtime.core.internal.registry.MuleRegistry} interface, this way users can manipulate poll from outside mule
  * server.
  * </p>
+ * <p>
+ * When concurrent execution is disallowed, the fires that find the previous run still executing are handled according to the
+ * {@link MisfirePolicy}, and the lateness and duration of the runs and the fires skipped are kept in its
+ * {@link SchedulerStatistics}.
+ * </p>
  */
 public class DefaultSchedulerMessageSource extends AbstractComponent
     implements MessageSource, SchedulerMessageSource, MuleContextAware, Initialisable, Disposable {
 
   private final static Logger LOGGER = getLogger(DefaultSchedulerMessageSource.class);
 
+  /**
+   * The {@link MisfirePolicy} of the scheduler sources by default.
+   *
+   * @since 4.6
+   */
+  public static final String MISFIRE_POLICY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.misfirePolicy";
+
+  /**
+   * How many fires a scheduler source with the {@link MisfirePolicy#QUEUE} policy keeps by default while a run is executing.
+   *
+   * @since 4.6
+   */
+  public static final String MAX_QUEUED_FIRES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.maxQueuedFires";
+
+  private static final int DEFAULT_MAX_QUEUED_FIRES = 10;
+
+  /**
+   * What to do with a fire that finds the previous run still executing when concurrent execution is disallowed.
+   *
+   * @since 4.6
+   */
+  public enum MisfirePolicy {
+    /**
+     * The fire is skipped.
+     */
+    SKIP,
+
+    /**
+     * The fires while a run is executing are coalesced into one run, started when it finishes.
+     */
+    COALESCE,
+
+    /**
+     * A run is started for each fire, one after the other, up to a maximum of pending fires. Any further fire is skipped.
+     */
+    QUEUE
+  }
+
   private final PeriodicScheduler scheduler;
   private final boolean disallowConcurrentExecution;
+  private MisfirePolicy misfirePolicy =
+      MisfirePolicy.valueOf(getProperty(MISFIRE_POLICY_PROPERTY, SKIP.name()).toUpperCase(ROOT));
+  private int maxQueuedFires = getInteger(MAX_QUEUED_FIRES_PROPERTY, DEFAULT_MAX_QUEUED_FIRES);
 
   private Scheduler pollingExecutor;
   private ScheduledFuture<?> schedulingJob;
@@ -78,8 +137,12 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
 
   private boolean started;
   private volatile boolean executing = false;
-  private FlowProcessTemplate flowProcessingTemplate;
+  // When each of the fires kept while a run is executing was due, in nanoTime
+  private final Deque<Long> missedFires = new ArrayDeque<>();
+  // When the first fire of a fixed frequency scheduler was due, in nanoTime
+  private long firstFireNanos;
   private SchedulerProcessContext flowProcessContext;
+  private SchedulerStatistics statistics;
 
   /**
    * @param muleContext application's context
@@ -97,6 +160,10 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     if (started) {
       return;
     }
+    if (scheduler instanceof FixedFrequencySchedulerConfiguration) {
+      FixedFrequencySchedulerConfiguration fixedFrequency = (FixedFrequencySchedulerConfiguration) scheduler;
+      firstFireNanos = nanoTime() + fixedFrequency.getTimeUnit().toNanos(fixedFrequency.getStartDelay());
+    }
     try {
       // The initialization phase if handled by the scheduler
       schedulingJob =
@@ -118,12 +185,14 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
       schedulingJob.cancel(false);
       schedulingJob = null;
     }
+    missedFires.clear();
     this.started = false;
   }
 
   @Override
   public void trigger() {
-    pollingExecutor.execute(() -> withContextClassLoader(muleContext.getExecutionClassLoader(), () -> poll()));
+    long dueNanos = nanoTime();
+    pollingExecutor.execute(() -> withContextClassLoader(muleContext.getExecutionClassLoader(), () -> poll(dueNanos)));
   }
 
   @Override
@@ -136,6 +205,33 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     return scheduler;
   }
 
+  /**
+   * @return the statistics of the runs of this source.
+   * @since 4.6
+   */
+  public SchedulerStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @param misfirePolicy what to do with a fire that finds the previous run still executing when concurrent execution is
+   *                      disallowed.
+   * @since 4.6
+   */
+  public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+    this.misfirePolicy = misfirePolicy;
+  }
+
+  /**
+   * @param maxQueuedFires how many fires to keep while a run is executing, when the misfire policy is
+   *                       {@link MisfirePolicy#QUEUE}.
+   * @since 4.6
+   */
+  public void setMaxQueuedFires(int maxQueuedFires) {
+    checkArgument(maxQueuedFires > 0, "maxQueuedFires must be positive");
+    this.maxQueuedFires = maxQueuedFires;
+  }
+
   /**
    * Checks whether polling should take place on this instance.
    */
@@ -143,19 +239,42 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     // Make sure we start with a clean state.
     setCurrentEvent(null);
 
+    long dueNanos = nextFireDue();
     if (muleContext.isPrimaryPollingInstance()) {
-      poll();
+      poll(dueNanos);
     }
   }
 
+  /**
+   * The fires of a fixed frequency scheduler are due at a fixed rate since it was started, so a fire is taken to be the last one
+   * due by now. That is derived from the time rather than counted, so that fires the executor rejects or drops don't make the
+   * following ones look a period later each. Other schedulers don't tell when their fires are due, so those are taken to be due
+   * when they happen.
+   */
+  private synchronized long nextFireDue() {
+    long nowNanos = nanoTime();
+    if (!(scheduler instanceof FixedFrequencySchedulerConfiguration)) {
+      return nowNanos;
+    }
+
+    FixedFrequencySchedulerConfiguration fixedFrequency = (FixedFrequencySchedulerConfiguration) scheduler;
+    long periodNanos = fixedFrequency.getTimeUnit().toNanos(fixedFrequency.getFrequency());
+    if (nowNanos - firstFireNanos < 0) {
+      return firstFireNanos;
+    }
+    return firstFireNanos + (nowNanos - firstFireNanos) / periodNanos * periodNanos;
+  }
+
   /**
    * Triggers the forced execution of the polling message processor ignoring the configured scheduler.
    */
-  private void poll() {
+  private void poll(long dueNanos) {
     boolean execute = false;
+    boolean kept = false;
     synchronized (this) {
       if (disallowConcurrentExecution && executing) {
         execute = false;
+        kept = keepMissedFire(dueNanos);
       } else {
         execute = true;
         executing = true;
@@ -163,21 +282,90 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
     }
 
     if (execute) {
-      doPoll();
+      doPoll(dueNanos);
+    } else if (kept) {
+      LOGGER.debug("Flow '{}' is already running and 'disallowConcurrentExecution' is set to 'true'. Execution deferred.",
+                   getLocation().getRootContainerName());
     } else {
+      if (statistics.isEnabled()) {
+        statistics.incSkippedFires();
+      }
       LOGGER.info("Flow '{}' is already running and 'disallowConcurrentExecution' is set to 'true'. Execution skipped.",
                   getLocation().getRootContainerName());
     }
   }
 
-  private void doPoll() {
+  /**
+   * Has to be called holding the lock on this source.
+   *
+   * @return whether the fire will get a run once the executing one finishes.
+   */
+  private boolean keepMissedFire(long dueNanos) {
+    int maxMissedFires;
+    switch (misfirePolicy) {
+      case COALESCE:
+        maxMissedFires = 1;
+        break;
+      case QUEUE:
+        maxMissedFires = maxQueuedFires;
+        break;
+      default:
+        maxMissedFires = 0;
+    }
+
+    if (missedFires.size() < maxMissedFires) {
+      missedFires.add(dueNanos);
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  private void doPoll(long dueNanos) {
+    long startNanos = nanoTime();
+    if (statistics.isEnabled()) {
+      statistics.addLateness(NANOSECONDS.toMillis(max(0, startNanos - dueNanos)));
+    }
+
     try {
-      messageProcessingManager.processMessage(flowProcessingTemplate, flowProcessContext);
+      messageProcessingManager.processMessage(new SchedulerFlowProcessingTemplate(listener, emptyList(), this, startNanos),
+                                              flowProcessContext);
     } catch (Exception e) {
       muleContext.getExceptionListener().handleException(e);
     }
   }
 
+  /**
+   * Called when the flow finishes processing a run, starting the run for the next missed fire if there is one.
+   *
+   * @param startNanos when the run was started, in nanoTime
+   */
+  void runFinished(long startNanos) {
+    if (statistics.isEnabled()) {
+      statistics.addRunDuration(NANOSECONDS.toMillis(nanoTime() - startNanos));
+    }
+
+    final Long missedFireDue;
+    synchronized (this) {
+      missedFireDue = started ? missedFires.poll() : null;
+      // Keeps executing while catching up, so that new fires are still handled by the misfire policy
+      executing = missedFireDue != null;
+    }
+
+    if (missedFireDue != null) {
+      if (statistics.isEnabled()) {
+        statistics.incCatchUpRuns();
+      }
+      try {
+        pollingExecutor
+            .execute(() -> withContextClassLoader(muleContext.getExecutionClassLoader(), () -> doPoll(missedFireDue)));
+      } catch (RejectedExecutionException e) {
+        // The source is being disposed
+        setIsExecuting(false);
+      }
+    }
+  }
+
   protected void setIsExecuting(boolean value) {
     synchronized (this) {
       executing = value;
@@ -201,15 +389,18 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
         .ifPresent(flow -> this.flowConstruct = flow);
 
     // Flow execution configurations
-    this.flowProcessingTemplate = new SchedulerFlowProcessingTemplate(listener, emptyList(), this);
     this.flowProcessContext = new SchedulerProcessContext();
 
+    statistics = new SchedulerStatistics(getLocation().getRootContainerName());
+    muleContext.getStatistics().addSchedulerStatistics(statistics);
+
     createScheduler();
   }
 
   @Override
   public void dispose() {
     disposeScheduler();
+    muleContext.getStatistics().removeSchedulerStatistics(statistics);
   }
 
   private void createScheduler() throws InitialisationException {
@@ -22,17 +22,23 @@ import java.util.Map;
 final class SchedulerFlowProcessingTemplate extends FlowProcessingTemplate {
 
   private final DefaultSchedulerMessageSource defaultSchedulerMessageSource;
+  private final long startNanos;
 
+  /**
+   * @param startNanos when the run this template is for was started, in nanoTime
+   */
   SchedulerFlowProcessingTemplate(Processor messageProcessor,
                                   List<NotificationFunction> notificationFunctions,
-                                  DefaultSchedulerMessageSource defaultSchedulerMessageSource) {
+                                  DefaultSchedulerMessageSource defaultSchedulerMessageSource,
+                                  long startNanos) {
     super(messageProcessor, notificationFunctions);
     this.defaultSchedulerMessageSource = defaultSchedulerMessageSource;
+    this.startNanos = startNanos;
   }
 
   @Override
   public void afterPhaseExecution(Either<MessagingException, CoreEvent> either) {
-    defaultSchedulerMessageSource.setIsExecuting(false);
+    defaultSchedulerMessageSource.runFinished(startNanos);
   }
 
   @Override
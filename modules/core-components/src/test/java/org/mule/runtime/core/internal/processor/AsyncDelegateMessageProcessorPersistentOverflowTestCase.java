@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.processor;
+
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.internal.processor.AsyncDelegateMessageProcessor.overflowQueueName;
+import static org.mule.tck.MuleTestUtils.APPLE_FLOW;
+import static org.mule.tck.MuleTestUtils.createAndRegisterFlow;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.ExecutionEngineStory.BACKPRESSURE;
+import static org.mule.test.allure.AllureConstants.RoutersFeature.ROUTERS;
+import static org.mule.test.allure.AllureConstants.RoutersFeature.AsyncStory.ASYNC;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.util.queue.Queue;
+import org.mule.runtime.core.internal.construct.FromFlowRejectedExecutionException;
+import org.mule.runtime.core.internal.processor.strategy.StreamPerEventSink;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Stories;
+import io.qameta.allure.Story;
+
+@Feature(ROUTERS)
+@Stories({@Story(ASYNC), @Story(BACKPRESSURE)})
+public class AsyncDelegateMessageProcessorPersistentOverflowTestCase extends AbstractAsyncDelegateMessageProcessorTestCase {
+
+  private static final String ASYNC_NAME = "thread";
+
+  private final ToggledBackPressureProcessingStrategy strategy = new ToggledBackPressureProcessingStrategy();
+
+  public AsyncDelegateMessageProcessorPersistentOverflowTestCase(Mode mode) {
+    super(mode);
+  }
+
+  @Override
+  protected void doSetUp() throws Exception {
+    super.doSetUp();
+    flow = createAndRegisterFlow(muleContext, APPLE_FLOW, componentLocator, (ctx, n) -> strategy);
+    asyncEntryLatch.countDown();
+  }
+
+  @Override
+  protected void doTearDown() throws Exception {
+    overflowQueue().clear();
+    super.doTearDown();
+  }
+
+  @Test
+  public void eventsBeyondInMemoryWindowAreSpilledAndDrained() throws Exception {
+    async = createPersistentAsync(0);
+    latch = new CountDownLatch(1);
+
+    CoreEvent request = testEvent();
+    CoreEvent result = process(async, request);
+    // The event is spilled by the queue dispatcher, not by the thread that got it rejected
+    new PollingProber().check(new JUnitLambdaProbe(() -> overflowQueue().size() == 1));
+
+    // The spilled event does not hold the flow that sent it
+    ((BaseEventContext) request.getContext()).success(result);
+    new PollingProber().check(new JUnitLambdaProbe(() -> ((BaseEventContext) request.getContext()).isTerminated()));
+
+    strategy.backPressure = false;
+    assertThat(latch.await(LOCK_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(target.sensedEvent.getCorrelationId(), is(request.getCorrelationId()));
+    new PollingProber().check(new JUnitLambdaProbe(() -> overflowQueue().size() == 0));
+  }
+
+  @Test
+  public void eventsPendingOnStopAreDispatchedAfterStart() throws Exception {
+    async = createPersistentAsync(16);
+    latch = new CountDownLatch(1);
+
+    CoreEvent request = testEvent();
+    process(async, request);
+    assertThat(overflowQueue().size(), is(0));
+
+    async.stop();
+    assertThat(overflowQueue().size(), is(1));
+
+    strategy.backPressure = false;
+    async.start();
+    assertThat(latch.await(LOCK_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(target.sensedEvent.getCorrelationId(), is(request.getCorrelationId()));
+  }
+
+  @Test
+  public void eventsNotYetSpilledOnStopAreKept() throws Exception {
+    async = createPersistentAsync(0);
+    latch = new CountDownLatch(3);
+
+    for (int i = 0; i < 3; ++i) {
+      process(async, testEvent());
+    }
+    async.stop();
+    assertThat(overflowQueue().size(), is(3));
+
+    strategy.backPressure = false;
+    async.start();
+    assertThat(latch.await(LOCK_TIMEOUT, MILLISECONDS), is(true));
+  }
+
+  private AsyncDelegateMessageProcessor createPersistentAsync(int maxInMemoryEvents) throws Exception {
+    DefaultMessageProcessorChainBuilder delegateBuilder = new DefaultMessageProcessorChainBuilder();
+    delegateBuilder.setProcessingStrategy(flow.getProcessingStrategy());
+    delegateBuilder.chain(target);
+
+    AsyncDelegateMessageProcessor mp = new AsyncDelegateMessageProcessor(delegateBuilder, ASYNC_NAME);
+    mp.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    mp.setPersistentOverflow(true);
+    mp.setMaxInMemoryEvents(maxInMemoryEvents);
+    initialiseIfNeeded(mp, true, muleContext);
+    mp.start();
+    return mp;
+  }
+
+  private Queue overflowQueue() {
+    return muleContext.getQueueManager().getQueueSession().getQueue(overflowQueueName(ASYNC_NAME));
+  }
+
+  private static class ToggledBackPressureProcessingStrategy implements ProcessingStrategy {
+
+    private volatile boolean backPressure = true;
+
+    @Override
+    public boolean isSynchronous() {
+      return true;
+    }
+
+    @Override
+    public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor pipeline) {
+      return new StreamPerEventSink(pipeline, event -> {
+      });
+    }
+
+    @Override
+    public void checkBackpressureAccepting(CoreEvent event) throws RejectedExecutionException {
+      if (backPressure) {
+        throw new FromFlowRejectedExecutionException(null);
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.metadata.DataType.JSON_STRING;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.ChoiceStory.CHOICE;
+
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+import org.mule.runtime.core.internal.profiling.DummyComponentTracerFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCOPE)
+@Story(CHOICE)
+public class ChoiceRouteSelectorTestCase extends AbstractMuleTestCase {
+
+  private static final int ROUTES = 20;
+
+  private final ExpressionManagerSession session = mock(ExpressionManagerSession.class);
+  private List<ProcessorRoute> routes;
+
+  @Before
+  public void before() {
+    routes = new ArrayList<>();
+    for (int i = 0; i < ROUTES; ++i) {
+      routes.add(route("vars.kind == 'kind" + i + "'"));
+    }
+    routes.add(new ProcessorRoute(event -> event, new DummyComponentTracerFactory()));
+  }
+
+  @Test
+  public void discriminatorIsEvaluatedOnce() {
+    when(session.evaluate("#[vars.kind]")).thenAnswer(inv -> new TypedValue<>("kind" + (ROUTES - 1), STRING));
+
+    assertThat(new ChoiceRouteSelector(routes).select(session), is(ROUTES - 1));
+    verify(session, times(1)).evaluate(anyString());
+    verify(session, never()).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void unknownValueGoesToDefaultRoute() {
+    when(session.evaluate("#[vars.kind]")).thenAnswer(inv -> new TypedValue<>("other", STRING));
+
+    assertThat(new ChoiceRouteSelector(routes).select(session), is(ROUTES));
+  }
+
+  @Test
+  public void nonPlainStringIsEvaluatedRouteByRoute() {
+    when(session.evaluate("#[vars.kind]")).thenAnswer(inv -> new TypedValue<>("\"kind3\"", JSON_STRING));
+    when(session.evaluateBoolean("vars.kind == 'kind3'", false, true)).thenReturn(true);
+
+    assertThat(new ChoiceRouteSelector(routes).select(session), is(3));
+    verify(session, times(4)).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void failingDiscriminatorIsEvaluatedRouteByRoute() {
+    when(session.evaluate("#[vars.kind]")).thenThrow(new IllegalStateException("expected"));
+    when(session.evaluateBoolean("vars.kind == 'kind1'", false, true)).thenReturn(true);
+
+    assertThat(new ChoiceRouteSelector(routes).select(session), is(1));
+  }
+
+  @Test
+  public void otherRoutesKeepTheirOrder() {
+    List<ProcessorRoute> mixedRoutes = asList(route("vars.kind == 'a'"), route("#[vars.kind == 'b']"),
+                                              route("vars.other"),
+                                              route("vars.kind == 'c'"), route("'d' == vars.kind"));
+    when(session.evaluate("#[vars.kind]")).thenAnswer(inv -> new TypedValue<>("c", STRING));
+    when(session.evaluateBoolean("vars.other", false, true)).thenReturn(true);
+
+    assertThat(new ChoiceRouteSelector(mixedRoutes).select(session), is(2));
+    verify(session, times(1)).evaluate(anyString());
+  }
+
+  @Test
+  public void expressionsWithEscapesAreNotDispatched() {
+    List<ProcessorRoute> escapedRoutes = asList(route("vars.kind == 'a\\'b'"), route("vars.kind == \"$(vars.x)\""));
+
+    new ChoiceRouteSelector(escapedRoutes).select(session);
+    verify(session, never()).evaluate(anyString());
+    verify(session, times(2)).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  private ProcessorRoute route(String expression) {
+    return new ProcessorExpressionRoute(expression, event -> event, new DummyComponentTracerFactory());
+  }
+}
@@ -132,6 +132,33 @@ public class ChoiceRouterTestCase extends AbstractReactiveProcessorTestCase {
     assertThat((Map<String, Long>) routerStatistics.getRouted(), hasEntry(containsString(processor.toString()), is((long) 2)));
   }
 
+  @Test
+  public void matchingEqualityRoutes() throws Exception {
+    choiceRouter.addRoute("payload == 'foo'", newChain(empty(), new TestMessageProcessor("first")));
+    choiceRouter.addRoute("#['zap' == payload]", newChain(empty(), new TestMessageProcessor("second")));
+    choiceRouter.addRoute("payload == \"bar\"", newChain(empty(), new TestMessageProcessor("third")));
+    choiceRouter.setDefaultRoute(newChain(empty(), new TestMessageProcessor("default")));
+    initialise();
+
+    assertThat(process(choiceRouter, fooEvent()).getMessage().getPayload().getValue(), is("foo:first"));
+    assertThat(process(choiceRouter, zapEvent()).getMessage().getPayload().getValue(), is("zap:second"));
+    assertThat(process(choiceRouter, eventBuilder(muleContext).message(of("bar")).build()).getMessage().getPayload()
+        .getValue(), is("bar:third"));
+    assertThat(process(choiceRouter, eventBuilder(muleContext).message(of("baz")).build()).getMessage().getPayload()
+        .getValue(), is("baz:default"));
+  }
+
+  @Test
+  public void firstMatchingRouteAmongEqualityRoutes() throws Exception {
+    choiceRouter.addRoute("payload == 'foo'", newChain(empty(), new TestMessageProcessor("foo")));
+    choiceRouter.addRoute("payload != 'foo'", newChain(empty(), new TestMessageProcessor("notFoo")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("zap")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("otherZap")));
+    initialise();
+
+    assertThat(process(choiceRouter, zapEvent()).getMessage().getPayload().getValue(), is("zap:notFoo"));
+  }
+
   @Test
   @Issue("MULE-19512")
   public void failingExpression() throws Exception {
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCOPE)
+@Story(UNTIL_SUCCESSFUL)
+public class HashedWheelTimerTestCase extends AbstractMuleTestCase {
+
+  private static final int TASKS = 10000;
+  private static final int MAX_DELAY_MILLIS = 300;
+
+  private ScheduledExecutorService ticker;
+  private HashedWheelTimer timer;
+
+  @Before
+  public void before() {
+    ticker = newSingleThreadScheduledExecutor();
+    // A wheel shorter than the delays, so that tasks wait for more than one turn
+    timer = new HashedWheelTimer(ticker, 1, 64);
+  }
+
+  @After
+  public void after() {
+    timer.stop();
+    ticker.shutdownNow();
+  }
+
+  @Test
+  public void tasksRunAfterTheirDelay() throws Exception {
+    CountDownLatch latch = new CountDownLatch(TASKS);
+    List<String> early = new CopyOnWriteArrayList<>();
+    Random random = new Random();
+
+    for (int i = 0; i < TASKS; ++i) {
+      long delay = random.nextInt(MAX_DELAY_MILLIS);
+      long scheduledAt = System.nanoTime();
+      timer.schedule(() -> {
+        long elapsed = NANOSECONDS.toMillis(System.nanoTime() - scheduledAt);
+        if (elapsed < delay) {
+          early.add("Run after " + elapsed + "ms instead of " + delay + "ms");
+        }
+        latch.countDown();
+      }, delay);
+    }
+
+    assertThat(latch.await(10, SECONDS), is(true));
+    assertThat(early, is(empty()));
+  }
+
+  @Test
+  public void stopsTickingWhenIdle() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    timer.schedule(latch::countDown, 5);
+    assertThat(timer.isTicking(), is(true));
+
+    assertThat(latch.await(1, SECONDS), is(true));
+    new PollingProber(1000, 10).check(new JUnitLambdaProbe(() -> !timer.isTicking()));
+
+    CountDownLatch again = new CountDownLatch(1);
+    timer.schedule(again::countDown, 5);
+    assertThat(again.await(1, SECONDS), is(true));
+  }
+
+  @Test
+  public void failingTaskDoesNotStopTheTimer() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    timer.schedule(() -> {
+      throw new IllegalStateException("expected");
+    }, 2);
+    timer.schedule(latch::countDown, 5);
+
+    assertThat(latch.await(1, SECONDS), is(true));
+  }
+
+  @Test
+  public void slowTaskDoesNotHoldBackOtherDueTasks() throws Exception {
+    ScheduledExecutorService pool = newScheduledThreadPool(2);
+    HashedWheelTimer poolTimer = new HashedWheelTimer(pool, 1, 64);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      poolTimer.schedule(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }, 5);
+      poolTimer.schedule(latch::countDown, 5);
+
+      assertThat(latch.await(1, SECONDS), is(true));
+    } finally {
+      release.countDown();
+      poolTimer.stop();
+      pool.shutdownNow();
+    }
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void stoppedTimerRejectsTasks() {
+    timer.stop();
+    timer.schedule(() -> {
+    }, 1);
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.core.internal.routing.RetryBackoff.Jitter.DECORRELATED;
+import static org.mule.runtime.core.internal.routing.RetryBackoff.Jitter.FULL;
+import static org.mule.runtime.core.internal.routing.RetryBackoff.Jitter.NONE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.SCOPE;
+import static org.mule.test.allure.AllureConstants.ScopeFeature.UntilSuccessfulStory.UNTIL_SUCCESSFUL;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCOPE)
+@Story(UNTIL_SUCCESSFUL)
+public class RetryBackoffTestCase extends AbstractMuleTestCase {
+
+  private static final int SAMPLES = 1000;
+
+  @Test
+  public void fixed() {
+    for (int attempt = 1; attempt <= 10; ++attempt) {
+      assertThat(RetryBackoff.FIXED.delay(100, attempt, 100), is(100L));
+    }
+  }
+
+  @Test
+  public void exponentialUpToMaximum() {
+    RetryBackoff backoff = new RetryBackoff(2, 1000, NONE);
+
+    assertThat(backoff.delay(100, 1, 100), is(100L));
+    assertThat(backoff.delay(100, 2, 100), is(200L));
+    assertThat(backoff.delay(100, 4, 400), is(800L));
+    assertThat(backoff.delay(100, 5, 800), is(1000L));
+    assertThat(backoff.delay(100, 1000, 1000), is(1000L));
+  }
+
+  @Test
+  public void fullJitter() {
+    RetryBackoff backoff = new RetryBackoff(2, 1000, FULL);
+
+    for (int i = 0; i < SAMPLES; ++i) {
+      assertThat(backoff.delay(100, 3, 200), allOf(greaterThanOrEqualTo(0L), lessThanOrEqualTo(400L)));
+      assertThat(backoff.delay(100, 100, 1000), allOf(greaterThanOrEqualTo(0L), lessThanOrEqualTo(1000L)));
+    }
+  }
+
+  @Test
+  public void decorrelatedJitter() {
+    RetryBackoff backoff = new RetryBackoff(1, 1000, DECORRELATED);
+
+    long previous = 100;
+    for (int i = 0; i < SAMPLES; ++i) {
+      long delay = backoff.delay(100, i + 1, previous);
+      assertThat(delay, allOf(greaterThanOrEqualTo(100L), lessThanOrEqualTo(Math.min(1000L, previous * 3))));
+      previous = delay;
+    }
+  }
+
+  @Test
+  public void maximumBelowBaseDelay() {
+    assertThat(new RetryBackoff(2, 50, DECORRELATED).delay(100, 1, 100), is(50L));
+    assertThat(new RetryBackoff(2, 50, NONE).delay(100, 1, 100), is(50L));
+  }
+}
@@ -229,6 +229,23 @@ public class UntilSuccessfulTestCase extends AbstractMuleContextTestCase {
     assertEquals(targetMessageProcessor.getEventCount(), Integer.parseInt(untilSuccessful.getMaxRetries()) + 1);
   }
 
+  @Test
+  public void testTemporaryDeliveryFailureWithBackoff() throws Exception {
+    untilSuccessful.setMaxRetries("3");
+    untilSuccessful.setMillisBetweenRetries("20");
+    untilSuccessful.setBackoffMultiplier(2);
+    untilSuccessful.setMaxMillisBetweenRetries(50);
+    untilSuccessful.setJitter("full");
+    targetMessageProcessor.setNumberOfFailuresToSimulate(3);
+    untilSuccessful.initialise();
+    untilSuccessful.start();
+
+    final CoreEvent testEvent = eventBuilder(muleContext).message(of("ERROR")).build();
+    assertSame(testEvent.getMessage(), untilSuccessful.process(testEvent).getMessage());
+    assertTargetEventReceived(testEvent);
+    assertEquals(4, targetMessageProcessor.getEventCount());
+  }
+
   @Test
   public void testProcessingStrategyUsage() throws Exception {
     targetMessageProcessor.setNumberOfFailuresToSimulate(Integer.parseInt(untilSuccessful.getMaxRetries()));
@@ -391,8 +408,8 @@ public class UntilSuccessfulTestCase extends AbstractMuleContextTestCase {
     });
 
     final UntilSuccessfulRouter router = new UntilSuccessfulRouter(flow, emitter.flux(), e -> e, ps,
-                                                                   muleContext.getExpressionManager(), null, null,
-                                                                   "1", MILLIS_BETWEEN_RETRIES, true);
+                                                                   muleContext.getExpressionManager(), null, null, null,
+                                                                   "1", MILLIS_BETWEEN_RETRIES, RetryBackoff.FIXED, true);
     // Assert that the inner flux was registered in the ps.
     verify(ps).configureInternalPublisher(any());
 
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.source.polling;
+
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.component.location.ConfigurationComponentLocator.REGISTRY_KEY;
+import static org.mule.runtime.api.functional.Either.right;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.MisfirePolicy.COALESCE;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.MisfirePolicy.QUEUE;
+import static org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.MisfirePolicy.SKIP;
+import static org.mule.tck.MuleTestUtils.APPLE_FLOW;
+import static org.mule.tck.MuleTestUtils.createFlowWithSource;
+import static org.mule.test.allure.AllureConstants.SchedulerFeature.SCHEDULER;
+import static org.mule.test.allure.AllureConstants.SchedulerFeature.SchedulerStories.SCHEDULED_FLOW_EXECUTION;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.component.location.Location;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.source.FixedFrequencySchedulerConfiguration;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.management.stats.SchedulerStatistics;
+import org.mule.runtime.core.api.source.scheduler.FixedFrequencyScheduler;
+import org.mule.runtime.core.api.source.scheduler.PeriodicScheduler;
+import org.mule.runtime.core.internal.context.DefaultMuleContext;
+import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
+import org.mule.runtime.core.internal.execution.MessageProcessingManager;
+import org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource;
+import org.mule.runtime.core.internal.source.scheduler.DefaultSchedulerMessageSource.MisfirePolicy;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SCHEDULER)
+@Story(SCHEDULED_FLOW_EXECUTION)
+public class DefaultSchedulerMessageSourceMisfireTestCase extends AbstractMuleContextTestCase {
+
+  private static final Logger LOGGER = getLogger(DefaultSchedulerMessageSourceMisfireTestCase.class);
+  private static final String MESSAGE_PROCESSING_MANAGER_KEY = "_muleMessageProcessingManager";
+
+  private final List<FlowProcessTemplate> runs = new CopyOnWriteArrayList<>();
+  private DefaultSchedulerMessageSource schedulerMessageSource;
+  private SchedulerStatistics statistics;
+
+  @Before
+  public void setUp() throws Exception {
+    MessageProcessingManager processingManager = mock(MessageProcessingManager.class);
+    doAnswer(invocation -> runs.add(invocation.getArgument(0))).when(processingManager).processMessage(any(), any());
+
+    ((DefaultMuleContext) muleContext).getRegistry().unregisterObject(MESSAGE_PROCESSING_MANAGER_KEY);
+    ((DefaultMuleContext) muleContext).getRegistry().registerObject(MESSAGE_PROCESSING_MANAGER_KEY, processingManager);
+
+    muleContext.getStatistics().setEnabled(true);
+  }
+
+  @Override
+  protected Map<String, Object> getStartUpRegistryObjects() {
+    return singletonMap(REGISTRY_KEY, componentLocator);
+  }
+
+  @After
+  public void after() throws MuleException {
+    stopIfNeeded(schedulerMessageSource);
+    disposeIfNeeded(schedulerMessageSource, LOGGER);
+  }
+
+  @Test
+  public void skip() throws Exception {
+    startMessageSource(SKIP);
+
+    schedulerMessageSource.trigger();
+    probe(() -> runs.size() == 1);
+
+    schedulerMessageSource.trigger();
+    schedulerMessageSource.trigger();
+    probe(() -> statistics.getSkippedFires() == 2);
+
+    finishRun(0);
+    assertThat(runs.size(), is(1));
+    assertThat(statistics.getStartedRuns(), is(1L));
+    assertThat(statistics.getCompletedRuns(), is(1L));
+    assertThat(statistics.getCatchUpRuns(), is(0L));
+  }
+
+  @Test
+  public void coalesce() throws Exception {
+    startMessageSource(COALESCE);
+
+    schedulerMessageSource.trigger();
+    probe(() -> runs.size() == 1);
+
+    schedulerMessageSource.trigger();
+    schedulerMessageSource.trigger();
+    schedulerMessageSource.trigger();
+    probe(() -> statistics.getSkippedFires() == 2);
+
+    finishRun(0);
+    probe(() -> runs.size() == 2);
+    finishRun(1);
+
+    schedulerMessageSource.trigger();
+    probe(() -> runs.size() == 3);
+
+    assertThat(statistics.getStartedRuns(), is(3L));
+    assertThat(statistics.getCompletedRuns(), is(2L));
+    assertThat(statistics.getCatchUpRuns(), is(1L));
+  }
+
+  @Test
+  public void queue() throws Exception {
+    schedulerMessageSource = createMessageSource(QUEUE);
+    schedulerMessageSource.setMaxQueuedFires(2);
+    schedulerMessageSource.start();
+
+    schedulerMessageSource.trigger();
+    probe(() -> runs.size() == 1);
+
+    schedulerMessageSource.trigger();
+    schedulerMessageSource.trigger();
+    schedulerMessageSource.trigger();
+    probe(() -> statistics.getSkippedFires() == 1);
+
+    finishRun(0);
+    probe(() -> runs.size() == 2);
+    finishRun(1);
+    probe(() -> runs.size() == 3);
+    finishRun(2);
+
+    assertThat(runs.size(), is(3));
+    assertThat(statistics.getStartedRuns(), is(3L));
+    assertThat(statistics.getCompletedRuns(), is(3L));
+    assertThat(statistics.getCatchUpRuns(), is(2L));
+  }
+
+  @Test
+  public void missedFiresDiscardedOnStop() throws Exception {
+    startMessageSource(QUEUE);
+
+    schedulerMessageSource.trigger();
+    probe(() -> runs.size() == 1);
+    schedulerMessageSource.trigger();
+
+    schedulerMessageSource.stop();
+    finishRun(0);
+    assertThat(runs.size(), is(1));
+    assertThat(statistics.getCatchUpRuns(), is(0L));
+  }
+
+  @Test
+  public void latenessOfFireAfterDroppedOnesIsWithinAPeriod() throws Exception {
+    ManualFixedFrequencyScheduler scheduler = new ManualFixedFrequencyScheduler(100);
+    schedulerMessageSource = createMessageSource(scheduler, SKIP);
+    schedulerMessageSource.start();
+
+    // The executor drops the fires due at 0 and 100 ms, and runs the one due at 200 ms late
+    Thread.sleep(250);
+    scheduler.fire();
+
+    assertThat(runs.size(), is(1));
+    assertThat(statistics.getStartedRuns(), is(1L));
+    assertThat(statistics.getMaxLateness(), is(lessThan(100L)));
+  }
+
+  @Test
+  public void statisticsRegistered() throws Exception {
+    startMessageSource(SKIP);
+    assertThat(muleContext.getStatistics().getSchedulerStatistics().contains(statistics), is(true));
+
+    schedulerMessageSource.stop();
+    schedulerMessageSource.dispose();
+    assertThat(muleContext.getStatistics().getSchedulerStatistics().contains(statistics), is(false));
+  }
+
+  private void startMessageSource(MisfirePolicy misfirePolicy) throws Exception {
+    schedulerMessageSource = createMessageSource(misfirePolicy);
+    schedulerMessageSource.start();
+  }
+
+  private DefaultSchedulerMessageSource createMessageSource(MisfirePolicy misfirePolicy) throws Exception {
+    // Only fires when triggered
+    return createMessageSource(new FixedFrequencyScheduler(1, 1, HOURS), misfirePolicy);
+  }
+
+  private DefaultSchedulerMessageSource createMessageSource(PeriodicScheduler scheduler, MisfirePolicy misfirePolicy)
+      throws Exception {
+    DefaultSchedulerMessageSource source = new DefaultSchedulerMessageSource(muleContext, scheduler, true);
+    source.setMisfirePolicy(misfirePolicy);
+    source.setAnnotations(getAppleFlowComponentLocationAnnotations());
+
+    Flow flow = createFlowWithSource(muleContext, APPLE_FLOW, source);
+    when(componentLocator.find(Location.builder().globalName(APPLE_FLOW).build())).thenReturn(of(flow));
+    ((DefaultMuleContext) muleContext).getRegistry().registerFlowConstruct(flow);
+
+    muleContext.getInjector().inject(source);
+    statistics = source.getStatistics();
+    return source;
+  }
+
+  private void finishRun(int run) throws MuleException {
+    runs.get(run).afterPhaseExecution(right(testEvent()));
+  }
+
+  private void probe(BooleanSupplier condition) {
+    new PollingProber(RECEIVE_TIMEOUT, 10).check(new JUnitLambdaProbe(condition::getAsBoolean));
+  }
+
+  /**
+   * Fixed frequency scheduler whose fires only happen when the test tells, so that it can leave some of them out.
+   */
+  private static class ManualFixedFrequencyScheduler extends PeriodicScheduler implements FixedFrequencySchedulerConfiguration {
+
+    private final long frequency;
+    private Runnable job;
+
+    private ManualFixedFrequencyScheduler(long frequency) {
+      this.frequency = frequency;
+    }
+
+    @Override
+    protected ScheduledFuture<?> doSchedule(Scheduler executor, Runnable job) {
+      this.job = job;
+      return mock(ScheduledFuture.class);
+    }
+
+    private void fire() {
+      job.run();
+    }
+
+    @Override
+    public TimeUnit getTimeUnit() {
+      return MILLISECONDS;
+    }
+
+    @Override
+    public long getFrequency() {
+      return frequency;
+    }
+
+    @Override
+    public long getStartDelay() {
+      return 0;
+    }
+  }
+}
@@ -4,6 +4,7 @@
 package org.mule.runtime.module.deployment.internal.processor;
 
 import static java.util.Collections.emptySet;
+import static java.util.Optional.empty;
 import static org.mule.runtime.api.config.FeatureFlaggingService.FEATURE_FLAGGING_SERVICE_KEY;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.ENTITY_RESOLVER_FAIL_ON_FIRST_ERROR;
 import static org.mule.runtime.ast.api.util.MuleAstUtils.emptyArtifact;
@@ -33,8 +34,10 @@ import org.mule.runtime.core.internal.registry.Registry;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactConfigurationProcessor;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
 import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+import org.mule.runtime.module.deployment.internal.processor.RuntimeSerializedAstCache.CacheEntry;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -45,19 +48,43 @@ import java.util.Set;
  */
 public final class AstXmlParserArtifactConfigurationProcessor extends AbstractAstConfigurationProcessor {
 
+  private final RuntimeSerializedAstCache serializedAstCache;
+
+  public AstXmlParserArtifactConfigurationProcessor() {
+    this.serializedAstCache = null;
+  }
+
+  /**
+   * Creates a processor that serializes the parsed {@link ArtifactAst} into the given cache, so it is not parsed again by later
+   * deployments of the same artifact.
+   *
+   * @param serializedAstCache the cache to serialize the parsed {@link ArtifactAst} to.
+   * @since 4.6
+   */
+  AstXmlParserArtifactConfigurationProcessor(RuntimeSerializedAstCache serializedAstCache) {
+    this.serializedAstCache = serializedAstCache;
+  }
+
   @Override
   protected ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration)
       throws ConfigurationException {
-    return createApplicationModel(artifactContextConfiguration.getMuleContext(),
-                                  artifactContextConfiguration.getArtifactDeclaration(),
-                                  artifactContextConfiguration.getConfigResources(),
-                                  artifactContextConfiguration.getArtifactProperties(),
-                                  artifactContextConfiguration.getArtifactType(),
-                                  artifactContextConfiguration.getParentArtifactContext()
-                                      .map(ArtifactContext::getArtifactAst)
-                                      .orElse(emptyArtifact()),
-                                  artifactContextConfiguration.isDisableXmlValidations(),
-                                  artifactContextConfiguration.getExpressionLanguageMetadataService());
+    // The key must be computed before parsing, since parsing may register extension models generated from the artifact
+    Optional<CacheEntry> cacheEntry =
+        serializedAstCache == null ? empty() : serializedAstCache.entryFor(artifactContextConfiguration);
+
+    ArtifactAst artifactAst = createApplicationModel(artifactContextConfiguration.getMuleContext(),
+                                                     artifactContextConfiguration.getArtifactDeclaration(),
+                                                     artifactContextConfiguration.getConfigResources(),
+                                                     artifactContextConfiguration.getArtifactProperties(),
+                                                     artifactContextConfiguration.getArtifactType(),
+                                                     artifactContextConfiguration.getParentArtifactContext()
+                                                         .map(ArtifactContext::getArtifactAst)
+                                                         .orElse(emptyArtifact()),
+                                                     artifactContextConfiguration.isDisableXmlValidations(),
+                                                     artifactContextConfiguration.getExpressionLanguageMetadataService());
+
+    cacheEntry.ifPresent(entry -> serializedAstCache.store(entry, artifactContextConfiguration, artifactAst));
+    return artifactAst;
   }
 
   private Set<ExtensionModel> getExtensions(ExtensionManager extensionManager) {
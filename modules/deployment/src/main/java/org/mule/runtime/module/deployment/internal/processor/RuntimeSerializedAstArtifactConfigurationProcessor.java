@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static java.lang.String.format;
+
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.config.internal.ArtifactAstConfigurationBuilder;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.ConfigurationException;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactConfigurationProcessor;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+import org.mule.runtime.module.deployment.internal.processor.RuntimeSerializedAstCache.CacheEntry;
+
+import java.util.Optional;
+
+/**
+ * Implementation of {@link ArtifactConfigurationProcessor} that reads the AST serialized by the runtime the first time the
+ * configuration of the artifact was parsed, and delegates to {@link ArtifactAstConfigurationBuilder} to create registry and
+ * populate the {@link MuleContext}.
+ *
+ * @see RuntimeSerializedAstCache
+ * @since 4.6
+ */
+class RuntimeSerializedAstArtifactConfigurationProcessor extends AbstractAstConfigurationProcessor
+    implements FallbackAllowedArtifactConfigurationProcessor {
+
+  private final RuntimeSerializedAstCache serializedAstCache;
+
+  RuntimeSerializedAstArtifactConfigurationProcessor(RuntimeSerializedAstCache serializedAstCache) {
+    this.serializedAstCache = serializedAstCache;
+  }
+
+  @Override
+  public boolean check(ArtifactContextConfiguration artifactContextConfiguration) {
+    return serializedAstCache.entryFor(artifactContextConfiguration)
+        .map(entry -> serializedAstCache.isAvailable(entry, artifactContextConfiguration))
+        .orElse(false);
+  }
+
+  @Override
+  protected ArtifactAst obtainArtifactAst(ArtifactContextConfiguration artifactContextConfiguration)
+      throws ConfigurationException {
+    Optional<CacheEntry> entry = serializedAstCache.entryFor(artifactContextConfiguration);
+    if (!entry.isPresent()) {
+      throw new ConfigurationException(new IllegalStateException("Serialized AST no longer available"));
+    }
+
+    try {
+      ArtifactAst artifactAst =
+          serializedAstCache.load(entry.get(), artifactContextConfiguration.getMuleContext().getExtensionManager());
+      if (!isEquivalentArtifactType(artifactContextConfiguration, artifactAst)) {
+        throw new IllegalStateException(format("Expected artifact type '%s' but serialized ast was '%s'",
+                                               artifactContextConfiguration.getArtifactType(),
+                                               artifactAst.getArtifactType()));
+      }
+      return artifactAst;
+    } catch (Exception e) {
+      // Parse the configuration again, which will serialize a new AST
+      serializedAstCache.invalidate(entry.get());
+      throw new ConfigurationException(e);
+    }
+  }
+
+  private boolean isEquivalentArtifactType(ArtifactContextConfiguration artifactContextConfiguration, ArtifactAst artifactAst) {
+    switch (artifactContextConfiguration.getArtifactType()) {
+      case APP:
+        return artifactAst.getArtifactType() == org.mule.runtime.ast.api.ArtifactType.APPLICATION;
+      case DOMAIN:
+        return artifactAst.getArtifactType() == org.mule.runtime.ast.api.ArtifactType.DOMAIN;
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.ast.internal.serialization.ArtifactAstSerializerFactory.JSON;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
+
+import static java.lang.Boolean.getBoolean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newBufferedReader;
+import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.comparing;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toSet;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ImportedResource;
+import org.mule.runtime.ast.api.serialization.ArtifactAstDeserializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializer;
+import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.config.MuleManifest;
+import org.mule.runtime.core.api.extension.ExtensionManager;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContext;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Keeps the {@link ArtifactAst} of an artifact that does not ship a serialized one, serialized in the working directory of the
+ * artifact after its configuration files are parsed, so later deployments of the same artifact do not have to parse them again.
+ * <p>
+ * The serialized AST is stored under a key that is a hash of everything that affects parsing: the content of the configuration
+ * files, the extension models available to the artifact, its properties and the runtime version. Files imported from the
+ * configuration files are only known after parsing, so their hashes are stored along with the serialized AST and checked before
+ * using it.
+ *
+ * @since 4.6
+ */
+final class RuntimeSerializedAstCache {
+
+  /**
+   * When set, the {@link ArtifactAst} of artifacts is not serialized to their working directory.
+   */
+  static final String DISABLE_RUNTIME_SERIALIZED_AST_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "deployment.disableRuntimeSerializedAst";
+
+  static final String CACHE_FOLDER = "serialized-ast";
+  private static final String AST_SUFFIX = ".ast";
+  private static final String IMPORTS_SUFFIX = ".imports";
+  private static final String SERIALIZATION_VERSION = "1.0";
+
+  private static final Logger LOGGER = getLogger(RuntimeSerializedAstCache.class);
+
+  private final ArtifactAstSerializer serializer = new ArtifactAstSerializerProvider().getSerializer(JSON, SERIALIZATION_VERSION);
+  private final ArtifactAstDeserializer deserializer = new ArtifactAstSerializerProvider().getDeserializer();
+
+  /**
+   * @param artifactContextConfiguration the configuration of the artifact being deployed
+   * @return the entry of the artifact, empty if the {@link ArtifactAst} of the artifact cannot be cached.
+   */
+  Optional<CacheEntry> entryFor(ArtifactContextConfiguration artifactContextConfiguration) {
+    if (getBoolean(DISABLE_RUNTIME_SERIALIZED_AST_PROPERTY)
+        || artifactContextConfiguration.getArtifactDeclaration() != null
+        // The AST of a policy depends on the application it is applied to
+        || artifactContextConfiguration.getArtifactType() == POLICY
+        || !isEmptyParent(artifactContextConfiguration)) {
+      return empty();
+    }
+
+    MuleContext muleContext = artifactContextConfiguration.getMuleContext();
+    try {
+      MessageDigest digest = newDigest();
+      update(digest, MuleManifest.getProductVersion());
+      update(digest, defaultString(MuleManifest.getBuildNumber()));
+      update(digest, artifactContextConfiguration.getArtifactType().name());
+      update(digest, String.valueOf(artifactContextConfiguration.isDisableXmlValidations()));
+
+      for (String configResource : artifactContextConfiguration.getConfigResources()) {
+        update(digest, configResource);
+        try (InputStream configStream = openResource(muleContext, configResource)) {
+          if (configStream == null) {
+            return empty();
+          }
+          update(digest, configStream);
+        }
+      }
+
+      Set<ExtensionModel> extensions = getExtensions(muleContext.getExtensionManager());
+      extensions.stream()
+          .sorted(comparing(ExtensionModel::getName))
+          .forEach(extension -> {
+            update(digest, extension.getName());
+            update(digest, extension.getVersion());
+          });
+
+      for (Entry<String, String> property : new TreeMap<>(artifactContextConfiguration.getArtifactProperties()).entrySet()) {
+        update(digest, property.getKey());
+        update(digest, defaultString(property.getValue()));
+      }
+
+      return of(new CacheEntry(Paths.get(muleContext.getConfiguration().getWorkingDirectory(), CACHE_FOLDER),
+                               toHex(digest.digest()),
+                               extensions.stream().map(ExtensionModel::getName).collect(toSet())));
+    } catch (IOException e) {
+      LOGGER.debug("Cannot compute the serialized AST key for artifact '{}'", muleContext.getConfiguration().getId(), e);
+      return empty();
+    }
+  }
+
+  /**
+   * @param entry                        the entry of the artifact
+   * @param artifactContextConfiguration the configuration of the artifact being deployed
+   * @return whether there is a serialized AST for the entry whose imported files did not change.
+   */
+  boolean isAvailable(CacheEntry entry, ArtifactContextConfiguration artifactContextConfiguration) {
+    if (!isRegularFile(entry.astFile()) || !isRegularFile(entry.importsFile())) {
+      return false;
+    }
+
+    MuleContext muleContext = artifactContextConfiguration.getMuleContext();
+    try (BufferedReader imports = newBufferedReader(entry.importsFile(), UTF_8)) {
+      String line;
+      while ((line = imports.readLine()) != null) {
+        int separator = line.indexOf(' ');
+        if (separator < 0) {
+          return false;
+        }
+        String location = line.substring(separator + 1);
+        Optional<String> currentHash = hashResource(muleContext, location);
+        if (!currentHash.isPresent() || !currentHash.get().equals(line.substring(0, separator))) {
+          LOGGER.info("Imported file '{}' of artifact '{}' changed, its configuration will be parsed", location,
+                      muleContext.getConfiguration().getId());
+          return false;
+        }
+      }
+      return true;
+    } catch (IOException e) {
+      LOGGER.debug("Cannot read the imported files of the serialized AST of artifact '{}'",
+                   muleContext.getConfiguration().getId(), e);
+      return false;
+    }
+  }
+
+  /**
+   * Deserializes the {@link ArtifactAst} stored for the given entry.
+   *
+   * @param entry            the entry of the artifact
+   * @param extensionManager the extension manager of the artifact
+   * @return the deserialized {@link ArtifactAst}.
+   * @throws IOException if the serialized AST could not be read.
+   */
+  ArtifactAst load(CacheEntry entry, ExtensionManager extensionManager) throws IOException {
+    Set<ExtensionModel> extensions = getExtensions(extensionManager);
+    try (InputStream astStream = newInputStream(entry.astFile())) {
+      return deserializer.deserialize(astStream, name -> extensions
+          .stream()
+          .filter(x -> x.getName().equals(name))
+          .findFirst()
+          .orElse(null));
+    }
+  }
+
+  /**
+   * Removes the serialized AST of the given entry, for instance because it could not be used.
+   *
+   * @param entry the entry of the artifact
+   */
+  void invalidate(CacheEntry entry) {
+    try {
+      deleteIfExists(entry.astFile());
+      deleteIfExists(entry.importsFile());
+    } catch (IOException e) {
+      LOGGER.debug("Cannot delete serialized AST '{}'", entry.astFile(), e);
+    }
+  }
+
+  /**
+   * Serializes the given {@link ArtifactAst} for the given entry, replacing any AST previously stored for the artifact. Failures
+   * are logged but do not affect the deployment.
+   *
+   * @param entry                        the entry of the artifact, obtained before parsing its configuration
+   * @param artifactContextConfiguration the configuration of the artifact being deployed
+   * @param artifactAst                  the parsed AST
+   */
+  void store(CacheEntry entry, ArtifactContextConfiguration artifactContextConfiguration, ArtifactAst artifactAst) {
+    MuleContext muleContext = artifactContextConfiguration.getMuleContext();
+    if (artifactAst.dependencies().stream().anyMatch(ext -> !entry.extensionNames.contains(ext.getName()))) {
+      // The AST depends on extension models built while parsing, which would not be available when deserializing it
+      LOGGER.debug("AST of artifact '{}' depends on extension models generated while parsing, it will not be serialized",
+                   muleContext.getConfiguration().getId());
+      return;
+    }
+
+    try {
+      StringBuilder imports = new StringBuilder();
+      for (ImportedResource importedResource : artifactAst.getImportedResources()) {
+        Optional<String> hash = importedResource.getResolutionFailure().isPresent()
+            ? empty()
+            : hashResource(muleContext, importedResource.getResourceLocation());
+        if (!hash.isPresent()) {
+          return;
+        }
+        imports.append(hash.get()).append(' ').append(importedResource.getResourceLocation()).append('\n');
+      }
+
+      createDirectories(entry.folder);
+      deleteStaleEntries(entry);
+
+      Path tempImports = entry.folder.resolve(entry.key + IMPORTS_SUFFIX + ".tmp");
+      try (BufferedWriter writer = newBufferedWriter(tempImports, UTF_8)) {
+        writer.write(imports.toString());
+      }
+      Path tempAst = entry.folder.resolve(entry.key + AST_SUFFIX + ".tmp");
+      try (InputStream serialized = serializer.serialize(artifactAst)) {
+        copy(serialized, tempAst, REPLACE_EXISTING);
+      }
+
+      move(tempImports, entry.importsFile(), REPLACE_EXISTING, ATOMIC_MOVE);
+      move(tempAst, entry.astFile(), REPLACE_EXISTING, ATOMIC_MOVE);
+      LOGGER.debug("Serialized AST of artifact '{}' to '{}'", muleContext.getConfiguration().getId(), entry.astFile());
+    } catch (Exception e) {
+      LOGGER.warn("Cannot serialize the AST of artifact '{}': {}", muleContext.getConfiguration().getId(), e.toString());
+      invalidate(entry);
+    }
+  }
+
+  private void deleteStaleEntries(CacheEntry entry) throws IOException {
+    try (DirectoryStream<Path> files = newDirectoryStream(entry.folder)) {
+      for (Path file : files) {
+        if (!file.getFileName().toString().startsWith(entry.key)) {
+          deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  private boolean isEmptyParent(ArtifactContextConfiguration artifactContextConfiguration) {
+    return artifactContextConfiguration.getParentArtifactContext()
+        .map(ArtifactContext::getArtifactAst)
+        .map(parentAst -> !parentAst.topLevelComponentsStream().findAny().isPresent())
+        .orElse(true);
+  }
+
+  private Optional<String> hashResource(MuleContext muleContext, String location) throws IOException {
+    try (InputStream resourceStream = openResource(muleContext, location)) {
+      if (resourceStream == null) {
+        return empty();
+      }
+      MessageDigest digest = newDigest();
+      update(digest, resourceStream);
+      return of(toHex(digest.digest()));
+    }
+  }
+
+  private InputStream openResource(MuleContext muleContext, String location) throws IOException {
+    InputStream resourceStream = muleContext.getExecutionClassLoader().getResourceAsStream(location);
+    if (resourceStream == null) {
+      File file = new File(location);
+      if (file.isFile()) {
+        resourceStream = new FileInputStream(file);
+      }
+    }
+    return resourceStream;
+  }
+
+  private Set<ExtensionModel> getExtensions(ExtensionManager extensionManager) {
+    return extensionManager == null ? emptySet() : extensionManager.getExtensions();
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(defaultString(value).getBytes(UTF_8));
+    // separator so consecutive values cannot be confused
+    digest.update((byte) 0);
+  }
+
+  private static void update(MessageDigest digest, InputStream stream) throws IOException {
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = stream.read(buffer)) != -1) {
+      digest.update(buffer, 0, read);
+    }
+    digest.update((byte) 0);
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  /**
+   * Location of the serialized AST of an artifact for a given key.
+   */
+  static final class CacheEntry {
+
+    private final Path folder;
+    private final String key;
+    private final Set<String> extensionNames;
+
+    private CacheEntry(Path folder, String key, Set<String> extensionNames) {
+      this.folder = folder;
+      this.key = key;
+      this.extensionNames = extensionNames;
+    }
+
+    Path astFile() {
+      return folder.resolve(key + AST_SUFFIX);
+    }
+
+    Path importsFile() {
+      return folder.resolve(key + IMPORTS_SUFFIX);
+    }
+  }
+}
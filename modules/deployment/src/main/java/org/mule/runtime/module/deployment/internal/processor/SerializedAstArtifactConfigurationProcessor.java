@@ -97,8 +97,16 @@ public class SerializedAstArtifactConfigurationProcessor extends AbstractAstConf
     return extensionManager == null ? emptySet() : extensionManager.getExtensions();
   }
 
+  /**
+   * @return an {@link ArtifactConfigurationProcessor} that uses the serialized AST shipped with the artifact if available, or
+   *         else the one serialized by the runtime the last time the same configuration was parsed, and parses the configuration
+   *         files otherwise.
+   */
   public static ArtifactConfigurationProcessor serializedAstWithFallbackArtifactConfigurationProcessor() {
-    return new FallbackArtifactConfigurationProcessor(new SerializedAstArtifactConfigurationProcessor(),
-                                                      new AstXmlParserArtifactConfigurationProcessor());
+    RuntimeSerializedAstCache serializedAstCache = new RuntimeSerializedAstCache();
+    ArtifactConfigurationProcessor xmlParserWithFallback =
+        new FallbackArtifactConfigurationProcessor(new RuntimeSerializedAstArtifactConfigurationProcessor(serializedAstCache),
+                                                   new AstXmlParserArtifactConfigurationProcessor(serializedAstCache));
+    return new FallbackArtifactConfigurationProcessor(new SerializedAstArtifactConfigurationProcessor(), xmlParserWithFallback);
   }
 }
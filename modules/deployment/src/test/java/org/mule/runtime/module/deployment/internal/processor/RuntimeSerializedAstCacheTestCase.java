@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.deployment.internal.processor;
+
+import static org.mule.runtime.config.internal.context.BaseSpringMuleContextServiceConfigurator.DISABLE_TRANSFORMERS_SUPPORT;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
+import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
+import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.getExtensionModel;
+import static org.mule.tck.util.MuleContextUtils.addExtensionModelToMock;
+import static org.mule.tck.util.MuleContextUtils.mockContextWithServices;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.core.api.config.bootstrap.ArtifactType;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.deployment.model.api.artifact.ArtifactContextConfiguration;
+import org.mule.runtime.module.deployment.internal.processor.RuntimeSerializedAstCache.CacheEntry;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RuntimeSerializedAstCacheTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder workingDirectory = new TemporaryFolder();
+
+  @Rule
+  public SystemProperty disableExpressionsSupport = new SystemProperty(DISABLE_TRANSFORMERS_SUPPORT, "true");
+
+  private final RuntimeSerializedAstCache cache = new RuntimeSerializedAstCache();
+  private MuleContextWithRegistry muleContext;
+
+  @Before
+  public void setUp() throws Exception {
+    muleContext = mockContextWithServices();
+    addExtensionModelToMock(muleContext, getExtensionModel());
+    when(muleContext.getConfiguration().getWorkingDirectory()).thenReturn(workingDirectory.getRoot().getAbsolutePath());
+    when(muleContext.getExecutionClassLoader()).thenReturn(currentThread().getContextClassLoader());
+  }
+
+  @Test
+  public void parsedAstIsAvailableForLaterDeployments() throws Exception {
+    ArtifactContextConfiguration configuration = configuration(APP, singletonMap("key", "value"));
+    CacheEntry entry = cache.entryFor(configuration).get();
+    assertThat(cache.isAvailable(entry, configuration), is(false));
+
+    new AstXmlParserArtifactConfigurationProcessor(cache).createArtifactContext(configuration);
+
+    assertThat(cache.isAvailable(entry, configuration), is(true));
+    ArtifactAst artifactAst = cache.load(entry, muleContext.getExtensionManager());
+    assertThat(artifactAst.topLevelComponents().get(0).getComponentId().get(), is("service"));
+  }
+
+  @Test
+  public void differentPropertiesUseDifferentEntries() {
+    CacheEntry entry = cache.entryFor(configuration(APP, singletonMap("key", "value"))).get();
+    CacheEntry otherEntry = cache.entryFor(configuration(APP, singletonMap("key", "otherValue"))).get();
+
+    assertThat(otherEntry.astFile(), is(not(entry.astFile())));
+  }
+
+  @Test
+  public void invalidatedEntryIsNotAvailable() throws Exception {
+    ArtifactContextConfiguration configuration = configuration(APP, singletonMap("key", "value"));
+    CacheEntry entry = cache.entryFor(configuration).get();
+    new AstXmlParserArtifactConfigurationProcessor(cache).createArtifactContext(configuration);
+
+    cache.invalidate(entry);
+
+    assertThat(cache.isAvailable(entry, configuration), is(false));
+  }
+
+  @Test
+  public void policiesAreNotCached() {
+    assertThat(cache.entryFor(configuration(POLICY, singletonMap("key", "value"))).isPresent(), is(false));
+  }
+
+  private ArtifactContextConfiguration configuration(ArtifactType artifactType, Map<String, String> properties) {
+    return ArtifactContextConfiguration.builder()
+        .setConfigResources(new String[] {"simple.xml"})
+        .setArtifactType(artifactType)
+        .setArtifactProperties(properties)
+        .setMuleContext(muleContext)
+        .setEnableLazyInitialization(false)
+        .setDisableXmlValidations(false)
+        .build();
+  }
+}
@@ -3,10 +3,11 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.util.Comparator.comparingLong;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_METER_PROVIDER_KEY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -14,6 +15,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.extension.api.values.ValueResolvingException.UNKNOWN;
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
 import static org.mule.runtime.module.extension.internal.value.ValueProviderUtils.valuesWithClassLoader;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -32,6 +34,7 @@ import org.mule.runtime.api.value.Value;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.el.ExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.extension.api.runtime.ExpirationPolicy;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
@@ -39,6 +42,8 @@ import org.mule.runtime.extension.api.runtime.config.ConfigurationStats;
 import org.mule.runtime.extension.api.runtime.config.ExpirableConfigurationProvider;
 import org.mule.runtime.extension.api.values.ConfigurationParameterValueProvider;
 import org.mule.runtime.extension.api.values.ValueResolvingException;
+import org.mule.runtime.metrics.api.MeterProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ConnectionProviderValueResolver;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult;
@@ -47,14 +52,16 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
@@ -66,6 +73,10 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * Cached instances are kept in a queue ordered by the last time they were used, so that {@link #getExpired()} only visits the
+ * instances that may have expired instead of the whole cache, and {@link #get(Event)} does not need to lock the cache against
+ * concurrent expirations.
  *
  * @since 4.0.0
  */
@@ -74,15 +85,31 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   private static final Logger LOGGER = getLogger(DynamicConfigurationProvider.class);
 
+  public static final String DYNAMIC_CONFIGURATION_STATISTICS_NAME = "dynamic.configuration.statistics";
+  public static final String DYNAMIC_CONFIGURATION_STATISTICS_DESCRIPTION = "Dynamic Configuration Statistics";
+  public static final String DYNAMIC_CONFIGURATION_NAME_ATTRIBUTE = "mule.configuration.name";
+  public static final String LIVE_INSTANCES_NAME = "live.instances";
+  public static final String LIVE_INSTANCES_DESCRIPTION = "Live Dynamic Configuration Instances";
+  public static final String CREATED_INSTANCES_NAME = "created.instances";
+  public static final String CREATED_INSTANCES_DESCRIPTION = "Created Dynamic Configuration Instances";
+  public static final String EXPIRED_INSTANCES_NAME = "expired.instances";
+  public static final String EXPIRED_INSTANCES_DESCRIPTION = "Expired Dynamic Configuration Instances";
+
   private final ConfigurationInstanceFactory configurationInstanceFactory;
   private final ResolverSet resolverSet;
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final Map<Pair<ResolverSetResult, ResolverSetResult>, CachedConfiguration> cache = new ConcurrentHashMap<>();
+
+  // Instances created since the last expiration check, waiting to be added to the expirationQueue
+  private final Queue<CachedConfiguration> createdConfigurations = new ConcurrentLinkedQueue<>();
+  // Only accessed from getExpired(), ordered by the last usage of the instances when they were queued
+  private final PriorityQueue<CachedConfiguration> expirationQueue =
+      new PriorityQueue<>(comparingLong(cached -> cached.queuedLastUsed));
+
+  private final AtomicLong createdInstances = new AtomicLong(0);
+  private final AtomicLong expiredInstances = new AtomicLong(0);
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
@@ -143,22 +170,25 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
       throws Exception {
 
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
     try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
-      updateUsageStatistic(configuration);
-      return configuration;
+      while (true) {
+        CachedConfiguration cached = cache.computeIfAbsent(resolverSetResult, (r) -> createCachedConfiguration(r, event));
+        if (cached.use()) {
+          return cached.configuration;
+        }
+        // expired concurrently, so a new instance is needed
+        cache.remove(resolverSetResult, cached);
+      }
     } catch (WrappingRuntimeException e) {
       throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
     }
   }
 
-  private void updateUsageStatistic(ConfigurationInstance configuration) {
-    MutableConfigurationStats stats = (MutableConfigurationStats) configuration.getStatistics();
-    stats.updateLastUsed();
+  private CachedConfiguration createCachedConfiguration(Pair<ResolverSetResult, ResolverSetResult> values, CoreEvent event) {
+    CachedConfiguration cached = new CachedConfiguration(values, createConfiguration(values, event));
+    createdConfigurations.add(cached);
+    createdInstances.incrementAndGet();
+    return cached;
   }
 
   private ConfigurationInstance createConfiguration(Pair<ResolverSetResult, ResolverSetResult> values, CoreEvent event) {
@@ -224,17 +254,32 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   }
 
   @Override
-  public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+  public synchronized List<ConfigurationInstance> getExpired() {
+    CachedConfiguration created;
+    while ((created = createdConfigurations.poll()) != null) {
+      created.queuedLastUsed = created.getLastUsedMillis();
+      expirationQueue.add(created);
+    }
+
+    List<ConfigurationInstance> expired = new ArrayList<>();
+    List<CachedConfiguration> notExpired = new ArrayList<>();
+    // An instance cannot have expired unless it was already idle for long enough when it was queued, so the check stops at the
+    // first instance that was not.
+    while (!expirationQueue.isEmpty() && expirationPolicy.isExpired(expirationQueue.peek().queuedLastUsed, MILLISECONDS)) {
+      CachedConfiguration candidate = expirationQueue.poll();
+      if (candidate.expire()) {
+        cache.remove(candidate.key, candidate);
+        unRegisterConfiguration(candidate.configuration);
+        expired.add(candidate.configuration);
+      } else {
+        candidate.queuedLastUsed = candidate.getLastUsedMillis();
+        notExpired.add(candidate);
+      }
     }
+    expirationQueue.addAll(notExpired);
+
+    expiredInstances.addAndGet(expired.size());
+    return expired;
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -250,6 +295,61 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     } catch (InitialisationException e) {
       throw new MuleRuntimeException(e);
     }
+    trackUsingMeterProvider();
+  }
+
+  private void trackUsingMeterProvider() {
+    if (!(muleContext instanceof MuleContextWithRegistry)) {
+      return;
+    }
+
+    MeterProvider meterProvider = ((MuleContextWithRegistry) muleContext).getRegistry().lookupObject(MULE_METER_PROVIDER_KEY);
+    if (meterProvider == null) {
+      return;
+    }
+
+    Meter meter = meterProvider.getMeterBuilder(DYNAMIC_CONFIGURATION_STATISTICS_NAME)
+        .withDescription(DYNAMIC_CONFIGURATION_STATISTICS_DESCRIPTION)
+        .withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, muleContext.getConfiguration().getId())
+        .withMeterAttribute(DYNAMIC_CONFIGURATION_NAME_ATTRIBUTE, getName())
+        .build();
+
+    meter.upDownCounterBuilder(LIVE_INSTANCES_NAME)
+        .withValueSupplier(this::getLiveInstances)
+        .withDescription(LIVE_INSTANCES_DESCRIPTION).build();
+
+    meter.counterBuilder(CREATED_INSTANCES_NAME)
+        .withValueSupplier(createdInstances::get)
+        .withConsumerForAddOperation(createdInstances::addAndGet)
+        .withSupplierForIncrementAndGetOperation(createdInstances::incrementAndGet)
+        .withDescription(CREATED_INSTANCES_DESCRIPTION).build();
+
+    meter.counterBuilder(EXPIRED_INSTANCES_NAME)
+        .withValueSupplier(expiredInstances::get)
+        .withConsumerForAddOperation(expiredInstances::addAndGet)
+        .withSupplierForIncrementAndGetOperation(expiredInstances::incrementAndGet)
+        .withDescription(EXPIRED_INSTANCES_DESCRIPTION).build();
+  }
+
+  /**
+   * @return the amount of configuration instances currently cached by this provider.
+   */
+  long getLiveInstances() {
+    return cache.size();
+  }
+
+  /**
+   * @return the amount of configuration instances created by this provider.
+   */
+  long getCreatedInstances() {
+    return createdInstances.get();
+  }
+
+  /**
+   * @return the amount of configuration instances of this provider that expired.
+   */
+  long getExpiredInstances() {
+    return expiredInstances.get();
   }
 
   @Override
@@ -351,6 +451,59 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * A cached {@link ConfigurationInstance}.
+   * <p>
+   * {@link #use()} and {@link #expire()} race on the {@code usages} stamp, so that an instance is never returned by
+   * {@link #get(Event)} once it was expired, nor expired if it was used after its expiration was checked.
+   */
+  private final class CachedConfiguration {
+
+    private static final long EXPIRED = -1;
+
+    private final Pair<ResolverSetResult, ResolverSetResult> key;
+    private final ConfigurationInstance configuration;
+    private final AtomicLong usages = new AtomicLong(0);
+
+    // The last usage of the instance when it was added to the expirationQueue
+    private long queuedLastUsed;
+
+    private CachedConfiguration(Pair<ResolverSetResult, ResolverSetResult> key, ConfigurationInstance configuration) {
+      this.key = key;
+      this.configuration = configuration;
+    }
+
+    /**
+     * Updates the last usage of the instance.
+     *
+     * @return {@code false} if the instance already expired and must not be used.
+     */
+    private boolean use() {
+      // The last usage is updated before the stamp so that expire() either sees the updated value or fails to set the stamp.
+      ((MutableConfigurationStats) configuration.getStatistics()).updateLastUsed();
+      long current;
+      do {
+        current = usages.get();
+        if (current == EXPIRED) {
+          return false;
+        }
+      } while (!usages.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    /**
+     * @return whether the instance was expired by this call.
+     */
+    private boolean expire() {
+      long current = usages.get();
+      return current != EXPIRED && isExpired(configuration) && usages.compareAndSet(current, EXPIRED);
+    }
+
+    private long getLastUsedMillis() {
+      return configuration.getStatistics().getLastUsedMillis();
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no
    * longer throw checked exception as it is used inside {@link Map#computeIfAbsent}.
@@ -137,8 +137,17 @@ public final class LifecycleAwareConfigurationInstance implements ConfigurationI
         }
 
         connectivityTester = connectivityTesterFactory.create(getName());
-        connectivityTester.testConnectivity(connectionProvider.get(), this);
+        // The test may be joined after this returns, while the context is starting
+        connectivityTester.testConnectivity(connectionProvider.get(), this, this::startValue);
+      } else {
+        startIfNeeded(value);
       }
+    }
+  }
+
+  private synchronized void startValue() throws MuleException {
+    // Skip it if this was stopped before the connectivity test was joined
+    if (started) {
       startIfNeeded(value);
     }
   }
@@ -4,21 +4,30 @@
 package org.mule.runtime.module.extension.internal.runtime.connectivity.oauth;
 
 import static org.mule.runtime.api.store.ObjectStoreManager.BASE_PERSISTENT_OBJECT_STORE_KEY;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 
+import static java.lang.Long.getLong;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toMap;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import org.mule.oauth.client.api.state.ResourceOwnerOAuthContext;
 import org.mule.runtime.api.el.MuleExpressionLanguage;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
@@ -30,8 +39,11 @@ import org.mule.runtime.oauth.api.OAuthService;
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -43,6 +55,10 @@ import org.slf4j.Logger;
  * base functionality.
  * <p>
  * One concrete implementation of this class must exist per each supported grant type.
+ * <p>
+ * Concurrent refreshes of the same token are collapsed into a single one. If enabled through
+ * {@link #PROACTIVE_REFRESH_MARGIN_PROPERTY}, tokens which declare an expiration and are in use are refreshed in the background
+ * shortly before they expire, so that requests don't have to fail before the token is refreshed.
  *
  * @param <Dancer> The generic type of the OAuth dancer to use
  */
@@ -50,6 +66,23 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
 
   private static final Logger LOGGER = getLogger(OAuthHandler.class);
 
+  /**
+   * How many milliseconds before the expiration of an access token it is refreshed in the background. Tokens are never refreshed
+   * before half their lifetime has passed. Defaults to 0, which disables the background refresh, so that tokens are only
+   * refreshed once a request fails because of them.
+   * <p>
+   * In a cluster, only the primary node refreshes tokens in the background.
+   *
+   * @since 4.6
+   */
+  public static final String PROACTIVE_REFRESH_MARGIN_PROPERTY = SYSTEM_PROPERTY_PREFIX + "oauth.proactiveRefreshMargin";
+
+  private static final long DEFAULT_PROACTIVE_REFRESH_MARGIN = getLong(PROACTIVE_REFRESH_MARGIN_PROPERTY, 0L);
+
+  // A token expiration reported this soon after the token was refreshed is taken as coming from a request sent with the
+  // previous token
+  private static final long STALE_EXPIRATION_WINDOW_NANOS = SECONDS.toNanos(5);
+
   @Inject
   protected MuleContext muleContext;
 
@@ -72,6 +105,12 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
   protected final Map<String, Dancer> dancers = new ConcurrentHashMap<>();
   protected boolean started = false;
 
+  private final Map<String, CompletableFuture<Void>> refreshesInFlight = new ConcurrentHashMap<>();
+  private final Map<String, ScheduledRefresh> scheduledRefreshes = new ConcurrentHashMap<>();
+  private final Map<String, RefreshedToken> lastRefreshes = new ConcurrentHashMap<>();
+  private long proactiveRefreshMargin = DEFAULT_PROACTIVE_REFRESH_MARGIN;
+  private Scheduler refreshScheduler;
+
   protected Map<String, String> getParameterExtractors(OAuthConfig config) {
     return getParameterExtractors(config.getParameterExtractors());
   }
@@ -92,7 +131,9 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
     for (Dancer dancer : dancers.values()) {
       start(dancer);
     }
-    started = true;
+    synchronized (this) {
+      started = true;
+    }
   }
 
   protected void start(Dancer dancer) throws MuleException {
@@ -102,6 +143,11 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
 
   @Override
   public void stop() throws MuleException {
+    synchronized (this) {
+      // No background refresh is scheduled from now on
+      started = false;
+    }
+
     dancers.forEach((key, dancer) -> {
       try {
         disable(key, dancer);
@@ -110,6 +156,198 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
       }
     });
     dancers.clear();
+
+    scheduledRefreshes.values().forEach(ScheduledRefresh::cancel);
+    scheduledRefreshes.clear();
+    lastRefreshes.clear();
+    synchronized (this) {
+      if (refreshScheduler != null) {
+        refreshScheduler.stop();
+        refreshScheduler = null;
+      }
+    }
+  }
+
+  /**
+   * Performs the given {@code refresh} unless one for the same {@code key} is already in flight, in which case the caller gets
+   * that one instead.
+   * <p>
+   * Nothing is done either if the token to refresh has already been replaced, which is when the current token is not
+   * {@code accessToken}. If the caller doesn't know which token it wants to refresh, a token refreshed less than a few seconds
+   * ago is taken as already replacing it, so that requests sent with the previous token which fail late don't refresh it again.
+   *
+   * @param key         identifies the token being refreshed
+   * @param accessToken the token to refresh, or {@code null} if unknown
+   * @param context     provides the current state of the token
+   * @param refresh     starts the refresh of the token
+   * @return a future completed when the refresh is done
+   * @since 4.6
+   */
+  protected CompletableFuture<Void> refreshOnce(String key, String accessToken, Supplier<ResourceOwnerOAuthContext> context,
+                                                Supplier<CompletableFuture<?>> refresh) {
+    CompletableFuture<Void> inFlight = refreshesInFlight.get(key);
+    if (inFlight != null) {
+      return inFlight;
+    }
+
+    String currentAccessToken = accessTokenOf(context.get());
+    if (currentAccessToken != null && (accessToken != null
+        ? !accessToken.equals(currentAccessToken)
+        : isJustRefreshed(key, currentAccessToken))) {
+      return completedFuture(null);
+    }
+
+    CompletableFuture<Void> newRefresh = new CompletableFuture<>();
+    inFlight = refreshesInFlight.putIfAbsent(key, newRefresh);
+    if (inFlight != null) {
+      return inFlight;
+    }
+
+    try {
+      refresh.get().whenComplete((v, e) -> {
+        if (e == null) {
+          String refreshedAccessToken = accessTokenOf(context.get());
+          if (refreshedAccessToken != null) {
+            lastRefreshes.put(key, new RefreshedToken(refreshedAccessToken));
+          }
+        }
+        refreshesInFlight.remove(key, newRefresh);
+        if (e != null) {
+          newRefresh.completeExceptionally(e);
+        } else {
+          newRefresh.complete(null);
+        }
+      });
+    } catch (RuntimeException e) {
+      refreshesInFlight.remove(key, newRefresh);
+      newRefresh.completeExceptionally(e);
+    }
+    return newRefresh;
+  }
+
+  private boolean isJustRefreshed(String key, String accessToken) {
+    RefreshedToken lastRefresh = lastRefreshes.get(key);
+    return lastRefresh != null && lastRefresh.accessToken.equals(accessToken)
+        && nanoTime() - lastRefresh.refreshedAt < STALE_EXPIRATION_WINDOW_NANOS;
+  }
+
+  private static String accessTokenOf(ResourceOwnerOAuthContext context) {
+    return context != null ? context.getAccessToken() : null;
+  }
+
+  /**
+   * Schedules the background refresh of the access token of the given {@code context}, shortly before it expires. Nothing is done
+   * if the background refresh is disabled, the token doesn't declare its expiration, this is not the primary node of the cluster
+   * or the handler is stopped. If the refresh of the token is already scheduled, it is just recorded that the token is still in
+   * use.
+   * <p>
+   * When the time comes, the token is only refreshed if it was used again since the refresh was scheduled, so that tokens of
+   * resource owners which are no longer in use stop being refreshed.
+   * <p>
+   * The expiration is counted from the moment the token is first seen here, so tokens obtained long before may still expire
+   * before their refresh.
+   *
+   * @param key              identifies the token being refreshed
+   * @param context          the current state of the token
+   * @param refresh          starts the refresh of the token
+   * @param refreshedContext provides the state of the token after it was refreshed, to schedule its next refresh
+   * @since 4.6
+   */
+  protected void scheduleProactiveRefresh(String key, ResourceOwnerOAuthContext context, Supplier<CompletableFuture<?>> refresh,
+                                          Supplier<ResourceOwnerOAuthContext> refreshedContext) {
+    if (proactiveRefreshMargin <= 0 || context == null || context.getAccessToken() == null) {
+      return;
+    }
+
+    ScheduledRefresh current = scheduledRefreshes.get(key);
+    if (current != null && current.accessToken.equals(context.getAccessToken())) {
+      current.used = true;
+      return;
+    }
+
+    long expiresIn = expiresInMillis(context.getExpiresIn());
+    if (expiresIn <= 0 || !muleContext.isPrimaryPollingInstance()) {
+      return;
+    }
+
+    ScheduledRefresh scheduled = new ScheduledRefresh(context.getAccessToken());
+    if (current == null ? scheduledRefreshes.putIfAbsent(key, scheduled) != null
+        : !scheduledRefreshes.replace(key, current, scheduled)) {
+      // another thread scheduled the refresh of this token in the meantime
+      return;
+    }
+    if (current != null) {
+      current.cancel();
+    }
+
+    long delay = expiresIn - min(proactiveRefreshMargin, expiresIn / 2);
+    synchronized (this) {
+      if (!started) {
+        scheduledRefreshes.remove(key, scheduled);
+        return;
+      }
+
+      scheduled.future = getRefreshScheduler().schedule(() -> {
+        if (!scheduled.used || !muleContext.isPrimaryPollingInstance()) {
+          // Scheduled again by the next use of the token
+          scheduledRefreshes.remove(key, scheduled);
+          return;
+        }
+
+        refreshOnce(key, scheduled.accessToken, refreshedContext, refresh).whenComplete((v, e) -> {
+          scheduledRefreshes.remove(key, scheduled);
+          if (e != null) {
+            LOGGER.warn("Could not refresh OAuth token '{}' before its expiration, it will be refreshed once a request fails",
+                        key, e);
+          } else {
+            scheduleProactiveRefresh(key, refreshedContext.get(), refresh, refreshedContext);
+          }
+        });
+      }, delay, MILLISECONDS);
+    }
+  }
+
+  /**
+   * Cancels the background refresh of the token with the given {@code key}, if any.
+   *
+   * @param key identifies the token
+   * @since 4.6
+   */
+  protected void cancelProactiveRefresh(String key) {
+    lastRefreshes.remove(key);
+    ScheduledRefresh scheduled = scheduledRefreshes.remove(key);
+    if (scheduled != null) {
+      scheduled.cancel();
+    }
+  }
+
+  /**
+   * @param proactiveRefreshMargin how many milliseconds before the expiration of a token it is refreshed in the background, or
+   *                               0 to disable the background refresh.
+   * @since 4.6
+   */
+  public void setProactiveRefreshMargin(long proactiveRefreshMargin) {
+    this.proactiveRefreshMargin = proactiveRefreshMargin;
+  }
+
+  private static long expiresInMillis(String expiresIn) {
+    if (expiresIn == null) {
+      return -1;
+    }
+
+    try {
+      return SECONDS.toMillis(Long.parseLong(expiresIn.trim()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private synchronized Scheduler getRefreshScheduler() {
+    if (refreshScheduler == null) {
+      refreshScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName("oauth.token.refresh"));
+    }
+    return refreshScheduler;
   }
 
   @Override
@@ -141,4 +379,31 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
     return objectStoreLocator;
   }
 
+  private static final class ScheduledRefresh {
+
+    private final String accessToken;
+    private volatile boolean used;
+    private volatile ScheduledFuture<?> future;
+
+    private ScheduledRefresh(String accessToken) {
+      this.accessToken = accessToken;
+    }
+
+    private void cancel() {
+      ScheduledFuture<?> scheduled = future;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+    }
+  }
+
+  private static final class RefreshedToken {
+
+    private final String accessToken;
+    private final long refreshedAt = nanoTime();
+
+    private RefreshedToken(String accessToken) {
+      this.accessToken = accessToken;
+    }
+  }
 }
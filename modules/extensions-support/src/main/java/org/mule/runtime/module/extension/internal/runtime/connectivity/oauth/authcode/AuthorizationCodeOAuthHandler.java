@@ -92,7 +92,8 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
   }
 
   /**
-   * Performs the refresh token flow
+   * Performs the refresh token flow. If a refresh for the same resource owner is already in flight, this waits for that one
+   * instead of starting another, and if the token was refreshed a few seconds ago, it is not refreshed again.
    *
    * @param ownerConfigName the name of the extension config which obtained the token
    * @param resourceOwnerId the id of the user to be invalidated
@@ -101,7 +102,8 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
     AuthorizationCodeOAuthDancer dancer = dancers.get(ownerConfigName);
 
     try {
-      dancer.refreshToken(resourceOwnerId).get();
+      refreshOnce(refreshKey(ownerConfigName, resourceOwnerId), null, () -> dancer.getContextForResourceOwner(resourceOwnerId),
+                  () -> dancer.refreshToken(resourceOwnerId)).get();
     } catch (Exception e) {
       throw new MuleRuntimeException(
                                      createStaticMessage(format("Could not refresh token for resourceOwnerId '%s' using config '%s'",
@@ -128,6 +130,11 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
       return empty();
     }
 
+    String resourceOwnerId = config.getResourceOwnerId();
+    scheduleProactiveRefresh(refreshKey(config.getOwnerConfigName(), resourceOwnerId), contextForResourceOwner,
+                             () -> dancer.refreshToken(resourceOwnerId),
+                             () -> dancer.getContextForResourceOwner(resourceOwnerId));
+
     return of(contextForResourceOwner);
   }
 
@@ -143,9 +150,14 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
       return;
     }
 
+    cancelProactiveRefresh(refreshKey(ownerConfigName, resourceOwnerId));
     dancer.invalidateContext(resourceOwnerId);
   }
 
+  private String refreshKey(String ownerConfigName, String resourceOwnerId) {
+    return ownerConfigName + "-" + resourceOwnerId;
+  }
+
   private AuthorizationCodeOAuthDancer createDancer(AuthorizationCodeConfig config, List<AuthorizationCodeListener> listeners)
       throws MuleException {
     checkArgument(listeners != null, "listeners cannot be null");
@@ -48,7 +48,8 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
   }
 
   /**
-   * Performs the refresh token flow
+   * Performs the refresh token flow. If a refresh for the same config is already in flight, this waits for that one instead of
+   * starting another, and if the token was refreshed a few seconds ago, it is not refreshed again.
    *
    * @param config a registered {@link ClientCredentialsConfig}
    */
@@ -56,7 +57,7 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
     ClientCredentialsOAuthDancer dancer = dancers.get(config.getConfigIdentifier());
 
     try {
-      dancer.refreshToken().get();
+      refreshOnce(config.getConfigIdentifier(), null, dancer::getContext, dancer::refreshToken).get();
     } catch (Exception e) {
       throw new MuleRuntimeException(
                                      createStaticMessage(format("Could not refresh token for config '%s'",
@@ -94,6 +95,8 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
       }
     }
 
+    scheduleProactiveRefresh(config.getConfigIdentifier(), contextForResourceOwner, dancer::refreshToken, dancer::getContext);
+
     return contextForResourceOwner;
   }
 
@@ -108,6 +111,7 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
       return;
     }
 
+    cancelProactiveRefresh(config.getConfigIdentifier());
     dancer.invalidateContext();
   }
 
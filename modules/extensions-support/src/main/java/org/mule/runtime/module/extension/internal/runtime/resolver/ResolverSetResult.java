@@ -7,7 +7,6 @@ import static java.util.Collections.unmodifiableMap;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
-import org.mule.runtime.api.util.LazyValue;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -70,10 +69,13 @@ public class ResolverSetResult {
   }
 
   private final Map<String, Object> evaluationResult;
-  private final LazyValue<Integer> hashCode = new LazyValue<>(this::calculateHashCode);
+  private final int hashCode;
 
   ResolverSetResult(Map<String, Object> evaluationResult) {
     this.evaluationResult = evaluationResult;
+    // The evaluation result is immutable, so the hash is computed once. Instances are mostly used as cache keys, which are
+    // hashed on every lookup.
+    this.hashCode = calculateHashCode();
   }
 
   /**
@@ -92,15 +94,23 @@ public class ResolverSetResult {
    * implementation of {@link Object#equals(Object)}. For the case of a {@code null} value, equality requires the other one to be
    * {@code null} as well.
    * <p>
-   * This implementation fails fast. Evaluation is finished at the first non equal value, returning {@code false}
+   * This implementation fails fast. Instances with different hash codes or a different amount of values are not equal without
+   * comparing any value, and otherwise evaluation is finished at the first non equal value, returning {@code false}
    *
    * @param obj the object to test for equality
    * @return whether the two objects are equal
    */
   @Override
   public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+
     if (obj instanceof ResolverSetResult) {
       ResolverSetResult other = (ResolverSetResult) obj;
+      if (hashCode != other.hashCode() || evaluationResult.size() != other.asMap().size()) {
+        return false;
+      }
       return evaluationResult.entrySet()
           .stream()
           .allMatch(entry -> Objects.equal(entry.getValue(), other.get(entry.getKey())));
@@ -111,7 +121,7 @@ public class ResolverSetResult {
 
   @Override
   public int hashCode() {
-    return hashCode.get();
+    return hashCode;
   }
 
   private int calculateHashCode() {
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source.poll;
+
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Buffers the reads and writes that a single poll of a {@link PollingSourceWrapper} does over the recently processed ids and the
+ * ids on updated watermark object stores, so that those are done in bulk instead of once per polled item.
+ * <p>
+ * The stored recently processed ids are read at once the first time they are needed. Writes are kept in memory, collapsing
+ * repeated writes for the same id, until {@link #flush()} is called. This is only valid while the watermark lock of the source
+ * is held, since that lock guarantees no one else modifies these object stores during the poll.
+ * <p>
+ * Items are handed to the flow before their ids are flushed, so if the runtime crashes before a flush, at most the items
+ * accepted since the last flush may be polled and processed again. {@link #isFlushRequired()} bounds that amount.
+ *
+ * @since 4.6
+ */
+public class PollWatermarkIdsBatch {
+
+  private final ObjectStore<Serializable> recentlyProcessedIds;
+  private final ObjectStore<Serializable> idsOnUpdatedWatermark;
+  private final int maxPendingIds;
+
+  private Map<String, Serializable> storedRecentlyProcessedIds;
+  private Set<String> storedIdsOnUpdatedWatermark;
+
+  private final Map<String, Serializable> pendingRecentlyProcessedIds = new LinkedHashMap<>();
+  private final Map<String, Serializable> pendingIdsOnUpdatedWatermark = new LinkedHashMap<>();
+  private boolean idsOnUpdatedWatermarkCleared = false;
+
+  public PollWatermarkIdsBatch(ObjectStore<Serializable> recentlyProcessedIds, ObjectStore<Serializable> idsOnUpdatedWatermark,
+                               int maxPendingIds) {
+    this.recentlyProcessedIds = recentlyProcessedIds;
+    this.idsOnUpdatedWatermark = idsOnUpdatedWatermark;
+    this.maxPendingIds = maxPendingIds;
+  }
+
+  /**
+   * @param itemId the id of a polled item
+   * @return the watermark the item had when it was recently processed, if it was.
+   * @throws ObjectStoreException if the recently processed ids could not be read
+   */
+  public Optional<Serializable> getRecentlyProcessedWatermark(String itemId) throws ObjectStoreException {
+    Serializable pending = pendingRecentlyProcessedIds.get(itemId);
+    if (pending != null) {
+      return Optional.of(pending);
+    }
+    return ofNullable(getStoredRecentlyProcessedIds().get(itemId));
+  }
+
+  /**
+   * Records that the item with the given id was processed with the given watermark.
+   */
+  public void addToRecentlyProcessedIds(String itemId, Serializable itemWatermark) {
+    pendingRecentlyProcessedIds.put(itemId, itemWatermark);
+  }
+
+  /**
+   * Records that the item with the given id has the highest watermark value found so far.
+   */
+  public void addToUpdatedWatermark(String itemId, Serializable itemWatermark) {
+    pendingIdsOnUpdatedWatermark.put(itemId, itemWatermark);
+  }
+
+  /**
+   * Discards the ids on the updated watermark, both the stored and the pending ones, because a new highest watermark was found.
+   */
+  public void clearIdsOnUpdatedWatermark() {
+    pendingIdsOnUpdatedWatermark.clear();
+    idsOnUpdatedWatermarkCleared = true;
+  }
+
+  /**
+   * @return whether enough writes are pending that they should be flushed before accepting more items.
+   */
+  public boolean isFlushRequired() {
+    return pendingRecentlyProcessedIds.size() + pendingIdsOnUpdatedWatermark.size() >= maxPendingIds;
+  }
+
+  /**
+   * Writes all the pending changes to the object stores.
+   *
+   * @throws ObjectStoreException if any of the object stores could not be written
+   */
+  public void flush() throws ObjectStoreException {
+    Map<String, Serializable> stored = getStoredRecentlyProcessedIds();
+    for (Map.Entry<String, Serializable> entry : pendingRecentlyProcessedIds.entrySet()) {
+      if (stored.containsKey(entry.getKey())) {
+        recentlyProcessedIds.remove(entry.getKey());
+      }
+      recentlyProcessedIds.store(entry.getKey(), entry.getValue());
+      stored.put(entry.getKey(), entry.getValue());
+    }
+    pendingRecentlyProcessedIds.clear();
+
+    if (idsOnUpdatedWatermarkCleared) {
+      idsOnUpdatedWatermark.clear();
+      storedIdsOnUpdatedWatermark = new HashSet<>();
+      idsOnUpdatedWatermarkCleared = false;
+    }
+
+    if (!pendingIdsOnUpdatedWatermark.isEmpty()) {
+      Set<String> storedIds = getStoredIdsOnUpdatedWatermark();
+      for (Map.Entry<String, Serializable> entry : pendingIdsOnUpdatedWatermark.entrySet()) {
+        if (storedIds.contains(entry.getKey())) {
+          idsOnUpdatedWatermark.remove(entry.getKey());
+        }
+        idsOnUpdatedWatermark.store(entry.getKey(), entry.getValue());
+        storedIds.add(entry.getKey());
+      }
+      pendingIdsOnUpdatedWatermark.clear();
+    }
+  }
+
+  private Map<String, Serializable> getStoredRecentlyProcessedIds() throws ObjectStoreException {
+    if (storedRecentlyProcessedIds == null) {
+      storedRecentlyProcessedIds = new HashMap<>(recentlyProcessedIds.retrieveAll());
+    }
+    return storedRecentlyProcessedIds;
+  }
+
+  private Set<String> getStoredIdsOnUpdatedWatermark() throws ObjectStoreException {
+    if (storedIdsOnUpdatedWatermark == null) {
+      storedIdsOnUpdatedWatermark = new HashSet<>(idsOnUpdatedWatermark.allKeys());
+    }
+    return storedIdsOnUpdatedWatermark;
+  }
+}
@@ -4,6 +4,7 @@
 package org.mule.runtime.module.extension.internal.runtime.source.poll;
 
 import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
 import static java.util.Comparator.naturalOrder;
@@ -20,6 +21,7 @@ import static org.mule.runtime.api.notification.PollingSourceNotification.POLL_S
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedPersistent;
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedTransient;
 import static org.mule.runtime.api.util.MuleSystemProperties.EMIT_POLLING_SOURCE_NOTIFICATIONS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
 import static org.mule.runtime.core.internal.util.ConcurrencyUtils.safeUnlock;
@@ -51,6 +53,8 @@ import org.mule.runtime.api.notification.PollingSourceItemNotification;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.scheduler.SchedulingStrategy;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
@@ -71,7 +75,6 @@ import org.mule.sdk.api.runtime.source.SourceCallbackContext;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -113,6 +116,12 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   private static final String UPDATE_PROCESSED_LOCK = "OSClearing";
   private static final String INFLIGHT_IDS_OS_NAME_SUFFIX = "inflight-ids";
 
+  /**
+   * Max amount of item ids written to the watermark object stores in a single batch. Bounds how many items may be processed
+   * again if the runtime crashes in the middle of a poll.
+   */
+  private static final int WATERMARK_IDS_BATCH_SIZE = getInteger(SYSTEM_PROPERTY_PREFIX + "polling.watermarkIdsBatchSize", 1000);
+
   private final PollingSource<T, A> delegate;
   private final SchedulingStrategy scheduler;
   private final int maxItemsPerPoll;
@@ -238,10 +247,12 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
                      e);
         dispatchPollingSourceNotification(POLL_FAILURE, componentLocation.getLocation(), pollContext.getPollId());
         systemExceptionHandler.handleException(e, componentLocation);
+        flushWatermarkIds(pollContext);
         return;
       }
 
       try {
+        pollContext.flushWatermarkIds();
         if (!isRequestedToStop()) {
           pollContext.getUpdatedWatermark()
               .ifPresent(w -> updateWatermark(w, pollContext.getWatermarkComparator(),
@@ -255,6 +266,16 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     });
   }
 
+  private void flushWatermarkIds(DefaultPollContext pollContext) {
+    try {
+      pollContext.flushWatermarkIds();
+    } catch (Throwable t) {
+      LOGGER.error(format("Found exception trying to save the processed item ids on source at flow '%s'. %s",
+                          flowName, t.getMessage()),
+                   t);
+    }
+  }
+
   private int compareWatermarks(String w1Label, Serializable w1, String w2Label, Serializable w2, Comparator comparator)
       throws IllegalArgumentException {
     if (comparator == null) {
@@ -295,6 +316,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     private Serializable minimumRejectedByLimitPassingWatermark;
     private Comparator<Serializable> watermarkComparator = null;
     private ZonedDateTime timestamp;
+    private final PollWatermarkIdsBatch watermarkIdsBatch =
+        new PollWatermarkIdsBatch(recentlyProcessedIds, idsOnUpdatedWatermark, WATERMARK_IDS_BATCH_SIZE);
+    private boolean updatedWatermarkRenewed = false;
 
     private int currentPollItems;
 
@@ -402,43 +426,41 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     }
 
     private void renewUpdatedWatermark(Serializable itemWatermark) {
-      try {
-        idsOnUpdatedWatermark.clear();
-        this.updatedWatermark = itemWatermark;
-        removeWatermark(UPDATED_WATERMARK_ITEM_OS_KEY);
-        saveWatermark(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
-      } catch (ObjectStoreException e) {
-        throw new MuleRuntimeException(
-                                       createStaticMessage("An error occurred while trying to update the updatedWatermark in the the object store"),
-                                       e);
-      }
+      watermarkIdsBatch.clearIdsOnUpdatedWatermark();
+      this.updatedWatermark = itemWatermark;
+      updatedWatermarkRenewed = true;
     }
 
     private void addToUpdatedWatermark(String itemId, Serializable itemWatermark) {
       if (itemId != null) {
-        try {
-          idsOnUpdatedWatermark.store(itemId, itemWatermark);
-        } catch (ObjectStoreException e) {
-          throw new MuleRuntimeException(
-                                         createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
-                                                             itemId),
-                                         e);
-        }
+        watermarkIdsBatch.addToUpdatedWatermark(itemId, itemWatermark);
       }
     }
 
     private void addToRecentlyProcessedIds(String itemId, Serializable itemWatermark) {
+      if (itemId != null) {
+        watermarkIdsBatch.addToRecentlyProcessedIds(itemId, itemWatermark);
+        if (watermarkIdsBatch.isFlushRequired()) {
+          flushWatermarkIds();
+        }
+      }
+    }
+
+    /**
+     * Writes the item ids and the updated watermark gathered since the last flush to the object stores. The ids are written
+     * before the updated watermark so that a crash in between may only cause items to be processed again, never skipped.
+     */
+    private void flushWatermarkIds() {
       try {
-        if (itemId != null) {
-          if (recentlyProcessedIds.contains(itemId)) {
-            recentlyProcessedIds.remove(itemId);
-          }
-          recentlyProcessedIds.store(itemId, itemWatermark);
+        watermarkIdsBatch.flush();
+        if (updatedWatermarkRenewed) {
+          removeWatermark(UPDATED_WATERMARK_ITEM_OS_KEY);
+          saveWatermark(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
+          updatedWatermarkRenewed = false;
         }
       } catch (ObjectStoreException e) {
         throw new MuleRuntimeException(
-                                       createStaticMessage("An error occurred while updating the watermark for Item with ID [%s]",
-                                                           itemId),
+                                       createStaticMessage("An error occurred while trying to save the processed item ids and the updatedWatermark in the object store"),
                                        e);
       }
     }
@@ -493,12 +515,12 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
             : -1;
         if (compare < 0) {
           try {
-            if (itemId != null && recentlyProcessedIds.contains(itemId)) {
-              Serializable previousItemWatermark = recentlyProcessedIds.retrieve(itemId);
-              if (compareWatermarks("itemWatermark", itemWatermark, "previousItemWatermark", previousItemWatermark,
-                                    watermarkComparator) <= 0) {
-                status = REJECT;
-              }
+            Optional<Serializable> previousItemWatermark =
+                itemId != null ? watermarkIdsBatch.getRecentlyProcessedWatermark(itemId) : Optional.empty();
+            if (previousItemWatermark.isPresent()
+                && compareWatermarks("itemWatermark", itemWatermark, "previousItemWatermark", previousItemWatermark.get(),
+                                     watermarkComparator) <= 0) {
+              status = REJECT;
             }
             if (status != REJECT) {
               int updatedWatermarkCompare =
@@ -521,7 +543,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
           }
         } else if (compare == 0 && pollItem.getItemId().isPresent()) {
           try {
-            status = recentlyProcessedIds.contains(itemId) ? REJECT : PASSED;
+            status = watermarkIdsBatch.getRecentlyProcessedWatermark(itemId).isPresent() ? REJECT : PASSED;
           } catch (ObjectStoreException e) {
             throw new MuleRuntimeException(
                                            createStaticMessage("An error occurred while checking the existence for Item with ID [%s]",
@@ -682,11 +704,11 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     Lock osClearingLock = lockFactory.createLock(UPDATE_PROCESSED_LOCK);
     try {
       osClearingLock.lock();
-      List<String> strings = idsOnUpdatedWatermark.allKeys();
+      Map<String, Serializable> idsOnWatermark = idsOnUpdatedWatermark.retrieveAll();
       recentlyProcessedIds.clear();
-      strings.forEach(key -> {
+      idsOnWatermark.forEach((key, value) -> {
         try {
-          recentlyProcessedIds.store(key, idsOnUpdatedWatermark.retrieve(key));
+          recentlyProcessedIds.store(key, value);
         } catch (ObjectStoreException e) {
           throw new MuleRuntimeException(createStaticMessage("An error occurred while updating the watermark Ids. Failed to update key '%s' in Watermark-IDs ObjectStore: %s",
                                                              key, e.getMessage()),
@@ -753,24 +775,21 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
     }
 
     try {
-      if (inflightIdsObjectStore.contains(id)) {
-        if (LOGGER.isDebugEnabled()) {
-          LOGGER.debug("Source at flow '{}' polled item '{}', but skipping it since it is already being processed in another "
-              + "thread or node", flowName, id);
-        }
-        return false;
-      } else {
-        try {
-          inflightIdsObjectStore.store(id, id);
-          callbackContext.addVariable(ITEM_RELEASER_CTX_VAR, new ItemReleaser(id));
-          return true;
-        } catch (ObjectStoreException e) {
-          LOGGER.error(format("Flow at source '%s' could not track item '%s' as being processed. %s",
-                              flowName, id, e.getMessage()),
-                       e);
-          return false;
-        }
+      // The item lock is held, so storing right away saves checking for the id beforehand.
+      inflightIdsObjectStore.store(id, id);
+      callbackContext.addVariable(ITEM_RELEASER_CTX_VAR, new ItemReleaser(id));
+      return true;
+    } catch (ObjectAlreadyExistsException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Source at flow '{}' polled item '{}', but skipping it since it is already being processed in another "
+            + "thread or node", flowName, id);
       }
+      return false;
+    } catch (ObjectStoreException e) {
+      LOGGER.error(format("Flow at source '%s' could not track item '%s' as being processed. %s",
+                          flowName, id, e.getMessage()),
+                   e);
+      return false;
     } catch (Exception e) {
       LOGGER.error(format("Could not guarantee idempotency for item '%s' for source at flow '%s'. '%s",
                           id, flowName, e.getMessage()),
@@ -822,9 +841,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
 
     private void release() {
       try {
-        if (inflightIdsObjectStore.contains(id)) {
-          inflightIdsObjectStore.remove(id);
-        }
+        inflightIdsObjectStore.remove(id);
+      } catch (ObjectDoesNotExistException e) {
+        // Already released
       } catch (ObjectStoreException e) {
         LOGGER.error(format("Could not untrack item '%s' in source at flow '%s'. %s", id, flowName, e.getMessage()), e);
       }
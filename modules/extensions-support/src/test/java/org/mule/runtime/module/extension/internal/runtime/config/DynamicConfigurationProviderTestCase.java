@@ -275,6 +275,59 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(instance.getDispose(), is(1));
   }
 
+  @Test
+  public void configurationUsedAfterBeingQueuedForExpirationIsNotExpired() throws Exception {
+    HeisenbergExtension instance = (HeisenbergExtension) provider.get(event).getValue();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+
+    timeSupplier.move(1, MINUTES);
+    assertThat(provider.getExpired().isEmpty(), is(true));
+
+    timeSupplier.move(3, MINUTES);
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance)));
+
+    timeSupplier.move(3, MINUTES);
+    assertThat(provider.getExpired().isEmpty(), is(true));
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance)));
+
+    timeSupplier.move(10, MINUTES);
+    assertThat(provider.getExpired().isEmpty(), is(false));
+  }
+
+  @Test
+  public void expiredConfigurationIsReplaced() throws Exception {
+    HeisenbergExtension instance = (HeisenbergExtension) provider.get(event).getValue();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+
+    timeSupplier.move(10, MINUTES);
+    assertThat(provider.getExpired().isEmpty(), is(false));
+
+    mockConfigurationInstance(configurationModel, MODULE_CLASS.newInstance());
+    assertThat(provider.get(event).getValue(), is(not(sameInstance(instance))));
+  }
+
+  @Test
+  public void instancesStatistics() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+
+    provider.get(event);
+    provider.get(event);
+    makeAlternateInstance();
+
+    assertThat(provider.getCreatedInstances(), is(2L));
+    assertThat(provider.getLiveInstances(), is(2L));
+    assertThat(provider.getExpiredInstances(), is(0L));
+
+    timeSupplier.move(10, MINUTES);
+    provider.getExpired();
+
+    assertThat(provider.getCreatedInstances(), is(2L));
+    assertThat(provider.getLiveInstances(), is(0L));
+    assertThat(provider.getExpiredInstances(), is(2L));
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
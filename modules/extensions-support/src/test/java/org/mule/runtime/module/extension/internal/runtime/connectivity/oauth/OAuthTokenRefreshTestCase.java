@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.extension.internal.runtime.connectivity.oauth;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import org.mule.oauth.client.api.state.ResourceOwnerOAuthContext;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.module.extension.internal.runtime.connectivity.oauth.authcode.AuthorizationCodeOAuthHandler;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+@SmallTest
+public class OAuthTokenRefreshTestCase extends AbstractMuleContextTestCase {
+
+  private static final String KEY = "config-owner";
+  private static final long MARGIN = 30000;
+
+  private final AuthorizationCodeOAuthHandler oauthHandler = new AuthorizationCodeOAuthHandler();
+  private final AtomicInteger refreshes = new AtomicInteger();
+
+  @Override
+  protected void doSetUp() throws Exception {
+    oauthHandler.muleContext = muleContext;
+    oauthHandler.start();
+  }
+
+  @Override
+  protected void doTearDown() throws Exception {
+    oauthHandler.stop();
+  }
+
+  @Test
+  public void concurrentRefreshesShareTheInFlightOne() {
+    CompletableFuture<Void> pendingRefresh = new CompletableFuture<>();
+
+    CompletableFuture<Void> first = oauthHandler.refreshOnce(KEY, null, () -> null, () -> refresh(pendingRefresh));
+    CompletableFuture<Void> second = oauthHandler.refreshOnce(KEY, null, () -> null, () -> refresh(pendingRefresh));
+    assertThat(second, is(sameInstance(first)));
+    assertThat(refreshes.get(), is(1));
+
+    pendingRefresh.complete(null);
+    assertThat(first.isDone(), is(true));
+
+    oauthHandler.refreshOnce(KEY, null, () -> null, () -> refresh(completedFuture(null)));
+    assertThat(refreshes.get(), is(2));
+  }
+
+  @Test
+  public void failedRefreshIsNotReused() {
+    CompletableFuture<Void> failedRefresh = new CompletableFuture<>();
+    failedRefresh.completeExceptionally(new IllegalStateException("expected"));
+
+    assertThat(oauthHandler.refreshOnce(KEY, null, () -> null, () -> refresh(failedRefresh)).isCompletedExceptionally(),
+               is(true));
+    assertThat(oauthHandler.refreshOnce(KEY, null, () -> null, () -> refresh(completedFuture(null))).isCompletedExceptionally(),
+               is(false));
+    assertThat(refreshes.get(), is(2));
+  }
+
+  @Test
+  public void replacedTokenIsNotRefreshed() {
+    AtomicReference<ResourceOwnerOAuthContext> currentContext = new AtomicReference<>(context("refreshed", "3600"));
+
+    oauthHandler.refreshOnce(KEY, "token", currentContext::get, () -> refresh(completedFuture(null)));
+    assertThat(refreshes.get(), is(0));
+  }
+
+  @Test
+  public void lateExpirationAfterRefreshDoesNotRefreshAgain() {
+    AtomicReference<ResourceOwnerOAuthContext> currentContext = new AtomicReference<>(context("token", "3600"));
+    Supplier<CompletableFuture<?>> refresh = () -> {
+      currentContext.set(context("refreshed" + refreshes.get(), "3600"));
+      return refresh(completedFuture(null));
+    };
+
+    oauthHandler.refreshOnce(KEY, null, currentContext::get, refresh);
+    // A request sent with the previous token fails after the refresh
+    oauthHandler.refreshOnce(KEY, null, currentContext::get, refresh);
+    assertThat(refreshes.get(), is(1));
+  }
+
+  @Test
+  public void proactiveRefreshIsDisabledByDefault() throws Exception {
+    scheduleTwice(context("token", "1"), () -> refresh(completedFuture(null)), () -> null);
+
+    Thread.sleep(1500);
+    assertThat(refreshes.get(), is(0));
+  }
+
+  @Test
+  public void tokenIsRefreshedBeforeItExpires() {
+    oauthHandler.setProactiveRefreshMargin(MARGIN);
+    AtomicReference<ResourceOwnerOAuthContext> currentContext = new AtomicReference<>(context("token", "1"));
+
+    // Scheduling again for the same token only records that it is still in use
+    scheduleTwice(currentContext.get(), () -> {
+      currentContext.set(context("refreshed", "3600"));
+      return refresh(completedFuture(null));
+    }, currentContext::get);
+
+    new PollingProber(5000, 50).check(new JUnitLambdaProbe(() -> refreshes.get() == 1));
+  }
+
+  @Test
+  public void unusedTokenIsNotRefreshed() throws Exception {
+    oauthHandler.setProactiveRefreshMargin(MARGIN);
+    oauthHandler.scheduleProactiveRefresh(KEY, context("token", "1"), () -> refresh(completedFuture(null)), () -> null);
+
+    Thread.sleep(1500);
+    assertThat(refreshes.get(), is(0));
+  }
+
+  @Test
+  public void tokensWithoutExpirationAreNotRefreshed() throws Exception {
+    oauthHandler.setProactiveRefreshMargin(MARGIN);
+    scheduleTwice(context("token", null), () -> refresh(completedFuture(null)), () -> null);
+    scheduleTwice(context("token", "never"), () -> refresh(completedFuture(null)), () -> null);
+
+    Thread.sleep(100);
+    assertThat(refreshes.get(), is(0));
+  }
+
+  @Test
+  public void cancelledRefreshIsNotPerformed() throws Exception {
+    oauthHandler.setProactiveRefreshMargin(MARGIN);
+    scheduleTwice(context("token", "1"), () -> refresh(completedFuture(null)), () -> null);
+    oauthHandler.cancelProactiveRefresh(KEY);
+
+    Thread.sleep(1500);
+    assertThat(refreshes.get(), is(0));
+  }
+
+  @Test
+  public void refreshIsNotScheduledOnceStopped() throws Exception {
+    oauthHandler.setProactiveRefreshMargin(MARGIN);
+    oauthHandler.stop();
+    scheduleTwice(context("token", "1"), () -> refresh(completedFuture(null)), () -> null);
+
+    Thread.sleep(1500);
+    assertThat(refreshes.get(), is(0));
+  }
+
+  @Test
+  public void refreshIsOnlyScheduledOnPrimaryNode() throws Exception {
+    MuleContext secondaryNodeContext = spy(muleContext);
+    doReturn(false).when(secondaryNodeContext).isPrimaryPollingInstance();
+    oauthHandler.muleContext = secondaryNodeContext;
+    oauthHandler.setProactiveRefreshMargin(MARGIN);
+    scheduleTwice(context("token", "1"), () -> refresh(completedFuture(null)), () -> null);
+
+    Thread.sleep(1500);
+    assertThat(refreshes.get(), is(0));
+  }
+
+  private void scheduleTwice(ResourceOwnerOAuthContext context, Supplier<CompletableFuture<?>> refresh,
+                             Supplier<ResourceOwnerOAuthContext> refreshedContext) {
+    for (int i = 0; i < 2; ++i) {
+      oauthHandler.scheduleProactiveRefresh(KEY, context, refresh, refreshedContext);
+    }
+  }
+
+  private CompletableFuture<?> refresh(CompletableFuture<Void> result) {
+    refreshes.incrementAndGet();
+    return result;
+  }
+
+  private ResourceOwnerOAuthContext context(String accessToken, String expiresIn) {
+    ResourceOwnerOAuthContext context = mock(ResourceOwnerOAuthContext.class);
+    when(context.getAccessToken()).thenReturn(accessToken);
+    when(context.getExpiresIn()).thenReturn(expiresIn);
+    return context;
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source.poll;
+
+import static java.util.Optional.empty;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.tck.core.util.store.InMemoryObjectStore;
+import org.mule.tck.size.SmallTest;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class PollWatermarkIdsBatchTestCase {
+
+  private ObjectStore<Serializable> recentlyProcessedIds;
+  private ObjectStore<Serializable> idsOnUpdatedWatermark;
+  private PollWatermarkIdsBatch batch;
+
+  @Before
+  public void setUp() throws Exception {
+    recentlyProcessedIds = spy(new InMemoryObjectStore<>());
+    idsOnUpdatedWatermark = spy(new InMemoryObjectStore<>());
+    recentlyProcessedIds.store("stored", 1);
+    clearInvocations(recentlyProcessedIds);
+    batch = new PollWatermarkIdsBatch(recentlyProcessedIds, idsOnUpdatedWatermark, 100);
+  }
+
+  @Test
+  public void storedIdsAreReadOnce() throws Exception {
+    assertThat(batch.getRecentlyProcessedWatermark("stored"), is(Optional.<Serializable>of(1)));
+    assertThat(batch.getRecentlyProcessedWatermark("other"), is(empty()));
+    assertThat(batch.getRecentlyProcessedWatermark("stored"), is(Optional.<Serializable>of(1)));
+
+    verify(recentlyProcessedIds, times(1)).retrieveAll();
+    verify(recentlyProcessedIds, never()).contains(anyString());
+    verify(recentlyProcessedIds, never()).retrieve(anyString());
+  }
+
+  @Test
+  public void writesAreDeferredUntilFlush() throws Exception {
+    batch.addToRecentlyProcessedIds("id1", 2);
+    batch.addToRecentlyProcessedIds("stored", 3);
+    batch.addToUpdatedWatermark("id1", 2);
+
+    assertThat(batch.getRecentlyProcessedWatermark("id1"), is(Optional.<Serializable>of(2)));
+    assertThat(batch.getRecentlyProcessedWatermark("stored"), is(Optional.<Serializable>of(3)));
+    assertThat(recentlyProcessedIds.contains("id1"), is(false));
+    assertThat(idsOnUpdatedWatermark.contains("id1"), is(false));
+
+    batch.flush();
+
+    assertThat(recentlyProcessedIds.retrieve("id1"), is((Serializable) 2));
+    assertThat(recentlyProcessedIds.retrieve("stored"), is((Serializable) 3));
+    assertThat(idsOnUpdatedWatermark.retrieve("id1"), is((Serializable) 2));
+  }
+
+  @Test
+  public void repeatedWritesAreCollapsed() throws Exception {
+    batch.addToRecentlyProcessedIds("id1", 2);
+    batch.addToRecentlyProcessedIds("id1", 4);
+    batch.flush();
+
+    verify(recentlyProcessedIds, times(1)).store("id1", 4);
+    verify(recentlyProcessedIds, never()).store("id1", 2);
+  }
+
+  @Test
+  public void clearIdsOnUpdatedWatermarkDiscardsPending() throws Exception {
+    idsOnUpdatedWatermark.store("old", 1);
+    batch.addToUpdatedWatermark("id1", 2);
+    batch.clearIdsOnUpdatedWatermark();
+    batch.addToUpdatedWatermark("id2", 3);
+    batch.clearIdsOnUpdatedWatermark();
+    batch.addToUpdatedWatermark("id3", 4);
+    batch.flush();
+
+    assertThat(idsOnUpdatedWatermark.allKeys(), containsInAnyOrder("id3"));
+    verify(idsOnUpdatedWatermark, times(1)).clear();
+  }
+
+  @Test
+  public void flushRequiredWhenBatchIsFull() {
+    PollWatermarkIdsBatch smallBatch = new PollWatermarkIdsBatch(recentlyProcessedIds, idsOnUpdatedWatermark, 2);
+    smallBatch.addToRecentlyProcessedIds("id1", 1);
+    assertThat(smallBatch.isFlushRequired(), is(false));
+    smallBatch.addToUpdatedWatermark("id1", 1);
+    assertThat(smallBatch.isFlushRequired(), is(true));
+  }
+}
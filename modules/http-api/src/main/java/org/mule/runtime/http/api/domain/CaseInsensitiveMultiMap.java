@@ -8,10 +8,10 @@ import static java.util.Objects.requireNonNull;
 
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.api.metadata.DataType;
-import org.mule.runtime.api.util.CaseInsensitiveMapWrapper;
 import org.mule.runtime.api.util.MultiMap;
 
-import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -70,11 +70,11 @@ public class CaseInsensitiveMultiMap extends AbstractCaseInsensitiveMultiMap {
     this(true);
   }
 
+  /**
+   * @param optimized whether keys are to be stored as lowercase, instead of with the case they had when first added.
+   */
   public CaseInsensitiveMultiMap(boolean optimized) {
-    this.optimized = optimized;
-    this.paramsMap = optimized
-        ? new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>())
-        : new CaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
+    this(optimized, new FlatCaseInsensitiveMap<>(optimized));
   }
 
   public CaseInsensitiveMultiMap(MultiMap<String, String> paramsMap) {
@@ -82,13 +82,15 @@ public class CaseInsensitiveMultiMap extends AbstractCaseInsensitiveMultiMap {
   }
 
   public CaseInsensitiveMultiMap(MultiMap<String, String> paramsMap, boolean optimized) {
-    this.optimized = optimized;
-    this.paramsMap = optimized
-        ? new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>())
-        : new CaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
+    this(optimized);
     putAll(paramsMap);
   }
 
+  private CaseInsensitiveMultiMap(boolean optimized, Map<String, List<String>> paramsMap) {
+    this.optimized = optimized;
+    this.paramsMap = paramsMap;
+  }
+
   @Override
   public CaseInsensitiveMultiMap toImmutableMultiMap() {
     if (this.isEmpty() && emptyCaseInsensitiveMultiMap() != null) {
@@ -103,9 +105,8 @@ public class CaseInsensitiveMultiMap extends AbstractCaseInsensitiveMultiMap {
     private static final long serialVersionUID = -1048913048598100657L;
 
     public ImmutableCaseInsensitiveMultiMap(CaseInsensitiveMultiMap caseInsensitiveMultiMap) {
-      // intentionally avoid passing the delegate paramsMap to the super constructor to avoid the putAll.
-      super(caseInsensitiveMultiMap.optimized);
-      this.paramsMap = unmodifiableMap(caseInsensitiveMultiMap.paramsMap);
+      // intentionally wrap the delegate paramsMap instead of passing it to the public super constructors, to avoid the putAll.
+      super(caseInsensitiveMultiMap.optimized, unmodifiableMap(caseInsensitiveMultiMap.paramsMap));
     }
 
     @Override
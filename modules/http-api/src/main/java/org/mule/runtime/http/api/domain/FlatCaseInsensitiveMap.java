@@ -0,0 +1,498 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.http.api.domain;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.highestOneBit;
+import static java.util.Arrays.fill;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link java.util.Map} with {@link String} keys whose case is not taken into account, stored in flat arrays instead of
+ * entry objects.
+ * <p>
+ * Entries are kept in insertion order in parallel arrays of keys, values and case-folded key hashes, and an open-addressed
+ * table of indexes into those arrays is used to look them up. Looking up a key does not allocate: its hash is folded while it
+ * is computed and keys are compared ignoring their case. Well known HTTP header names are interned, so adding any of them does
+ * not create a new key either.
+ * <p>
+ * Keys are either kept with the case they had when first added or as lowercase, in which case {@link #keySet()} and the other
+ * views return them lowercase, same as {@link OptimizedCaseInsensitiveMapWrapper}.
+ *
+ * @param <T> The class of the values referenced in the map.
+ *
+ * @since 4.6
+ */
+final class FlatCaseInsensitiveMap<T> extends AbstractMap<String, T> implements Serializable {
+
+  private static final long serialVersionUID = -2519407622370312845L;
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final int FREE = 0;
+  private static final int DELETED = -1;
+
+  private static final String[] WELL_KNOWN_KEYS;
+
+  static {
+    String[] keys = new String[] {"accept", "accept-charset", "accept-encoding", "accept-language", "accept-ranges",
+        "access-control-allow-origin", "age", "allow", "authorization", "cache-control", "connection", "content-disposition",
+        "content-encoding", "content-language", "content-length", "content-location", "content-range", "content-type", "cookie",
+        "date", "etag", "expect", "expires", "forwarded", "host", "if-match", "if-modified-since", "if-none-match",
+        "if-unmodified-since", "keep-alive", "last-modified", "location", "origin", "pragma", "proxy-authenticate",
+        "proxy-authorization", "range", "referer", "retry-after", "server", "set-cookie", "te", "trailer", "transfer-encoding",
+        "upgrade", "user-agent", "vary", "via", "www-authenticate", "x-correlation-id", "x-forwarded-for", "x-forwarded-host",
+        "x-forwarded-proto", "x-request-id"};
+
+    WELL_KNOWN_KEYS = new String[tableLength(keys.length)];
+    for (String key : keys) {
+      int slot = hash(key) & (WELL_KNOWN_KEYS.length - 1);
+      while (WELL_KNOWN_KEYS[slot] != null) {
+        slot = (slot + 1) & (WELL_KNOWN_KEYS.length - 1);
+      }
+      WELL_KNOWN_KEYS[slot] = key;
+    }
+  }
+
+  private final boolean lowerCaseKeys;
+
+  private String[] keys;
+  private Object[] values;
+  private int[] hashes;
+  // index in the arrays above plus one, FREE or DELETED
+  private int[] table;
+
+  private int used;
+  private int size;
+  // changes whenever entries are added, removed or moved, so that iterators can detect it
+  private transient int modCount;
+
+  /**
+   * Creates a new empty map. No storage is allocated until the first entry is added.
+   *
+   * @param lowerCaseKeys whether keys are to be stored as lowercase instead of with the case they had when first added.
+   */
+  FlatCaseInsensitiveMap(boolean lowerCaseKeys) {
+    this.lowerCaseKeys = lowerCaseKeys;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && indexOf((String) key) >= 0;
+  }
+
+  @Override
+  public T get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf((String) key);
+    return index < 0 ? null : (T) values[index];
+  }
+
+  @Override
+  public T put(String key, T value) {
+    int hash = hash(key);
+    if (table != null) {
+      int mask = table.length - 1;
+      for (int slot = hash & mask; table[slot] != FREE; slot = (slot + 1) & mask) {
+        int index = table[slot] - 1;
+        if (index >= 0 && hashes[index] == hash && keys[index].equalsIgnoreCase(key)) {
+          T previous = (T) values[index];
+          values[index] = value;
+          return previous;
+        }
+      }
+    }
+
+    if (keys == null) {
+      allocate(INITIAL_CAPACITY);
+    } else if (used == keys.length) {
+      // Compact if there are enough removed entries to make room, grow otherwise
+      allocate(size < used / 2 ? keys.length : keys.length * 2);
+    }
+
+    int index = used++;
+    keys[index] = lowerCaseKeys ? lowerCase(key, hash) : key;
+    values[index] = value;
+    hashes[index] = hash;
+    table[freeSlot(hash)] = index + 1;
+    ++size;
+    ++modCount;
+    return null;
+  }
+
+  @Override
+  public T remove(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf((String) key);
+    if (index < 0) {
+      return null;
+    }
+    T previous = (T) values[index];
+    removeAt(index);
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    if (keys != null) {
+      fill(keys, 0, used, null);
+      fill(values, 0, used, null);
+      fill(table, FREE);
+    }
+    used = 0;
+    size = 0;
+    ++modCount;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super T> action) {
+    int expectedModCount = modCount;
+    for (int i = 0; i < used && modCount == expectedModCount; ++i) {
+      if (keys[i] != null) {
+        action.accept(keys[i], (T) values[i]);
+      }
+    }
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  @Override
+  public Set<String> keySet() {
+    return new AbstractSet<String>() {
+
+      @Override
+      public Iterator<String> iterator() {
+        return new FlatIterator<String>() {
+
+          @Override
+          protected String get(int index) {
+            return keys[index];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return containsKey(o);
+      }
+
+      @Override
+      public boolean remove(Object o) {
+        int index = o instanceof String ? indexOf((String) o) : -1;
+        if (index < 0) {
+          return false;
+        }
+        removeAt(index);
+        return true;
+      }
+
+      @Override
+      public void clear() {
+        FlatCaseInsensitiveMap.this.clear();
+      }
+    };
+  }
+
+  @Override
+  public Collection<T> values() {
+    return new AbstractCollection<T>() {
+
+      @Override
+      public Iterator<T> iterator() {
+        return new FlatIterator<T>() {
+
+          @Override
+          protected T get(int index) {
+            return (T) values[index];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        FlatCaseInsensitiveMap.this.clear();
+      }
+    };
+  }
+
+  @Override
+  public Set<Entry<String, T>> entrySet() {
+    return new AbstractSet<Entry<String, T>>() {
+
+      @Override
+      public Iterator<Entry<String, T>> iterator() {
+        return new FlatIterator<Entry<String, T>>() {
+
+          @Override
+          protected Entry<String, T> get(int index) {
+            return new FlatEntry(index);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public void clear() {
+        FlatCaseInsensitiveMap.this.clear();
+      }
+    };
+  }
+
+  /**
+   * The sum of the hash codes of the entries, each one hashing its key as lowercase. Consistent with {@link #equals(Object)}
+   * regardless of the case of the keys, as long as the compared map is case insensitive too, and the same as the hash code of
+   * an {@link OptimizedCaseInsensitiveMapWrapper} with the same entries.
+   */
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for (int i = 0; i < used; ++i) {
+      if (keys[i] != null) {
+        hashCode += entryHashCode(keys[i], values[i]);
+      }
+    }
+    return hashCode;
+  }
+
+  private int entryHashCode(String key, Object value) {
+    // lowercase keys are already stored as such, so this does not create a new one for them
+    return (lowerCaseKeys ? key : key.toLowerCase()).hashCode() ^ Objects.hashCode(value);
+  }
+
+  private int indexOf(String key) {
+    if (table == null) {
+      return -1;
+    }
+    int hash = hash(key);
+    int mask = table.length - 1;
+    for (int slot = hash & mask; table[slot] != FREE; slot = (slot + 1) & mask) {
+      int index = table[slot] - 1;
+      if (index >= 0 && hashes[index] == hash && keys[index].equalsIgnoreCase(key)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private int freeSlot(int hash) {
+    int mask = table.length - 1;
+    int slot = hash & mask;
+    while (table[slot] > FREE) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void removeAt(int index) {
+    int mask = table.length - 1;
+    int slot = hashes[index] & mask;
+    while (table[slot] != index + 1) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = DELETED;
+    keys[index] = null;
+    values[index] = null;
+    --size;
+    ++modCount;
+  }
+
+  /**
+   * Allocates the arrays for {@code capacity} entries, moving the current ones without the removed ones, and rebuilds the table
+   * without the deleted slots.
+   */
+  private void allocate(int capacity) {
+    String[] oldKeys = keys;
+    Object[] oldValues = values;
+    int[] oldHashes = hashes;
+    int oldUsed = used;
+
+    keys = new String[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+    table = new int[tableLength(capacity)];
+    used = 0;
+    ++modCount;
+
+    for (int i = 0; i < oldUsed; ++i) {
+      if (oldKeys[i] != null) {
+        keys[used] = oldKeys[i];
+        values[used] = oldValues[i];
+        hashes[used] = oldHashes[i];
+        table[freeSlot(oldHashes[i])] = ++used;
+      }
+    }
+  }
+
+  /**
+   * Keeps the table at most half full, so that probing sequences stay short and always reach a free slot.
+   */
+  private static int tableLength(int capacity) {
+    return highestOneBit(capacity - 1) << 2;
+  }
+
+  /**
+   * Same as {@link String#hashCode()} but on the case-folded characters, so that keys that are equal ignoring their case have the
+   * same hash, spread so that the lower bits used to index the table depend on all of them.
+   */
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static String lowerCase(String key, int hash) {
+    int mask = WELL_KNOWN_KEYS.length - 1;
+    for (int slot = hash & mask; WELL_KNOWN_KEYS[slot] != null; slot = (slot + 1) & mask) {
+      if (WELL_KNOWN_KEYS[slot].equalsIgnoreCase(key)) {
+        return WELL_KNOWN_KEYS[slot];
+      }
+    }
+    // returns the same instance if it already is lowercase
+    return key.toLowerCase();
+  }
+
+  /**
+   * Fails fast with a {@link ConcurrentModificationException} if the map is changed other than through the iterator, as
+   * compacting the arrays moves the entries that have not been visited yet.
+   */
+  private abstract class FlatIterator<E> implements Iterator<E> {
+
+    private int expectedModCount = modCount;
+    private int next = advance(0);
+    private int current = -1;
+
+    private int advance(int from) {
+      while (from < used && keys[from] == null) {
+        ++from;
+      }
+      return from;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < used;
+    }
+
+    @Override
+    public E next() {
+      checkForComodification();
+      if (next >= used) {
+        throw new NoSuchElementException();
+      }
+      current = next;
+      next = advance(next + 1);
+      return get(current);
+    }
+
+    @Override
+    public void remove() {
+      if (current < 0 || keys[current] == null) {
+        throw new IllegalStateException();
+      }
+      checkForComodification();
+      removeAt(current);
+      expectedModCount = modCount;
+    }
+
+    private void checkForComodification() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+    }
+
+    protected abstract E get(int index);
+  }
+
+  private final class FlatEntry implements Entry<String, T> {
+
+    private final int index;
+    private final String key;
+
+    private FlatEntry(int index) {
+      this.index = index;
+      this.key = keys[index];
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public T getValue() {
+      return (T) values[index];
+    }
+
+    @Override
+    public T setValue(T value) {
+      T previous = (T) values[index];
+      values[index] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> that = (Entry<?, ?>) o;
+      return key.equals(that.getKey()) && Objects.equals(getValue(), that.getValue());
+    }
+
+    /**
+     * Same as the contribution of this entry to the hash code of the map.
+     */
+    @Override
+    public int hashCode() {
+      return entryHashCode(key, getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+}
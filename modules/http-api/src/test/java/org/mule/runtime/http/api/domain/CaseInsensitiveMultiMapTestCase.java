@@ -16,8 +16,12 @@ import static org.mule.test.allure.AllureConstants.HttpFeature.HttpStory.MULTI_M
 import org.mule.runtime.api.util.MultiMap;
 import org.mule.runtime.api.test.util.tck.MultiMapTestCase;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -139,6 +143,107 @@ public class CaseInsensitiveMultiMapTestCase extends MultiMapTestCase {
     multiMap.toImmutableMultiMap().clear();
   }
 
+  @Test
+  public void optimizedKeysAreLowercase() {
+    CaseInsensitiveMultiMap map = new CaseInsensitiveMultiMap();
+    map.put("Content-Type", VALUE_1);
+    map.put("X-Custom-Header", VALUE_1);
+    map.put("x-custom-header", VALUE_2);
+
+    assertThat(new ArrayList<>(map.keySet()), is(asList("content-type", "x-custom-header")));
+    assertThat(map.getAll("X-CUSTOM-HEADER"), is(asList(VALUE_1, VALUE_2)));
+  }
+
+  @Test
+  public void notOptimizedKeysKeepFirstCase() {
+    CaseInsensitiveMultiMap map = new CaseInsensitiveMultiMap(false);
+    map.put("Content-Type", VALUE_1);
+    map.put("CONTENT-TYPE", VALUE_2);
+
+    assertThat(new ArrayList<>(map.keySet()), is(asList("Content-Type")));
+    assertThat(map.getAll("content-type"), is(asList(VALUE_1, VALUE_2)));
+  }
+
+  @Test
+  public void notOptimizedEqualityIgnoresKeyCase() {
+    CaseInsensitiveMultiMap map = new CaseInsensitiveMultiMap(false);
+    map.put("Content-Type", VALUE_1);
+    CaseInsensitiveMultiMap otherMap = new CaseInsensitiveMultiMap(false);
+    otherMap.put("content-type", VALUE_1);
+
+    assertThat(map, is(equalTo(otherMap)));
+    assertThat(map.hashCode(), is(otherMap.hashCode()));
+  }
+
+  @Test
+  public void manyKeysWithRemovals() {
+    for (int i = 0; i < 100; ++i) {
+      multiMap.put("Key" + i, VALUE_1);
+    }
+    for (int i = 0; i < 100; i += 2) {
+      multiMap.remove("KEY" + i);
+    }
+    multiMap.put("key0", VALUE_2);
+
+    assertThat(multiMap.size(), is(51));
+    assertThat(multiMap.get("kEy1"), is(VALUE_1));
+    assertThat(multiMap.get("KEY2"), nullValue());
+    assertThat(multiMap.get("Key0"), is(VALUE_2));
+    assertThat(multiMap.keySet().iterator().next(), is("key1"));
+  }
+
+  @Test
+  public void flatMapHashCodeIsSameAsOptimizedWrapper() {
+    Map<String, String> wrapper = new OptimizedCaseInsensitiveMapWrapper<>();
+    wrapper.put("Content-Type", VALUE_1);
+    wrapper.put("X-Custom-Header", VALUE_2);
+
+    for (boolean lowerCaseKeys : new boolean[] {true, false}) {
+      Map<String, String> map = new FlatCaseInsensitiveMap<>(lowerCaseKeys);
+      map.put("Content-Type", VALUE_1);
+      map.put("X-CUSTOM-HEADER", VALUE_2);
+
+      assertThat(map.hashCode(), is(wrapper.hashCode()));
+      assertThat(map.entrySet().hashCode(), is(map.hashCode()));
+    }
+  }
+
+  @Test(expected = ConcurrentModificationException.class)
+  public void flatMapIteratorFailsWhenEntriesAreMoved() {
+    Map<String, String> map = new FlatCaseInsensitiveMap<>(true);
+    for (int i = 0; i < 8; ++i) {
+      map.put(KEY_1 + i, VALUE_1);
+    }
+    map.remove(KEY_1 + 0);
+    map.remove(KEY_1 + 1);
+    map.remove(KEY_1 + 2);
+    map.remove(KEY_1 + 3);
+    map.remove(KEY_1 + 4);
+
+    Iterator<String> keys = map.keySet().iterator();
+    keys.next();
+    // Compacts the arrays, moving the entries not yet visited
+    map.put(KEY_2, VALUE_2);
+    keys.next();
+  }
+
+  @Test
+  public void flatMapIteratorRemovesEntries() {
+    Map<String, String> map = new FlatCaseInsensitiveMap<>(true);
+    map.put(KEY_1, VALUE_1);
+    map.put(KEY_2, VALUE_2);
+    map.put(KEY_3, VALUE_1);
+
+    for (Iterator<String> values = map.values().iterator(); values.hasNext();) {
+      if (values.next().equals(VALUE_1)) {
+        values.remove();
+      }
+    }
+
+    assertThat(map.size(), is(1));
+    assertThat(map.get(KEY_2), is(VALUE_2));
+  }
+
   @Test
   public void toImmutableCaseInsensitiveMapKeepsOrder() {
     multiMap.put(KEY_3, VALUE_1);
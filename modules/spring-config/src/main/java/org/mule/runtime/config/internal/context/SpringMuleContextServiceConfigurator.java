@@ -67,6 +67,7 @@ import static org.mule.runtime.core.api.config.MuleProperties.SDK_OBJECT_STORE_M
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.APP;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.data.sample.SampleDataService.SAMPLE_DATA_SERVICE_KEY;
+import static org.mule.runtime.core.internal.cluster.SharedDirectoryClusterService.isSharedDirectoryClusterEnabled;
 import static org.mule.runtime.core.internal.config.bootstrap.AbstractRegistryBootstrap.BINDING_PROVIDER_PREDICATE;
 import static org.mule.runtime.core.internal.config.bootstrap.AbstractRegistryBootstrap.TRANSFORMER_PREDICATE;
 import static org.mule.runtime.core.internal.el.function.MuleFunctionsBindingContextProvider.CORE_FUNCTIONS_PROVIDER_REGISTRY_KEY;
@@ -103,6 +104,7 @@ import org.mule.runtime.core.api.config.bootstrap.ArtifactType;
 import org.mule.runtime.core.api.event.EventContextService;
 import org.mule.runtime.core.api.streaming.DefaultStreamingManager;
 import org.mule.runtime.core.internal.cluster.DefaultClusterService;
+import org.mule.runtime.core.internal.cluster.SharedDirectoryClusterService;
 import org.mule.runtime.core.internal.config.CustomService;
 import org.mule.runtime.core.internal.config.CustomServiceRegistry;
 import org.mule.runtime.core.internal.config.DefaultFeatureManagementService;
@@ -118,12 +120,15 @@ import org.mule.runtime.core.internal.event.DefaultEventContextService;
 import org.mule.runtime.core.internal.exception.MessagingExceptionLocationProvider;
 import org.mule.runtime.core.internal.execution.MuleMessageProcessingManager;
 import org.mule.runtime.core.internal.lock.MuleLockFactory;
+import org.mule.runtime.core.internal.lock.SharedDirectoryLockProvider;
 import org.mule.runtime.core.internal.lock.SingleServerLockProvider;
 import org.mule.runtime.core.internal.management.stats.DefaultProcessingTimeWatcher;
 import org.mule.runtime.core.internal.policy.DefaultPolicyManager;
 import org.mule.runtime.core.internal.processor.interceptor.DefaultProcessorInterceptorManager;
 import org.mule.runtime.core.internal.profiling.ProfilingServiceWrapper;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencySampler;
 import org.mule.runtime.core.internal.security.DefaultMuleSecurityManager;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
 import org.mule.runtime.core.internal.time.LocalTimeSupplier;
 import org.mule.runtime.core.internal.transaction.TransactionFactoryLocator;
@@ -209,6 +214,7 @@ public class SpringMuleContextServiceConfigurator extends AbstractSpringMuleCont
       .put(OBJECT_NOTIFICATION_DISPATCHER, getBeanDefinition(DefaultNotificationDispatcher.class))
       .put(NotificationListenerRegistry.REGISTRY_KEY, getBeanDefinition(DefaultNotificationListenerRegistry.class))
       .put(EventContextService.REGISTRY_KEY, getBeanDefinition(DefaultEventContextService.class))
+      .put(ComponentLatencySampler.REGISTRY_KEY, getBeanDefinition(ComponentLatencySampler.class))
       .put(BASE_IN_MEMORY_OBJECT_STORE_KEY,
            getBeanDefinitionBuilder(ConstantFactoryBean.class).addConstructorArgReference(OBJECT_LOCAL_STORE_IN_MEMORY)
                .getBeanDefinition())
@@ -227,16 +233,17 @@ public class SpringMuleContextServiceConfigurator extends AbstractSpringMuleCont
       .put(OBJECT_MULE_STREAM_CLOSER_SERVICE, getBeanDefinition(DefaultStreamCloserService.class))
       .put(OBJECT_CONVERTER_RESOLVER, getBeanDefinition(DynamicDataTypeConversionResolver.class))
       .put(OBJECT_LOCK_FACTORY, getBeanDefinition(MuleLockFactory.class))
-      .put(OBJECT_LOCK_PROVIDER, getBeanDefinition(SingleServerLockProvider.class))
+      .put(OBJECT_LOCK_PROVIDER, resolveLockProvider())
       .put(OBJECT_PROCESSING_TIME_WATCHER, getBeanDefinition(DefaultProcessingTimeWatcher.class))
       .put(OBJECT_EXCEPTION_LOCATION_PROVIDER, getBeanDefinition(MessagingExceptionLocationProvider.class))
       .put(OBJECT_MESSAGE_PROCESSING_FLOW_TRACE_MANAGER, getBeanDefinition(MessageProcessingFlowTraceManager.class))
       .put(OBJECT_COMPONENT_INITIAL_STATE_MANAGER, getBeanDefinition(DefaultComponentInitialStateManager.class))
       .put(OBJECT_STREAMING_MANAGER, getBeanDefinition(DefaultStreamingManager.class))
       .put(OBJECT_STREAMING_GHOST_BUSTER, getBeanDefinition(StreamingGhostBuster.class))
+      .put(ComponentStreamingStatistics.REGISTRY_KEY, getBeanDefinition(ComponentStreamingStatistics.class))
       .put(OBJECT_ARTIFACT_TYPE_LOADER, getBeanDefinition(DefaultArtifactTypeLoader.class))
       .put(OBJECT_TRANSFORMATION_SERVICE, getBeanDefinition(ExtendedTransformationService.class))
-      .put(OBJECT_CLUSTER_SERVICE, getBeanDefinition(DefaultClusterService.class))
+      .put(OBJECT_CLUSTER_SERVICE, resolveClusterService())
       .put(OBJECT_CONNECTIVITY_TESTER_FACTORY, getBeanDefinition(DefaultConnectivityTesterFactory.class))
       .put(LAZY_COMPONENT_INITIALIZER_SERVICE_KEY, getBeanDefinition(NoOpLazyComponentInitializer.class))
       .put(MULE_SPAN_EXPORTER_CONFIGURATION_KEY, getBeanDefinition(OpenTelemetryAutoConfigurableSpanExporterConfiguration.class))
@@ -473,4 +480,20 @@ public class SpringMuleContextServiceConfigurator extends AbstractSpringMuleCont
     return getBeanDefinition(NoopMeterProvider.class);
 
   }
+
+  private static BeanDefinition resolveLockProvider() {
+    if (isSharedDirectoryClusterEnabled()) {
+      return getBeanDefinition(SharedDirectoryLockProvider.class);
+    }
+
+    return getBeanDefinition(SingleServerLockProvider.class);
+  }
+
+  private static BeanDefinition resolveClusterService() {
+    if (isSharedDirectoryClusterEnabled()) {
+      return getBeanDefinition(SharedDirectoryClusterService.class);
+    }
+
+    return getBeanDefinition(DefaultClusterService.class);
+  }
 }
@@ -3,10 +3,15 @@
  */
 package org.mule.runtime.module.tls.internal;
 
+import static java.lang.Long.getLong;
+import static java.lang.System.nanoTime;
 import static java.util.Arrays.copyOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import static org.mule.runtime.api.config.MuleRuntimeFeature.HONOUR_INSECURE_TLS_CONFIGURATION;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.IOUtils.getResourceAsUrl;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.config.FeatureFlaggingService;
@@ -23,14 +28,22 @@ import org.mule.runtime.core.internal.security.tls.RestrictedSSLSocketFactory;
 import org.mule.runtime.core.internal.util.ArrayUtils;
 import org.mule.runtime.core.privileged.security.RevocationCheck;
 import org.mule.runtime.core.privileged.security.tls.TlsConfiguration;
+import org.mule.runtime.module.tls.internal.revocation.CrlFile;
 
 import com.google.common.base.Joiner;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLServerSocketFactory;
@@ -51,6 +64,14 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
   private static final Logger logger = LoggerFactory.getLogger(DefaultTlsContextFactory.class);
   private static final String DEFAULT = "default";
 
+  /**
+   * How often, in milliseconds, the key store, trust store and CRL files are checked for changes, so that the SSL context is
+   * rebuilt with their new content. A negative value disables the checks.
+   */
+  public static final String TLS_RELOAD_CHECK_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "tls.reloadCheckInterval";
+
+  private static final long DEFAULT_RELOAD_CHECK_INTERVAL = getLong(TLS_RELOAD_CHECK_INTERVAL_PROPERTY, 10000L);
+
   private String name;
 
   /**
@@ -58,12 +79,17 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
    */
   private final boolean treatInsecureTrustStoreAsNotConfigured;
 
-  private final TlsConfiguration tlsConfiguration;
+  private final Map<QName, Object> annotations;
+  private volatile TlsConfiguration tlsConfiguration;
 
   private AtomicBoolean initialized = new AtomicBoolean(false);
   private boolean trustStoreInsecure = false;
   private String[] enabledProtocols;
   private String[] enabledCipherSuites;
+  private RevocationCheck revocationCheck;
+  private long reloadCheckInterval = DEFAULT_RELOAD_CHECK_INTERVAL;
+
+  private volatile SslContextHolder sslContextHolder;
 
   public DefaultTlsContextFactory(Map<QName, Object> annotations, FeatureFlaggingService featureFlaggingService) {
     this(annotations, featureFlaggingService.isEnabled(HONOUR_INSECURE_TLS_CONFIGURATION));
@@ -74,6 +100,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
   }
 
   private DefaultTlsContextFactory(Map<QName, Object> annotations, boolean treatInsecureTrustStoreAsNotConfigured) {
+    this.annotations = annotations;
     tlsConfiguration = new TlsConfiguration(null);
     tlsConfiguration.setAnnotations(annotations);
     this.treatInsecureTrustStoreAsNotConfigured = treatInsecureTrustStoreAsNotConfigured;
@@ -137,6 +164,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setKeyStorePath(String name) throws IOException {
     tlsConfiguration.setKeyStore(name);
+    invalidateSslContext();
   }
 
   public String getKeyStoreType() {
@@ -145,6 +173,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setKeyStoreType(String keyStoreType) {
     tlsConfiguration.setKeyStoreType(keyStoreType);
+    invalidateSslContext();
   }
 
   public String getKeyAlias() {
@@ -153,6 +182,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setKeyAlias(String keyAlias) {
     tlsConfiguration.setKeyAlias(keyAlias);
+    invalidateSslContext();
   }
 
   public String getKeyStorePassword() {
@@ -161,6 +191,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setKeyStorePassword(String storePassword) {
     tlsConfiguration.setKeyStorePassword(storePassword);
+    invalidateSslContext();
   }
 
   public String getKeyPassword() {
@@ -169,6 +200,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setKeyPassword(String keyManagerPassword) {
     tlsConfiguration.setKeyPassword(keyManagerPassword);
+    invalidateSslContext();
   }
 
   public String getKeyManagerAlgorithm() {
@@ -177,6 +209,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setKeyManagerAlgorithm(String keyManagerAlgorithm) {
     tlsConfiguration.setKeyManagerAlgorithm(keyManagerAlgorithm);
+    invalidateSslContext();
   }
 
   public String getTrustStorePath() {
@@ -189,6 +222,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
       throw new IOException(String.format("Resource %s could not be found", trustStorePath));
     }
     tlsConfiguration.setTrustStore(trustStorePath);
+    invalidateSslContext();
   }
 
   public String getTrustStoreType() {
@@ -197,6 +231,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setTrustStoreType(String trustStoreType) {
     tlsConfiguration.setTrustStoreType(trustStoreType);
+    invalidateSslContext();
   }
 
   public String getTrustStorePassword() {
@@ -205,6 +240,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setTrustStorePassword(String trustStorePassword) {
     tlsConfiguration.setTrustStorePassword(trustStorePassword);
+    invalidateSslContext();
   }
 
   public String getTrustManagerAlgorithm() {
@@ -213,6 +249,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setTrustManagerAlgorithm(String trustManagerAlgorithm) {
     tlsConfiguration.setTrustManagerAlgorithm(trustManagerAlgorithm);
+    invalidateSslContext();
   }
 
   public boolean isTrustStoreInsecure() {
@@ -226,31 +263,169 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
                                 name == null ? StringUtils.EMPTY : name));
     }
     this.trustStoreInsecure = insecure;
+    invalidateSslContext();
   }
 
   public void setRevocationCheck(RevocationCheck revocationCheck) {
+    this.revocationCheck = revocationCheck;
     tlsConfiguration.setRevocationCheck(revocationCheck);
+    invalidateSslContext();
+  }
+
+  /**
+   * @param reloadCheckInterval how often, in milliseconds, the key store, trust store and CRL files are checked for changes. A
+   *                            negative value disables the checks. Defaults to {@link #TLS_RELOAD_CHECK_INTERVAL_PROPERTY}.
+   * @since 4.6
+   */
+  public void setReloadCheckInterval(long reloadCheckInterval) {
+    this.reloadCheckInterval = reloadCheckInterval;
+    invalidateSslContext();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The same context is returned by every call, so that all the connections share its session cache. It is only rebuilt if the
+   * key store, trust store or CRL files change, or if this factory is configured again.
+   */
   @Override
   public SSLContext createSslContext() throws KeyManagementException, NoSuchAlgorithmException {
-    SSLContext sslContext;
-    if (trustStoreInsecure) {
-      sslContext = tlsConfiguration.getSslContext(new TrustManager[] {new InsecureTrustManager()});
-    } else {
-      sslContext = tlsConfiguration.getSslContext();
-    }
-    return sslContext;
+    return getSslContextHolder().sslContext;
   }
 
   @Override
   public SSLSocketFactory createSocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
-    return new RestrictedSSLSocketFactory(createSslContext(), getEnabledCipherSuites(), getEnabledProtocols());
+    return getSslContextHolder().socketFactory;
   }
 
   @Override
   public SSLServerSocketFactory createServerSocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
-    return new RestrictedSSLServerSocketFactory(createSslContext(), getEnabledCipherSuites(), getEnabledProtocols());
+    return getSslContextHolder().serverSocketFactory;
+  }
+
+  /**
+   * @return the current statistics of the session cache of the SSL context of this factory. Only the cached sessions are
+   *         reported, not how many handshakes resumed them.
+   * @since 4.6
+   */
+  public TlsSessionCacheStatistics getSessionCacheStatistics() {
+    SslContextHolder holder = sslContextHolder;
+    return TlsSessionCacheStatistics.of(holder != null ? holder.sslContext : null);
+  }
+
+  /**
+   * Discards the current SSL context, so that the next one is built with the configuration changes.
+   */
+  private void invalidateSslContext() {
+    sslContextHolder = null;
+  }
+
+  private SslContextHolder getSslContextHolder() throws KeyManagementException, NoSuchAlgorithmException {
+    SslContextHolder holder = sslContextHolder;
+    if (holder != null && !(holder.isCheckDue() && holder.haveFilesChanged())) {
+      return holder;
+    }
+
+    synchronized (this) {
+      holder = sslContextHolder;
+      if (holder == null) {
+        sslContextHolder = holder = buildSslContextHolder(tlsConfiguration, resolveWatchedFiles());
+      } else if (holder.haveFilesChanged()) {
+        holder = reload(holder);
+      }
+      return holder;
+    }
+  }
+
+  /**
+   * Initialises a copy of the current TLS configuration with the changed files, so that the current one is kept untouched if
+   * they can't be loaded.
+   */
+  private SslContextHolder reload(SslContextHolder current) throws KeyManagementException, NoSuchAlgorithmException {
+    TlsConfiguration reloadedConfiguration;
+    try {
+      reloadedConfiguration = copyTlsConfiguration();
+      reloadedConfiguration.initialise(null == getKeyStorePath(), null);
+    } catch (CreateException | IOException e) {
+      logger.warn(String.format("Could not reload the changed key store, trust store or CRL files of TLS context %s. "
+          + "The current ones will be kept.", name == null ? StringUtils.EMPTY : name), e);
+      current.acceptCurrentFiles();
+      return current;
+    }
+
+    SslContextHolder reloaded = buildSslContextHolder(reloadedConfiguration, current.watchedFiles);
+    tlsConfiguration = reloadedConfiguration;
+    sslContextHolder = reloaded;
+    logger.info("Key store, trust store or CRL files of TLS context {} changed. Reloaded its SSL context.",
+                name == null ? StringUtils.EMPTY : name);
+    return reloaded;
+  }
+
+  private TlsConfiguration copyTlsConfiguration() throws IOException {
+    TlsConfiguration copy = new TlsConfiguration(null);
+    copy.setAnnotations(annotations);
+    copy.setKeyStore(tlsConfiguration.getKeyStore());
+    copy.setKeyStoreType(tlsConfiguration.getKeyStoreType());
+    copy.setKeyAlias(tlsConfiguration.getKeyAlias());
+    copy.setKeyStorePassword(tlsConfiguration.getKeyStorePassword());
+    copy.setKeyPassword(tlsConfiguration.getKeyPassword());
+    copy.setKeyManagerAlgorithm(tlsConfiguration.getKeyManagerAlgorithm());
+    copy.setTrustStore(tlsConfiguration.getTrustStore());
+    copy.setTrustStoreType(tlsConfiguration.getTrustStoreType());
+    copy.setTrustStorePassword(tlsConfiguration.getTrustStorePassword());
+    copy.setTrustManagerAlgorithm(tlsConfiguration.getTrustManagerAlgorithm());
+    copy.setRevocationCheck(revocationCheck);
+    return copy;
+  }
+
+  private SslContextHolder buildSslContextHolder(TlsConfiguration configuration, List<File> watchedFiles)
+      throws KeyManagementException, NoSuchAlgorithmException {
+    SSLContext sslContext;
+    if (trustStoreInsecure) {
+      sslContext = configuration.getSslContext(new TrustManager[] {new InsecureTrustManager()});
+    } else {
+      sslContext = configuration.getSslContext();
+    }
+
+    return new SslContextHolder(sslContext,
+                                new RestrictedSSLSocketFactory(sslContext, getEnabledCipherSuites(), getEnabledProtocols()),
+                                new RestrictedSSLServerSocketFactory(sslContext, getEnabledCipherSuites(),
+                                                                     getEnabledProtocols()),
+                                watchedFiles, MILLISECONDS.toNanos(reloadCheckInterval));
+  }
+
+  /**
+   * @return the key store, trust store and CRL files which are in the file system, as the ones in jars can't change.
+   */
+  private List<File> resolveWatchedFiles() {
+    List<File> files = new ArrayList<>();
+    if (reloadCheckInterval < 0) {
+      return files;
+    }
+
+    addWatchedFile(getKeyStorePath(), files);
+    if (!trustStoreInsecure) {
+      addWatchedFile(getTrustStorePath(), files);
+    }
+    if (revocationCheck instanceof CrlFile) {
+      addWatchedFile(((CrlFile) revocationCheck).getPath(), files);
+    }
+    return files;
+  }
+
+  private void addWatchedFile(String path, List<File> files) {
+    if (path == null) {
+      return;
+    }
+
+    URL url = getResourceAsUrl(path, getClass());
+    if (url != null && "file".equals(url.getProtocol())) {
+      try {
+        files.add(new File(url.toURI()));
+      } catch (URISyntaxException e) {
+        logger.debug("Changes on {} won't be checked", path, e);
+      }
+    }
   }
 
   @Override
@@ -266,6 +441,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setEnabledCipherSuites(String enabledCipherSuites) {
     this.enabledCipherSuites = StringUtils.splitAndTrim(enabledCipherSuites, ",");
+    invalidateSslContext();
   }
 
   @Override
@@ -281,6 +457,7 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
 
   public void setEnabledProtocols(String enabledProtocols) {
     this.enabledProtocols = StringUtils.splitAndTrim(enabledProtocols, ",");
+    invalidateSslContext();
   }
 
   @Override
@@ -399,4 +576,63 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
     @Override
     public void checkServerTrusted(java.security.cert.X509Certificate[] certs, String authType) {}
   }
+
+  /**
+   * An {@link SSLContext} along with the socket factories derived from it and the state of the files it was built from.
+   */
+  private static final class SslContextHolder {
+
+    private final SSLContext sslContext;
+    private final SSLSocketFactory socketFactory;
+    private final SSLServerSocketFactory serverSocketFactory;
+    private final List<File> watchedFiles;
+    private final long checkIntervalNanos;
+    private volatile long[] fileStamps;
+    private final AtomicLong lastCheck = new AtomicLong(nanoTime());
+
+    private SslContextHolder(SSLContext sslContext, SSLSocketFactory socketFactory, SSLServerSocketFactory serverSocketFactory,
+                             List<File> watchedFiles, long checkIntervalNanos) {
+      this.sslContext = sslContext;
+      this.socketFactory = socketFactory;
+      this.serverSocketFactory = serverSocketFactory;
+      this.watchedFiles = watchedFiles;
+      this.checkIntervalNanos = checkIntervalNanos;
+      this.fileStamps = stamp(watchedFiles);
+    }
+
+    /**
+     * @return whether the calling thread is the one that has to check the files now, so that they are checked at most once per
+     *         interval.
+     */
+    private boolean isCheckDue() {
+      if (watchedFiles.isEmpty()) {
+        return false;
+      }
+
+      long now = nanoTime();
+      long last = lastCheck.get();
+      return now - last >= checkIntervalNanos && lastCheck.compareAndSet(last, now);
+    }
+
+    private boolean haveFilesChanged() {
+      return !watchedFiles.isEmpty() && !Arrays.equals(fileStamps, stamp(watchedFiles));
+    }
+
+    /**
+     * Takes the current state of the files as the one this context was built from, so that changes which can't be loaded are
+     * not attempted again until the files change once more.
+     */
+    private void acceptCurrentFiles() {
+      fileStamps = stamp(watchedFiles);
+    }
+
+    private static long[] stamp(List<File> files) {
+      long[] stamps = new long[files.size() * 2];
+      for (int i = 0; i < files.size(); ++i) {
+        stamps[i * 2] = files.get(i).lastModified();
+        stamps[i * 2 + 1] = files.get(i).length();
+      }
+      return stamps;
+    }
+  }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.tls.internal;
+
+import java.util.Enumeration;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+
+/**
+ * A snapshot of how many TLS sessions are cached by an {@link SSLContext}, and so can be resumed by new connections instead of
+ * performing a full handshake.
+ * <p>
+ * The counts are read from the {@link SSLSessionContext session contexts} of the {@link SSLContext} when the snapshot is taken,
+ * so gathering them has no cost on the connections themselves.
+ * <p>
+ * How many handshakes resumed a cached session (hits) and how many were full handshakes (misses) is not counted. Telling them
+ * apart requires knowing when each handshake completes. The JDK only reports that for sockets through a
+ * {@link javax.net.ssl.HandshakeCompletedListener}, which starts a new thread for every handshake, and for engines only to the
+ * code driving them, so counting would either cost a thread per connection or require wrapping every socket and engine.
+ *
+ * @since 4.6
+ */
+public final class TlsSessionCacheStatistics {
+
+  private static final TlsSessionCacheStatistics EMPTY = new TlsSessionCacheStatistics(0, 0);
+
+  private final int clientSessions;
+  private final int serverSessions;
+
+  private TlsSessionCacheStatistics(int clientSessions, int serverSessions) {
+    this.clientSessions = clientSessions;
+    this.serverSessions = serverSessions;
+  }
+
+  /**
+   * @param sslContext the context to read the statistics from, or {@code null} if it was not created yet.
+   * @return the current statistics of the session cache of the given {@code sslContext}.
+   */
+  static TlsSessionCacheStatistics of(SSLContext sslContext) {
+    if (sslContext == null) {
+      return EMPTY;
+    }
+    return new TlsSessionCacheStatistics(countSessions(sslContext.getClientSessionContext()),
+                                         countSessions(sslContext.getServerSessionContext()));
+  }
+
+  private static int countSessions(SSLSessionContext sessionContext) {
+    if (sessionContext == null) {
+      return 0;
+    }
+
+    int count = 0;
+    for (Enumeration<byte[]> ids = sessionContext.getIds(); ids.hasMoreElements(); ids.nextElement()) {
+      ++count;
+    }
+    return count;
+  }
+
+  /**
+   * @return how many sessions established by client connections are cached.
+   */
+  public int getClientSessions() {
+    return clientSessions;
+  }
+
+  /**
+   * @return how many sessions established by server connections are cached.
+   */
+  public int getServerSessions() {
+    return serverSessions;
+  }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.arraycopy;
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.security.cert.PKIXRevocationChecker.Option.NO_FALLBACK;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.PKIXParameters;
+import java.security.cert.PKIXRevocationChecker;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the revocation status of the certificates of a path against an OCSP responder, reusing its responses so that only the
+ * first handshake of each certificate waits for the responder.
+ * <p>
+ * Responses are not interpreted here: each one, either fetched or cached, is handed to the JDK's {@link PKIXRevocationChecker}
+ * through {@link PKIXRevocationChecker#setOcspResponses(Map)}, which validates its signature, that it is about the checked
+ * certificate and that it is current, the same as for the responses it fetches itself. A cached response which is no longer
+ * valid is discarded and fetched again.
+ * <p>
+ * When the responder can't be reached or gives an invalid response, up to a budget of consecutive lookups are allowed to pass.
+ * Any valid response restores the budget.
+ *
+ * @since 4.6
+ */
+final class CachedOcspRevocationChecker extends PKIXCertPathChecker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachedOcspRevocationChecker.class);
+
+  private static final int MAX_CACHED_RESPONSES = 4096;
+  private static final int TIMEOUT_MILLIS = (int) SECONDS.toMillis(15);
+  private static final int MAX_RESPONSE_LENGTH = 64 * 1024;
+
+  private static final byte SEQUENCE = 0x30;
+  private static final byte OCTET_STRING = 0x04;
+  private static final byte INTEGER = 0x02;
+  private static final byte BIT_STRING = 0x03;
+  // AlgorithmIdentifier of SHA-1, the hash algorithm used by the JDK to identify certificates in OCSP responses
+  private static final byte[] SHA1_ALGORITHM = {0x30, 0x09, 0x06, 0x05, 0x2B, 0x0E, 0x03, 0x02, 0x1A, 0x05, 0x00};
+
+  private final URI responderUri;
+  private final X509Certificate responderCert;
+  private final Set<TrustAnchor> trustAnchors;
+  private final Cache cache;
+  private final LongSupplier clock;
+
+  // Only the cache is shared by the clones of this checker that validate each path
+  private X509Certificate previous;
+
+  CachedOcspRevocationChecker(URI responderUri, X509Certificate responderCert, Set<TrustAnchor> trustAnchors, Cache cache,
+                              LongSupplier clock) {
+    this.responderUri = responderUri;
+    this.responderCert = responderCert;
+    this.trustAnchors = trustAnchors;
+    this.cache = cache;
+    this.clock = clock;
+  }
+
+  @Override
+  public void init(boolean forward) throws CertPathValidatorException {
+    if (forward) {
+      throw new CertPathValidatorException("Forward checking is not supported");
+    }
+    previous = null;
+  }
+
+  @Override
+  public boolean isForwardCheckingSupported() {
+    return false;
+  }
+
+  @Override
+  public Set<String> getSupportedExtensions() {
+    return null;
+  }
+
+  @Override
+  public void check(Certificate cert, Collection<String> unresolvedCritExts) throws CertPathValidatorException {
+    X509Certificate x509Cert = (X509Certificate) cert;
+    X509Certificate issuer = previous != null ? previous : trustedIssuerOf(x509Cert);
+    previous = x509Cert;
+
+    if (issuer == null) {
+      throw undetermined("No trusted issuer found for '" + x509Cert.getSubjectX500Principal() + "'", null);
+    }
+
+    CertificateKey key = new CertificateKey(x509Cert);
+    byte[] cached = cache.responses.get(key);
+    if (cached != null) {
+      try {
+        validate(x509Cert, issuer, cached);
+        return;
+      } catch (GeneralSecurityException e) {
+        if (isRevoked(e)) {
+          throw (CertPathValidatorException) e;
+        }
+        // No longer current, so a new one is fetched
+        cache.responses.remove(key, cached);
+      }
+    }
+
+    byte[] response = null;
+    try {
+      response = fetch(x509Cert, issuer);
+      validate(x509Cert, issuer, response);
+    } catch (IOException | GeneralSecurityException e) {
+      if (isRevoked(e)) {
+        cache.consecutiveFailures.set(0);
+        cache.put(key, response);
+        throw (CertPathValidatorException) e;
+      } else if (cache.consecutiveFailures.incrementAndGet() <= cache.softFailBudget) {
+        LOGGER.warn("Accepting certificate '{}' without checking its revocation status: {}",
+                    x509Cert.getSubjectX500Principal(), e.getMessage());
+        return;
+      }
+      throw undetermined("Could not check the revocation status of '" + x509Cert.getSubjectX500Principal() + "': "
+          + e.getMessage(), e);
+    }
+
+    cache.consecutiveFailures.set(0);
+    cache.put(key, response);
+  }
+
+  /**
+   * Validates the given OCSP {@code response} with the JDK's {@link PKIXRevocationChecker}, on a path made of {@code cert} alone
+   * and trusting its {@code issuer}, whose trust is checked by the path being validated.
+   *
+   * @throws CertPathValidatorException if the response is not valid, or if it is and {@code cert} has been revoked.
+   */
+  private void validate(X509Certificate cert, X509Certificate issuer, byte[] response) throws GeneralSecurityException {
+    CertPathValidator validator = CertPathValidator.getInstance("PKIX");
+
+    PKIXRevocationChecker revocationChecker = (PKIXRevocationChecker) validator.getRevocationChecker();
+    revocationChecker.setOptions(EnumSet.of(NO_FALLBACK));
+    if (responderCert != null) {
+      revocationChecker.setOcspResponderCert(responderCert);
+    }
+    revocationChecker.setOcspResponses(singletonMap(cert, response));
+
+    PKIXParameters parameters = new PKIXParameters(singleton(new TrustAnchor(issuer, null)));
+    parameters.setDate(new Date(clock.getAsLong()));
+    parameters.addCertPathChecker(revocationChecker);
+
+    validator.validate(CertificateFactory.getInstance("X.509").generateCertPath(singletonList(cert)), parameters);
+  }
+
+  private byte[] fetch(X509Certificate cert, X509Certificate issuer) throws IOException, GeneralSecurityException {
+    byte[] request = encodeRequest(cert, issuer);
+
+    HttpURLConnection connection = (HttpURLConnection) responderUri.toURL().openConnection();
+    try {
+      connection.setConnectTimeout(TIMEOUT_MILLIS);
+      connection.setReadTimeout(TIMEOUT_MILLIS);
+      connection.setDoOutput(true);
+      connection.setRequestMethod("POST");
+      connection.setRequestProperty("Content-Type", "application/ocsp-request");
+      connection.setFixedLengthStreamingMode(request.length);
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(request);
+      }
+
+      if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        throw new IOException("OCSP responder answered with HTTP status " + connection.getResponseCode());
+      }
+      try (InputStream in = connection.getInputStream()) {
+        return readResponse(in);
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  private static byte[] readResponse(InputStream in) throws IOException {
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+    byte[] chunk = new byte[4096];
+    int read;
+    while ((read = in.read(chunk)) != -1) {
+      if (response.size() + read > MAX_RESPONSE_LENGTH) {
+        throw new IOException("OCSP response is longer than " + MAX_RESPONSE_LENGTH + " bytes");
+      }
+      response.write(chunk, 0, read);
+    }
+    return response.toByteArray();
+  }
+
+  /**
+   * @return a DER encoded OCSP request for the status of {@code cert}, without extensions.
+   */
+  static byte[] encodeRequest(X509Certificate cert, X509Certificate issuer) throws GeneralSecurityException {
+    MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+    byte[] issuerNameHash = sha1.digest(issuer.getSubjectX500Principal().getEncoded());
+    byte[] issuerKeyHash = sha1.digest(subjectPublicKey(issuer));
+
+    // OCSPRequest { TBSRequest { requestList { Request { CertID } } } }
+    byte[] certId = der(SEQUENCE, SHA1_ALGORITHM, der(OCTET_STRING, issuerNameHash), der(OCTET_STRING, issuerKeyHash),
+                        der(INTEGER, cert.getSerialNumber().toByteArray()));
+    return der(SEQUENCE, der(SEQUENCE, der(SEQUENCE, der(SEQUENCE, certId))));
+  }
+
+  /**
+   * @return the value of the {@code subjectPublicKey} bit string of the {@code SubjectPublicKeyInfo} of {@code cert}, without
+   *         its unused bits count, which is what identifies the key of an issuer in OCSP.
+   */
+  private static byte[] subjectPublicKey(X509Certificate cert) throws GeneralSecurityException {
+    byte[] info = cert.getPublicKey().getEncoded();
+    // SubjectPublicKeyInfo ::= SEQUENCE { algorithm AlgorithmIdentifier, subjectPublicKey BIT STRING }
+    int offset = contentOffset(info, 0, SEQUENCE);
+    offset = contentOffset(info, offset, SEQUENCE) + contentLength(info, offset);
+    int keyOffset = contentOffset(info, offset, BIT_STRING) + 1;
+    int keyLength = contentLength(info, offset) - 1;
+
+    byte[] key = new byte[keyLength];
+    arraycopy(info, keyOffset, key, 0, keyLength);
+    return key;
+  }
+
+  private static int contentOffset(byte[] der, int offset, byte expectedTag) throws GeneralSecurityException {
+    if (der[offset] != expectedTag) {
+      throw new GeneralSecurityException("Unexpected encoding of public key");
+    }
+    int first = der[offset + 1] & 0xFF;
+    return offset + 2 + (first < 0x80 ? 0 : first & 0x7F);
+  }
+
+  private static int contentLength(byte[] der, int offset) {
+    int first = der[offset + 1] & 0xFF;
+    if (first < 0x80) {
+      return first;
+    }
+
+    int length = 0;
+    for (int i = 0; i < (first & 0x7F); ++i) {
+      length = (length << 8) | (der[offset + 2 + i] & 0xFF);
+    }
+    return length;
+  }
+
+  private static byte[] der(byte tag, byte[]... contents) {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    for (byte[] c : contents) {
+      content.write(c, 0, c.length);
+    }
+
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    encoded.write(tag);
+    int length = content.size();
+    if (length < 0x80) {
+      encoded.write(length);
+    } else {
+      byte[] lengthBytes = BigInteger.valueOf(length).toByteArray();
+      int start = lengthBytes[0] == 0 ? 1 : 0;
+      encoded.write(0x80 | (lengthBytes.length - start));
+      encoded.write(lengthBytes, start, lengthBytes.length - start);
+    }
+    encoded.write(content.toByteArray(), 0, length);
+    return encoded.toByteArray();
+  }
+
+  private static boolean isRevoked(Exception e) {
+    return e instanceof CertPathValidatorException && ((CertPathValidatorException) e).getReason() == REVOKED;
+  }
+
+  private static CertPathValidatorException undetermined(String message, Throwable cause) {
+    return new CertPathValidatorException(message, cause, null, -1, UNDETERMINED_REVOCATION_STATUS);
+  }
+
+  private X509Certificate trustedIssuerOf(X509Certificate cert) {
+    X500Principal issuerName = cert.getIssuerX500Principal();
+    for (TrustAnchor anchor : trustAnchors) {
+      X509Certificate trusted = anchor.getTrustedCert();
+      if (trusted != null && trusted.getSubjectX500Principal().equals(issuerName)) {
+        return trusted;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The responses of an OCSP responder, along with how many lookups may still soft fail, shared by all the checkers created for
+   * it.
+   */
+  static final class Cache {
+
+    private final Map<CertificateKey, byte[]> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final int softFailBudget;
+
+    /**
+     * @param softFailBudget how many consecutive lookups may pass when the status of the certificate can't be determined.
+     */
+    Cache(int softFailBudget) {
+      this.softFailBudget = softFailBudget;
+    }
+
+    private void put(CertificateKey key, byte[] response) {
+      if (responses.size() >= MAX_CACHED_RESPONSES) {
+        responses.clear();
+      }
+      responses.put(key, response);
+    }
+  }
+
+  private static final class CertificateKey {
+
+    private final X500Principal issuer;
+    private final BigInteger serialNumber;
+
+    private CertificateKey(X509Certificate cert) {
+      this.issuer = cert.getIssuerX500Principal();
+      this.serialNumber = cert.getSerialNumber();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      CertificateKey that = (CertificateKey) o;
+      return issuer.equals(that.issuer) && serialNumber.equals(that.serialNumber);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(issuer, serialNumber);
+    }
+  }
+}
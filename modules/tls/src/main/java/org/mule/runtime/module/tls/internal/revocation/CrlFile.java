@@ -34,6 +34,9 @@ import javax.net.ssl.ManagerFactoryParameters;
 /**
  * Local file based certificate revocation checker, which requires a CRL file to be accessible and ignores extension points
  * (additional tags for CRLDP and OCSP) in the certificate.
+ * <p>
+ * The file is parsed once when the TLS context is created, and the JDK checks each handshake against the parsed lists, which
+ * keep their entries indexed by serial number and remember the verification of their signature.
  *
  * Note that the signer of the CRL must be the client certificate's CA, in case that's not possible consider using
  * {@link CustomOcspResponder}.
@@ -48,6 +51,14 @@ public class CrlFile extends AbstractComponent implements RevocationCheck {
     this.path = path;
   }
 
+  /**
+   * @return the path of the file with the certificate revocation list.
+   * @since 4.6
+   */
+  public String getPath() {
+    return path;
+  }
+
   @Override
   public ManagerFactoryParameters configFor(KeyStore trustStore, Set<TrustAnchor> defaultTrustAnchors) {
     checkArgument(path != null, "tls:crl-file requires the 'path' attribute");
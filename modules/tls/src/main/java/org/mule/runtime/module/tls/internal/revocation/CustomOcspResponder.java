@@ -3,8 +3,11 @@
  */
 package org.mule.runtime.module.tls.internal.revocation;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 
+import static java.lang.Integer.getInteger;
+
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.core.privileged.security.RevocationCheck;
 
@@ -12,14 +15,12 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
-import java.security.cert.CertPathBuilder;
 import java.security.cert.PKIXBuilderParameters;
-import java.security.cert.PKIXRevocationChecker;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
-import java.util.EnumSet;
 import java.util.Set;
+import java.util.function.LongSupplier;
 
 import javax.net.ssl.CertPathTrustManagerParameters;
 import javax.net.ssl.ManagerFactoryParameters;
@@ -27,13 +28,38 @@ import javax.net.ssl.ManagerFactoryParameters;
 /**
  * Uses a custom OCSP responder for certificate revocation checks, with a specific trusted certificate for revocating other keys.
  * This ignores extension points (additional tags for CRLDP or OCSP) present in the certificate, if any.
+ * <p>
+ * Responses of the responder are cached and validated again by the JDK's {@link java.security.cert.PKIXRevocationChecker} on
+ * each use, so that the latency of the responder is only paid by the first handshake of each certificate until the response is
+ * no longer current. When the responder can't be reached, up to {@link #OCSP_SOFT_FAIL_BUDGET_PROPERTY} consecutive lookups are
+ * allowed to pass.
  *
  * @since 4.1
  */
 public class CustomOcspResponder extends AbstractComponent implements RevocationCheck {
 
+  /**
+   * How many consecutive OCSP lookups may pass when the revocation status can't be determined because of network or responder
+   * errors. This is a possible security risk. Defaults to 0.
+   *
+   * @since 4.6
+   */
+  public static final String OCSP_SOFT_FAIL_BUDGET_PROPERTY = SYSTEM_PROPERTY_PREFIX + "tls.ocsp.softFailBudget";
+
   private String url;
   private String certAlias;
+  private int softFailBudget = getInteger(OCSP_SOFT_FAIL_BUDGET_PROPERTY, 0);
+
+  private final LongSupplier clock;
+  private CachedOcspRevocationChecker.Cache cache;
+
+  public CustomOcspResponder() {
+    this(System::currentTimeMillis);
+  }
+
+  CustomOcspResponder(LongSupplier clock) {
+    this.clock = clock;
+  }
 
   public void setUrl(String url) {
     this.url = url;
@@ -43,29 +69,42 @@ public class CustomOcspResponder extends AbstractComponent implements Revocation
     this.certAlias = certAlias;
   }
 
+  /**
+   * @param softFailBudget how many consecutive lookups may pass when the revocation status can't be determined.
+   * @since 4.6
+   */
+  public synchronized void setSoftFailBudget(int softFailBudget) {
+    checkArgument(softFailBudget >= 0, "softFailBudget must not be negative");
+    this.softFailBudget = softFailBudget;
+    this.cache = null;
+  }
+
   @Override
-  public ManagerFactoryParameters configFor(KeyStore trustStore, Set<TrustAnchor> defaultTrustAnchors) {
+  public synchronized ManagerFactoryParameters configFor(KeyStore trustStore, Set<TrustAnchor> defaultTrustAnchors) {
     checkArgument(url != null, "tls:custom-ocsp-responder requires the 'url' attribute");
     checkArgument(trustStore != null, "tls:custom-ocsp-responder requires a trust store");
 
     try {
-      CertPathBuilder cpb = CertPathBuilder.getInstance("PKIX");
-      PKIXRevocationChecker rc = (PKIXRevocationChecker) cpb.getRevocationChecker();
-      rc.setOptions(EnumSet.of(PKIXRevocationChecker.Option.NO_FALLBACK));
-
-      if (url != null) {
-        rc.setOcspResponder(new URI(url));
-      }
+      X509Certificate responderCert = null;
       if (certAlias != null) {
         if (trustStore.isCertificateEntry(certAlias)) {
-          rc.setOcspResponderCert((X509Certificate) trustStore.getCertificate(certAlias));
+          responderCert = (X509Certificate) trustStore.getCertificate(certAlias);
         } else {
           throw new IllegalStateException("Key with alias \"" + certAlias + "\" was not found");
         }
       }
 
+      if (cache == null) {
+        // Kept across TLS contexts, so that reloading the context doesn't discard the responses of the responder
+        cache = new CachedOcspRevocationChecker.Cache(softFailBudget);
+      }
+
       PKIXBuilderParameters pkixParams = new PKIXBuilderParameters(trustStore, new X509CertSelector());
-      pkixParams.addCertPathChecker(rc);
+      // The caching checker hands the responses to the JDK's revocation checker for each certificate of the path, so the
+      // default one, which would query the responder on each handshake, is not added
+      pkixParams.setRevocationEnabled(false);
+      pkixParams.addCertPathChecker(new CachedOcspRevocationChecker(new URI(url), responderCert, pkixParams.getTrustAnchors(),
+                                                                    cache, clock));
 
       return new CertPathTrustManagerParameters(pkixParams);
     } catch (GeneralSecurityException | URISyntaxException e) {
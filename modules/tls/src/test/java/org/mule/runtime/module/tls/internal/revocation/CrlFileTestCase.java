@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static org.mule.runtime.core.api.util.IOUtils.getResourceAsStream;
+
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.util.Collections.singletonList;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.CertPathTrustManagerParameters;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CrlFileTestCase extends AbstractMuleTestCase {
+
+  private static final String CRL_PATH = "revocation/ca.crl";
+
+  private CertificateFactory certificateFactory;
+  private KeyStore trustStore;
+
+  @Before
+  public void before() throws Exception {
+    certificateFactory = CertificateFactory.getInstance("X.509");
+    trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+    trustStore.load(null, null);
+    trustStore.setCertificateEntry("ca", certificate("ca.crt"));
+  }
+
+  @Test
+  public void notRevokedCertificateIsAccepted() throws Exception {
+    validate(crlFile(CRL_PATH), certificate("valid.crt"));
+  }
+
+  @Test
+  public void revokedCertificateIsRejected() throws Exception {
+    assertThat(validationFailure(crlFile(CRL_PATH), certificate("revoked.crt")), is(REVOKED));
+  }
+
+  private CrlFile crlFile(String path) {
+    CrlFile crlFile = new CrlFile();
+    crlFile.setPath(path);
+    return crlFile;
+  }
+
+  private void validate(CrlFile crlFile, X509Certificate cert) throws Exception {
+    CertPathTrustManagerParameters parameters = (CertPathTrustManagerParameters) crlFile.configFor(trustStore, null);
+    CertPathValidator.getInstance("PKIX").validate(certificateFactory.generateCertPath(singletonList(cert)),
+                                                   (PKIXParameters) parameters.getParameters());
+  }
+
+  private CertPathValidatorException.Reason validationFailure(CrlFile crlFile, X509Certificate cert) throws Exception {
+    try {
+      validate(crlFile, cert);
+    } catch (CertPathValidatorException e) {
+      return e.getReason();
+    }
+    fail("Certificate should have been rejected");
+    return null;
+  }
+
+  private X509Certificate certificate(String name) throws Exception {
+    try (InputStream in = getResourceAsStream("revocation/" + name, getClass())) {
+      return (X509Certificate) certificateFactory.generateCertificate(in);
+    }
+  }
+}
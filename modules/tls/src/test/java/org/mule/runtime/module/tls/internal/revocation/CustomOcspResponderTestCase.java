@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static org.mule.runtime.core.api.util.IOUtils.getResourceAsStream;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.util.Collections.singletonList;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXParameters;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.net.ssl.CertPathTrustManagerParameters;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CustomOcspResponderTestCase extends AbstractMuleTestCase {
+
+  // The responses in the test resources were produced on 2026-10-19 and are valid for 30 days
+  private static final long NOW = Instant.parse("2026-10-20T00:00:00Z").toEpochMilli();
+
+  private final AtomicLong clock = new AtomicLong(NOW);
+  private final AtomicReference<byte[]> response = new AtomicReference<>();
+  private final AtomicInteger requests = new AtomicInteger();
+
+  private HttpServer ocspStub;
+  private CertificateFactory certificateFactory;
+  private KeyStore trustStore;
+  private CustomOcspResponder responder;
+
+  @Before
+  public void before() throws Exception {
+    ocspStub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    ocspStub.createContext("/ocsp", exchange -> {
+      requests.incrementAndGet();
+      toByteArray(exchange.getRequestBody());
+
+      byte[] body = response.get();
+      if (body == null) {
+        exchange.sendResponseHeaders(500, -1);
+      } else {
+        exchange.getResponseHeaders().add("Content-Type", "application/ocsp-response");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+          out.write(body);
+        }
+      }
+      exchange.close();
+    });
+    ocspStub.start();
+
+    certificateFactory = CertificateFactory.getInstance("X.509");
+    trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+    trustStore.load(null, null);
+    trustStore.setCertificateEntry("ca", certificate("ca.crt"));
+
+    responder = new CustomOcspResponder(clock::get);
+    responder.setUrl("http://localhost:" + ocspStub.getAddress().getPort() + "/ocsp");
+  }
+
+  @After
+  public void after() {
+    ocspStub.stop(0);
+  }
+
+  @Test
+  public void goodResponseIsReusedWhileCurrent() throws Exception {
+    response.set(ocspResponse("ocsp-valid.der"));
+
+    validate(certificate("valid.crt"));
+    validate(certificate("valid.crt"));
+    assertThat(requests.get(), is(1));
+
+    // Past the nextUpdate of the cached response, but still within the allowed clock skew
+    clock.set(Instant.parse("2026-11-18T18:10:00Z").toEpochMilli());
+    validate(certificate("valid.crt"));
+    assertThat(requests.get(), is(1));
+  }
+
+  @Test
+  public void responseNoLongerCurrentIsFetchedAgain() throws Exception {
+    response.set(ocspResponse("ocsp-valid.der"));
+    validate(certificate("valid.crt"));
+
+    // The responder keeps answering with the same response, which is no longer current either
+    clock.set(Instant.parse("2026-11-18T18:30:00Z").toEpochMilli());
+    assertThat(validationFailure(certificate("valid.crt")), is(UNDETERMINED_REVOCATION_STATUS));
+    assertThat(requests.get(), is(2));
+  }
+
+  @Test
+  public void revokedCertificateIsRejected() throws Exception {
+    response.set(ocspResponse("ocsp-revoked.der"));
+
+    assertThat(validationFailure(certificate("revoked.crt")), is(REVOKED));
+    assertThat(validationFailure(certificate("revoked.crt")), is(REVOKED));
+    assertThat(requests.get(), is(1));
+  }
+
+  @Test
+  public void responseForOtherCertificateIsRejected() throws Exception {
+    response.set(ocspResponse("ocsp-valid.der"));
+
+    assertThat(validationFailure(certificate("revoked.crt")), is(UNDETERMINED_REVOCATION_STATUS));
+  }
+
+  @Test
+  public void responseWithInvalidSignatureIsRejected() throws Exception {
+    byte[] tampered = ocspResponse("ocsp-valid.der");
+    // The responses in the test resources end with their signature
+    tampered[tampered.length - 1] ^= 1;
+    response.set(tampered);
+
+    assertThat(validationFailure(certificate("valid.crt")), is(UNDETERMINED_REVOCATION_STATUS));
+  }
+
+  @Test
+  public void expiredResponseIsRejected() throws Exception {
+    response.set(ocspResponse("ocsp-valid.der"));
+    clock.set(Instant.parse("2026-12-01T00:00:00Z").toEpochMilli());
+
+    assertThat(validationFailure(certificate("valid.crt")), is(UNDETERMINED_REVOCATION_STATUS));
+  }
+
+  @Test
+  public void unavailableResponderFailsWithoutSoftFailBudget() throws Exception {
+    assertThat(validationFailure(certificate("valid.crt")), is(UNDETERMINED_REVOCATION_STATUS));
+  }
+
+  @Test
+  public void unavailableResponderWithinSoftFailBudget() throws Exception {
+    responder.setSoftFailBudget(2);
+
+    validate(certificate("valid.crt"));
+    validate(certificate("valid.crt"));
+    assertThat(validationFailure(certificate("valid.crt")), is(UNDETERMINED_REVOCATION_STATUS));
+    assertThat(requests.get(), is(3));
+  }
+
+  @Test
+  public void validResponseRestoresSoftFailBudget() throws Exception {
+    responder.setSoftFailBudget(1);
+
+    validate(certificate("valid.crt"));
+    response.set(ocspResponse("ocsp-revoked.der"));
+    assertThat(validationFailure(certificate("revoked.crt")), is(REVOKED));
+
+    response.set(null);
+    validate(certificate("valid.crt"));
+  }
+
+  private void validate(X509Certificate cert) throws Exception {
+    CertPathTrustManagerParameters parameters = (CertPathTrustManagerParameters) responder.configFor(trustStore, null);
+    CertPathValidator.getInstance("PKIX").validate(certificateFactory.generateCertPath(singletonList(cert)),
+                                                   (PKIXParameters) parameters.getParameters());
+  }
+
+  private CertPathValidatorException.Reason validationFailure(X509Certificate cert) throws Exception {
+    try {
+      validate(cert);
+    } catch (CertPathValidatorException e) {
+      return e.getReason();
+    }
+    fail("Certificate should have been rejected");
+    return null;
+  }
+
+  private byte[] ocspResponse(String name) {
+    return toByteArray(getResourceAsStream("revocation/" + name, getClass()));
+  }
+
+  private X509Certificate certificate(String name) throws Exception {
+    try (InputStream in = getResourceAsStream("revocation/" + name, getClass())) {
+      return (X509Certificate) certificateFactory.generateCertificate(in);
+    }
+  }
+}
@@ -5,6 +5,7 @@ package org.mule.test.module.tls;
 
 import static java.util.Collections.emptyMap;
 import static javax.net.ssl.TrustManagerFactory.getDefaultAlgorithm;
+import static org.apache.commons.io.FileUtils.copyURLToFile;
 import static org.apache.commons.lang3.SystemUtils.IS_JAVA_1_8;
 import static org.hamcrest.Matchers.arrayContaining;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
@@ -13,6 +14,8 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -21,6 +24,7 @@ import static org.mule.functional.junit4.matchers.ThrowableCauseMatcher.hasCause
 import static org.mule.functional.junit4.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mule.runtime.api.config.MuleRuntimeFeature.HONOUR_INSECURE_TLS_CONFIGURATION;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.util.IOUtils.getResourceAsUrl;
 import static org.mule.runtime.core.privileged.security.tls.TlsConfiguration.DEFAULT_SECURITY_MODEL;
 import static org.mule.runtime.core.privileged.security.tls.TlsConfiguration.PROPERTIES_FILE_PATTERN;
 
@@ -46,12 +50,16 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 public class DefaultTlsContextFactoryTestCase extends AbstractMuleTestCase {
 
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @BeforeClass
   public static void createTlsPropertiesFile() throws Exception {
 
@@ -204,6 +212,83 @@ public class DefaultTlsContextFactoryTestCase extends AbstractMuleTestCase {
     defaultIncludesDEfaultTlsVersionCiphers("TLSv1.3");
   }
 
+  @Test
+  public void sslContextAndSocketFactoriesAreReused() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.initialise();
+
+    assertThat(tlsContextFactory.createSslContext(), is(sameInstance(tlsContextFactory.createSslContext())));
+    assertThat(tlsContextFactory.createSocketFactory(), is(sameInstance(tlsContextFactory.createSocketFactory())));
+    assertThat(tlsContextFactory.createServerSocketFactory(), is(sameInstance(tlsContextFactory.createServerSocketFactory())));
+  }
+
+  @Test
+  public void sslContextIsRebuiltWhenConfigurationChanges() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.initialise();
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    SSLSocketFactory socketFactory = tlsContextFactory.createSocketFactory();
+
+    tlsContextFactory.setEnabledProtocols("TLSv1.2");
+    assertThat(tlsContextFactory.createSslContext(), is(not(sameInstance(sslContext))));
+    assertThat(tlsContextFactory.createSocketFactory(), is(not(sameInstance(socketFactory))));
+  }
+
+  @Test
+  public void sessionCacheStatisticsAreReadFromSslContext() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.initialise();
+    assertThat(tlsContextFactory.getSessionCacheStatistics().getClientSessions(), is(0));
+
+    tlsContextFactory.createSslContext();
+    assertThat(tlsContextFactory.getSessionCacheStatistics().getClientSessions(), is(0));
+    assertThat(tlsContextFactory.getSessionCacheStatistics().getServerSessions(), is(0));
+  }
+
+  @Test
+  public void sslContextIsRebuiltWhenKeyStoreChanges() throws Exception {
+    File keyStore = temporaryFolder.newFile("keyStore");
+    copyURLToFile(getResourceAsUrl("serverKeystore", getClass()), keyStore);
+
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.setKeyStorePath(keyStore.getAbsolutePath());
+    tlsContextFactory.setKeyStorePassword("mulepassword");
+    tlsContextFactory.setKeyPassword("mulepassword");
+    tlsContextFactory.setReloadCheckInterval(0);
+    tlsContextFactory.initialise();
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    assertThat(tlsContextFactory.createSslContext(), is(sameInstance(sslContext)));
+
+    copyURLToFile(getResourceAsUrl("serverKeystore", getClass()), keyStore);
+    assertTrue(keyStore.setLastModified(keyStore.lastModified() + 10000));
+
+    SSLContext reloaded = tlsContextFactory.createSslContext();
+    assertThat(reloaded, is(not(sameInstance(sslContext))));
+    assertThat(tlsContextFactory.createSslContext(), is(sameInstance(reloaded)));
+  }
+
+  @Test
+  public void sslContextIsKeptWhenChangedKeyStoreCannotBeLoaded() throws Exception {
+    File keyStore = temporaryFolder.newFile("keyStore");
+    copyURLToFile(getResourceAsUrl("serverKeystore", getClass()), keyStore);
+
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.setKeyStorePath(keyStore.getAbsolutePath());
+    tlsContextFactory.setKeyStorePassword("mulepassword");
+    tlsContextFactory.setKeyPassword("mulepassword");
+    tlsContextFactory.setReloadCheckInterval(0);
+    tlsContextFactory.initialise();
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+
+    copyURLToFile(getResourceAsUrl("trustStore", getClass()), keyStore);
+    assertTrue(keyStore.setLastModified(keyStore.lastModified() + 10000));
+
+    assertThat(tlsContextFactory.createSslContext(), is(sameInstance(sslContext)));
+  }
+
   private FeatureFlaggingService getFeatureFlaggingServiceWithFFDisabled() {
     return feature -> !feature.equals(HONOUR_INSECURE_TLS_CONFIGURATION);
   }
@@ -12,7 +12,9 @@ import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallb
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationException;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingService;
+import org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation;
 import org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.StreamingStatisticsOperation;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -26,6 +28,8 @@ public class DefaultTroubleshootingService implements TroubleshootingService {
 
   public DefaultTroubleshootingService(DeploymentService deploymentService) {
     registerOperation(new EventDumpOperation(deploymentService));
+    registerOperation(new ComponentLatencyOperation(deploymentService));
+    registerOperation(new StreamingStatisticsOperation(deploymentService));
   }
 
   @Override
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencyReport;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencySampler;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencyStatistics;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencyStatistics.LatencySummary;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Operation used to sample the latency of the components of the deployed applications for a period of time, and report the
+ * components where most of the time is spent in JSON format.
+ * <p>
+ * The name of the operation is "componentLatency".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to sample the components of</li>
+ * <li>duration (Optional): For how many milliseconds to sample, 10 seconds by default</li>
+ * <li>samplingRate (Optional): One of how many events to measure the latency of, 10 by default</li>
+ * </ul>
+ */
+public class ComponentLatencyOperation implements TroubleshootingOperation {
+
+  public static final String COMPONENT_LATENCY_OPERATION_NAME = "componentLatency";
+  public static final String COMPONENT_LATENCY_OPERATION_DESCRIPTION =
+      "Samples the latency of the components for a period of time and reports the hotspots in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to sample the components of";
+
+  public static final String DURATION_ARGUMENT_NAME = "duration";
+  public static final String DURATION_ARGUMENT_DESCRIPTION = "For how many milliseconds to sample, 10 seconds by default";
+
+  public static final String SAMPLING_RATE_ARGUMENT_NAME = "samplingRate";
+  public static final String SAMPLING_RATE_ARGUMENT_DESCRIPTION =
+      "One of how many events to measure the latency of, 10 by default";
+
+  private static final long DEFAULT_DURATION_MILLIS = 10000;
+  private static final long MAX_DURATION_MILLIS = MINUTES.toMillis(5);
+  private static final int DEFAULT_SAMPLING_RATE = 10;
+  private static final double NANOS_PER_MILLI = 1000000.0;
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public ComponentLatencyOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      long durationMillis = getDuration(arguments);
+      int samplingRate = getSamplingRate(arguments);
+
+      Map<String, ComponentLatencySampler> samplers = getSamplers(arguments.get(APPLICATION_ARGUMENT_NAME));
+      List<ComponentLatencySampler> startedSamplers = new ArrayList<>();
+      JSONObject hotspots = new JSONObject();
+      try {
+        for (ComponentLatencySampler sampler : samplers.values()) {
+          sampler.startSession(durationMillis, samplingRate);
+          startedSamplers.add(sampler);
+        }
+
+        Thread.sleep(durationMillis);
+      } catch (InterruptedException e) {
+        // Report what was sampled until interrupted
+        currentThread().interrupt();
+      } finally {
+        for (Map.Entry<String, ComponentLatencySampler> entry : samplers.entrySet()) {
+          if (startedSamplers.contains(entry.getValue())) {
+            hotspots.put(entry.getKey(), reportToJSON(entry.getValue().stopSession()));
+          }
+        }
+      }
+      return hotspots.toString(2);
+    };
+  }
+
+  private Map<String, ComponentLatencySampler> getSamplers(String applicationName) {
+    List<Application> applications;
+    if (applicationName == null) {
+      applications = deploymentService.getApplications();
+    } else {
+      Application application = deploymentService.findApplication(applicationName);
+      if (application == null) {
+        throw new IllegalArgumentException(format("Application %s is not deployed.", applicationName));
+      }
+      applications = singletonList(application);
+    }
+
+    Map<String, ComponentLatencySampler> samplers = new LinkedHashMap<>();
+    for (Application application : applications) {
+      samplers.put(application.getArtifactName(), getSampler(application));
+    }
+    return samplers;
+  }
+
+  private static ComponentLatencySampler getSampler(Application application) {
+    return application
+        .getArtifactContext()
+        .getRegistry()
+        .lookupByName(ComponentLatencySampler.REGISTRY_KEY)
+        .map(ComponentLatencySampler.class::cast)
+        .orElseThrow(() -> new IllegalArgumentException(format("Could not get ComponentLatencySampler for application %s.",
+                                                               application.getArtifactName())));
+  }
+
+  private static long getDuration(Map<String, String> arguments) {
+    String duration = arguments.get(DURATION_ARGUMENT_NAME);
+    if (duration == null) {
+      return DEFAULT_DURATION_MILLIS;
+    }
+
+    long durationMillis = parseLong(duration);
+    if (durationMillis <= 0 || durationMillis > MAX_DURATION_MILLIS) {
+      throw new IllegalArgumentException(format("Argument '%s' must be between 1 and %d milliseconds, but was %s.",
+                                                DURATION_ARGUMENT_NAME, MAX_DURATION_MILLIS, duration));
+    }
+    return durationMillis;
+  }
+
+  private static int getSamplingRate(Map<String, String> arguments) {
+    String samplingRate = arguments.get(SAMPLING_RATE_ARGUMENT_NAME);
+    if (samplingRate == null) {
+      return DEFAULT_SAMPLING_RATE;
+    }
+
+    int rate = parseInt(samplingRate);
+    if (rate <= 0) {
+      throw new IllegalArgumentException(format("Argument '%s' must be positive, but was %s.", SAMPLING_RATE_ARGUMENT_NAME,
+                                                samplingRate));
+    }
+    return rate;
+  }
+
+  private static JSONObject reportToJSON(ComponentLatencyReport report) {
+    JSONObject reportAsJSON = new JSONObject();
+    reportAsJSON.put("durationMillis", report.getDurationMillis());
+    reportAsJSON.put("samplingRate", report.getSamplingRate());
+
+    JSONArray hotspotsAsJSON = new JSONArray();
+    for (ComponentLatencyStatistics statistics : report.getHotspots()) {
+      hotspotsAsJSON.put(statisticsToJSON(statistics));
+    }
+    reportAsJSON.put("hotspots", hotspotsAsJSON);
+    return reportAsJSON;
+  }
+
+  private static JSONObject statisticsToJSON(ComponentLatencyStatistics statistics) {
+    JSONObject statisticsAsJSON = new JSONObject();
+    statisticsAsJSON.put("location", statistics.getLocation());
+    statisticsAsJSON.put("estimatedTotalMillis", toMillis(statistics.getEstimatedTotalNanos()));
+    statisticsAsJSON.put("completedEvents", statistics.getCompletedEvents());
+    statisticsAsJSON.put("throughputPerSecond", statistics.getThroughputPerSecond());
+    statisticsAsJSON.put("wallClock", latencySummaryToJSON(statistics.getWallClock()));
+    statisticsAsJSON.put("queueingDelay", latencySummaryToJSON(statistics.getQueueingDelay()));
+    return statisticsAsJSON;
+  }
+
+  private static JSONObject latencySummaryToJSON(LatencySummary summary) {
+    JSONObject summaryAsJSON = new JSONObject();
+    summaryAsJSON.put("samples", summary.getSamples());
+    summaryAsJSON.put("meanMillis", toMillis(summary.getMeanNanos()));
+    summaryAsJSON.put("p50Millis", toMillis(summary.getP50Nanos()));
+    summaryAsJSON.put("p90Millis", toMillis(summary.getP90Nanos()));
+    summaryAsJSON.put("p99Millis", toMillis(summary.getP99Nanos()));
+    summaryAsJSON.put("maxMillis", toMillis(summary.getMaxNanos()));
+    return summaryAsJSON;
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / NANOS_PER_MILLI;
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(COMPONENT_LATENCY_OPERATION_NAME,
+                                                         COMPONENT_LATENCY_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition(),
+                                                         createDurationArgumentDefinition(),
+                                                         createSamplingRateArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+
+  private static ArgumentDefinition createDurationArgumentDefinition() {
+    return new DefaultArgumentDefinition(DURATION_ARGUMENT_NAME, DURATION_ARGUMENT_DESCRIPTION, false);
+  }
+
+  private static ArgumentDefinition createSamplingRateArgumentDefinition() {
+    return new DefaultArgumentDefinition(SAMPLING_RATE_ARGUMENT_NAME, SAMPLING_RATE_ARGUMENT_DESCRIPTION, false);
+  }
+}
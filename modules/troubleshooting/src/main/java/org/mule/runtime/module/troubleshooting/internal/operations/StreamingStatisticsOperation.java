@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
+import org.mule.runtime.core.internal.streaming.LocationStreamingStatistics;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Operation used to report the streaming statistics of the components of the deployed applications in JSON format.
+ * <p>
+ * The name of the operation is "streamingStatistics".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to report the streaming statistics of</li>
+ * </ul>
+ */
+public class StreamingStatisticsOperation implements TroubleshootingOperation {
+
+  public static final String STREAMING_STATISTICS_OPERATION_NAME = "streamingStatistics";
+  public static final String STREAMING_STATISTICS_OPERATION_DESCRIPTION =
+      "Reports the buffering, replays, time to close and leaks of the cursor providers created by each component in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to report the streaming statistics of";
+
+  private static final double NANOS_PER_MILLI = 1000000.0;
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public StreamingStatisticsOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      JSONObject statisticsByApplication = new JSONObject();
+      for (Application application : getApplications(arguments.get(APPLICATION_ARGUMENT_NAME))) {
+        statisticsByApplication.put(application.getArtifactName(), statisticsToJSON(getStatistics(application)));
+      }
+      return statisticsByApplication.toString(2);
+    };
+  }
+
+  private List<Application> getApplications(String applicationName) {
+    if (applicationName == null) {
+      return deploymentService.getApplications();
+    }
+
+    Application application = deploymentService.findApplication(applicationName);
+    if (application == null) {
+      throw new IllegalArgumentException(format("Application %s is not deployed.", applicationName));
+    }
+    return singletonList(application);
+  }
+
+  private static ComponentStreamingStatistics getStatistics(Application application) {
+    return application
+        .getArtifactContext()
+        .getRegistry()
+        .lookupByName(ComponentStreamingStatistics.REGISTRY_KEY)
+        .map(ComponentStreamingStatistics.class::cast)
+        .orElseThrow(() -> new IllegalArgumentException(format("Could not get ComponentStreamingStatistics for application %s.",
+                                                               application.getArtifactName())));
+  }
+
+  private static JSONArray statisticsToJSON(ComponentStreamingStatistics statistics) {
+    JSONArray statisticsAsJSON = new JSONArray();
+    for (LocationStreamingStatistics locationStatistics : statistics.getLocationStatistics()) {
+      statisticsAsJSON.put(locationStatisticsToJSON(locationStatistics));
+    }
+    return statisticsAsJSON;
+  }
+
+  private static JSONObject locationStatisticsToJSON(LocationStreamingStatistics statistics) {
+    JSONObject statisticsAsJSON = new JSONObject();
+    statisticsAsJSON.put("location", statistics.getLocation());
+    statisticsAsJSON.put("providersOpened", statistics.getProvidersOpened());
+    statisticsAsJSON.put("providersClosed", statistics.getProvidersClosed());
+    statisticsAsJSON.put("cursorsOpened", statistics.getCursorsOpened());
+    statisticsAsJSON.put("peakOpenCursors", statistics.getPeakOpenCursors());
+    statisticsAsJSON.put("meanTimeToCloseMillis", toMillis(statistics.getMeanTimeToCloseNanos()));
+    statisticsAsJSON.put("maxTimeToCloseMillis", toMillis(statistics.getMaxTimeToCloseNanos()));
+    statisticsAsJSON.put("leakedProviders", statistics.getLeakedProviders());
+    statisticsAsJSON.put("leakedCursors", statistics.getLeakedCursors());
+
+    JSONObject bufferAsJSON = new JSONObject();
+    bufferAsJSON.put("bufferedProviders", statistics.getBufferedProviders());
+    bufferAsJSON.put("bytesBuffered", statistics.getBytesBuffered());
+    bufferAsJSON.put("maxBytesBuffered", statistics.getMaxBytesBuffered());
+    bufferAsJSON.put("expansions", statistics.getBufferExpansions());
+    bufferAsJSON.put("maxExpansions", statistics.getMaxBufferExpansions());
+    statisticsAsJSON.put("buffer", bufferAsJSON);
+    return statisticsAsJSON;
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / NANOS_PER_MILLI;
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(STREAMING_STATISTICS_OPERATION_NAME,
+                                                         STREAMING_STATISTICS_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
@@ -12,7 +12,9 @@ import static org.mule.runtime.module.troubleshooting.internal.TestTroubleshooti
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockFlowStackEntry;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation.COMPONENT_LATENCY_OPERATION_NAME;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.EVENT_DUMP_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.StreamingStatisticsOperation.STREAMING_STATISTICS_OPERATION_NAME;
 
 import org.junit.After;
 import org.junit.Before;
@@ -49,10 +51,11 @@ public class DefaultTroubleshootingServiceTestCase {
   @Test
   public void checkOperations() {
     List<TroubleshootingOperationDefinition> availableOperations = troubleshootingService.getAvailableOperations();
-    assertThat(availableOperations.size(), is(2));
+    assertThat(availableOperations.size(), is(4));
 
     List<String> operationNames = availableOperations.stream().map(TroubleshootingOperationDefinition::getName).collect(toList());
-    assertThat(operationNames, containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, TEST_OPERATION_NAME));
+    assertThat(operationNames, containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, COMPONENT_LATENCY_OPERATION_NAME,
+                                                     STREAMING_STATISTICS_OPERATION_NAME, TEST_OPERATION_NAME));
   }
 
   @Test(expected = TroubleshootingOperationException.class)
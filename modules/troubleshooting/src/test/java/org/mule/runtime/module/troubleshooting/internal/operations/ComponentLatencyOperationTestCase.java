@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static com.google.gson.JsonParser.parseString;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation.COMPONENT_LATENCY_OPERATION_DESCRIPTION;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation.COMPONENT_LATENCY_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation.DURATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ComponentLatencyOperation.SAMPLING_RATE_ARGUMENT_NAME;
+
+import com.google.gson.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.profiling.sampling.ComponentLatencySampler;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ComponentLatencyOperationTestCase {
+
+  private ComponentLatencySampler app1Sampler;
+  private ComponentLatencySampler app2Sampler;
+  private DeploymentService deploymentService;
+  private ComponentLatencyOperation componentLatencyOperation;
+
+  @Before
+  public void setup() {
+    Application app1 = mockApplication("app1");
+    Application app2 = mockApplication("app2");
+    app1Sampler = mockSampler(app1, "flow/processors/0");
+    app2Sampler = mockSampler(app2, null);
+    deploymentService = mockDeploymentService(app1, app2);
+    componentLatencyOperation = new ComponentLatencyOperation(deploymentService);
+  }
+
+  @Test
+  public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
+    assertThat(componentLatencyOperation.getDefinition().getName(), is(COMPONENT_LATENCY_OPERATION_NAME));
+    assertThat(componentLatencyOperation.getDefinition().getDescription(), is(COMPONENT_LATENCY_OPERATION_DESCRIPTION));
+    assertThat(componentLatencyOperation.getDefinition().getArgumentDefinitions().size(), is(3));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReportsAllApplications() {
+    JsonObject resultJson = execute(arguments(null));
+
+    assertThat(resultJson.keySet().size(), is(2));
+    assertReportsSampledComponent(resultJson.getAsJsonObject("app1"));
+    assertThat(resultJson.getAsJsonObject("app2").getAsJsonArray("hotspots").size(), is(0));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReportsOnlyThePassedOne() {
+    JsonObject resultJson = execute(arguments("app1"));
+
+    assertThat(resultJson.keySet().size(), is(1));
+    assertReportsSampledComponent(resultJson.getAsJsonObject("app1"));
+  }
+
+  @Test
+  public void samplingSessionsAreStoppedAfterReporting() {
+    execute(arguments(null));
+
+    assertThat(app1Sampler.isSampling(), is(false));
+    assertThat(app2Sampler.isSampling(), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenDurationIsNotPositiveItRaisesAnException() {
+    Map<String, String> arguments = arguments("app1");
+    arguments.put(DURATION_ARGUMENT_NAME, "0");
+    componentLatencyOperation.getCallback().execute(arguments);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenTheSamplerIsNotPresentItRaisesAnException() {
+    for (Application application : deploymentService.getApplications()) {
+      Registry registry = application.getArtifactContext().getRegistry();
+      when(registry.lookupByName(ComponentLatencySampler.REGISTRY_KEY)).thenReturn(empty());
+    }
+
+    componentLatencyOperation.getCallback().execute(arguments("app1"));
+  }
+
+  private JsonObject execute(Map<String, String> arguments) {
+    Object result = componentLatencyOperation.getCallback().execute(arguments);
+    return parseString((String) result).getAsJsonObject();
+  }
+
+  private static void assertReportsSampledComponent(JsonObject report) {
+    assertThat(report.get("samplingRate").getAsInt(), is(1));
+    assertThat(report.getAsJsonArray("hotspots").size(), is(1));
+
+    JsonObject hotspot = report.getAsJsonArray("hotspots").get(0).getAsJsonObject();
+    assertThat(hotspot.get("location").getAsString(), is("flow/processors/0"));
+    assertThat(hotspot.get("completedEvents").getAsLong(), is(1L));
+    assertThat(hotspot.getAsJsonObject("wallClock").get("samples").getAsLong(), is(1L));
+    assertThat(hotspot.getAsJsonObject("queueingDelay").get("samples").getAsLong(), is(1L));
+  }
+
+  private static Map<String, String> arguments(String applicationName) {
+    Map<String, String> arguments = new HashMap<>();
+    if (applicationName != null) {
+      arguments.put(APPLICATION_ARGUMENT_NAME, applicationName);
+    }
+    arguments.put(DURATION_ARGUMENT_NAME, "10");
+    arguments.put(SAMPLING_RATE_ARGUMENT_NAME, "1");
+    return arguments;
+  }
+
+  /**
+   * Creates a sampler for the application that, if a location is given, samples an event through it as soon as the session
+   * starts.
+   */
+  private static ComponentLatencySampler mockSampler(Application application, String location) {
+    ComponentLatencySampler sampler = spy(new ComponentLatencySampler());
+    if (location != null) {
+      CoreEvent event = mock(CoreEvent.class);
+      when(event.getContext()).thenReturn(mock(EventContext.class));
+      ComponentLocation componentLocation = mock(ComponentLocation.class);
+      when(componentLocation.getLocation()).thenReturn(location);
+
+      doAnswer(inv -> {
+        inv.callRealMethod();
+        sampler.onDispatch(event, componentLocation);
+        sampler.onExecutionStart(event, componentLocation);
+        sampler.onComplete(event, componentLocation);
+        return null;
+      }).when(sampler).startSession(anyLong(), anyInt());
+    }
+
+    Registry registry = application.getArtifactContext().getRegistry();
+    when(registry.lookupByName(ComponentLatencySampler.REGISTRY_KEY)).thenReturn(of(sampler));
+    return sampler;
+  }
+}
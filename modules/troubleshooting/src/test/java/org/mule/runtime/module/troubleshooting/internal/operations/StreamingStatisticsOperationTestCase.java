@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static com.google.gson.JsonParser.parseString;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.StreamingStatisticsOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.StreamingStatisticsOperation.STREAMING_STATISTICS_OPERATION_DESCRIPTION;
+import static org.mule.runtime.module.troubleshooting.internal.operations.StreamingStatisticsOperation.STREAMING_STATISTICS_OPERATION_NAME;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.core.internal.streaming.ComponentStreamingStatistics;
+import org.mule.runtime.core.internal.streaming.CursorProviderJanitor;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StreamingStatisticsOperationTestCase {
+
+  private DeploymentService deploymentService;
+  private StreamingStatisticsOperation streamingStatisticsOperation;
+
+  @Before
+  public void setup() {
+    Application app1 = mockApplication("app1");
+    Application app2 = mockApplication("app2");
+    ComponentStreamingStatistics app1Statistics = mockStatistics(app1);
+    mockStatistics(app2);
+    recordClosedProvider(app1Statistics, "flow/processors/0");
+    deploymentService = mockDeploymentService(app1, app2);
+    streamingStatisticsOperation = new StreamingStatisticsOperation(deploymentService);
+  }
+
+  @Test
+  public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
+    assertThat(streamingStatisticsOperation.getDefinition().getName(), is(STREAMING_STATISTICS_OPERATION_NAME));
+    assertThat(streamingStatisticsOperation.getDefinition().getDescription(), is(STREAMING_STATISTICS_OPERATION_DESCRIPTION));
+    assertThat(streamingStatisticsOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReportsAllApplications() {
+    JsonObject resultJson = execute(arguments(null));
+
+    assertThat(resultJson.keySet().size(), is(2));
+    assertReportsClosedProvider(resultJson.getAsJsonArray("app1"));
+    assertThat(resultJson.getAsJsonArray("app2").size(), is(0));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReportsOnlyThePassedOne() {
+    JsonObject resultJson = execute(arguments("app1"));
+
+    assertThat(resultJson.keySet().size(), is(1));
+    assertReportsClosedProvider(resultJson.getAsJsonArray("app1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenTheApplicationIsNotDeployedItRaisesAnException() {
+    streamingStatisticsOperation.getCallback().execute(arguments("notDeployed"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void whenTheStatisticsAreNotPresentItRaisesAnException() {
+    for (Application application : deploymentService.getApplications()) {
+      Registry registry = application.getArtifactContext().getRegistry();
+      when(registry.lookupByName(ComponentStreamingStatistics.REGISTRY_KEY)).thenReturn(empty());
+    }
+
+    streamingStatisticsOperation.getCallback().execute(arguments("app1"));
+  }
+
+  private JsonObject execute(Map<String, String> arguments) {
+    Object result = streamingStatisticsOperation.getCallback().execute(arguments);
+    return parseString((String) result).getAsJsonObject();
+  }
+
+  private static void assertReportsClosedProvider(JsonArray statistics) {
+    assertThat(statistics.size(), is(1));
+
+    JsonObject locationStatistics = statistics.get(0).getAsJsonObject();
+    assertThat(locationStatistics.get("location").getAsString(), is("flow/processors/0"));
+    assertThat(locationStatistics.get("providersOpened").getAsLong(), is(1L));
+    assertThat(locationStatistics.get("providersClosed").getAsLong(), is(1L));
+    assertThat(locationStatistics.get("cursorsOpened").getAsLong(), is(1L));
+    assertThat(locationStatistics.get("leakedProviders").getAsLong(), is(0L));
+    assertThat(locationStatistics.getAsJsonObject("buffer").get("bytesBuffered").getAsLong(), is(0L));
+  }
+
+  private static Map<String, String> arguments(String applicationName) {
+    Map<String, String> arguments = new HashMap<>();
+    if (applicationName != null) {
+      arguments.put(APPLICATION_ARGUMENT_NAME, applicationName);
+    }
+    return arguments;
+  }
+
+  private static void recordClosedProvider(ComponentStreamingStatistics statistics, String location) {
+    ComponentLocation componentLocation = mock(ComponentLocation.class);
+    when(componentLocation.getLocation()).thenReturn(location);
+
+    CursorProviderJanitor janitor = new CursorProviderJanitor(mock(CursorProvider.class), new AtomicInteger(), null,
+                                                              statistics.forLocation(of(componentLocation)));
+    janitor.onCursorOpened(1);
+    janitor.close();
+  }
+
+  private static ComponentStreamingStatistics mockStatistics(Application application) {
+    ComponentStreamingStatistics statistics = new ComponentStreamingStatistics();
+    Registry registry = application.getArtifactContext().getRegistry();
+    when(registry.lookupByName(ComponentStreamingStatistics.REGISTRY_KEY)).thenReturn(of(statistics));
+    return statistics;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap;
+import org.mule.runtime.http.api.domain.OptimizedCaseInsensitiveMapWrapper;
+
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+/**
+ * Compares building and reading the headers of a request with {@link CaseInsensitiveMultiMap} against the same
+ * {@link MultiMap} backed by an {@link OptimizedCaseInsensitiveMapWrapper}, which is how its keys used to be stored.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation per request.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class CaseInsensitiveMultiMapBenchmark extends AbstractBenchmark {
+
+  private static final String[][] HEADERS = {
+      {"Host", "localhost:8081"},
+      {"User-Agent", "Mozilla/5.0 (X11; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/115.0"},
+      {"Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"},
+      {"Accept-Language", "en-US,en;q=0.5"},
+      {"Accept-Encoding", "gzip, deflate, br"},
+      {"Connection", "keep-alive"},
+      {"Cookie", "session=38afes7a8"},
+      {"Cookie", "theme=dark"},
+      {"Upgrade-Insecure-Requests", "1"},
+      {"Cache-Control", "max-age=0"},
+      {"Content-Type", "application/json"},
+      {"Content-Length", "128"},
+      {"X-Forwarded-For", "10.0.0.1"},
+      {"X-Correlation-ID", "f3d6c1e8-0a4b-4d7e-9b2a-7c5e1f9d3b6a"},
+      {"X-Custom-Tenant", "acme"},
+      {"X-Custom-Trace", "enabled"}
+  };
+
+  @Benchmark
+  public Object flat() {
+    return request(CaseInsensitiveMultiMap::new);
+  }
+
+  @Benchmark
+  public Object wrapper() {
+    return request(WrapperMultiMap::new);
+  }
+
+  private Object request(Supplier<MultiMap<String, String>> mapFactory) {
+    MultiMap<String, String> headers = mapFactory.get();
+    for (String[] header : HEADERS) {
+      headers.put(header[0], header[1]);
+    }
+    MultiMap<String, String> immutableHeaders = headers.toImmutableMultiMap();
+
+    // lookups as done by the listener and the transformation of the request attributes
+    immutableHeaders.get("content-type");
+    immutableHeaders.get("Content-Length");
+    immutableHeaders.get("TRANSFER-ENCODING");
+    immutableHeaders.getAll("cookie");
+    immutableHeaders.get("x-correlation-id");
+    return immutableHeaders;
+  }
+
+  private static class WrapperMultiMap extends MultiMap<String, String> {
+
+    private static final long serialVersionUID = 1L;
+
+    public WrapperMultiMap() {
+      paramsMap = new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
+    }
+
+    private WrapperMultiMap(WrapperMultiMap multiMap) {
+      paramsMap = unmodifiableMap(multiMap.paramsMap);
+    }
+
+    @Override
+    public MultiMap<String, String> toImmutableMultiMap() {
+      // same as CaseInsensitiveMultiMap did, wrapping the storage of the mutable map
+      return new WrapperMultiMap(this);
+    }
+  }
+
+}
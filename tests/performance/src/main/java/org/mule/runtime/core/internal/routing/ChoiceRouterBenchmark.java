@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+import static org.mule.tck.junit4.AbstractMuleContextTestCase.getAppleFlowComponentLocationAnnotations;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.profiling.DummyComponentTracerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the cost of routing to the last route of a choice whose routes compare the same expression to distinct literals,
+ * which are looked up by value, with routes that have to be evaluated one by one.
+ */
+@OutputTimeUnit(NANOSECONDS)
+public class ChoiceRouterBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int routes;
+
+  private MuleContext muleContext;
+  private ChoiceRouter equalityChoice;
+  private ChoiceRouter sequentialChoice;
+  private CoreEvent event;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+
+    // Wrapping the comparison in parentheses keeps the same semantics but prevents the lookup by value
+    equalityChoice = createChoice("vars.kind == 'kind%d'");
+    sequentialChoice = createChoice("(vars.kind == 'kind%d')");
+
+    event = CoreEvent.builder(create(createFlow(muleContext), CONNECTOR_LOCATION)).message(of(PAYLOAD))
+        .addVariable("kind", "kind" + (routes - 1)).build();
+  }
+
+  private ChoiceRouter createChoice(String routeExpression) throws MuleException {
+    ChoiceRouter choice = new ChoiceRouter(new DummyComponentTracerFactory());
+    choice.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    choice.setMuleContext(muleContext);
+    choice.setExpressionManager(muleContext.getExpressionManager());
+    for (int i = 0; i < routes; ++i) {
+      choice.addRoute(String.format(routeExpression, i), e -> e);
+    }
+    choice.initialise();
+    choice.start();
+    return choice;
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    equalityChoice.stop();
+    equalityChoice.dispose();
+    sequentialChoice.stop();
+    sequentialChoice.dispose();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent equalityRoutes() throws MuleException {
+    return equalityChoice.process(event);
+  }
+
+  @Benchmark
+  public CoreEvent sequentialRoutes() throws MuleException {
+    return sequentialChoice.process(event);
+  }
+
+}
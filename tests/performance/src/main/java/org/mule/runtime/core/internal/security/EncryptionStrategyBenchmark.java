@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.security;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+import static org.openjdk.jmh.annotations.Scope.Benchmark;
+
+import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.core.api.security.CryptoFailureException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the throughput of {@link AbstractJCEEncryptionStrategy} for different payload sizes, both with a single thread and
+ * with as many threads as processors.
+ */
+@Fork(1)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+@State(Benchmark)
+public class EncryptionStrategyBenchmark {
+
+  @Param({"1024", "65536", "4194304"})
+  public int payloadSize;
+
+  @Param({"true", "false"})
+  public boolean base64Encoding;
+
+  private PasswordBasedEncryptionStrategy strategy;
+  private byte[] payload;
+  private byte[] encryptedPayload;
+
+  @Setup
+  public void setUp() throws InitialisationException, CryptoFailureException {
+    strategy = new PasswordBasedEncryptionStrategy();
+    strategy.setPassword("benchmark");
+    strategy.setBase64Encoding(base64Encoding);
+    strategy.initialise();
+
+    payload = new byte[payloadSize];
+    new Random(payloadSize).nextBytes(payload);
+    encryptedPayload = strategy.encrypt(payload, null);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long encryptStream() throws Exception {
+    return consume(strategy.encrypt(new ByteArrayInputStream(payload), null));
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public long encryptStreamConcurrently() throws Exception {
+    return consume(strategy.encrypt(new ByteArrayInputStream(payload), null));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long decryptStream() throws Exception {
+    return consume(strategy.decrypt(new ByteArrayInputStream(encryptedPayload), null));
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public long decryptStreamConcurrently() throws Exception {
+    return consume(strategy.decrypt(new ByteArrayInputStream(encryptedPayload), null));
+  }
+
+  @Benchmark
+  @Threads(1)
+  public byte[] encryptBytes() throws Exception {
+    return strategy.encrypt(payload, null);
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public byte[] encryptBytesConcurrently() throws Exception {
+    return strategy.encrypt(payload, null);
+  }
+
+  private static long consume(InputStream stream) throws IOException {
+    byte[] buffer = new byte[8192];
+    long total = 0;
+    try (InputStream in = stream) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        total += read;
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ */
+package org.mule.runtime.core.internal.serialization;
+
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the cost of serializing and deserializing an event with Java serialization and with {@link FastSerializerProtocol}.
+ * <p>
+ * The event has a root context, which {@link FastSerializerProtocol} writes field by field. The contexts of child events are
+ * still written with Java serialization along with their parents, so the gains for those are smaller than measured here.
+ */
+@OutputTimeUnit(MICROSECONDS)
+public class ObjectSerializerBenchmark extends AbstractBenchmark {
+
+  @Param({"0", "5", "20"})
+  public int variables;
+
+  private MuleContext muleContext;
+  private SerializationProtocol javaProtocol;
+  private SerializationProtocol fastProtocol;
+  private CoreEvent event;
+  private byte[] javaSerialized;
+  private byte[] fastSerialized;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    currentMuleContext.set(muleContext);
+
+    JavaObjectSerializer javaSerializer = new JavaObjectSerializer();
+    javaSerializer.setMuleContext(muleContext);
+    javaProtocol = javaSerializer.getInternalProtocol();
+
+    FastObjectSerializer fastSerializer = new FastObjectSerializer();
+    fastSerializer.setMuleContext(muleContext);
+    fastProtocol = fastSerializer.getInternalProtocol();
+
+    CoreEvent.Builder builder = CoreEvent.builder(create(createFlow(muleContext), CONNECTOR_LOCATION)).message(of(PAYLOAD));
+    for (int i = 0; i < variables; ++i) {
+      builder.addVariable("var" + i, "value" + i);
+    }
+    event = builder.build();
+
+    javaSerialized = javaProtocol.serialize(event);
+    fastSerialized = fastProtocol.serialize(event);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    currentMuleContext.set(null);
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public byte[] javaSerialize() {
+    return javaProtocol.serialize(event);
+  }
+
+  @Benchmark
+  public byte[] fastSerialize() {
+    return fastProtocol.serialize(event);
+  }
+
+  @Benchmark
+  public CoreEvent javaDeserialize() {
+    return javaProtocol.deserialize(javaSerialized);
+  }
+
+  @Benchmark
+  public CoreEvent fastDeserialize() {
+    return fastProtocol.deserialize(fastSerialized);
+  }
+
+}